@@ -4,13 +4,16 @@ import com.example.wemadeassignment.config.IpInfoProperties;
 import com.example.wemadeassignment.domain.IpInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+/** RestTemplate 기반 ipinfo 클라이언트 — {@code ipinfo.client=rest-template}일 때 사용 */
 @Component
+@ConditionalOnProperty(prefix = "ipinfo", name = "client", havingValue = "rest-template")
 public class IpInfoApiClient implements IpInfoClient {
 
     private static final Logger log = LoggerFactory.getLogger(IpInfoApiClient.class);
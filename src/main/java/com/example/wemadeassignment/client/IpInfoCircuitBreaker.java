@@ -0,0 +1,150 @@
+package com.example.wemadeassignment.client;
+
+import com.example.wemadeassignment.config.IpInfoProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * ipinfo 호출용 서킷 브레이커.
+ * 최근 N건(카운트 기반 슬라이딩 윈도우)의 실패율 또는 지연 호출 비율이 임계치를 넘으면 OPEN으로 전환하여
+ * {@code openDuration} 동안 호출을 차단하고, 이후 HALF_OPEN에서 제한된 시험 호출로 회복 여부를 판단한다.
+ *
+ * <p>{@link #tryAcquirePermission()}이 true를 반환한 호출은 반드시 {@link #onSuccess}/{@link #onError}로 결과를 기록해야 한다.
+ */
+@Component
+public class IpInfoCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(IpInfoCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallThresholdNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // 아래 필드는 모두 this로 보호
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public IpInfoCircuitBreaker(IpInfoProperties properties) {
+        IpInfoProperties.CircuitBreakerProperties cb = properties.circuitBreaker();
+        this.window = new byte[cb.slidingWindowSize()];
+        this.minimumCalls = cb.minimumCalls();
+        this.failureRateThreshold = cb.failureRateThreshold();
+        this.slowCallRateThreshold = cb.slowCallRateThreshold();
+        this.slowCallThresholdNanos = cb.slowCallThreshold() * 1_000_000L;
+        this.openDurationNanos = cb.openDuration() * 1_000_000L;
+        this.halfOpenCalls = cb.halfOpenCalls();
+    }
+
+    /** 호출 허용 여부. OPEN 유지 시간이 지나면 HALF_OPEN으로 전환하여 시험 호출을 허용 */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+            log.info("ipinfo 서킷 브레이커 HALF_OPEN: 시험 호출 {}건 허용", halfOpenCalls);
+        }
+        if (halfOpenPermits > 0) {
+            halfOpenPermits--;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+
+    public synchronized void onError(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallThresholdNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open("시험 호출 실패");
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return; // 차단 전에 시작된 호출의 늦은 결과는 무시
+        }
+
+        if (windowCount == window.length) {
+            byte evicted = window[windowIndex];
+            if ((evicted & FAILED) != 0) failures--;
+            if ((evicted & SLOW) != 0) slowCalls--;
+        } else {
+            windowCount++;
+        }
+        byte outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        if (failed) failures++;
+        if (slow) slowCalls++;
+
+        if (windowCount < minimumCalls) {
+            return;
+        }
+        double failureRate = (double) failures / windowCount;
+        double slowCallRate = (double) slowCalls / windowCount;
+        if (failureRate >= failureRateThreshold) {
+            open(String.format("실패율 %.2f", failureRate));
+        } else if (slowCallRate >= slowCallRateThreshold) {
+            open(String.format("지연 호출 비율 %.2f", slowCallRate));
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        resetWindow();
+        log.warn("ipinfo 서킷 브레이커 OPEN: {}, {}ms 동안 호출 차단", reason, openDurationNanos / 1_000_000);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        resetWindow();
+        log.info("ipinfo 서킷 브레이커 CLOSED");
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.wemadeassignment.client;
+
+import com.example.wemadeassignment.config.IpInfoProperties;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * JDK {@link HttpClient} 기반 ipinfo 클라이언트.
+ * HTTP/2 멀티플렉싱으로 하나의 커넥션에서 여러 조회를 동시에 처리하며,
+ * 가상 스레드에서 호출되어도 블로킹 비용이 작다.
+ * 오류 응답은 RestTemplate과 동일한 예외 타입으로 변환하여 재시도/429 처리 로직을 공유한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ipinfo", name = "client", havingValue = "http2", matchIfMissing = true)
+public class IpInfoHttpClient implements IpInfoClient {
+
+    private static final Logger log = LoggerFactory.getLogger(IpInfoHttpClient.class);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String token;
+    private final Duration timeout;
+
+    public IpInfoHttpClient(IpInfoProperties properties, ObjectMapper objectMapper) {
+        this.timeout = Duration.ofMillis(properties.timeout());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(timeout)
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = properties.baseUrl();
+        this.token = properties.token();
+    }
+
+    @Override
+    public IpInfo fetch(String ip) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + ip))
+                .timeout(timeout)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        log.debug("ipinfo 조회: {}", ip);
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new ResourceAccessException("ipinfo API I/O 오류: ip=" + ip, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("ipinfo 조회 중 인터럽트: ip=" + ip, e);
+        }
+
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        if (status.is4xxClientError()) {
+            throw new HttpClientErrorException(status, "ipinfo API error for ip=" + ip);
+        }
+        if (status.is5xxServerError()) {
+            throw new HttpServerErrorException(status, "ipinfo API error for ip=" + ip);
+        }
+        if (!status.is2xxSuccessful()) {
+            throw new IllegalStateException("ipinfo API unexpected status " + status.value() + " for ip=" + ip);
+        }
+
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            throw new IllegalStateException("ipinfo API returned empty body for ip=" + ip);
+        }
+        try {
+            return objectMapper.readValue(body, IpInfo.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("ipinfo API 응답 파싱 실패: ip=" + ip, e);
+        }
+    }
+}
@@ -6,6 +6,142 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public record AnalysisProperties(
         long maxFileSize,
         int maxLines,
-        int topN
+        int topN,
+        PrefetchProperties prefetch,
+        ExecutorProperties executor,
+        StreamProperties stream,
+        UploadProperties upload,
+        RetentionProperties retention,
+        StoreProperties store,
+        ResponseCacheProperties responseCache,
+        ExportProperties export,
+        ColumnarProperties columnar,
+        DiffProperties diff
 ) {
+    /**
+     * 파싱 중 상위 IP 선조회 설정.
+     * IP 요청 수가 {@code minCount} 이상이면서 누적 요청 중 {@code minShare} 이상을 차지하면 선조회하며,
+     * 분석 1건당 최대 {@code maxLookups}개 IP까지만 선조회하여 헛조회를 제한한다.
+     */
+    public record PrefetchProperties(
+            boolean enabled,
+            long minCount,
+            double minShare,
+            int maxLookups
+    ) {
+    }
+
+    /**
+     * 분석 실행기 설정.
+     * 작업별 추정 메모리({@code bytesPerLine} × 추정 라인 수)의 합이 최대 힙의 {@code heapBudgetRatio}를 넘으면 거부하고,
+     * 동시에 파싱하는 작업 수는 {@code maxConcurrency}로 제한한다 (0이면 CPU 코어 수).
+     * 대기 작업은 파일 크기 1MB당 {@code priorityMillisPerMb}만큼 늦춘 가상 마감 시각 순으로 실행한다.
+     */
+    public record ExecutorProperties(
+            double heapBudgetRatio,
+            int maxConcurrency,
+            long bytesPerLine,
+            double priorityMillisPerMb
+    ) {
+    }
+
+    /**
+     * 실시간 전달(SSE, 롱 폴링) 설정.
+     * 파싱 스레드는 최소 {@code snapshotInterval}(ms) 간격으로 중간 집계 스냅샷을 만들고,
+     * 구독 연결은 {@code timeout}(ms)이 지나면 종료된다. 완료 대기 조회는 최대 {@code maxWait}(ms)까지만 대기한다.
+     */
+    public record StreamProperties(
+            long snapshotInterval,
+            long timeout,
+            long maxWait
+    ) {
+    }
+
+    /**
+     * 분할 업로드 설정.
+     * 청크 하나는 최대 {@code maxChunkSize} bytes, 세션 전체는 최대 {@code maxTotalSize} bytes·{@code maxChunks}개까지 받으며,
+     * {@code sessionTtl}(초) 동안 청크가 오지 않은 세션은 정리한다.
+     */
+    public record UploadProperties(
+            long maxChunkSize,
+            long maxTotalSize,
+            int maxChunks,
+            long sessionTtl
+    ) {
+    }
+
+    /**
+     * 분석 결과 보관 설정.
+     * 끝난 분석은 마지막 갱신 후 {@code ttl}(초)이 지나면 삭제하고, 보관 중인 결과의 추정 크기 합이 {@code maxBytes}를 넘으면
+     * 오래 사용되지 않은 결과부터 삭제한다. 진행 중인 분석은 어느 기준으로도 삭제하지 않는다.
+     */
+    public record RetentionProperties(
+            long ttl,
+            long maxBytes
+    ) {
+    }
+
+    /**
+     * 분석 결과 저장소 설정.
+     * {@code type}이 {@code memory}(기본)면 인메모리에만 보관하고, {@code file}이면 {@code path} 디렉터리의 로그 파일에
+     * 결과를 기록하여 재시작 후에도 유지한다. 파일 저장소는 {@code snapshotInterval}(초)마다 인덱스 스냅샷을 남기고 로그를 정리하며,
+     * 로그에서 복원한 끝난 결과는 최대 {@code cacheSize}건까지 보관하여 반복 조회 시 다시 디코딩하지 않는다.
+     */
+    public record StoreProperties(
+            String type,
+            String path,
+            long snapshotInterval,
+            long cacheSize
+    ) {
+    }
+
+    /**
+     * 끝난 분석 결과의 직렬화 응답 캐시 설정.
+     * 응답 JSON(과 {@code gzipMinSize} bytes 이상이면 gzip 압축본)의 크기 합을 {@code maxBytes}로 제한하고,
+     * {@code expireAfterAccess}(초) 동안 조회되지 않은 응답은 버린다.
+     */
+    public record ResponseCacheProperties(
+            long maxBytes,
+            long expireAfterAccess,
+            int gzipMinSize
+    ) {
+    }
+
+    /**
+     * 전체 집계 내보내기 설정.
+     * {@code enabled}면 상위 N개로 줄이기 전의 IP·경로·상태 코드별 요청 수 전체를 정렬된 압축 테이블로 보관하여 내보낼 수 있게 한다.
+     * 한 페이지는 기본 {@code defaultLimit}개, 최대 {@code maxLimit}개 항목이다.
+     */
+    public record ExportProperties(
+            boolean enabled,
+            int defaultLimit,
+            int maxLimit
+    ) {
+    }
+
+    /**
+     * 드릴다운용 컬럼 저장소 설정.
+     * {@code enabled}면 업로드를 파싱하는 한 번의 과정에서 분석별 컬럼 파일을 {@code path} 아래에 함께 기록하여,
+     * 이후 필터·그룹 조회를 재업로드 없이 처리한다. 파일은 {@code blockRows}행 단위 블록으로 나누어 블록별 최솟값·최댓값을 두며,
+     * 조회용으로 연 파일은 최대 {@code maxOpen}개 분석까지 유지한다.
+     */
+    public record ColumnarProperties(
+            boolean enabled,
+            String path,
+            int blockRows,
+            int maxOpen
+    ) {
+    }
+
+    /**
+     * 분석 비교의 유의성 기준.
+     * 요청 비율 변화는 두 비율 z-검정 값의 절댓값이 {@code zScore} 이상이면서 변화폭이 {@code minShareDelta} 이상일 때,
+     * 응답 시간 변화는 상대 변화율의 절댓값이 {@code minLatencyChange} 이상일 때 유의하다고 본다.
+     */
+    public record DiffProperties(
+            double zScore,
+            double minShareDelta,
+            double minLatencyChange
+    ) {
+    }
 }
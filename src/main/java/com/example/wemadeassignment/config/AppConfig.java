@@ -1,18 +1,23 @@
 package com.example.wemadeassignment.config;
 
 import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.repository.FileIpInfoStore;
+import com.example.wemadeassignment.repository.IpInfoStore;
+import com.example.wemadeassignment.service.AnalysisTaskExecutor;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -28,36 +33,69 @@ public class AppConfig {
                 .build();
     }
 
-    /** IP 정보 조회 결과 로컬 캐시 — 반복 API 호출 방지 */
+    /**
+     * IP 정보 조회 결과 로컬 캐시 — 반복 API 호출 방지.
+     * 쓰기 기준 만료와 동일하게 동작하되, 디스크 캐시에서 승격할 때 남은 TTL만큼만 유지하도록 가변 만료를 사용.
+     */
     @Bean
     public Cache<String, IpInfo> ipInfoCache(IpInfoProperties properties) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(properties.cache().expireAfterWrite());
         return Caffeine.newBuilder()
                 .maximumSize(properties.cache().maxSize())
-                .expireAfterWrite(properties.cache().expireAfterWrite(), TimeUnit.SECONDS)
+                .expireAfter(new Expiry<String, IpInfo>() {
+                    @Override
+                    public long expireAfterCreate(String ip, IpInfo info, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String ip, IpInfo info, long currentTime, long currentDuration) {
+                        return ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String ip, IpInfo info, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
                 .build();
     }
 
-    /** CSV 분석 비동기 처리용 스레드 풀 */
-    @Bean(name = "analysisExecutor")
-    public Executor analysisExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(10);
-        executor.setThreadNamePrefix("analysis-");
-        executor.initialize();
-        return executor;
+    /** Caffeine L1 아래의 디스크 2차 캐시 — 재시작 직후에도 이전 조회 결과를 재사용 */
+    @Bean
+    public IpInfoStore ipInfoStore(IpInfoProperties properties) {
+        IpInfoProperties.DiskProperties disk = properties.cache().disk();
+        if (disk == null || !disk.enabled()) {
+            return IpInfoStore.none();
+        }
+        return new FileIpInfoStore(
+                Path.of(disk.path()),
+                Duration.ofSeconds(properties.cache().expireAfterWrite()),
+                properties.cache().maxSize(),
+                Duration.ofSeconds(disk.compactInterval()));
+    }
+
+    /**
+     * CSV 분석 비동기 처리용 실행기 — 고정 크기 큐 대신 작업별 추정 메모리로 수용 여부를 판단하고,
+     * 작은 파일 우선 순서로 가상 스레드에서 CPU 동시 실행 한도만큼만 파싱한다.
+     */
+    @Bean(name = "analysisExecutor", destroyMethod = "close")
+    public AnalysisTaskExecutor analysisExecutor(AnalysisProperties properties) {
+        AnalysisProperties.ExecutorProperties executor = properties.executor();
+        long memoryBudget = (long) (Runtime.getRuntime().maxMemory() * executor.heapBudgetRatio());
+        int maxConcurrency = executor.maxConcurrency() > 0
+                ? executor.maxConcurrency()
+                : Runtime.getRuntime().availableProcessors();
+        return new AnalysisTaskExecutor(memoryBudget, maxConcurrency, properties.maxLines(),
+                executor.bytesPerLine(), executor.priorityMillisPerMb());
     }
 
-    /** IP 정보 병렬 조회용 I/O 스레드 풀 — topN과 무관하게 고정 */
-    @Bean(name = "ipEnrichmentExecutor")
-    public Executor ipEnrichmentExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("ip-enrichment-");
-        executor.initialize();
-        return executor;
+    /**
+     * IP 정보 병렬 조회용 executor — 조회마다 가상 스레드를 사용.
+     * HTTP 대기 중에는 캐리어 스레드를 점유하지 않으므로 소규모 플랫폼 스레드 풀에 동시성이 묶이지 않는다.
+     */
+    @Bean(name = "ipEnrichmentExecutor", destroyMethod = "close")
+    public ExecutorService ipEnrichmentExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ip-enrichment-", 0).factory());
     }
 }
@@ -8,11 +8,64 @@ public record IpInfoProperties(
         String baseUrl,
         int timeout,
         int maxRetries,
-        CacheProperties cache
+        CacheProperties cache,
+        CircuitBreakerProperties circuitBreaker,
+        BulkheadProperties bulkhead,
+        long enrichmentDeadline
 ) {
     public record CacheProperties(
             long maxSize,
-            long expireAfterWrite
+            long expireAfterWrite,
+            DiskProperties disk,
+            RangeProperties range,
+            RefreshProperties refresh
+    ) {
+    }
+
+    /**
+     * 만료 전 백그라운드 갱신 설정.
+     * 남은 TTL이 {@code ahead}(초) 이하인 항목이 조회되면 갱신하며, IP별로 최대 {@code jitter} 비율만큼
+     * 갱신 시점을 앞당겨 같은 시각에 기록된 항목들이 한꺼번에 갱신되지 않게 한다.
+     */
+    public record RefreshProperties(
+            boolean enabled,
+            long ahead,
+            double jitter
+    ) {
+    }
+
+    /** 같은 네트워크 대역의 조회 결과를 재사용하는 대역 캐시 설정 */
+    public record RangeProperties(
+            boolean enabled,
+            int ipv4PrefixLength,
+            int ipv6PrefixLength
+    ) {
+    }
+
+    /** 재시작 후에도 유지되는 디스크 2차 캐시 설정 */
+    public record DiskProperties(
+            boolean enabled,
+            String path,
+            long compactInterval
+    ) {
+    }
+
+    /** 실패율·지연 호출 비율 기반 서킷 브레이커 설정 (시간 단위: ms) */
+    public record CircuitBreakerProperties(
+            int slidingWindowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            long slowCallThreshold,
+            double slowCallRateThreshold,
+            long openDuration,
+            int halfOpenCalls
+    ) {
+    }
+
+    /** ipinfo 동시 호출 수 제한 (대기 시간 단위: ms) */
+    public record BulkheadProperties(
+            int maxConcurrentCalls,
+            long maxWait
     ) {
     }
 }
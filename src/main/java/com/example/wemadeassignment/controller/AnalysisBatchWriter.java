@@ -0,0 +1,80 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.dto.AnalysisResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 여러 분석 결과를 NDJSON(분석 하나당 한 줄)으로 기록한다. 결과는 한 건씩 조회해 바로 기록하므로
+ * 조회할 분석 수와 무관하게 응답 전체를 메모리에 만들지 않는다.
+ *
+ * <p>필드를 고르지 않았고 끝난 결과면 단건 조회와 같은 {@link AnalysisResponseCache}의 직렬화 bytes를 그대로 쓴다.
+ * 필드를 골랐으면 응답 DTO를 만들지 않고 고른 필드만 결과에서 읽어 기록한다. 없는 분석은
+ * {@code {"analysisId":"...","error":"NOT_FOUND"}} 줄로 표시하고 나머지는 계속 기록한다.
+ */
+@Component
+public class AnalysisBatchWriter {
+
+    static final String NOT_FOUND = "NOT_FOUND";
+
+    private final ObjectMapper objectMapper;
+    private final AnalysisResponseCache analysisResponseCache;
+
+    public AnalysisBatchWriter(ObjectMapper objectMapper, AnalysisResponseCache analysisResponseCache) {
+        this.objectMapper = objectMapper;
+        this.analysisResponseCache = analysisResponseCache;
+    }
+
+    /**
+     * @param lookup     분석 ID로 결과 조회 — 없으면 null
+     * @param projection 포함할 필드, null이면 전체 응답
+     */
+    public void write(List<String> analysisIds, Function<String, AnalysisResult> lookup,
+                      Set<AnalysisResponse.Field> projection, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (String analysisId : analysisIds) {
+                AnalysisResult result = lookup.apply(analysisId);
+                if (result == null) {
+                    generator.writeStartObject();
+                    generator.writeStringField("analysisId", analysisId);
+                    generator.writeStringField("error", NOT_FOUND);
+                    generator.writeEndObject();
+                } else if (projection == null) {
+                    AnalysisResponseCache.CachedResponse cached = analysisResponseCache.get(result);
+                    if (cached == null) {
+                        generator.writeObject(AnalysisResponse.from(result));
+                    } else {
+                        generator.flush();
+                        out.write(cached.json());
+                    }
+                } else {
+                    writeProjected(generator, result, projection);
+                }
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private static void writeProjected(JsonGenerator generator, AnalysisResult result,
+                                       Set<AnalysisResponse.Field> projection) throws IOException {
+        AnalysisStatus status = result.getStatus();
+        generator.writeStartObject();
+        generator.writeStringField("analysisId", result.getAnalysisId());
+        for (AnalysisResponse.Field field : projection) {
+            generator.writeFieldName(field.getName());
+            generator.writeObject(field.read(result, status));
+        }
+        generator.writeEndObject();
+    }
+}
@@ -1,11 +1,21 @@
 package com.example.wemadeassignment.controller;
 
+import com.example.wemadeassignment.domain.AnalysisDiff;
 import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.Dimension;
+import com.example.wemadeassignment.domain.DrillDownResult;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.domain.RollupResult;
 import com.example.wemadeassignment.dto.AnalysisResponse;
 import com.example.wemadeassignment.dto.AnalysisSubmitResponse;
+import com.example.wemadeassignment.dto.BatchGetRequest;
 import com.example.wemadeassignment.dto.ErrorResponse;
 import com.example.wemadeassignment.exception.AnalysisNotFoundException;
 import com.example.wemadeassignment.service.AnalysisService;
+import com.example.wemadeassignment.service.DimensionExport;
+import com.example.wemadeassignment.service.LineQuery;
+import com.example.wemadeassignment.service.LogQuery;
+import com.example.wemadeassignment.service.RollupQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,12 +24,20 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 @Tag(name = "Analysis", description = "CSV 접속 로그 분석 API")
@@ -28,13 +46,21 @@ import java.util.regex.Pattern;
 public class AnalysisController {
 
     private static final Logger log = LoggerFactory.getLogger(AnalysisController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private static final Pattern UUID_PATTERN =
             Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
 
     private final AnalysisService analysisService;
+    private final AnalysisEventStream analysisEventStream;
+    private final AnalysisResponseCache analysisResponseCache;
+    private final AnalysisBatchWriter analysisBatchWriter;
 
-    public AnalysisController(AnalysisService analysisService) {
+    public AnalysisController(AnalysisService analysisService, AnalysisEventStream analysisEventStream,
+                              AnalysisResponseCache analysisResponseCache, AnalysisBatchWriter analysisBatchWriter) {
         this.analysisService = analysisService;
+        this.analysisEventStream = analysisEventStream;
+        this.analysisResponseCache = analysisResponseCache;
+        this.analysisBatchWriter = analysisBatchWriter;
     }
 
     @Operation(summary = "분석 요청 제출", description = "CSV 접속 로그 파일을 업로드하여 비동기 분석을 시작한다.")
@@ -55,16 +81,51 @@ public class AnalysisController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
-    @Operation(summary = "분석 결과 조회", description = "analysisId로 분석 결과를 조회한다. PROCESSING 상태이면 집계 필드는 null이다.")
-    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @Operation(summary = "분석에 로그 추가",
+            description = "완료된 분석에 새 로그 청크를 업로드한다. 새 청크만 파싱하여 보관 중인 집계 상태에 합친 뒤 결과를 다시 게시하므로 "
+                    + "비용은 누적 로그 크기와 무관하다. 병합 후 응답 시간 퍼센타일은 히스토그램 근사값이다.")
+    @ApiResponse(responseCode = "202", description = "추가 요청 접수 완료")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일, 크기 초과, 잘못된 ID 형식 등)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "분석 또는 이전 추가 작업이 아직 진행 중",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "503", description = "서버가 바쁨 (동시 분석 한도 초과)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping(value = "/{analysisId}/append", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AnalysisSubmitResponse> append(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId,
+            @Parameter(description = "추가할 CSV 접속 로그 청크 (헤더 생략 가능)", required = true)
+            @RequestParam("file") MultipartFile file) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        log.info("로그 추가 요청 수신: analysisId={}, 파일명={}, 크기={}bytes",
+                analysisId, file.getOriginalFilename(), file.getSize());
+        AnalysisResult result = analysisService.appendAnalysis(analysisId, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(AnalysisSubmitResponse.of(result.getAnalysisId(), result.getStatus().name()));
+    }
+
+    @Operation(summary = "분석 결과 조회",
+            description = "analysisId로 분석 결과를 조회한다. PROCESSING 상태이면 집계 필드는 null이다. "
+                    + "끝난 결과는 한 번 직렬화한 응답을 재사용하며 강한 ETag를 포함하므로, If-None-Match로 다시 조회하면 "
+                    + "바뀌지 않은 경우 304를 반환한다. Accept-Encoding에 gzip이 있으면 압축된 응답을 보낸다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공",
+            content = @Content(schema = @Schema(implementation = AnalysisResponse.class)))
+    @ApiResponse(responseCode = "304", description = "끝난 결과가 If-None-Match의 ETag 이후 바뀌지 않음")
     @ApiResponse(responseCode = "400", description = "잘못된 분석 ID 형식",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     @GetMapping("/{analysisId}")
-    public ResponseEntity<AnalysisResponse> getResult(
+    public ResponseEntity<?> getResult(
             @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
-            @PathVariable String analysisId) {
+            @PathVariable String analysisId,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         if (!UUID_PATTERN.matcher(analysisId).matches()) {
             throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
         }
@@ -73,6 +134,305 @@ public class AnalysisController {
             throw new AnalysisNotFoundException(analysisId);
         }
         log.info("분석 결과 조회: analysisId={}, status={}", analysisId, result.getStatus());
-        return ResponseEntity.ok(AnalysisResponse.from(result));
+        AnalysisResponseCache.CachedResponse cached = analysisResponseCache.get(result);
+        if (cached == null) {
+            return ResponseEntity.ok(AnalysisResponse.from(result));
+        }
+        // ETag가 If-None-Match와 같으면 본문 없이 304로 응답된다
+        boolean gzip = cached.gzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.eTag(cached.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(cached.gzip());
+        }
+        return response.eTag(cached.etag()).body(cached.json());
+    }
+
+    @Operation(summary = "분석 결과 일괄 조회",
+            description = "여러 분석의 결과를 한 요청으로 조회하여 분석 하나당 한 줄의 NDJSON으로 스트리밍한다. 줄 순서는 요청한 ID 순서(중복 제외)이며, "
+                    + "없는 분석은 {\"analysisId\":\"...\",\"error\":\"NOT_FOUND\"} 줄로 표시한다. "
+                    + "fields로 포함할 필드만, excludeFields로 뺄 필드를 고를 수 있고 analysisId는 항상 포함한다. "
+                    + "필드를 고르지 않으면 끝난 결과는 단건 조회와 같은 직렬화 응답을 재사용한다.")
+    @ApiResponse(responseCode = "200", description = "조회 시작 (application/x-ndjson)")
+    @ApiResponse(responseCode = "400", description = "ID 목록 없음·개수 초과, 잘못된 ID 형식, 모르는 필드, fields와 excludeFields 동시 지정",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping(value = "/batch-get", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> batchGet(@RequestBody BatchGetRequest request) {
+        List<String> analysisIds = request.distinctIds();
+        for (String analysisId : analysisIds) {
+            if (!UUID_PATTERN.matcher(analysisId).matches()) {
+                throw new IllegalArgumentException("잘못된 분석 ID 형식입니다: " + analysisId);
+            }
+        }
+        Set<AnalysisResponse.Field> projection = request.projection();
+        log.info("분석 결과 일괄 조회: {}건, 필드={}", analysisIds.size(), projection == null ? "전체" : projection);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"))
+                .body(out -> {
+                    BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+                    analysisBatchWriter.write(analysisIds, analysisService::getAnalysis, projection, buffered);
+                    buffered.flush();
+                });
+    }
+
+    @Operation(summary = "분석 완료 대기 조회",
+            description = "waitMs를 지정하면 분석이 COMPLETED/FAILED/CANCELLED가 될 때까지 최대 waitMs 동안 요청을 비동기로 보류한 뒤 결과를 반환한다. "
+                    + "대기 중에는 서블릿 스레드를 점유하지 않으며, 제한 시간이 지나면 그 시점의 상태를 반환한다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공 (완료 또는 대기 시간 만료)")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID 형식",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping(value = "/{analysisId}", params = "waitMs")
+    public DeferredResult<ResponseEntity<AnalysisResponse>> awaitResult(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId,
+            @Parameter(description = "최대 대기 시간 (ms), 서버 상한(analysis.stream.max-wait)을 넘으면 상한으로 제한", example = "10000")
+            @RequestParam long waitMs) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        AnalysisResult result = analysisService.getAnalysis(analysisId);
+        if (result == null) {
+            throw new AnalysisNotFoundException(analysisId);
+        }
+        log.info("분석 완료 대기 조회: analysisId={}, status={}, waitMs={}", analysisId, result.getStatus(), waitMs);
+        return analysisEventStream.awaitFinished(result, waitMs);
+    }
+
+    @Operation(summary = "전체 집계 내보내기",
+            description = "상위 N개로 줄이기 전의 차원별(ip, path, status) 요청 수 전체를 키 순서로 NDJSON 또는 CSV로 스트리밍한다. "
+                    + "prefix로 시작하는 키만 내보내며, 다음 페이지가 있으면 X-Next-Cursor 헤더의 값을 cursor로 넘겨 이어서 조회한다. "
+                    + "응답은 보관 중인 정렬 테이블에서 한 줄씩 기록하므로 키 수와 무관하게 응답 전체를 메모리에 만들지 않는다.")
+    @ApiResponse(responseCode = "200", description = "내보내기 시작 (application/x-ndjson 또는 text/csv)")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID·차원·형식·커서·limit",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "전체 집계가 보관되어 있지 않음 (집계 전, 재시작 전 분석, 내보내기 비활성)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{analysisId}/export/{dimension}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId,
+            @Parameter(description = "차원 (ip, path, status)", example = "path", required = true)
+            @PathVariable String dimension,
+            @Parameter(description = "출력 형식 (ndjson, csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "키 접두사 필터", example = "/api/")
+            @RequestParam(required = false) String prefix,
+            @Parameter(description = "이전 응답의 X-Next-Cursor 값")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 항목 수 (기본 analysis.export.default-limit, 최대 analysis.export.max-limit)", example = "10000")
+            @RequestParam(required = false) Integer limit) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        Dimension exportDimension = Dimension.fromName(dimension);
+        DimensionExport export = analysisService.exportDimension(analysisId, exportDimension,
+                DimensionExport.Format.fromName(format), prefix, cursor, limit);
+        log.info("전체 집계 내보내기: analysisId={}, dimension={}, 항목={}건, 다음 페이지={}",
+                analysisId, exportDimension.getName(), export.range().to() - export.range().from(),
+                export.nextCursor() != null);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.format().getContentType() + ";charset=UTF-8"));
+        if (export.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, export.nextCursor());
+        }
+        return response.body(out -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            export.writeTo(buffered);
+            buffered.flush();
+        });
+    }
+
+    @Operation(summary = "드릴다운 조회",
+            description = "업로드 시 함께 기록한 컬럼 파일에서 ip·path·method·status·최소 응답 시간 조건(모두 AND)에 맞는 요청 수와 "
+                    + "응답 시간 통계, groupBy 필드별 요청 수 상위 limit개를 구한다. 원본을 다시 파싱하지 않고 필요한 컬럼만 읽으며, "
+                    + "블록별 최솟값·최댓값이 조건과 겹치지 않는 블록은 건너뛴다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID·status·groupBy·limit",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "컬럼 파일이 없음 (컬럼 저장소 비활성, 파싱 전, 분할 업로드)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{analysisId}/query")
+    public ResponseEntity<DrillDownResult> query(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId,
+            @Parameter(description = "클라이언트 IP", example = "121.158.115.86")
+            @RequestParam(required = false) String ip,
+            @Parameter(description = "요청 경로", example = "/bbs/list/mir2free")
+            @RequestParam(required = false) String path,
+            @Parameter(description = "HTTP 메서드", example = "GET")
+            @RequestParam(required = false) String method,
+            @Parameter(description = "상태 코드(404) 또는 그룹(5xx)", example = "5xx")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "최소 응답 시간 (초)", example = "1.5")
+            @RequestParam(required = false) Double minResponseTime,
+            @Parameter(description = "그룹 기준 필드 (ip, method, path, userAgent, httpVersion, sslProtocol, status)", example = "path")
+            @RequestParam(required = false) String groupBy,
+            @Parameter(description = "그룹 수 상한 (기본 20, 최대 1000)", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        LogQuery logQuery = LogQuery.of(ip, path, method, status, minResponseTime, groupBy, limit);
+        long startTime = System.nanoTime();
+        DrillDownResult result = analysisService.queryLogs(analysisId, logQuery);
+        log.info("드릴다운 조회: analysisId={}, 일치={}건, 읽은 블록={}, 건너뛴 블록={}, 소요시간={}us", analysisId,
+                result.matchedRequests(), result.scannedBlocks(), result.skippedBlocks(),
+                (System.nanoTime() - startTime) / 1000);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "원본 라인 조회",
+            description = "업로드 시 함께 기록한 역색인(IP·경로·상태 코드별 행 비트맵)으로 조건에 맞는 원본 CSV 라인을 찾는다. "
+                    + "같은 파라미터를 여러 번 주면 OR, 서로 다른 파라미터끼리는 AND로 적용하며, 맞는 행만 위치로 바로 읽는다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID·status·offset·limit, 또는 조건 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "원본 라인 색인이 없음 (컬럼 저장소 비활성, 파싱 전, 분할 업로드)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{analysisId}/lines")
+    public ResponseEntity<LogLines> lines(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId,
+            @Parameter(description = "클라이언트 IP (여러 개면 OR)", example = "121.158.115.86")
+            @RequestParam(required = false) List<String> ip,
+            @Parameter(description = "요청 경로 (여러 개면 OR)", example = "/bbs/list/mir2free")
+            @RequestParam(required = false) List<String> path,
+            @Parameter(description = "상태 코드(404) 또는 그룹(5xx) (여러 개면 OR)", example = "5xx")
+            @RequestParam(required = false) List<String> status,
+            @Parameter(description = "건너뛸 일치 라인 수", example = "0")
+            @RequestParam(required = false) Long offset,
+            @Parameter(description = "페이지 크기 (기본 100, 최대 10000)", example = "100")
+            @RequestParam(required = false) Integer limit) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        LineQuery lineQuery = LineQuery.of(ip, path, status, offset, limit);
+        long startTime = System.nanoTime();
+        LogLines result = analysisService.findLines(analysisId, lineQuery);
+        log.info("원본 라인 조회: analysisId={}, 일치={}건, 반환={}건, 소요시간={}us", analysisId,
+                result.matchedRequests(), result.lines().size(), (System.nanoTime() - startTime) / 1000);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "여러 분석 합산",
+            description = "분석 ID 목록이나 생성 시각 범위로 지정한 분석들의 보관 중인 집계 상태(키별 카운트, 응답 시간 히스토그램)를 "
+                    + "서버에서 합쳐 하나의 보고서로 반환한다. 원본을 다시 읽지 않으므로 비용은 분석 수에 비례하며, "
+                    + "퍼센타일은 히스토그램을 합친 근사값이다. 집계 상태가 없는 분석은 skippedIds로 돌려준다.")
+    @ApiResponse(responseCode = "200", description = "합산 성공")
+    @ApiResponse(responseCode = "400", description = "대상 미지정·중복 지정, 잘못된 분석 ID·시각 형식",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/rollup")
+    public ResponseEntity<RollupResult> rollup(
+            @Parameter(description = "합산할 분석 ID (여러 번 지정, 최대 1000개)", example = "550e8400-e29b-41d4-a716-446655440000")
+            @RequestParam(required = false) List<String> id,
+            @Parameter(description = "생성 시각 하한 (포함, ISO-8601)", example = "2026-01-26T00:00:00")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "생성 시각 상한 (제외, ISO-8601)", example = "2026-02-02T00:00:00")
+            @RequestParam(required = false) String to) {
+        if (id != null && id.stream().anyMatch(analysisId -> !UUID_PATTERN.matcher(analysisId).matches())) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        RollupQuery rollupQuery = RollupQuery.of(id, from, to);
+        long startTime = System.nanoTime();
+        RollupResult result = analysisService.rollup(rollupQuery);
+        log.info("분석 합산: 합산={}건, 건너뜀={}건, 총 {}건, 소요시간={}us", result.analysisIds().size(),
+                result.skippedIds().size(), result.totalRequests(), (System.nanoTime() - startTime) / 1000);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "두 분석 비교",
+            description = "기준 분석(analysisId) 대비 대상 분석(otherId)의 상태 그룹 비율, 경로별 요청 비율, 응답 시간 통계 변화와 "
+                    + "새로 상위 N개에 들거나 빠진 IP·경로를 보관 중인 집계 상태로 계산한다. 원본을 다시 파싱하지 않는다. "
+                    + "비율 변화는 z-검정 값과 최소 변화폭, 응답 시간은 상대 변화율 임계값(analysis.diff.*)을 넘을 때만 유의로 표시한다.")
+    @ApiResponse(responseCode = "200", description = "비교 성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID 형식",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "집계 상태가 없음 (진행 중, 추가 작업 중, 재시작 전 분석)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{analysisId}/diff/{otherId}")
+    public ResponseEntity<AnalysisDiff> diff(
+            @Parameter(description = "기준 분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId,
+            @Parameter(description = "대상 분석 ID (UUID 형식)", example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8", required = true)
+            @PathVariable String otherId) {
+        if (!UUID_PATTERN.matcher(analysisId).matches() || !UUID_PATTERN.matcher(otherId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        long startTime = System.nanoTime();
+        AnalysisDiff result = analysisService.diff(analysisId, otherId);
+        log.info("분석 비교: 기준={}, 대상={}, 유의한 변화={}, 소요시간={}us", analysisId, otherId,
+                result.significant(), (System.nanoTime() - startTime) / 1000);
+        return ResponseEntity.ok(result);
+    }
+
+    @Operation(summary = "분석 진행 상황 구독 (SSE)",
+            description = "폴링 대신 연결 하나로 진행 상황을 받는다. 파싱 중에는 중간 집계를 snapshot 이벤트로, "
+                    + "ENRICHING/COMPLETED/FAILED/CANCELLED 전환 시 전체 결과를 result 이벤트로 보내며 종료 상태 이후 연결을 닫는다.")
+    @ApiResponse(responseCode = "200", description = "구독 시작 (text/event-stream)")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID 형식",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping(value = "/{analysisId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        AnalysisResult result = analysisService.getAnalysis(analysisId);
+        if (result == null) {
+            throw new AnalysisNotFoundException(analysisId);
+        }
+        log.info("분석 진행 상황 구독: analysisId={}, status={}", analysisId, result.getStatus());
+        return analysisEventStream.subscribe(result);
+    }
+
+    @Operation(summary = "분석 취소", description = "대기 중이거나 실행 중인 분석을 중단하고 결과를 삭제한다. 완료된 분석은 결과만 삭제한다.")
+    @ApiResponse(responseCode = "204", description = "취소(삭제) 완료")
+    @ApiResponse(responseCode = "400", description = "잘못된 분석 ID 형식",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "분석 결과를 찾을 수 없음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @DeleteMapping("/{analysisId}")
+    public ResponseEntity<Void> cancel(
+            @Parameter(description = "분석 ID (UUID 형식)", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable String analysisId) {
+        if (!UUID_PATTERN.matcher(analysisId).matches()) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다.");
+        }
+        if (!analysisService.cancelAnalysis(analysisId)) {
+            throw new AnalysisNotFoundException(analysisId);
+        }
+        log.info("분석 취소 요청 처리: analysisId={}", analysisId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Accept-Encoding에 gzip이 있고 q=0으로 거부하지 않았는지 */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,169 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.PartialResult;
+import com.example.wemadeassignment.dto.AnalysisResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 분석 진행 상황 실시간 전달 — SSE 브로드캐스트와 완료 대기(롱 폴링) 조회.
+ *
+ * <p>SSE:
+ * 파싱 스레드가 게시한 최신 중간 스냅샷을 스냅샷 간격마다 구독자에게 보내고({@code snapshot} 이벤트),
+ * 상태가 ENRICHING/COMPLETED/FAILED/CANCELLED로 바뀌면 전체 결과를 보낸다({@code result} 이벤트).
+ * 종료 상태를 보낸 뒤에는 연결을 닫는다.
+ *
+ * 주기 스레드는 구독마다 가상 스레드에 전송을 맡기기만 하므로, 느리거나 멈춘 클라이언트가 다른 구독의 전송을 늦추지 않는다.
+ * 구독별로 전송은 한 번에 하나만 진행하고, 이전 전송이 끝나지 않은 구독은 그 주기를 건너뛴다 — 다음 주기에 그때의 최신
+ * 스냅샷과 상태를 보내므로 밀린 스냅샷이 쌓이지 않는다. 파싱 스레드는 구독자 수와 무관하게 스냅샷 하나만 만든다.
+ *
+ * <p>완료 대기: 요청을 {@link DeferredResult}로 비동기 전환하고 {@link AnalysisResult#whenFinished()}에 콜백을 걸어 두므로,
+ * 대기하는 동안 서블릿 스레드를 점유하지 않는다. 제한 시간이 지나면 그 시점의 상태를 그대로 반환한다.
+ */
+@Component
+public class AnalysisEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisEventStream.class);
+
+    private final long timeout;
+    private final long maxWait;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService ticker =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("analysis-stream").daemon().factory());
+    private final ExecutorService senders =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-stream-send-", 0).factory());
+
+    public AnalysisEventStream(AnalysisProperties properties) {
+        this.timeout = properties.stream().timeout();
+        this.maxWait = properties.stream().maxWait();
+        long interval = properties.stream().snapshotInterval();
+        ticker.scheduleWithFixedDelay(this::broadcast, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(AnalysisResult result) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscription subscription = new Subscription(result, emitter);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        dispatch(subscription);  // 다음 주기를 기다리지 않고 현재 상태부터 전송
+        log.debug("SSE 구독 시작: analysisId={}, 구독자={}", result.getAnalysisId(), subscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * 분석이 COMPLETED·FAILED·CANCELLED가 될 때까지 최대 {@code waitMs}(설정된 상한 이내) 대기 후 결과를 반환한다.
+     * 이미 종료된 분석이거나 대기 시간이 0 이하이면 현재 상태를 즉시 반환한다.
+     */
+    public DeferredResult<ResponseEntity<AnalysisResponse>> awaitFinished(AnalysisResult result, long waitMs) {
+        long wait = Math.min(waitMs, maxWait);
+        if (wait <= 0 || result.isFinished()) {
+            DeferredResult<ResponseEntity<AnalysisResponse>> immediate = new DeferredResult<>();
+            immediate.setResult(ResponseEntity.ok(AnalysisResponse.from(result)));
+            return immediate;
+        }
+        DeferredResult<ResponseEntity<AnalysisResponse>> deferred = new DeferredResult<>(wait);
+        deferred.onTimeout(() -> deferred.setResult(ResponseEntity.ok(AnalysisResponse.from(result))));
+        result.whenFinished().thenAccept(finished -> deferred.setResult(ResponseEntity.ok(AnalysisResponse.from(finished))));
+        return deferred;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void broadcast() {
+        subscriptions.forEach(this::dispatch);
+    }
+
+    /** 구독의 전송을 가상 스레드에 맡긴다 — 이전 전송이 아직 진행 중이면 건너뛴다 */
+    private void dispatch(Subscription subscription) {
+        if (!subscription.sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> {
+                try {
+                    push(subscription);
+                } catch (RuntimeException e) {
+                    log.warn("SSE 전송 실패: analysisId={}", subscription.result.getAnalysisId(), e);
+                } finally {
+                    subscription.sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            subscription.sending.set(false);  // 종료 중
+        }
+    }
+
+    private void push(Subscription subscription) {
+        if (!subscriptions.contains(subscription)) {
+            return;
+        }
+        AnalysisResult result = subscription.result;
+        AnalysisStatus status = result.getStatus();
+        try {
+            if (status == AnalysisStatus.PROCESSING) {
+                PartialResult partial = result.getPartialResult();
+                if (partial != null && partial != subscription.lastPartial) {
+                    subscription.emitter.send(SseEmitter.event().name("snapshot").data(partial));
+                    subscription.lastPartial = partial;
+                }
+                return;
+            }
+            if (status != subscription.lastStatus) {
+                subscription.emitter.send(SseEmitter.event().name("result").data(AnalysisResponse.from(result)));
+                subscription.lastStatus = status;
+            }
+            if (status != AnalysisStatus.ENRICHING) {
+                subscriptions.remove(subscription);
+                subscription.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 연결을 끊었거나 이미 완료된 emitter
+            subscriptions.remove(subscription);
+            log.debug("SSE 구독 종료: analysisId={}, 사유={}", result.getAnalysisId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    /** 구독별 전송 상태 — lastPartial·lastStatus는 {@code sending}을 잡은 전송 스레드만 읽고 쓴다 */
+    private static final class Subscription {
+        private final AnalysisResult result;
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private PartialResult lastPartial;
+        private AnalysisStatus lastStatus = AnalysisStatus.PROCESSING;
+
+        private Subscription(AnalysisResult result, SseEmitter emitter) {
+            this.result = result;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.dto.AnalysisResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 끝난 분석 결과의 직렬화 응답 캐시.
+ *
+ * <p>COMPLETED·FAILED·CANCELLED 결과는 다음 추가(append) 전까지 바뀌지 않으므로, 처음 조회될 때 응답 DTO 복사와
+ * JSON 직렬화(일정 크기 이상이면 gzip 압축까지)를 한 번만 수행하고 그 bytes와 강한 ETag를 보관한다.
+ * 이후 조회는 보관한 bytes를 그대로 내려보내거나, ETag가 같으면 304로 응답한다.
+ *
+ * <p>캐시 항목은 만든 시점의 상태와 완료 시각을 함께 기록해 두고 조회한 결과와 비교한다. 추가 분석으로 다시 완료되면
+ * 완료 시각이 달라지므로 새로 직렬화한다. 저장소가 조회마다 새 객체를 돌려주어도(파일 저장소) 분석 ID 기준으로 재사용된다.
+ * 진행 중인 결과는 캐시하지 않는다.
+ */
+@Component
+public class AnalysisResponseCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final ObjectMapper objectMapper;
+    private final int gzipMinSize;
+    private final Cache<String, CachedResponse> cache;
+
+    /**
+     * 직렬화된 응답. {@code gzip}은 응답이 작아 압축하지 않았으면 null.
+     * 같은 내용이라도 인코딩별로 다른 표현이므로 gzip 응답의 ETag는 접미사로 구분한다.
+     */
+    public record CachedResponse(AnalysisStatus status, LocalDateTime completedAt,
+                                 byte[] json, byte[] gzip, String etag) {
+
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        boolean matches(AnalysisResult result, AnalysisStatus currentStatus) {
+            return status == currentStatus && completedAt != null && completedAt.equals(result.getCompletedAt());
+        }
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    public AnalysisResponseCache(ObjectMapper objectMapper, AnalysisProperties properties) {
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = properties.responseCache().gzipMinSize();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.responseCache().maxBytes())
+                .weigher((String id, CachedResponse response) -> response.weight())
+                .expireAfterAccess(Duration.ofSeconds(properties.responseCache().expireAfterAccess()))
+                .build();
+    }
+
+    /**
+     * 끝난 결과의 직렬화 응답 — 없거나 결과가 다시 완료되었으면 새로 만들어 보관한다.
+     * 진행 중인 결과는 null을 반환하며, 호출자가 매 요청 {@link AnalysisResponse}로 응답한다.
+     */
+    public CachedResponse get(AnalysisResult result) {
+        AnalysisStatus status = result.getStatus();  // 완료 시각보다 먼저 읽는다 — 완료 전환은 완료 시각을 먼저 기록
+        if (status != AnalysisStatus.COMPLETED && status != AnalysisStatus.FAILED && status != AnalysisStatus.CANCELLED) {
+            return null;
+        }
+        CachedResponse cached = cache.getIfPresent(result.getAnalysisId());
+        if (cached != null && cached.matches(result, status)) {
+            return cached;
+        }
+        CachedResponse serialized = serialize(result, status);
+        cache.put(result.getAnalysisId(), serialized);
+        return serialized;
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    private CachedResponse serialize(AnalysisResult result, AnalysisStatus status) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(AnalysisResponse.from(result));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("분석 결과 직렬화 실패: " + result.getAnalysisId(), e);
+        }
+        byte[] gzip = json.length >= gzipMinSize ? gzip(json) : null;
+        String etag = "\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+        return new CachedResponse(status, result.getCompletedAt(), json, gzip, etag);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
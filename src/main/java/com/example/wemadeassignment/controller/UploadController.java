@@ -0,0 +1,113 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.UploadStatus;
+import com.example.wemadeassignment.dto.AnalysisSubmitResponse;
+import com.example.wemadeassignment.dto.ErrorResponse;
+import com.example.wemadeassignment.service.ChunkedUploadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.regex.Pattern;
+
+@Tag(name = "Upload", description = "대용량 CSV 분할 업로드 API")
+@RestController
+@RequestMapping("/api/v1/uploads")
+public class UploadController {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadController.class);
+    private static final Pattern UUID_PATTERN =
+            Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public UploadController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @Operation(summary = "분할 업로드 세션 생성",
+            description = "단일 업로드 한도(50MB)를 넘는 파일을 청크로 나누어 보내기 위한 세션을 만든다. 청크가 오지 않으면 analysis.upload.session-ttl 뒤 만료된다.")
+    @ApiResponse(responseCode = "201", description = "세션 생성 완료")
+    @PostMapping
+    public ResponseEntity<UploadStatus> create() {
+        UploadStatus status = chunkedUploadService.createSession();
+        return ResponseEntity.status(HttpStatus.CREATED).body(status);
+    }
+
+    @Operation(summary = "청크 업로드",
+            description = "파일을 임의의 바이트 위치에서 자른 index번째 조각을 요청 본문으로 보낸다. 순서와 무관하게 보낼 수 있고, "
+                    + "청크 내부의 온전한 라인은 수신 즉시 파싱된다. 이미 받은 번호를 다시 보내면 무시하고 현재 상태를 반환한다.")
+    @ApiResponse(responseCode = "200", description = "청크 수신 완료")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 청크, 청크·세션 크기 초과, 세션 전체 라인 수 초과, 잘못된 번호 등)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "업로드 세션을 찾을 수 없음 (만료 포함)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "이미 완료 처리 중인 세션",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<UploadStatus> putChunk(
+            @Parameter(description = "업로드 세션 ID (UUID 형식)", example = "7b0e2f3c-1d4a-4c8e-9f6b-2a5d8c3e1f00", required = true)
+            @PathVariable String uploadId,
+            @Parameter(description = "청크 번호 (0부터)", example = "0", required = true)
+            @PathVariable int index,
+            InputStream body) {
+        validateUploadId(uploadId);
+        UploadStatus status = chunkedUploadService.putChunk(uploadId, index, body);
+        log.info("청크 업로드 처리: uploadId={}, index={}, 수신 청크 {}개", uploadId, index, status.receivedChunks().size());
+        return ResponseEntity.ok(status);
+    }
+
+    @Operation(summary = "분할 업로드 상태 조회", description = "연결이 끊긴 뒤 재개할 때 receivedChunks에 없는 번호만 다시 보내면 된다.")
+    @ApiResponse(responseCode = "200", description = "조회 성공")
+    @ApiResponse(responseCode = "400", description = "잘못된 업로드 세션 ID 형식",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "업로드 세션을 찾을 수 없음 (만료 포함)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<UploadStatus> getStatus(
+            @Parameter(description = "업로드 세션 ID (UUID 형식)", example = "7b0e2f3c-1d4a-4c8e-9f6b-2a5d8c3e1f00", required = true)
+            @PathVariable String uploadId) {
+        validateUploadId(uploadId);
+        return ResponseEntity.ok(chunkedUploadService.getStatus(uploadId));
+    }
+
+    @Operation(summary = "분할 업로드 완료",
+            description = "0..totalChunks-1 청크가 모두 도착했으면 청크 경계에 걸친 라인만 추가로 파싱하고 분석을 생성한다. "
+                    + "통계는 즉시 게시되고 IP 조회만 비동기로 진행되며, 응답 시간 퍼센타일은 히스토그램 근사값이다.")
+    @ApiResponse(responseCode = "202", description = "분석 요청 접수 완료")
+    @ApiResponse(responseCode = "400", description = "잘못된 요청 (잘못된 ID 형식, 청크 수 범위 초과, 경계 라인을 더해 세션 전체 라인 수 초과)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "404", description = "업로드 세션을 찾을 수 없음 (만료 포함)",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @ApiResponse(responseCode = "409", description = "누락된 청크가 있거나 수신 중인 청크가 있음",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<AnalysisSubmitResponse> complete(
+            @Parameter(description = "업로드 세션 ID (UUID 형식)", example = "7b0e2f3c-1d4a-4c8e-9f6b-2a5d8c3e1f00", required = true)
+            @PathVariable String uploadId,
+            @Parameter(description = "전체 청크 수", example = "4", required = true)
+            @RequestParam int totalChunks) {
+        validateUploadId(uploadId);
+        AnalysisResult result = chunkedUploadService.complete(uploadId, totalChunks);
+        log.info("분할 업로드 분석 접수: uploadId={}, analysisId={}", uploadId, result.getAnalysisId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(AnalysisSubmitResponse.of(result.getAnalysisId(), result.getStatus().name()));
+    }
+
+    private void validateUploadId(String uploadId) {
+        if (!UUID_PATTERN.matcher(uploadId).matches()) {
+            throw new IllegalArgumentException("잘못된 업로드 세션 ID 형식입니다.");
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * 두 분석(기준 → 대상)의 집계 비교 결과. 변화량은 모두 대상 − 기준이다.
+ * 비율 변화는 두 비율 z-검정 값과 최소 변화폭을, 응답 시간 변화는 상대 변화율을 기준으로 유의성을 판정한다.
+ */
+@Schema(description = "두 분석 비교 결과 (변화량 = 대상 − 기준)")
+public record AnalysisDiff(
+        @Schema(description = "기준 분석 ID", example = "550e8400-e29b-41d4-a716-446655440000")
+        String baseAnalysisId,
+
+        @Schema(description = "대상 분석 ID", example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8")
+        String targetAnalysisId,
+
+        @Schema(description = "기준 분석 요청 수", example = "200000")
+        long baseRequests,
+
+        @Schema(description = "대상 분석 요청 수", example = "210000")
+        long targetRequests,
+
+        @Schema(description = "상태 그룹(2xx~5xx)별 비율 변화")
+        Map<String, ShareChange> statusGroups,
+
+        @Schema(description = "두 분석의 상위 N개 경로별 요청 비율 변화 (z 절댓값이 큰 순)")
+        Map<String, ShareChange> paths,
+
+        @Schema(description = "응답 시간 통계(avg, p50, p95, p99) 변화 (퍼센타일은 히스토그램 근사값)")
+        Map<String, LatencyChange> responseTimes,
+
+        @Schema(description = "대상에서 새로 상위 N개에 든 경로 중 비율 증가가 유의한 것")
+        Map<String, ShareChange> newTopPaths,
+
+        @Schema(description = "대상에서 상위 N개에서 빠진 경로 중 비율 감소가 유의한 것")
+        Map<String, ShareChange> disappearedTopPaths,
+
+        @Schema(description = "대상에서 새로 상위 N개에 든 IP 중 비율 증가가 유의한 것")
+        Map<String, ShareChange> newTopIps,
+
+        @Schema(description = "대상에서 상위 N개에서 빠진 IP 중 비율 감소가 유의한 것")
+        Map<String, ShareChange> disappearedTopIps,
+
+        @Schema(description = "유의한 변화가 하나라도 있는지", example = "true")
+        boolean significant
+) {
+
+    @Schema(description = "요청 비율 변화")
+    public record ShareChange(
+            @Schema(description = "기준 요청 수", example = "1200")
+            long baseCount,
+
+            @Schema(description = "대상 요청 수", example = "5400")
+            long targetCount,
+
+            @Schema(description = "기준 비율 (0~1)", example = "0.006")
+            double baseShare,
+
+            @Schema(description = "대상 비율 (0~1)", example = "0.0257")
+            double targetShare,
+
+            @Schema(description = "비율 변화 (대상 − 기준)", example = "0.0197")
+            double delta,
+
+            @Schema(description = "두 비율 z-검정 값", example = "52.3")
+            double zScore,
+
+            @Schema(description = "z 절댓값과 변화폭이 모두 임계값 이상인지", example = "true")
+            boolean significant
+    ) {
+    }
+
+    @Schema(description = "응답 시간 변화 (초)")
+    public record LatencyChange(
+            @Schema(description = "기준 값", example = "0.12")
+            double base,
+
+            @Schema(description = "대상 값", example = "0.31")
+            double target,
+
+            @Schema(description = "상대 변화율 ((대상 − 기준) / 기준, 기준이 0이면 null)", example = "1.5833", nullable = true)
+            Double relativeChange,
+
+            @Schema(description = "상대 변화율 절댓값이 임계값 이상인지 (기준이 0이면 false)", example = "true")
+            boolean significant
+    ) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.wemadeassignment.domain;
+
+/**
+ * 파싱 진행 상황.
+ * 파싱 스레드 하나만 {@link #update}로 기록하고(single writer) 조회 스레드는 volatile 필드를 읽기만 하므로 잠금이 필요 없다.
+ * 처리 속도는 직전 통지 구간의 속도를 지수 평활하여 일시적인 변동을 완화한다.
+ */
+public class AnalysisProgress {
+
+    private static final double SMOOTHING = 0.3;
+
+    private final long totalBytes;
+    private final long startedAt = System.nanoTime();
+
+    // 파싱 스레드만 기록
+    private long lastUpdatedAt = startedAt;
+    private long lastBytes;
+    private long lastLines;
+
+    private volatile long bytesRead;
+    private volatile long linesParsed;
+    private volatile long errorCount;
+    private volatile double bytesPerSecond;
+    private volatile double linesPerSecond;
+
+    public AnalysisProgress(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public void update(long bytesRead, long linesParsed, long errorCount) {
+        long now = System.nanoTime();
+        double seconds = (now - lastUpdatedAt) / 1e9;
+        if (seconds > 0) {
+            double byteRate = (bytesRead - lastBytes) / seconds;
+            double lineRate = (linesParsed - lastLines) / seconds;
+            boolean first = lastLines == 0;
+            this.bytesPerSecond = first ? byteRate : bytesPerSecond + SMOOTHING * (byteRate - bytesPerSecond);
+            this.linesPerSecond = first ? lineRate : linesPerSecond + SMOOTHING * (lineRate - linesPerSecond);
+        }
+        lastUpdatedAt = now;
+        lastBytes = bytesRead;
+        lastLines = linesParsed;
+
+        this.errorCount = errorCount;
+        this.linesParsed = linesParsed;
+        this.bytesRead = bytesRead;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getLinesParsed() {
+        return linesParsed;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getLinesPerSecond() {
+        return linesPerSecond;
+    }
+
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /** 처리율 (0~100) */
+    public double getPercent() {
+        if (totalBytes <= 0) {
+            return 0;
+        }
+        return Math.min(100.0, Math.round(bytesRead * 10000.0 / totalBytes) / 100.0);
+    }
+
+    /** 남은 바이트를 현재 처리 속도로 나눈 예상 잔여 시간(초). 속도를 아직 모르면 null */
+    public Long getEtaSeconds() {
+        double rate = bytesPerSecond;
+        if (rate <= 0) {
+            return null;
+        }
+        return (long) Math.ceil(Math.max(0, totalBytes - bytesRead) / rate);
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.wemadeassignment.domain;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -7,11 +8,14 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 분석 결과를 담는 가변 객체.
  * 비동기 스레드에서 상태를 갱신하므로 status는 volatile, 집계 Map은 ConcurrentHashMap 사용.
+ * 집계 필드는 상태 전환 전에 기록하므로, status를 먼저 읽은 조회 스레드는 해당 단계의 값을 온전히 본다.
  */
 @Getter
 @Setter
@@ -31,9 +35,19 @@ public class AnalysisResult {
     private int parseErrorCount;
     private List<ParseErrorSample> parseErrorSamples = new ArrayList<>();
 
+    private String contentHash;  // 업로드 파일의 SHA-256 (hex)
     private final LocalDateTime createdAt;
+    private volatile Long queueWaitMillis;  // 실행 시작 전에는 null
+    private volatile AnalysisProgress progress;  // 파싱 시작 전에는 null
+    private volatile PartialResult partialResult;  // 첫 중간 스냅샷 전에는 null
     private LocalDateTime completedAt;
     private String failureReason;
+    private volatile long retainedStateBytes;  // 추가 분석용으로 보관 중인 집계 상태의 추정 크기
+
+    // 완료 신호 — 추가 분석으로 다시 진행 중이 되면 새 신호로 교체된다
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile CompletableFuture<AnalysisResult> finished = new CompletableFuture<>();
 
     public AnalysisResult(String analysisId) {
         this.analysisId = analysisId;
@@ -41,14 +55,82 @@ public class AnalysisResult {
         this.createdAt = LocalDateTime.now();
     }
 
+    /** 저장소에서 복원한 결과 — 기록된 상태와 생성 시각을 되살리고, 끝난 상태면 완료 신호도 완료시킨다 */
+    public AnalysisResult(String analysisId, AnalysisStatus status, LocalDateTime createdAt) {
+        this.analysisId = analysisId;
+        this.status = status;
+        this.createdAt = createdAt;
+        if (status == AnalysisStatus.COMPLETED || status == AnalysisStatus.FAILED || status == AnalysisStatus.CANCELLED) {
+            finished.complete(this);
+        }
+    }
+
+    /**
+     * 집계 통계 게시 — 상위 IP 정보는 이후 비동기 단계에서 채운다.
+     * 끝난 결과에 로그를 추가할 때도 호출되며, 이때는 상태를 바꾸기 전에 완료 신호를 새로 만들어
+     * 완료 대기 조회가 다시 완료될 때까지 기다리게 한다.
+     * 상태 전환은 모두 이 객체를 잠그고 확인·기록하므로, 취소된 결과는 다시 진행 중이나 완료로 바뀌지 않는다.
+     */
+    public synchronized void startEnriching() {
+        if (isCancelled()) return;
+        if (finished.isDone()) {
+            finished = new CompletableFuture<>();
+        }
+        this.status = AnalysisStatus.ENRICHING;
+    }
+
     public void complete() {
-        this.completedAt = LocalDateTime.now();
-        this.status = AnalysisStatus.COMPLETED;
+        CompletableFuture<AnalysisResult> signal;
+        synchronized (this) {
+            if (isCancelled()) return;
+            this.completedAt = LocalDateTime.now();
+            this.status = AnalysisStatus.COMPLETED;
+            signal = finished;
+        }
+        signal.complete(this);
     }
 
     public void fail(String reason) {
-        this.failureReason = reason;
-        this.completedAt = LocalDateTime.now();
-        this.status = AnalysisStatus.FAILED;
+        CompletableFuture<AnalysisResult> signal;
+        synchronized (this) {
+            if (isCancelled()) return;
+            this.failureReason = reason;
+            this.completedAt = LocalDateTime.now();
+            this.status = AnalysisStatus.FAILED;
+            signal = finished;
+        }
+        signal.complete(this);
+    }
+
+    /**
+     * 진행 중인 분석만 취소 상태로 전환. 이후 완료/실패 전환은 무시된다.
+     * 완료 신호는 잠금을 놓은 뒤 완료시켜, 콜백이 이 객체를 잠근 채로 실행되지 않게 한다.
+     */
+    public void cancel() {
+        CompletableFuture<AnalysisResult> signal;
+        synchronized (this) {
+            if (status == AnalysisStatus.COMPLETED || status == AnalysisStatus.FAILED || isCancelled()) return;
+            this.completedAt = LocalDateTime.now();
+            this.status = AnalysisStatus.CANCELLED;
+            signal = finished;
+        }
+        signal.complete(this);
+    }
+
+    /**
+     * COMPLETED·FAILED·CANCELLED로 전환되는 순간 완료되는 신호.
+     * 상태를 먼저 기록한 뒤 완료시키므로, 콜백에서는 최종 상태와 결과를 온전히 본다.
+     * 로그 추가로 다시 진행 중이 되면 새 신호로 바뀌므로, 호출 시점의 진행 단계가 끝날 때 완료된다.
+     */
+    public CompletionStage<AnalysisResult> whenFinished() {
+        return finished.minimalCompletionStage();
+    }
+
+    public boolean isFinished() {
+        return finished.isDone();
+    }
+
+    public boolean isCancelled() {
+        return status == AnalysisStatus.CANCELLED;
     }
 }
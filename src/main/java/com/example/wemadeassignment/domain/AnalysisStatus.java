@@ -5,6 +5,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Schema(description = "분석 상태", enumAsRef = true)
 public enum AnalysisStatus {
     PROCESSING,
+    /** 집계 통계는 게시되었고 상위 IP 정보를 조회 중 */
+    ENRICHING,
     COMPLETED,
-    FAILED
+    FAILED,
+    /** 사용자 요청으로 취소됨 */
+    CANCELLED
 }
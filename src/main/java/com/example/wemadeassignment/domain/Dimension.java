@@ -0,0 +1,31 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** 전체 집계를 내보낼 수 있는 차원 — 경로 변수로는 소문자 이름({@link #getName()})을 사용한다 */
+@Schema(description = "집계 차원", enumAsRef = true)
+public enum Dimension {
+    IP("ip"),
+    PATH("path"),
+    STATUS_CODE("status");
+
+    private final String name;
+
+    Dimension(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** 소문자 이름으로 조회 — 없으면 IllegalArgumentException */
+    public static Dimension fromName(String name) {
+        for (Dimension dimension : values()) {
+            if (dimension.name.equals(name)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 차원입니다: ip, path, status 중 하나를 지정하세요.");
+    }
+}
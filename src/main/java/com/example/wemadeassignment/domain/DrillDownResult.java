@@ -0,0 +1,30 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * 컬럼 파일 드릴다운 조회 결과.
+ */
+@Schema(description = "드릴다운 조회 결과")
+public record DrillDownResult(
+        @Schema(description = "조건에 맞는 요청 수", example = "312")
+        long matchedRequests,
+
+        @Schema(description = "그룹 기준 필드 (지정하지 않았으면 null)", example = "path", nullable = true)
+        String groupBy,
+
+        @Schema(description = "그룹별 요청 수 (많은 순 상위 limit개)", example = "{\"/bbs/list/mir2free\": 120, \"/api/users\": 85}")
+        Map<String, Long> groups,
+
+        @Schema(description = "조건에 맞는 요청의 응답 시간 통계 (퍼센타일은 근사값)")
+        ResponseTimeStats responseTimeStats,
+
+        @Schema(description = "읽은 블록 수", example = "3")
+        int scannedBlocks,
+
+        @Schema(description = "블록 최솟값·최댓값으로 읽지 않고 건너뛴 블록 수", example = "21")
+        int skippedBlocks
+) {
+}
@@ -30,13 +30,28 @@ public record IpInfo(
         String continent
 ) {
     private static final String UNKNOWN = "UNKNOWN";
+    private static final String RESERVED = "RESERVED";
 
     /** API 호출 실패 시 반환할 기본값 */
     public static IpInfo unknown(String ip) {
         return new IpInfo(ip, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN);
     }
 
+    /** 사설·예약 대역 주소 — API를 호출하지 않고 대역 분류명만 채운다 */
+    public static IpInfo reserved(String ip, String label) {
+        return new IpInfo(ip, RESERVED, label, null, RESERVED, RESERVED, RESERVED, RESERVED);
+    }
+
     public boolean isUnknown() {
         return UNKNOWN.equals(country);
     }
+
+    public boolean isReserved() {
+        return RESERVED.equals(asn);
+    }
+
+    /** 같은 대역의 조회 결과를 다른 IP에 재사용할 때 사용 */
+    public IpInfo withIp(String ip) {
+        return new IpInfo(ip, asn, asName, asDomain, countryCode, country, continentCode, continent);
+    }
 }
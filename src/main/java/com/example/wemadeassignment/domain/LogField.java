@@ -0,0 +1,70 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 컬럼 파일에 기록하는 접속 로그 필드 — 조회 파라미터로는 이름({@link #getName()})을 사용한다.
+ *
+ * <p>문자열 필드는 분석별 사전의 ID로, 숫자 필드는 값 그대로(응답 시간은 마이크로초 정수로) 기록한다.
+ * 선언 순서가 파일의 컬럼 순서이므로 중간에 끼워 넣지 않는다.
+ */
+@Schema(description = "드릴다운 필드", enumAsRef = true)
+public enum LogField {
+    IP("ip", AccessLog::clientIp),
+    METHOD("method", AccessLog::httpMethod),
+    PATH("path", AccessLog::requestUri),
+    USER_AGENT("userAgent", AccessLog::userAgent),
+    HTTP_VERSION("httpVersion", AccessLog::httpVersion),
+    SSL_PROTOCOL("sslProtocol", AccessLog::sslProtocol),
+    STATUS("status", AccessLog::httpStatus),
+    RECEIVED_BYTES("receivedBytes", AccessLog::receivedBytes),
+    SENT_BYTES("sentBytes", AccessLog::sentBytes),
+    RESPONSE_TIME("responseTime", (ToLongFunction<AccessLog>) accessLog -> Math.round(accessLog.clientResponseTime() * 1_000_000));
+
+    private final String name;
+    private final Function<AccessLog, String> text;
+    private final ToLongFunction<AccessLog> number;
+
+    LogField(String name, Function<AccessLog, String> text) {
+        this.name = name;
+        this.text = text;
+        this.number = null;
+    }
+
+    LogField(String name, ToLongFunction<AccessLog> number) {
+        this.name = name;
+        this.text = null;
+        this.number = number;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** 사전으로 인코딩하는 문자열 필드인지 여부 */
+    public boolean isText() {
+        return text != null;
+    }
+
+    public String text(AccessLog accessLog) {
+        return text.apply(accessLog);
+    }
+
+    public long number(AccessLog accessLog) {
+        return number.applyAsLong(accessLog);
+    }
+
+    /** 이름으로 조회 — 없으면 IllegalArgumentException */
+    public static LogField fromName(String name) {
+        for (LogField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 필드입니다: "
+                + "ip, method, path, userAgent, httpVersion, sslProtocol, status 중 하나를 지정하세요.");
+    }
+}
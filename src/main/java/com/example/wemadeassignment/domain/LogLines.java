@@ -0,0 +1,22 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * 역색인 필터로 찾은 원본 로그 라인 한 페이지.
+ */
+@Schema(description = "원본 라인 조회 결과")
+public record LogLines(
+        @Schema(description = "조건에 맞는 요청 수 (전체 페이지 합)", example = "312")
+        long matchedRequests,
+
+        @Schema(description = "이번 페이지의 원본 CSV 라인 (업로드·추가 순서)",
+                example = "[\"\\\"1/29/2026, 5:44:10.000 AM\\\",121.158.115.86,GET,/bbs/list/mir2free,...\"]")
+        List<String> lines,
+
+        @Schema(description = "다음 페이지 offset (마지막 페이지면 null)", example = "100", nullable = true)
+        Long nextOffset
+) {
+}
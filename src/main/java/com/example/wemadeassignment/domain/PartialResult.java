@@ -0,0 +1,35 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * 파싱 도중의 중간 집계 스냅샷.
+ * 파싱 스레드가 라인 경계에서 직접 만들어 게시하는 불변 객체이므로, 조회 측은 잠금 없이 일관된 값을 본다.
+ * 응답 시간 퍼센타일은 히스토그램 기반 근사값이다.
+ */
+@Schema(description = "파싱 중 중간 집계 스냅샷 (응답 시간 퍼센타일은 근사값)")
+public record PartialResult(
+        @Schema(description = "지금까지 파싱한 라인 수", example = "40960")
+        long linesParsed,
+
+        @Schema(description = "지금까지 집계한 요청 수", example = "40950")
+        long totalRequests,
+
+        @Schema(description = "HTTP 상태 코드별 요청 수 (상위 N개)", example = "{\"200\":32000,\"404\":1200}")
+        Map<Integer, Long> statusCodeCounts,
+
+        @Schema(description = "HTTP 상태 그룹별 비율 (0~1)", example = "{\"2xx\":0.788,\"4xx\":0.185,\"5xx\":0.027}")
+        Map<String, Double> statusGroupRatios,
+
+        @Schema(description = "현재 상위 경로별 요청 수", example = "{\"/api/users\":3200}")
+        Map<String, Long> topPaths,
+
+        @Schema(description = "현재 상위 IP별 요청 수", example = "{\"192.168.1.1\":450}")
+        Map<String, Long> topIps,
+
+        @Schema(description = "응답 시간 근사 통계")
+        ResponseTimeStats responseTimeStats
+) {
+}
@@ -0,0 +1,47 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 분석의 집계 상태를 합친 보고서.
+ * 카운트는 키별로 더한 정확한 값이고, 응답 시간 퍼센타일은 히스토그램을 합친 근사값이다.
+ */
+@Schema(description = "여러 분석 합산 결과 (응답 시간 퍼센타일은 근사값)")
+public record RollupResult(
+        @Schema(description = "합친 분석 ID (ID 목록이면 요청 순서, 시각 범위면 생성 순서)")
+        List<String> analysisIds,
+
+        @Schema(description = "요청했지만 합치지 못한 분석 ID (없음·진행 중·재시작 전 분석)")
+        List<String> skippedIds,
+
+        @Schema(description = "합산 요청 수", example = "1250000")
+        long totalRequests,
+
+        @Schema(description = "서로 다른 IP 수", example = "48210")
+        long distinctIps,
+
+        @Schema(description = "서로 다른 경로 수", example = "3120")
+        long distinctPaths,
+
+        @Schema(description = "HTTP 상태 코드별 요청 수 (상위 N개)", example = "{\"200\":980000,\"404\":230000}")
+        Map<Integer, Long> statusCodeCounts,
+
+        @Schema(description = "HTTP 상태 그룹별 비율 (0~1)", example = "{\"2xx\":0.788,\"4xx\":0.185,\"5xx\":0.027}")
+        Map<String, Double> statusGroupRatios,
+
+        @Schema(description = "상위 경로별 요청 수", example = "{\"/api/users\":32000}")
+        Map<String, Long> topPaths,
+
+        @Schema(description = "상위 IP별 요청 수", example = "{\"192.168.1.1\":4500}")
+        Map<String, Long> topIps,
+
+        @Schema(description = "응답 시간 근사 통계")
+        ResponseTimeStats responseTimeStats,
+
+        @Schema(description = "파싱 오류 라인 수 합계", example = "12")
+        long parseErrorCount
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.wemadeassignment.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 분할 업로드 세션 상태. 연결이 끊긴 뒤에는 {@code receivedChunks}에 없는 번호만 다시 보내면 된다.
+ */
+@Schema(description = "분할 업로드 세션 상태")
+public record UploadStatus(
+        @Schema(description = "업로드 세션 ID (UUID)", example = "7b0e2f3c-1d4a-4c8e-9f6b-2a5d8c3e1f00")
+        String uploadId,
+
+        @Schema(description = "수신·파싱이 끝난 청크 번호 (오름차순)", example = "[0,1,2,4]")
+        List<Integer> receivedChunks,
+
+        @Schema(description = "수신한 총 바이트 수", example = "67108864")
+        long receivedBytes,
+
+        @Schema(description = "추가 청크가 없을 때 세션이 만료되는 시각", example = "2025-01-15T11:30:00")
+        LocalDateTime expiresAt
+) {
+}
@@ -1,5 +1,6 @@
 package com.example.wemadeassignment.dto;
 
+import com.example.wemadeassignment.domain.AnalysisProgress;
 import com.example.wemadeassignment.domain.AnalysisResult;
 import com.example.wemadeassignment.domain.AnalysisStatus;
 import com.example.wemadeassignment.domain.IpInfo;
@@ -10,12 +11,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * 분석 결과 조회 응답.
- * PROCESSING 상태에서는 집계 필드가 null로 반환된다.
+ * PROCESSING 상태에서는 집계 필드가 null로 반환되고, ENRICHING 상태에서는 ipDetails만 null이다.
  */
-@Schema(description = "분석 결과 조회 응답. PROCESSING 상태에서는 집계 필드가 null로 반환된다.")
+@Schema(description = "분석 결과 조회 응답. PROCESSING 상태에서는 집계 필드가 null, ENRICHING 상태에서는 ipDetails가 null로 반환된다.")
 public record AnalysisResponse(
         @Schema(description = "분석 ID (UUID)", example = "550e8400-e29b-41d4-a716-446655440000")
         String analysisId,
@@ -23,6 +26,9 @@ public record AnalysisResponse(
         @Schema(description = "분석 상태")
         AnalysisStatus status,
 
+        @Schema(description = "파싱 진행 상황 (PROCESSING 상태에서 파싱이 시작된 뒤에만 존재)", nullable = true)
+        ProgressResponse progress,
+
         @Schema(description = "총 요청 수", example = "15234", nullable = true)
         Long totalRequests,
 
@@ -38,7 +44,7 @@ public record AnalysisResponse(
         @Schema(description = "요청이 많은 상위 IP별 요청 수", example = "{\"192.168.1.1\":450,\"10.0.0.1\":320}", nullable = true)
         Map<String, Long> topIps,
 
-        @Schema(description = "상위 IP의 상세 정보 (ipinfo 조회 결과)", nullable = true)
+        @Schema(description = "상위 IP의 상세 정보 (ipinfo 조회 결과, ENRICHING 상태에서는 null)", nullable = true)
         List<IpInfo> ipDetails,
 
         @Schema(description = "클라이언트 응답 시간 통계", nullable = true)
@@ -53,6 +59,9 @@ public record AnalysisResponse(
         @Schema(description = "분석 요청 생성 시각", example = "2025-01-15T10:30:00")
         LocalDateTime createdAt,
 
+        @Schema(description = "제출 후 분석 실행이 시작되기까지 대기한 시간 (ms), 실행 전에는 null", example = "12", nullable = true)
+        Long queueWaitMs,
+
         @Schema(description = "분석 완료 시각", example = "2025-01-15T10:30:05", nullable = true)
         LocalDateTime completedAt,
 
@@ -60,12 +69,16 @@ public record AnalysisResponse(
         String failureReason
 ) {
     public static AnalysisResponse from(AnalysisResult result) {
-        if (result.getStatus() == AnalysisStatus.PROCESSING) {
+        AnalysisStatus status = result.getStatus();
+        if (status == AnalysisStatus.PROCESSING) {
+            AnalysisProgress progress = result.getProgress();
             return new AnalysisResponse(
                     result.getAnalysisId(),
-                    result.getStatus(),
+                    status,
+                    progress == null ? null : ProgressResponse.from(progress),
                     null, null, null, null, null, null, null, null, null,
                     result.getCreatedAt(),
+                    result.getQueueWaitMillis(),
                     null,
                     null
             );
@@ -73,19 +86,78 @@ public record AnalysisResponse(
 
         return new AnalysisResponse(
                 result.getAnalysisId(),
-                result.getStatus(),
+                status,
+                null,
                 result.getTotalRequests(),
                 Map.copyOf(result.getStatusCodeCounts()),
                 Map.copyOf(result.getStatusGroupRatios()),
                 Map.copyOf(result.getPathCounts()),
                 Map.copyOf(result.getIpCounts()),
-                List.copyOf(result.getTopIps()),
+                status == AnalysisStatus.ENRICHING ? null : List.copyOf(result.getTopIps()),
                 result.getResponseTimeStats(),
                 result.getParseErrorCount(),
                 List.copyOf(result.getParseErrorSamples()),
                 result.getCreatedAt(),
+                result.getQueueWaitMillis(),
                 result.getCompletedAt(),
                 result.getFailureReason()
         );
     }
+
+    /**
+     * 일괄 조회에서 골라 받을 수 있는 응답 필드 — 이름은 JSON 필드 이름과 같다.
+     * 값은 {@link #from}과 같은 규칙(PROCESSING이면 집계 필드 null, ENRICHING이면 ipDetails null)으로 결과에서 바로 읽으므로,
+     * 고르지 않은 필드는 복사하지도 직렬화하지도 않는다. 집계 필드는 상태 전환 전에 기록되므로 상태를 먼저 읽어 넘긴다.
+     */
+    public enum Field {
+        STATUS("status", (result, status) -> status),
+        PROGRESS("progress", (result, status) -> status == AnalysisStatus.PROCESSING && result.getProgress() != null
+                ? ProgressResponse.from(result.getProgress()) : null),
+        TOTAL_REQUESTS("totalRequests", aggregated(AnalysisResult::getTotalRequests)),
+        STATUS_CODE_COUNTS("statusCodeCounts", aggregated(AnalysisResult::getStatusCodeCounts)),
+        STATUS_GROUP_RATIOS("statusGroupRatios", aggregated(AnalysisResult::getStatusGroupRatios)),
+        TOP_PATHS("topPaths", aggregated(AnalysisResult::getPathCounts)),
+        TOP_IPS("topIps", aggregated(AnalysisResult::getIpCounts)),
+        IP_DETAILS("ipDetails", (result, status) -> status == AnalysisStatus.PROCESSING || status == AnalysisStatus.ENRICHING
+                ? null : result.getTopIps()),
+        RESPONSE_TIME_STATS("responseTimeStats", aggregated(AnalysisResult::getResponseTimeStats)),
+        PARSE_ERROR_COUNT("parseErrorCount", aggregated(AnalysisResult::getParseErrorCount)),
+        PARSE_ERROR_SAMPLES("parseErrorSamples", aggregated(AnalysisResult::getParseErrorSamples)),
+        CREATED_AT("createdAt", (result, status) -> result.getCreatedAt()),
+        QUEUE_WAIT_MS("queueWaitMs", (result, status) -> result.getQueueWaitMillis()),
+        COMPLETED_AT("completedAt", aggregated(AnalysisResult::getCompletedAt)),
+        FAILURE_REASON("failureReason", aggregated(AnalysisResult::getFailureReason));
+
+        private final String name;
+        private final BiFunction<AnalysisResult, AnalysisStatus, Object> reader;
+
+        Field(String name, BiFunction<AnalysisResult, AnalysisStatus, Object> reader) {
+            this.name = name;
+            this.reader = reader;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** {@code status}는 호출자가 {@code result}에서 먼저 읽은 상태 */
+        public Object read(AnalysisResult result, AnalysisStatus status) {
+            return reader.apply(result, status);
+        }
+
+        /** JSON 필드 이름으로 조회 — 없으면 IllegalArgumentException */
+        public static Field fromName(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 응답 필드입니다: " + name);
+        }
+
+        private static BiFunction<AnalysisResult, AnalysisStatus, Object> aggregated(
+                Function<AnalysisResult, Object> getter) {
+            return (result, status) -> status == AnalysisStatus.PROCESSING ? null : getter.apply(result);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.wemadeassignment.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 분석 결과 일괄 조회 요청. {@code fields}와 {@code excludeFields}는 함께 지정할 수 없고,
+ * 둘 다 없으면 단건 조회와 같은 전체 응답을 돌려준다. analysisId는 항상 포함된다.
+ */
+@Schema(description = "분석 결과 일괄 조회 요청")
+public record BatchGetRequest(
+        @Schema(description = "조회할 분석 ID 목록 (최대 1,000개, 중복은 한 번만 조회)",
+                example = "[\"550e8400-e29b-41d4-a716-446655440000\"]")
+        List<String> ids,
+
+        @Schema(description = "이 필드만 포함 (AnalysisResponse 필드 이름)", example = "[\"status\", \"completedAt\"]", nullable = true)
+        List<String> fields,
+
+        @Schema(description = "이 필드를 빼고 포함 (AnalysisResponse 필드 이름)", example = "[\"parseErrorSamples\", \"ipDetails\"]", nullable = true)
+        List<String> excludeFields
+) {
+    public static final int MAX_IDS = 1000;
+
+    /** 중복을 없앤 분석 ID 목록 (요청 순서 유지) — 비었거나 null이 있거나 너무 많으면 IllegalArgumentException */
+    public List<String> distinctIds() {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("조회할 분석 ID(ids)를 지정하세요.");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("잘못된 분석 ID 형식입니다: null");
+        }
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinct.size() > MAX_IDS) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 분석은 최대 " + MAX_IDS + "개입니다.");
+        }
+        return distinct;
+    }
+
+    /** 응답에 포함할 필드 — 고르지 않았으면 null(전체 응답). 모르는 필드 이름이면 IllegalArgumentException */
+    public Set<AnalysisResponse.Field> projection() {
+        if (fields != null && excludeFields != null) {
+            throw new IllegalArgumentException("fields와 excludeFields 중 하나만 지정하세요.");
+        }
+        if (fields != null) {
+            return toFields(fields, EnumSet.noneOf(AnalysisResponse.Field.class), true);
+        }
+        if (excludeFields != null) {
+            return toFields(excludeFields, EnumSet.allOf(AnalysisResponse.Field.class), false);
+        }
+        return null;
+    }
+
+    private static Set<AnalysisResponse.Field> toFields(List<String> names, Set<AnalysisResponse.Field> selected,
+                                                        boolean include) {
+        for (String name : names) {
+            if ("analysisId".equals(name)) {
+                continue;
+            }
+            AnalysisResponse.Field field = AnalysisResponse.Field.fromName(name);
+            if (include) {
+                selected.add(field);
+            } else {
+                selected.remove(field);
+            }
+        }
+        return selected;
+    }
+}
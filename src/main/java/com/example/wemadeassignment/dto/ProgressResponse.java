@@ -0,0 +1,40 @@
+package com.example.wemadeassignment.dto;
+
+import com.example.wemadeassignment.domain.AnalysisProgress;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "파싱 진행 상황 (PROCESSING 상태에서만 존재)")
+public record ProgressResponse(
+        @Schema(description = "처리한 바이트 수", example = "10485760")
+        long bytesProcessed,
+
+        @Schema(description = "전체 파일 크기 (bytes)", example = "52428800")
+        long totalBytes,
+
+        @Schema(description = "처리율 (%)", example = "20.0")
+        double percent,
+
+        @Schema(description = "파싱한 라인 수", example = "40960")
+        long linesParsed,
+
+        @Schema(description = "파싱 오류 건수", example = "3")
+        long errorCount,
+
+        @Schema(description = "현재 처리 속도 (lines/sec)", example = "85000.0")
+        double linesPerSecond,
+
+        @Schema(description = "예상 잔여 시간 (초), 처리 속도를 아직 모르면 null", example = "2", nullable = true)
+        Long etaSeconds
+) {
+    public static ProgressResponse from(AnalysisProgress progress) {
+        return new ProgressResponse(
+                progress.getBytesRead(),
+                progress.getTotalBytes(),
+                progress.getPercent(),
+                progress.getLinesParsed(),
+                progress.getErrorCount(),
+                Math.round(progress.getLinesPerSecond() * 10) / 10.0,
+                progress.getEtaSeconds()
+        );
+    }
+}
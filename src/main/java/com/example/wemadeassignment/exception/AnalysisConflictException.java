@@ -0,0 +1,8 @@
+package com.example.wemadeassignment.exception;
+
+public class AnalysisConflictException extends RuntimeException {
+
+    public AnalysisConflictException(String message) {
+        super(message);
+    }
+}
@@ -5,8 +5,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
 
@@ -29,6 +31,20 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(404, "Not Found", e.getMessage()));
     }
 
+    @ExceptionHandler(UploadNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUploadNotFound(UploadNotFoundException e) {
+        log.warn("업로드 세션 없음: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ErrorResponse.of(404, "Not Found", e.getMessage()));
+    }
+
+    @ExceptionHandler(AnalysisConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(AnalysisConflictException e) {
+        log.warn("분석 상태 충돌: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ErrorResponse.of(409, "Conflict", e.getMessage()));
+    }
+
     @ExceptionHandler(ServerBusyException.class)
     public ResponseEntity<ErrorResponse> handleServerBusy(ServerBusyException e) {
         log.warn("서버 과부하: {}", e.getMessage());
@@ -50,6 +66,20 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(400, "Bad Request", "필수 파라미터 'file'이 누락되었습니다."));
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        log.warn("파라미터 형식 오류: {}", e.getMessage());
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.of(400, "Bad Request", "파라미터 '" + e.getName() + "'의 형식이 올바르지 않습니다."));
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleNotReadable(HttpMessageNotReadableException e) {
+        log.warn("요청 본문 읽기 실패: {}", e.getMessage());
+        return ResponseEntity.badRequest()
+                .body(ErrorResponse.of(400, "Bad Request", "요청 본문이 없거나 JSON 형식이 올바르지 않습니다."));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         log.error("처리되지 않은 예외 발생", e);
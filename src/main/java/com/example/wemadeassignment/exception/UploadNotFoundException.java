@@ -0,0 +1,8 @@
+package com.example.wemadeassignment.exception;
+
+public class UploadNotFoundException extends RuntimeException {
+
+    public UploadNotFoundException(String uploadId) {
+        super("업로드 세션을 찾을 수 없습니다: " + uploadId);
+    }
+}
@@ -12,5 +12,13 @@ public interface CsvLogParser {
      * CSV 입력 스트림을 한 줄씩 파싱하여 콜백으로 전달한다.
      * 전체 로그를 메모리에 보관하지 않고, 파싱 즉시 Consumer로 위임.
      */
-    ParseStatistics parse(InputStream inputStream, Consumer<AccessLog> logConsumer);
+    default ParseStatistics parse(InputStream inputStream, Consumer<AccessLog> logConsumer) {
+        return parse(inputStream, logConsumer, ParseContext.none());
+    }
+
+    /**
+     * 취소 여부를 라인마다 확인하고, 일정 라인마다 진행 상황을 통지하며 파싱한다.
+     * 취소되면 남은 입력을 읽지 않고 {@link java.util.concurrent.CancellationException}을 던진다.
+     */
+    ParseStatistics parse(InputStream inputStream, Consumer<AccessLog> logConsumer, ParseContext context);
 }
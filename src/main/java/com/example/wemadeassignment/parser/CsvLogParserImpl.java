@@ -14,6 +14,7 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
 
 @Component
@@ -23,6 +24,7 @@ public class CsvLogParserImpl implements CsvLogParser {
     private static final int EXPECTED_COLUMNS = 12;
     private static final int MAX_ERROR_SAMPLES = 10;
     private static final char BOM = '\uFEFF';
+    private static final int PROGRESS_INTERVAL = 4096; // 2의 거듭제곱 — 비트 마스크로 판정
 
     private final int maxLines;
 
@@ -31,7 +33,7 @@ public class CsvLogParserImpl implements CsvLogParser {
     }
 
     @Override
-    public ParseStatistics parse(InputStream inputStream, Consumer<AccessLog> logConsumer) {
+    public ParseStatistics parse(InputStream inputStream, Consumer<AccessLog> logConsumer, ParseContext context) {
         int totalLines = 0;
         int successCount = 0;
         int errorCount = 0;
@@ -64,6 +66,7 @@ public class CsvLogParserImpl implements CsvLogParser {
                 try {
                     AccessLog accessLog = parseLine(firstLine);
                     logConsumer.accept(accessLog);
+                    context.onRecord(accessLog, firstLine);
                     successCount++;
                 } catch (Exception e) {
                     errorCount++;
@@ -74,6 +77,10 @@ public class CsvLogParserImpl implements CsvLogParser {
             // 데이터 라인 처리
             String line;
             while ((line = reader.readLine()) != null) { // 다음 줄 부터 읽기 시작, 정상 포맷 파일이면 row 3
+                if (context.isCancelled()) {
+                    log.info("취소 요청으로 파싱 중단: {}줄 처리", totalLines);
+                    throw new CancellationException("분석이 취소되었습니다.");
+                }
                 if (totalLines >= maxLines) {
                     log.warn("최대 라인 수({}) 도달, 파싱 중단", maxLines);
                     break;
@@ -87,12 +94,17 @@ public class CsvLogParserImpl implements CsvLogParser {
                 try {
                     AccessLog accessLog = parseLine(line);
                     logConsumer.accept(accessLog);
+                    context.onRecord(accessLog, line);
                     successCount++;
                 } catch (Exception e) {
                     errorCount++;
                     collectErrorSample(errorSamples, totalLines, line, e.getMessage());
                 }
+                if ((totalLines & (PROGRESS_INTERVAL - 1)) == 0) {
+                    context.onProgress(totalLines, errorCount);
+                }
             }
+            context.onProgress(totalLines, errorCount);
 
         } catch (IOException e) {
             log.error("CSV 파일 읽기 실패", e);
@@ -0,0 +1,27 @@
+package com.example.wemadeassignment.parser;
+
+import com.example.wemadeassignment.domain.AccessLog;
+
+/**
+ * 파싱 중 파서가 호출하는 제어 지점.
+ * {@link #isCancelled()}는 라인마다, {@link #onProgress}는 일정 라인 간격으로,
+ * {@link #onRecord}는 소비자가 받아들인 레코드마다 파싱 스레드에서 호출된다.
+ */
+@FunctionalInterface
+public interface ParseContext {
+
+    /** true가 되면 파서는 남은 입력을 읽지 않고 중단한다 */
+    boolean isCancelled();
+
+    /** 진행 상황 통지 — 파싱 루프를 막지 않도록 가볍게 구현해야 한다 */
+    default void onProgress(long linesProcessed, long errorCount) {
+    }
+
+    /** 소비자가 예외 없이 받아들인 레코드와 그 원본 라인(줄바꿈 제외) — 원본을 보관할 때만 구현한다 */
+    default void onRecord(AccessLog accessLog, String line) {
+    }
+
+    static ParseContext none() {
+        return () -> false;
+    }
+}
@@ -3,12 +3,22 @@ package com.example.wemadeassignment.repository;
 import com.example.wemadeassignment.domain.AnalysisResult;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AnalysisRepository {
 
     void save(AnalysisResult result);
 
+    /**
+     * 상태가 바뀐 결과의 보관 기준(크기·만료 시각)을 다시 계산한다.
+     * 이미 삭제·만료된 결과는 되살리지 않는다.
+     */
+    void update(AnalysisResult result);
+
     Optional<AnalysisResult> findById(String analysisId);
 
     void deleteById(String analysisId);
+
+    /** 보관 기간·크기 상한으로 결과가 삭제될 때 호출할 리스너 등록 (명시적 삭제에는 호출하지 않음) */
+    void onEvicted(Consumer<AnalysisResult> listener);
 }
@@ -0,0 +1,229 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.example.wemadeassignment.domain.ResponseTimeStats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분석 결과 레코드 본문의 바이너리 인코딩.
+ *
+ * <p>본문 앞부분은 {@code [analysisId][status:byte][writtenAt:long]}로 고정되어 있어, 복구 시에는 이 부분만 읽고
+ * 나머지는 건너뛸 수 있다. 문자열은 {@code [length:int][UTF-8]} (null이면 length -1)로 기록하여 길이 제한이 없다.
+ * 진행 상황·중간 스냅샷처럼 진행 중에만 의미 있는 필드는 기록하지 않는다.
+ */
+final class AnalysisResultCodec {
+
+    private static final AnalysisStatus[] STATUSES = AnalysisStatus.values();
+
+    private AnalysisResultCodec() {
+    }
+
+    /** 레코드 본문 앞의 고정 헤더 */
+    record Header(String analysisId, AnalysisStatus status, long writtenAt) {
+    }
+
+    static byte[] encode(AnalysisResult result, long writtenAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeHeader(out, result.getAnalysisId(), result.getStatus(), writtenAt);
+            writeDateTime(out, result.getCreatedAt());
+            writeDateTime(out, result.getCompletedAt());
+            writeString(out, result.getContentHash());
+            writeString(out, result.getFailureReason());
+            out.writeLong(result.getQueueWaitMillis() == null ? -1 : result.getQueueWaitMillis());
+
+            out.writeLong(result.getTotalRequests());
+            out.writeInt(result.getStatusCodeCounts().size());
+            for (Map.Entry<Integer, Long> entry : result.getStatusCodeCounts().entrySet()) {
+                out.writeInt(entry.getKey());
+                out.writeLong(entry.getValue());
+            }
+            writeCounts(out, result.getPathCounts());
+            writeCounts(out, result.getIpCounts());
+            out.writeInt(result.getStatusGroupRatios().size());
+            for (Map.Entry<String, Double> entry : result.getStatusGroupRatios().entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeDouble(entry.getValue());
+            }
+
+            List<IpInfo> topIps = result.getTopIps();
+            out.writeInt(topIps.size());
+            for (IpInfo info : topIps) {
+                writeString(out, info.ip());
+                writeString(out, info.asn());
+                writeString(out, info.asName());
+                writeString(out, info.asDomain());
+                writeString(out, info.countryCode());
+                writeString(out, info.country());
+                writeString(out, info.continentCode());
+                writeString(out, info.continent());
+            }
+
+            ResponseTimeStats stats = result.getResponseTimeStats();
+            out.writeBoolean(stats != null);
+            if (stats != null) {
+                out.writeDouble(stats.min());
+                out.writeDouble(stats.max());
+                out.writeDouble(stats.avg());
+                out.writeDouble(stats.p50());
+                out.writeDouble(stats.p95());
+                out.writeDouble(stats.p99());
+            }
+
+            out.writeInt(result.getParseErrorCount());
+            List<ParseErrorSample> samples = result.getParseErrorSamples();
+            out.writeInt(samples.size());
+            for (ParseErrorSample sample : samples) {
+                out.writeInt(sample.lineNumber());
+                writeString(out, sample.line());
+                writeString(out, sample.reason());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** 삭제 표시 레코드 본문 — 헤더만 기록 */
+    static byte[] encodeTombstone(String analysisId, long writtenAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeHeader(out, analysisId, AnalysisStatus.CANCELLED, writtenAt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Header decodeHeader(byte[] body) throws IOException {
+        return readHeader(new DataInputStream(new ByteArrayInputStream(body)));
+    }
+
+    static AnalysisResult decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        Header header = readHeader(in);
+        AnalysisResult result = new AnalysisResult(header.analysisId(), header.status(), readDateTime(in));
+        result.setCompletedAt(readDateTime(in));
+        result.setContentHash(readString(in));
+        result.setFailureReason(readString(in));
+        long queueWait = in.readLong();
+        result.setQueueWaitMillis(queueWait < 0 ? null : queueWait);
+
+        result.setTotalRequests(in.readLong());
+        int statusCodes = in.readInt();
+        for (int i = 0; i < statusCodes; i++) {
+            result.getStatusCodeCounts().put(in.readInt(), in.readLong());
+        }
+        readCounts(in, result.getPathCounts());
+        readCounts(in, result.getIpCounts());
+        int ratioCount = in.readInt();
+        Map<String, Double> ratios = new ConcurrentHashMap<>();
+        for (int i = 0; i < ratioCount; i++) {
+            ratios.put(readString(in), in.readDouble());
+        }
+        result.setStatusGroupRatios(ratios);
+
+        int topIpCount = in.readInt();
+        List<IpInfo> topIps = new ArrayList<>(topIpCount);
+        for (int i = 0; i < topIpCount; i++) {
+            topIps.add(new IpInfo(readString(in), readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readString(in), readString(in)));
+        }
+        result.setTopIps(topIps);
+
+        if (in.readBoolean()) {
+            result.setResponseTimeStats(new ResponseTimeStats(
+                    in.readDouble(), in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readDouble(), in.readDouble()));
+        }
+
+        result.setParseErrorCount(in.readInt());
+        int sampleCount = in.readInt();
+        List<ParseErrorSample> samples = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            samples.add(new ParseErrorSample(in.readInt(), readString(in), readString(in)));
+        }
+        result.setParseErrorSamples(samples);
+        return result;
+    }
+
+    private static void writeHeader(DataOutputStream out, String analysisId, AnalysisStatus status, long writtenAt)
+            throws IOException {
+        writeString(out, analysisId);
+        out.writeByte(status.ordinal());
+        out.writeLong(writtenAt);
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        String analysisId = readString(in);
+        int status = in.readUnsignedByte();
+        if (analysisId == null || status >= STATUSES.length) {
+            throw new IOException("손상된 레코드 헤더");
+        }
+        return new Header(analysisId, STATUSES[status], in.readLong());
+    }
+
+    private static void writeCounts(DataOutputStream out, Map<String, Long> counts) throws IOException {
+        out.writeInt(counts.size());
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    private static void readCounts(DataInputStream in, Map<String, Long> target) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            target.put(readString(in), in.readLong());
+        }
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.wemadeassignment.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 블록 최솟값 기준 비트 패킹(frame of reference).
+ *
+ * <p>값마다 {@code value - min}을 블록 안 최대 차이를 담을 수 있는 최소 비트 수로 long 배열에 이어 붙인다.
+ * 상태 코드(200~599)는 9비트, 사전 ID는 사전 크기의 비트 수만 차지하며, 블록의 모든 값이 같으면 0비트로 본문이 없다.
+ * 차이가 long 범위를 넘어 음수로 보이면 64비트로 기록하고, 복원 시 같은 방식으로 되돌아간다.
+ */
+final class BitPacking {
+
+    private BitPacking() {
+    }
+
+    /** {@code max - min}을 담는 데 필요한 비트 수 (0~64) */
+    static int width(long min, long max) {
+        return Long.SIZE - Long.numberOfLeadingZeros(max - min);
+    }
+
+    /** 값 {@code count}개를 {@code width}비트씩 기록한 바이트 수 */
+    static int packedBytes(int count, int width) {
+        return (int) (((long) count * width + Long.SIZE - 1) / Long.SIZE) * Long.BYTES;
+    }
+
+    static void pack(long[] values, int count, long min, int width, ByteBuffer out) {
+        if (width == 0) {
+            return;
+        }
+        long[] words = new long[packedBytes(count, width) / Long.BYTES];
+        for (int i = 0; i < count; i++) {
+            long delta = values[i] - min;
+            long bit = (long) i * width;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            words[word] |= delta << shift;
+            if (shift + width > Long.SIZE) {
+                words[word + 1] |= delta >>> (Long.SIZE - shift);
+            }
+        }
+        for (long word : words) {
+            out.putLong(word);
+        }
+    }
+
+    /** {@code in}의 {@code offset}부터 기록된 값 {@code count}개를 복원 — 절대 위치로만 읽으므로 버퍼를 공유해도 된다 */
+    static void unpack(ByteBuffer in, int offset, int count, long min, int width, long[] values) {
+        if (width == 0) {
+            Arrays.fill(values, 0, count, min);
+            return;
+        }
+        long mask = width == Long.SIZE ? -1L : (1L << width) - 1;
+        for (int i = 0; i < count; i++) {
+            long bit = (long) i * width;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            long delta = in.getLong(offset + word * Long.BYTES) >>> shift;
+            if (shift + width > Long.SIZE) {
+                delta |= in.getLong(offset + (word + 1) * Long.BYTES) << (Long.SIZE - shift);
+            }
+            values[i] = min + (delta & mask);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 분석별 컬럼 파일 저장소 — 드릴다운 조회를 위해 업로드한 로그를 {@code {path}/{analysisId}/seg-NNNNN.col}로 보관한다.
+ *
+ * <p>첫 업로드와 추가(append)마다 세그먼트 파일이 하나씩 생기고(옆에 원본 라인·역색인 파일 {@code .raw}·{@code .idx}),
+ * 조회는 기록 순서대로 모든 세그먼트를 읽는다.
+ * 조회용으로 연 세그먼트(매핑 + 사전)는 최근 사용한 {@code maxOpen}개 분석까지 유지하며, 새 세그먼트가 커밋되면 다시 연다.
+ * 분석이 삭제되면 서비스가 {@link #delete}로 디렉터리를 지운다.
+ */
+@Component
+public class ColumnarLogStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarLogStore.class);
+    static final String SEGMENT_SUFFIX = ".col";
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int blockRows;
+    private final Cache<String, List<ColumnarSegment>> openSegments;
+
+    public ColumnarLogStore(AnalysisProperties properties) {
+        this.enabled = properties.columnar().enabled();
+        this.directory = Path.of(properties.columnar().path());
+        this.blockRows = properties.columnar().blockRows();
+        this.openSegments = Caffeine.newBuilder()
+                .maximumSize(properties.columnar().maxOpen())
+                .build();
+    }
+
+    /** 비정상 종료로 커밋되지 못한 임시 파일 정리 */
+    @PostConstruct
+    public void open() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            files.filter(file -> file.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("컬럼 임시 파일 정리 실패: {}", directory, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 분석의 다음 세그먼트 기록기. 저장소가 꺼져 있거나 파일을 만들 수 없으면 null이며, 분석은 드릴다운 없이 진행한다.
+     * 같은 분석의 세그먼트는 한 번에 하나만 기록한다 (첫 분석과 추가 작업은 서로 겹치지 않는다).
+     */
+    public ColumnarSegmentWriter newSegment(String analysisId) {
+        if (!enabled) {
+            return null;
+        }
+        Path analysisDirectory = directory.resolve(analysisId);
+        try {
+            Files.createDirectories(analysisDirectory);
+            Path target = analysisDirectory.resolve(String.format("seg-%05d%s",
+                    listSegments(analysisDirectory).size(), SEGMENT_SUFFIX));
+            return new ColumnarSegmentWriter(target, blockRows, () -> openSegments.invalidate(analysisId));
+        } catch (IOException e) {
+            log.warn("컬럼 파일 생성 실패, 드릴다운 없이 분석 진행: analysisId={}", analysisId, e);
+            return null;
+        }
+    }
+
+    /** 커밋된 세그먼트 목록(기록 순서) — 없으면 빈 목록 */
+    public List<ColumnarSegment> segments(String analysisId) {
+        if (!enabled) {
+            return List.of();
+        }
+        return openSegments.get(analysisId, this::load);
+    }
+
+    public void delete(String analysisId) {
+        openSegments.invalidate(analysisId);
+        if (!enabled) {
+            return;
+        }
+        Path analysisDirectory = directory.resolve(analysisId);
+        if (!Files.isDirectory(analysisDirectory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(analysisDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("컬럼 파일 삭제 실패: analysisId={}", analysisId, e);
+        }
+    }
+
+    private List<ColumnarSegment> load(String analysisId) {
+        Path analysisDirectory = directory.resolve(analysisId);
+        if (!Files.isDirectory(analysisDirectory)) {
+            return List.of();
+        }
+        try {
+            List<ColumnarSegment> segments = new ArrayList<>();
+            for (Path file : listSegments(analysisDirectory)) {
+                segments.add(ColumnarSegment.open(file));
+            }
+            return List.copyOf(segments);
+        } catch (IOException e) {
+            throw new UncheckedIOException("컬럼 파일 읽기 실패: " + analysisId, e);
+        }
+    }
+
+    private static List<Path> listSegments(Path analysisDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(analysisDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("컬럼 파일 삭제 실패: {}", file, e);
+        }
+    }
+}
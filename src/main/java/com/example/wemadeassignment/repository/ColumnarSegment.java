@@ -0,0 +1,183 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.LogField;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 읽기 전용 컬럼 세그먼트 — 파일 하나를 메모리 매핑하고 꼬리의 블록 목록과 사전만 힙에 올린다.
+ *
+ * <p>파일 형식: {@code [MAGIC:int][VERSION:int]} 뒤에 블록이 이어지고, 블록은 필드 순서대로
+ * {@code [width:byte][비트 패킹된 값]} 컬럼 조각을 담는다({@link BitPacking}). 파일 끝의 footer에는 블록별 행 수와
+ * 필드별 조각 위치·최솟값·최댓값, 문자열 필드의 사전이 있고, 마지막 12 bytes가 {@code [footer 위치:long][MAGIC:int]}이다.
+ *
+ * <p>옆에 원본 라인과 역색인 파일이 있으면 함께 연다({@link #rowIndex()}).
+ *
+ * <p>조회는 필요한 필드의 조각만 절대 위치로 읽어 복원하므로 여러 조회가 같은 인스턴스를 동시에 써도 된다.
+ */
+public final class ColumnarSegment {
+
+    static final int MAGIC = 0x57434F4C;  // "WCOL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final LogField[] FIELDS = LogField.values();
+
+    private final ByteBuffer data;
+    private final int[] blockRows;
+    private final int[] offsets;  // [block * 필드 수 + 필드]
+    private final long[] mins;
+    private final long[] maxs;
+    private final String[][] dictionaries;  // 필드 순서, 숫자 필드는 null
+    private final Map<LogField, Map<String, Integer>> dictionaryIds = new EnumMap<>(LogField.class);
+    private final long rowCount;
+    private final RowIndex rowIndex;
+
+    private ColumnarSegment(ByteBuffer data, int[] blockRows, int[] offsets, long[] mins, long[] maxs,
+                            String[][] dictionaries, RowIndex rowIndex) {
+        this.data = data;
+        this.rowIndex = rowIndex;
+        this.blockRows = blockRows;
+        this.offsets = offsets;
+        this.mins = mins;
+        this.maxs = maxs;
+        this.dictionaries = dictionaries;
+        long rows = 0;
+        for (int count : blockRows) {
+            rows += count;
+        }
+        this.rowCount = rows;
+        for (LogField field : FIELDS) {
+            if (field.isText()) {
+                String[] values = dictionaries[field.ordinal()];
+                Map<String, Integer> ids = HashMap.newHashMap(values.length);
+                for (int id = 0; id < values.length; id++) {
+                    ids.put(values[id], id);
+                }
+                dictionaryIds.put(field, ids);
+            }
+        }
+    }
+
+    /** 파일을 매핑하고 footer를 읽는다. 형식이 맞지 않거나 잘린 파일이면 IOException */
+    public static ColumnarSegment open(Path file) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("컬럼 파일 크기가 올바르지 않습니다: " + file);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int size = data.capacity();
+        if (data.getInt(0) != MAGIC || data.getInt(Integer.BYTES) != VERSION
+                || data.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IOException("컬럼 파일 형식이 아닙니다: " + file);
+        }
+        long footerOffset = data.getLong(size - TRAILER_BYTES);
+        if (footerOffset < HEADER_BYTES || footerOffset > size - TRAILER_BYTES) {
+            throw new IOException("컬럼 파일 footer 위치가 올바르지 않습니다: " + file);
+        }
+        RowIndex rowIndex = RowIndex.open(file);
+        ColumnarSegment segment;
+        try {
+            segment = readFooter(data, (int) footerOffset, rowIndex);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                 | ArithmeticException | NegativeArraySizeException e) {
+            throw new IOException("손상된 컬럼 파일: " + file, e);
+        }
+        if (rowIndex != null && rowIndex.rowCount() != segment.rowCount) {
+            throw new IOException("원본 색인의 행 수가 세그먼트와 다릅니다: " + file);
+        }
+        return segment;
+    }
+
+    private static ColumnarSegment readFooter(ByteBuffer data, int footerOffset, RowIndex rowIndex) throws IOException {
+        ByteBuffer footer = data.slice(footerOffset, data.capacity() - TRAILER_BYTES - footerOffset);
+        if (footer.getInt() != FIELDS.length) {
+            throw new IOException("컬럼 파일의 필드 수가 다릅니다.");
+        }
+        int blockCount = footer.getInt();
+        int[] blockRows = new int[blockCount];
+        int[] offsets = new int[blockCount * FIELDS.length];
+        long[] mins = new long[offsets.length];
+        long[] maxs = new long[offsets.length];
+        for (int block = 0; block < blockCount; block++) {
+            blockRows[block] = footer.getInt();
+            for (int field = 0; field < FIELDS.length; field++) {
+                int slot = block * FIELDS.length + field;
+                offsets[slot] = Math.toIntExact(footer.getLong());
+                mins[slot] = footer.getLong();
+                maxs[slot] = footer.getLong();
+            }
+        }
+        String[][] dictionaries = new String[FIELDS.length][];
+        for (LogField field : FIELDS) {
+            if (!field.isText()) {
+                continue;
+            }
+            String[] values = new String[footer.getInt()];
+            for (int id = 0; id < values.length; id++) {
+                byte[] bytes = new byte[footer.getInt()];
+                footer.get(bytes);
+                values[id] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            dictionaries[field.ordinal()] = values;
+        }
+        return new ColumnarSegment(data, blockRows, offsets, mins, maxs, dictionaries, rowIndex);
+    }
+
+    public int blockCount() {
+        return blockRows.length;
+    }
+
+    public int rows(int block) {
+        return blockRows[block];
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public long min(int block, LogField field) {
+        return mins[block * FIELDS.length + field.ordinal()];
+    }
+
+    public long max(int block, LogField field) {
+        return maxs[block * FIELDS.length + field.ordinal()];
+    }
+
+    /** 블록의 한 필드 값을 {@code values[0..rows(block))}에 복원 — 다른 필드의 조각은 읽지 않는다 */
+    public void read(int block, LogField field, long[] values) {
+        int slot = block * FIELDS.length + field.ordinal();
+        int offset = offsets[slot];
+        BitPacking.unpack(data, offset + 1, blockRows[block], mins[slot], data.get(offset), values);
+    }
+
+    /** 원본 라인과 역색인 — 색인 없이 기록된 세그먼트면 null */
+    public RowIndex rowIndex() {
+        return rowIndex;
+    }
+
+    /** 문자열 값의 사전 ID — 이 세그먼트에 없는 값이면 -1 */
+    public int dictionaryId(LogField field, String value) {
+        return dictionaryIds.get(field).getOrDefault(value, -1);
+    }
+
+    public String dictionaryValue(LogField field, int id) {
+        return dictionaries[field.ordinal()][id];
+    }
+
+    public int dictionarySize(LogField field) {
+        return dictionaries[field.ordinal()].length;
+    }
+}
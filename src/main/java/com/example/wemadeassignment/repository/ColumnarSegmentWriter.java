@@ -0,0 +1,219 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.LogField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컬럼 세그먼트 기록기 — 파서가 넘겨주는 로그를 {@code blockRows}행씩 필드별 배열에 모았다가 블록 단위로 기록하고,
+ * 원본 라인과 역색인은 {@link RowIndexWriter}로 함께 기록한다. 형식은 {@link ColumnarSegment}, {@link RowIndex} 참고.
+ *
+ * <p>파싱 스레드 하나가 쓰며, 메모리에는 현재 블록과 문자열 필드의 사전, 행별 원본 위치와 색인 키만 둔다. 기록 중 I/O 오류는 파싱을 멈추지 않도록
+ * 기억만 해 두고 이후 행은 버리며, 그 경우 {@link #commit()}이 false를 반환한다(분석은 드릴다운 없이 계속된다).
+ * 임시 파일에 기록하다가 커밋 시 원자적으로 이름을 바꾸므로, 커밋하지 않고 닫으면 아무것도 남지 않는다.
+ */
+public class ColumnarSegmentWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarSegmentWriter.class);
+    private static final LogField[] FIELDS = LogField.values();
+
+    private final Path target;
+    private final Path temp;
+    private final Runnable onCommit;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final int blockRows;
+    private final long[][] columns = new long[FIELDS.length][];
+    private final List<Map<String, Integer>> dictionaryIds = new ArrayList<>();
+    private final List<List<String>> dictionaries = new ArrayList<>();
+    private final RowIndexWriter rowIndex;
+    private final int[] rowKeys = new int[RowIndex.FIELDS.size()];
+    private final ByteArrayOutputStream blockIndex = new ByteArrayOutputStream();
+    private final DataOutputStream blockIndexOut = new DataOutputStream(blockIndex);
+    private long position;
+    private int rows;
+    private int blockCount;
+    private IOException failure;
+    private boolean committed;
+
+    ColumnarSegmentWriter(Path target, int blockRows, Runnable onCommit) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ColumnarLogStore.TEMP_SUFFIX);
+        this.onCommit = onCommit;
+        this.blockRows = blockRows;
+        this.channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024));
+        for (LogField field : FIELDS) {
+            columns[field.ordinal()] = new long[blockRows];
+            dictionaryIds.add(field.isText() ? new HashMap<>() : null);
+            dictionaries.add(field.isText() ? new ArrayList<>() : null);
+        }
+        out.writeInt(ColumnarSegment.MAGIC);
+        out.writeInt(ColumnarSegment.VERSION);
+        position = ColumnarSegment.HEADER_BYTES;
+        try {
+            this.rowIndex = new RowIndexWriter(target);
+        } catch (IOException e) {
+            out.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /** 파싱한 로그와 그 원본 라인을 한 행으로 기록 */
+    public void append(AccessLog accessLog, String line) {
+        if (failure != null) {
+            return;
+        }
+        for (LogField field : FIELDS) {
+            columns[field.ordinal()][rows] = field.isText()
+                    ? dictionaryId(field, field.text(accessLog))
+                    : field.number(accessLog);
+        }
+        for (int i = 0; i < rowKeys.length; i++) {
+            rowKeys[i] = (int) columns[RowIndex.FIELDS.get(i).ordinal()][rows];
+        }
+        try {
+            rowIndex.append(rowKeys, line);
+        } catch (IOException e) {
+            failure = e;
+            return;
+        }
+        rows++;
+        if (rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * 남은 행과 footer를 기록하고 파일을 확정한다. 원본·색인 파일을 먼저 확정하고 세그먼트 파일을 마지막에 옮기므로,
+     * 세그먼트 파일이 보이면 옆 파일도 모두 있다. 기록 중 오류가 있었으면 임시 파일을 지우고 false를 반환한다.
+     */
+    public boolean commit() {
+        if (failure == null && rows > 0) {
+            flushBlock();
+        }
+        if (failure == null) {
+            try {
+                writeFooter();
+                out.flush();
+                channel.force(true);
+                out.close();
+                rowIndex.commit();
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                committed = true;
+                onCommit.run();
+                return true;
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        log.warn("컬럼 파일 기록 실패, 드릴다운 조회 불가: {}", target, failure);
+        close();
+        return false;
+    }
+
+    /** 커밋하지 않았으면 임시 파일과 원본·색인 파일을 지운다 — 파싱 실패·취소 시 try-with-resources로 호출 */
+    @Override
+    public void close() {
+        if (committed) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("컬럼 임시 파일 닫기 실패: {}", temp, e);
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            log.warn("컬럼 임시 파일 삭제 실패: {}", temp, e);
+        }
+        rowIndex.discard();
+    }
+
+    private int dictionaryId(LogField field, String value) {
+        Map<String, Integer> ids = dictionaryIds.get(field.ordinal());
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = ids.size();
+            ids.put(value, id);
+            dictionaries.get(field.ordinal()).add(value);
+        }
+        return id;
+    }
+
+    private void flushBlock() {
+        try {
+            writeBlock();
+        } catch (IOException e) {
+            failure = e;
+        }
+        rows = 0;
+    }
+
+    /** 필드마다 블록 최솟값·최댓값을 구해 비트 패킹하여 기록하고, 위치와 범위는 footer용 블록 목록에 적어 둔다 */
+    private void writeBlock() throws IOException {
+        blockIndexOut.writeInt(rows);
+        for (LogField field : FIELDS) {
+            long[] values = columns[field.ordinal()];
+            long min = values[0];
+            long max = values[0];
+            for (int i = 1; i < rows; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            int width = BitPacking.width(min, max);
+            ByteBuffer chunk = ByteBuffer.allocate(1 + BitPacking.packedBytes(rows, width));
+            chunk.put((byte) width);
+            BitPacking.pack(values, rows, min, width, chunk);
+            out.write(chunk.array());
+            blockIndexOut.writeLong(position);
+            blockIndexOut.writeLong(min);
+            blockIndexOut.writeLong(max);
+            position += chunk.capacity();
+        }
+        blockCount++;
+    }
+
+    private void writeFooter() throws IOException {
+        long footerOffset = position;
+        out.writeInt(FIELDS.length);
+        out.writeInt(blockCount);
+        blockIndex.writeTo(out);
+        for (LogField field : FIELDS) {
+            if (!field.isText()) {
+                continue;
+            }
+            List<String> values = dictionaries.get(field.ordinal());
+            out.writeInt(values.size());
+            for (String value : values) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        out.writeLong(footerOffset);
+        out.writeInt(ColumnarSegment.MAGIC);
+    }
+}
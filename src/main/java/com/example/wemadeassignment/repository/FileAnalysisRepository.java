@@ -0,0 +1,660 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 로컬 파일 기반 분석 결과 저장소 — 재시작 후에도 결과를 유지한다.
+ *
+ * <p>결과는 append-only 로그({@code results.log})에 바이너리 레코드로 기록하고, 메모리에는 분석 ID → 레코드 위치
+ * 인덱스만 둔다. 끝난 결과는 로그를 메모리 매핑하여 해당 레코드만 읽어 복원하고, 복원한 객체는 최근 조회한
+ * {@code cacheSize}건까지 보관하여 반복 조회가 다시 디코딩하지 않는다 (기록·삭제 시 버림).
+ * 진행 중인 결과는 서비스가 갱신하는 객체를 그대로 반환해야 하므로 메모리에도 함께 보관한다.
+ *
+ * <p>새 결과·끝난 결과·삭제 표시는 디스크에 반영한 뒤 반환하되, fsync는 쓰기 잠금 밖에서 하고 그동안 쌓인 기록을
+ * 한 번에 반영한다(group commit). 진행 중인 결과의 중간 갱신은 반영을 기다리지 않는다 — 비정상 종료로 잃어도
+ * 그 전에 기록한 레코드가 남아 재시작 시 그 단계에 맞게 복원된다.
+ *
+ * <p>인덱스는 주기적으로 스냅샷({@code results.index})으로 저장한다. 기동 시에는 스냅샷을 읽고 그 이후에 추가된
+ * 로그 꼬리만 재생하므로, 복구 시간은 보관 데이터 크기가 아니라 인덱스 크기와 마지막 스냅샷 이후 기록량에 비례한다.
+ * 비정상 종료로 잘리거나 CRC가 맞지 않는 꼬리 레코드는 버리고, 파싱 중이던 분석은 임시 파일이 남아 있지 않아
+ * 다시 실행할 수 없으므로 FAILED로 기록한다. IP 조회 중(ENRICHING)이던 분석은 통계가 이미 게시되었으므로
+ * 조회되지 않은 상위 IP를 UNKNOWN으로 채워 COMPLETED로 기록한다.
+ *
+ * <p>로그 형식: {@code [MAGIC:int][generation:long]} 뒤에 레코드가 이어진다.
+ * 레코드는 {@code [MARKER:byte][type:byte][length:int][body][crc32:int]}이며 본문은 {@link AnalysisResultCodec} 참고.
+ * 같은 ID의 이전 레코드와 삭제 표시가 절반을 넘으면 유효 레코드만 새 세대 로그로 옮기는 컴팩션을 수행하고,
+ * 이때 보관 기간이 지난 결과도 정리한다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "analysis.store", name = "type", havingValue = "file")
+public class FileAnalysisRepository implements AnalysisRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(FileAnalysisRepository.class);
+    private static final int MAGIC = 0x414E4C31;           // "ANL1"
+    private static final int SNAPSHOT_MAGIC = 0x414E5831;  // "ANX1"
+    private static final int RECORD_MARKER = 0x7A;
+    private static final byte TYPE_RESULT = 1;
+    private static final byte TYPE_TOMBSTONE = 2;
+    private static final int LOG_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_BYTES = 2 + Integer.BYTES;
+    private static final int RECORD_OVERHEAD = RECORD_HEADER_BYTES + Integer.BYTES;
+    private static final long COMPACTION_MIN_BYTES = 1024 * 1024;
+    private static final String RESTART_FAILURE = "서버 재시작으로 분석이 중단되었습니다. 파일을 다시 업로드해 주세요.";
+
+    private final Path logPath;
+    private final Path snapshotPath;
+    private final long ttlMillis;
+    private final Duration snapshotInterval;
+
+    private final Map<String, AnalysisResult> live = new ConcurrentHashMap<>();
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    // 복원한 끝난 결과 — 읽기 잠금 안에서만 채우고, 쓰기 잠금 안에서 버린다
+    private final Cache<String, AnalysisResult> decoded;
+    private final List<Consumer<AnalysisResult>> evictionListeners = new CopyOnWriteArrayList<>();
+    // 읽기: 인덱스 조회 + 레코드 읽기, 쓰기: 레코드 추가·컴팩션(로그 파일 교체)
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;     // guarded by lock
+    private long generation;         // guarded by lock
+    private volatile long logSize;   // 쓰기 잠금 안에서만 변경
+    private volatile long writtenBytes;  // 쓰기 잠금 안에서만 변경 — 세대와 무관하게 늘기만 하는 누적 기록량
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private long syncedBytes;        // guarded by syncLock — 디스크에 반영된 누적 기록량
+    private long garbageBytes;       // guarded by lock — 대체·삭제된 레코드 크기 합
+    private long snapshotLogSize;    // guarded by lock — 마지막 스냅샷이 다루는 로그 길이
+    private volatile MappedByteBuffer mapped;
+    private volatile Thread worker;
+
+    /** 레코드 위치와 복구·만료 판단에 필요한 헤더 값 */
+    private record IndexEntry(long offset, int length, AnalysisStatus status, long writtenAt) {
+    }
+
+    public FileAnalysisRepository(AnalysisProperties properties) {
+        Path directory = Path.of(properties.store().path());
+        this.logPath = directory.resolve("results.log");
+        this.snapshotPath = directory.resolve("results.index");
+        this.ttlMillis = properties.retention().ttl() * 1000;
+        this.snapshotInterval = Duration.ofSeconds(properties.store().snapshotInterval());
+        this.decoded = Caffeine.newBuilder()
+                .maximumSize(properties.store().cacheSize())
+                .build();
+    }
+
+    /** 인덱스를 복구한 뒤 주기적 스냅샷·컴팩션을 시작 — 조회에 인덱스가 필요하므로 복구는 기동 중에 끝낸다 */
+    @PostConstruct
+    public void open() {
+        lock.writeLock().lock();
+        try {
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("분석 결과 저장소 복구 실패: " + logPath, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        worker = Thread.ofVirtual().name("analysis-store").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(snapshotInterval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                maintain();
+            }
+        });
+    }
+
+    /** 정상 종료 시 스냅샷을 남겨 다음 기동에서 로그를 재생하지 않게 한다 */
+    @PreDestroy
+    public void close() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                writeSnapshot();
+                channel.close();
+                channel = null;
+                mapped = null;
+            }
+        } catch (IOException e) {
+            log.warn("분석 결과 저장소 닫기 실패: {}", logPath, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(AnalysisResult result) {
+        write(result, false);
+    }
+
+    @Override
+    public void update(AnalysisResult result) {
+        write(result, true);
+    }
+
+    @Override
+    public Optional<AnalysisResult> findById(String analysisId) {
+        AnalysisResult current = live.get(analysisId);
+        if (current != null) {
+            return Optional.of(current);
+        }
+        lock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(analysisId);
+            if (entry == null || isExpired(entry, System.currentTimeMillis())) {
+                return Optional.empty();
+            }
+            if (!isFinished(entry.status())) {
+                // 잠금을 기다리는 사이 진행 중으로 바뀐 결과 — 복원하지 않고 서비스가 갱신하는 객체를 돌려준다
+                current = live.get(analysisId);
+                return current != null ? Optional.of(current) : Optional.of(AnalysisResultCodec.decode(readBody(entry)));
+            }
+            AnalysisResult cached = decoded.getIfPresent(analysisId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            AnalysisResult restored = AnalysisResultCodec.decode(readBody(entry));
+            AnalysisResult raced = decoded.asMap().putIfAbsent(analysisId, restored);
+            return Optional.of(raced != null ? raced : restored);
+        } catch (IOException e) {
+            // 없는 결과(404)로 답하지 않도록 서버 오류로 올린다
+            throw new UncheckedIOException("분석 결과 레코드 읽기 실패: " + analysisId, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(String analysisId) {
+        live.remove(analysisId);
+        FileChannel target = null;
+        long written = 0;
+        lock.writeLock().lock();
+        try {
+            decoded.invalidate(analysisId);
+            IndexEntry removed = index.remove(analysisId);
+            if (removed != null) {
+                long offset = append(TYPE_TOMBSTONE, AnalysisResultCodec.encodeTombstone(analysisId, System.currentTimeMillis()));
+                garbageBytes += removed.length() + (logSize - offset);
+                target = channel;
+                written = writtenBytes;
+            }
+        } catch (IOException e) {
+            log.error("분석 결과 삭제 기록 실패: analysisId={}", analysisId, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (target != null) {
+            sync(target, written);
+        }
+    }
+
+    @Override
+    public void onEvicted(Consumer<AnalysisResult> listener) {
+        evictionListeners.add(listener);
+    }
+
+    public int getSize() {
+        return index.size();
+    }
+
+    public long getLogSize() {
+        return logSize;
+    }
+
+    /**
+     * 결과 레코드를 추가하고 인덱스를 갱신한다. 진행 중인 결과는 메모리에도 보관하고, 끝난 결과는 기록 후 메모리에서 뺀다.
+     * {@code onlyIfPresent}면 이미 삭제된 결과를 되살리지 않는다. 진행 중인 결과의 갱신이 아니면 잠금을 푼 뒤 디스크 반영을 기다린다.
+     */
+    private void write(AnalysisResult result, boolean onlyIfPresent) {
+        String analysisId = result.getAnalysisId();
+        boolean inFlight = !isFinished(result.getStatus());
+        long now = System.currentTimeMillis();
+        byte[] body = AnalysisResultCodec.encode(result, now);
+        FileChannel target = null;
+        long written = 0;
+        lock.writeLock().lock();
+        try {
+            if (onlyIfPresent && !index.containsKey(analysisId)) {
+                return;
+            }
+            if (inFlight) {
+                live.put(analysisId, result);
+            }
+            decoded.invalidate(analysisId);
+            long offset = append(TYPE_RESULT, body);
+            IndexEntry previous = index.put(analysisId,
+                    new IndexEntry(offset, (int) (logSize - offset), result.getStatus(), now));
+            if (previous != null) {
+                garbageBytes += previous.length();
+            }
+            if (!inFlight) {
+                live.remove(analysisId, result);
+            }
+            if (!inFlight || !onlyIfPresent) {
+                target = channel;
+                written = writtenBytes;
+            }
+        } catch (IOException e) {
+            log.error("분석 결과 기록 실패: analysisId={}", analysisId, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (target != null) {
+            sync(target, written);
+        }
+    }
+
+    /**
+     * 누적 기록량 {@code upTo}까지 디스크에 반영한다. 쓰기 잠금 밖에서 하므로 fsync 중에도 다른 기록·조회가 진행되고,
+     * 차례를 기다리는 사이 다른 스레드의 fsync가 그 지점을 넘었으면 바로 돌아온다 — 함께 기다린 기록들은 fsync 한 번으로 반영된다.
+     * 그 사이 컴팩션으로 채널이 닫혔으면 유효 레코드는 이미 디스크에 반영된 새 로그로 옮겨졌다.
+     */
+    private void sync(FileChannel target, long upTo) {
+        syncLock.lock();
+        try {
+            if (syncedBytes >= upTo) {
+                return;
+            }
+            long covered = writtenBytes;
+            target.force(false);
+            syncedBytes = covered;
+        } catch (ClosedChannelException e) {
+            log.debug("컴팩션·종료로 닫힌 로그, 디스크 반영 생략: {}", logPath);
+        } catch (IOException e) {
+            log.error("분석 결과 로그 디스크 반영 실패: {}", logPath, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** 레코드를 로그 끝에 기록하고 시작 위치를 반환 — 디스크 반영은 {@link #sync}가 묶어서 한다 (쓰기 잠금 필요) */
+    private long append(byte type, byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + body.length)
+                .put((byte) RECORD_MARKER)
+                .put(type)
+                .putInt(body.length)
+                .put(body)
+                .putInt((int) crc.getValue())
+                .flip();
+        long offset = logSize;
+        long position = offset;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        logSize = position;
+        writtenBytes += position - offset;
+        return offset;
+    }
+
+    /** 레코드 본문 읽기 — 매핑 범위 안이면 메모리 매핑에서, 아니면 매핑을 넓히거나 채널에서 직접 읽는다 (읽기 잠금 필요) */
+    private byte[] readBody(IndexEntry entry) throws IOException {
+        byte[] body = new byte[entry.length() - RECORD_OVERHEAD];
+        long bodyOffset = entry.offset() + RECORD_HEADER_BYTES;
+        MappedByteBuffer buffer = mapped;
+        if (buffer == null || entry.offset() + entry.length() > buffer.capacity()) {
+            buffer = remap();
+        }
+        if (buffer != null && entry.offset() + entry.length() <= buffer.capacity()) {
+            buffer.get((int) bodyOffset, body);
+            return body;
+        }
+        ByteBuffer target = ByteBuffer.wrap(body);
+        while (target.hasRemaining()) {
+            if (channel.read(target, bodyOffset + target.position()) < 0) {
+                throw new IOException("레코드가 로그 끝을 넘습니다: offset=" + entry.offset());
+            }
+        }
+        return body;
+    }
+
+    /** 현재 로그 길이만큼 다시 매핑. 2GB를 넘으면 매핑하지 않고 채널 읽기로 처리 */
+    private synchronized MappedByteBuffer remap() throws IOException {
+        long size = logSize;
+        MappedByteBuffer current = mapped;
+        if (current != null && current.capacity() >= size) {
+            return current;
+        }
+        if (size > Integer.MAX_VALUE) {
+            return null;
+        }
+        current = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        mapped = current;
+        return current;
+    }
+
+    /** 스냅샷으로 인덱스를 복원하고 이후 로그 꼬리만 재생한 뒤, 진행 중이던 분석을 FAILED로 기록 (쓰기 잠금 필요) */
+    private void recover() throws IOException {
+        long start = System.currentTimeMillis();
+        Path parent = logPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < LOG_HEADER_BYTES) {
+            generation = System.nanoTime();
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES).putInt(MAGIC).putLong(generation).flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(true);
+            logSize = LOG_HEADER_BYTES;
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("알 수 없는 로그 형식: " + logPath);
+            }
+            generation = header.getLong();
+            logSize = channel.size();
+        }
+
+        long replayFrom = readSnapshot() ? snapshotLogSize : LOG_HEADER_BYTES;
+        if (replayFrom == LOG_HEADER_BYTES) {
+            index.clear();
+            garbageBytes = 0;
+        }
+        long replayed = replay(replayFrom);
+
+        int interrupted = 0;
+        for (Map.Entry<String, IndexEntry> entry : List.copyOf(index.entrySet())) {
+            if (isFinished(entry.getValue().status())) {
+                continue;
+            }
+            AnalysisResult result = AnalysisResultCodec.decode(readBody(entry.getValue()));
+            if (result.getStatus() == AnalysisStatus.ENRICHING) {
+                completeUnenriched(result);
+            } else {
+                result.fail(RESTART_FAILURE);
+            }
+            long now = System.currentTimeMillis();
+            long offset = append(TYPE_RESULT, AnalysisResultCodec.encode(result, now));
+            index.put(result.getAnalysisId(), new IndexEntry(offset, (int) (logSize - offset), result.getStatus(), now));
+            garbageBytes += entry.getValue().length();
+            interrupted++;
+        }
+        writeSnapshot();
+        log.info("분석 결과 저장소 복구 완료: 결과={}건, 재생 레코드={}건, 중단된 분석={}건, 로그={}bytes, 소요시간={}ms",
+                index.size(), replayed, interrupted, logSize, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * IP 조회 중이던 결과는 통계가 이미 게시된 상태이므로 버리지 않고 완료로 되살린다.
+     * 조회 단계가 실패했을 때와 같이 조회되지 않은 상위 IP는 UNKNOWN으로 채우고, 로그 추가 전에 조회해 둔 IP 정보는 그대로 쓴다.
+     */
+    private static void completeUnenriched(AnalysisResult result) {
+        Map<String, IpInfo> enriched = new HashMap<>();
+        result.getTopIps().forEach(info -> enriched.put(info.ip(), info));
+        result.setTopIps(result.getIpCounts().keySet().stream()
+                .map(ip -> enriched.getOrDefault(ip, IpInfo.unknown(ip)))
+                .toList());
+        result.complete();
+    }
+
+    /** {@code from}부터 로그 끝까지 레코드를 재생. 잘리거나 손상된 꼬리는 잘라낸다 (쓰기 잠금 필요) */
+    private long replay(long from) throws IOException {
+        long position = from;
+        long records = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (position < logSize) {
+            header.clear();
+            if (logSize - position < RECORD_OVERHEAD || channel.read(header, position) < RECORD_HEADER_BYTES) {
+                break;
+            }
+            header.flip();
+            int marker = header.get() & 0xFF;
+            byte type = header.get();
+            int length = header.getInt();
+            if (marker != RECORD_MARKER || length < 0 || position + RECORD_OVERHEAD + length > logSize) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length + Integer.BYTES);
+            while (body.hasRemaining()) {
+                if (channel.read(body, position + RECORD_HEADER_BYTES + body.position()) < 0) {
+                    break;
+                }
+            }
+            body.flip();
+            byte[] bytes = new byte[length];
+            body.get(bytes);
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if (body.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            AnalysisResultCodec.Header record = AnalysisResultCodec.decodeHeader(bytes);
+            int recordLength = RECORD_OVERHEAD + length;
+            IndexEntry previous = type == TYPE_TOMBSTONE
+                    ? index.remove(record.analysisId())
+                    : index.put(record.analysisId(), new IndexEntry(position, recordLength, record.status(), record.writtenAt()));
+            if (previous != null) {
+                garbageBytes += previous.length();
+            }
+            if (type == TYPE_TOMBSTONE) {
+                garbageBytes += recordLength;
+            }
+            position += recordLength;
+            records++;
+        }
+        if (position < logSize) {
+            log.warn("분석 결과 로그 끝 {}bytes가 잘려 있거나 손상되어 버립니다: {}", logSize - position, logPath);
+            channel.truncate(position);
+            channel.force(true);
+            logSize = position;
+        }
+        return records;
+    }
+
+    /** 스냅샷이 현재 로그 세대와 맞으면 인덱스를 복원하고 true. 없거나 손상되었으면 false — 로그 전체를 재생한다 */
+    private boolean readSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readLong() != generation) {
+                log.warn("분석 결과 인덱스 스냅샷이 현재 로그와 맞지 않아 로그 전체를 재생합니다: {}", snapshotPath);
+                return false;
+            }
+            long coveredSize = in.readLong();
+            long garbage = in.readLong();
+            int count = in.readInt();
+            if (coveredSize < LOG_HEADER_BYTES || coveredSize > logSize) {
+                return false;
+            }
+            Map<String, IndexEntry> restored = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String analysisId = in.readUTF();
+                restored.put(analysisId, new IndexEntry(in.readLong(), in.readInt(),
+                        AnalysisStatus.values()[in.readUnsignedByte()], in.readLong()));
+            }
+            if (in.readInt() != count) {
+                return false;
+            }
+            index.clear();
+            index.putAll(restored);
+            garbageBytes = garbage;
+            snapshotLogSize = coveredSize;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("분석 결과 인덱스 스냅샷 읽기 실패, 로그 전체를 재생합니다: {}", snapshotPath, e);
+            return false;
+        }
+    }
+
+    /** 로그를 디스크에 반영하고 현재 인덱스를 임시 파일에 기록한 뒤 원자적으로 교체 — 스냅샷은 반영된 레코드만 가리킨다 (쓰기 잠금 필요) */
+    private void writeSnapshot() throws IOException {
+        channel.force(false);
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(generation);
+            out.writeLong(logSize);
+            out.writeLong(garbageBytes);
+            out.writeInt(index.size());
+            int count = 0;
+            for (Map.Entry<String, IndexEntry> entry : index.entrySet()) {
+                IndexEntry value = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeLong(value.offset());
+                out.writeInt(value.length());
+                out.writeByte(value.status().ordinal());
+                out.writeLong(value.writtenAt());
+                count++;
+            }
+            out.writeInt(count);
+        }
+        move(tmp, snapshotPath);
+        snapshotLogSize = logSize;
+    }
+
+    /** 보관 기간이 지난 결과를 정리하고, 버려진 레코드가 로그의 절반을 넘으면 컴팩션, 아니면 스냅샷만 갱신 */
+    void maintain() {
+        lock.writeLock().lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            List<AnalysisResult> expired = removeExpired();
+            if (logSize >= COMPACTION_MIN_BYTES && garbageBytes * 2 > logSize) {
+                compact();
+            } else if (logSize != snapshotLogSize) {
+                writeSnapshot();
+            }
+            notifyEvicted(expired);
+        } catch (IOException e) {
+            log.warn("분석 결과 저장소 정리 실패: {}", logPath, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<AnalysisResult> removeExpired() throws IOException {
+        long now = System.currentTimeMillis();
+        List<AnalysisResult> expired = new ArrayList<>();
+        for (Map.Entry<String, IndexEntry> entry : List.copyOf(index.entrySet())) {
+            IndexEntry value = entry.getValue();
+            if (!isExpired(value, now) || live.containsKey(entry.getKey())) {
+                continue;
+            }
+            expired.add(AnalysisResultCodec.decode(readBody(value)));
+            index.remove(entry.getKey(), value);
+            decoded.invalidate(entry.getKey());
+            long offset = append(TYPE_TOMBSTONE, AnalysisResultCodec.encodeTombstone(entry.getKey(), now));
+            garbageBytes += value.length() + (logSize - offset);
+        }
+        return expired;
+    }
+
+    /** 유효 레코드만 기록 순서대로 새 세대 로그에 복사한 뒤 원자적으로 교체 (쓰기 잠금 필요) */
+    void compact() throws IOException {
+        long start = System.currentTimeMillis();
+        long before = logSize;
+        long newGeneration = System.nanoTime();
+        Path tmp = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+        List<Map.Entry<String, IndexEntry>> entries = index.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().offset()))
+                .toList();
+        Map<String, IndexEntry> compacted = new HashMap<>(entries.size() * 2);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES).putInt(MAGIC).putLong(newGeneration).flip();
+            long position = out.write(header);
+            for (Map.Entry<String, IndexEntry> entry : entries) {
+                IndexEntry value = entry.getValue();
+                long copied = 0;
+                while (copied < value.length()) {
+                    copied += channel.transferTo(value.offset() + copied, value.length() - copied, out);
+                }
+                compacted.put(entry.getKey(), new IndexEntry(position, value.length(), value.status(), value.writtenAt()));
+                position += value.length();
+            }
+            out.force(true);
+        }
+
+        mapped = null;
+        channel.close();
+        move(tmp, logPath);
+        channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        generation = newGeneration;
+        logSize = channel.size();
+        garbageBytes = 0;
+        index.clear();
+        index.putAll(compacted);
+        writeSnapshot();
+        log.info("분석 결과 로그 컴팩션 완료: {}bytes → {}bytes, 결과={}건, 소요시간={}ms",
+                before, logSize, index.size(), System.currentTimeMillis() - start);
+    }
+
+    private void notifyEvicted(List<AnalysisResult> expired) {
+        for (AnalysisResult result : expired) {
+            log.info("분석 결과 보관 만료: analysisId={}", result.getAnalysisId());
+            for (Consumer<AnalysisResult> listener : evictionListeners) {
+                try {
+                    listener.accept(result);
+                } catch (RuntimeException e) {
+                    log.warn("삭제 리스너 실패: analysisId={}", result.getAnalysisId(), e);
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(IndexEntry entry, long now) {
+        return isFinished(entry.status()) && entry.writtenAt() + ttlMillis <= now;
+    }
+
+    private static boolean isFinished(AnalysisStatus status) {
+        return status == AnalysisStatus.COMPLETED || status == AnalysisStatus.FAILED || status == AnalysisStatus.CANCELLED;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
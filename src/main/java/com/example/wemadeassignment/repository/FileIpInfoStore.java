@@ -0,0 +1,316 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.IpInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * append-only 파일 기반 IP 정보 저장소.
+ * 기동 시 가상 스레드에서 파일을 읽어 인덱스를 복원하므로 readiness를 막지 않고,
+ * 이후 주기적으로 만료·중복 레코드를 걷어내는 컴팩션을 수행한다.
+ *
+ * <p>파일 형식: {@code [MAGIC:int]} 뒤에 레코드가 이어진다.
+ * 레코드는 {@code [MARKER:byte][writtenAt:long]}과 IpInfo 8개 필드({@code [present:boolean][value:UTF]})로 구성.
+ * 비정상 종료로 잘린 마지막 레코드는 로드 시 버리고 즉시 컴팩션한다.
+ */
+public class FileIpInfoStore implements IpInfoStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileIpInfoStore.class);
+    private static final int MAGIC = 0x49504331; // "IPC1"
+    private static final int RECORD_MARKER = 0x7E;
+    private static final long COMPACTION_MIN_RECORDS = 1000;
+
+    private final Path path;
+    private final long ttlMillis;
+    private final long maxEntries;
+    private final Duration compactInterval;
+
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private DataOutputStream appender;  // guarded by writeLock
+    private long recordCount;           // guarded by writeLock — 파일 내 레코드 수 (중복/만료 포함)
+    private volatile boolean loaded;
+    private volatile Thread worker;
+
+    private record Entry(IpInfo info, long writtenAt) {
+    }
+
+    public FileIpInfoStore(Path path, Duration ttl, long maxEntries, Duration compactInterval) {
+        this.path = path;
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.compactInterval = compactInterval;
+    }
+
+    /** 백그라운드 로드 후 주기적 컴팩션 — 기동을 막지 않는다 */
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofVirtual().name("ip-info-store").start(() -> {
+            load();
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(compactInterval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                compactIfNeeded();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+        synchronized (writeLock) {
+            closeAppender();
+        }
+    }
+
+    @Override
+    public Optional<StoredIpInfo> find(String ip) {
+        Entry entry = index.get(ip);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        long expiresAt = entry.writtenAt() + ttlMillis;
+        if (expiresAt <= System.currentTimeMillis()) {
+            index.remove(ip, entry);
+            return Optional.empty();
+        }
+        return Optional.of(new StoredIpInfo(entry.info(), Instant.ofEpochMilli(expiresAt)));
+    }
+
+    @Override
+    public void save(IpInfo info) {
+        Entry entry = new Entry(info, System.currentTimeMillis());
+        index.merge(info.ip(), entry, FileIpInfoStore::newer);
+
+        synchronized (writeLock) {
+            try {
+                DataOutputStream out = appender();
+                writeRecord(out, entry);
+                out.flush();
+                recordCount++;
+            } catch (IOException e) {
+                log.warn("IP 캐시 파일 기록 실패: ip={}", info.ip(), e);
+                closeAppender();
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** 파일 전체를 읽어 인덱스를 복원한다. 로드 중 저장된 항목이 더 최신이면 유지 */
+    void load() {
+        long start = System.currentTimeMillis();
+        long records = 0;
+        int restored = 0;
+        boolean needsCompaction = false;
+
+        if (Files.exists(path)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("알 수 없는 파일 형식");
+                }
+                long now = System.currentTimeMillis();
+                int marker;
+                while ((marker = in.read()) != -1) {
+                    if (marker != RECORD_MARKER) {
+                        throw new IOException("손상된 레코드 마커: " + marker);
+                    }
+                    Entry entry;
+                    try {
+                        entry = readRecord(in);
+                    } catch (EOFException e) {
+                        log.warn("IP 캐시 파일 끝 레코드가 잘려 있어 버립니다: {}", path);
+                        needsCompaction = true;
+                        break;
+                    }
+                    records++;
+                    if (entry.writtenAt() + ttlMillis > now) {
+                        index.merge(entry.info().ip(), entry, FileIpInfoStore::newer);
+                        restored++;
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("IP 캐시 파일 로드 실패, 유효한 항목만 유지하고 다시 기록합니다: {}", path, e);
+                needsCompaction = true;
+            }
+        }
+
+        synchronized (writeLock) {
+            recordCount += records;
+        }
+        loaded = true;
+        if (needsCompaction) {
+            compact();
+        }
+        log.info("IP 캐시 파일 로드 완료: 레코드={}건, 복원={}건, 소요시간={}ms",
+                records, restored, System.currentTimeMillis() - start);
+    }
+
+    /** 만료 항목을 정리하고, 파일 내 레코드가 유효 항목의 2배를 넘으면 컴팩션 */
+    void compactIfNeeded() {
+        if (!loaded) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        index.values().removeIf(e -> e.writtenAt() + ttlMillis <= now);
+
+        boolean needed;
+        synchronized (writeLock) {
+            needed = recordCount >= COMPACTION_MIN_RECORDS && recordCount > index.size() * 2L;
+        }
+        if (needed) {
+            compact();
+        }
+    }
+
+    /** 유효 항목만 임시 파일에 기록한 뒤 원자적으로 교체 */
+    void compact() {
+        synchronized (writeLock) {
+            long start = System.currentTimeMillis();
+            long now = System.currentTimeMillis();
+            index.values().removeIf(e -> e.writtenAt() + ttlMillis <= now);
+            evictOverflow();
+
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                createParentDirectories();
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(MAGIC);
+                    for (Entry entry : index.values()) {
+                        writeRecord(out, entry);
+                    }
+                }
+                closeAppender();
+                move(tmp, path);
+                long before = recordCount;
+                recordCount = index.size();
+                log.info("IP 캐시 파일 컴팩션 완료: {}건 → {}건, 소요시간={}ms",
+                        before, recordCount, System.currentTimeMillis() - start);
+            } catch (IOException e) {
+                log.warn("IP 캐시 파일 컴팩션 실패: {}", path, e);
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        long overflow = index.size() - maxEntries;
+        if (overflow <= 0) {
+            return;
+        }
+        index.values().stream()
+                .sorted(Comparator.comparingLong(Entry::writtenAt))
+                .limit(overflow)
+                .toList()
+                .forEach(e -> index.remove(e.info().ip(), e));
+    }
+
+    private DataOutputStream appender() throws IOException {
+        if (appender == null) {
+            createParentDirectories();
+            boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+            appender = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+            if (fresh) {
+                appender.writeInt(MAGIC);
+            }
+        }
+        return appender;
+    }
+
+    private void closeAppender() {
+        if (appender == null) {
+            return;
+        }
+        try {
+            appender.close();
+        } catch (IOException e) {
+            log.warn("IP 캐시 파일 닫기 실패: {}", path, e);
+        }
+        appender = null;
+    }
+
+    private void createParentDirectories() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** 기록 시각이 같으면 나중에 들어온 항목을 우선 */
+    private static Entry newer(Entry existing, Entry candidate) {
+        return candidate.writtenAt() >= existing.writtenAt() ? candidate : existing;
+    }
+
+    private static void writeRecord(DataOutputStream out, Entry entry) throws IOException {
+        IpInfo info = entry.info();
+        out.writeByte(RECORD_MARKER);
+        out.writeLong(entry.writtenAt());
+        writeNullable(out, info.ip());
+        writeNullable(out, info.asn());
+        writeNullable(out, info.asName());
+        writeNullable(out, info.asDomain());
+        writeNullable(out, info.countryCode());
+        writeNullable(out, info.country());
+        writeNullable(out, info.continentCode());
+        writeNullable(out, info.continent());
+    }
+
+    private static Entry readRecord(DataInputStream in) throws IOException {
+        long writtenAt = in.readLong();
+        IpInfo info = new IpInfo(
+                readNullable(in), readNullable(in), readNullable(in), readNullable(in),
+                readNullable(in), readNullable(in), readNullable(in), readNullable(in));
+        if (info.ip() == null) {
+            throw new IOException("ip가 없는 레코드");
+        }
+        return new Entry(info, writtenAt);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -1,29 +1,189 @@
 package com.example.wemadeassignment.repository;
 
+import com.example.wemadeassignment.config.AnalysisProperties;
 import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
+/**
+ * 보관 기간과 크기 상한이 있는 인메모리 분석 결과 저장소.
+ *
+ * <p>끝난 분석(COMPLETED·FAILED·CANCELLED)만 삭제 대상이다. 결과의 추정 크기(bytes)를 가중치로 삼아 합이
+ * {@code maxBytes}를 넘으면 오래 사용되지 않은 결과부터 삭제하고, 마지막 갱신 후 {@code ttl}이 지나면 삭제한다.
+ * 진행 중인 분석은 가중치 0·무기한 만료로 두어 어느 기준으로도 삭제되지 않는다.
+ * 가중치와 만료 시각은 저장·갱신 시점에 계산되므로, 상태가 바뀌면 {@link #update}로 다시 계산하게 한다.
+ *
+ * <p>보관 건수·추정 크기·삭제 건수(사유별)를 {@code analysis.repository.*} 메트릭으로 노출한다.
+ */
 @Repository
-public class InMemoryAnalysisRepository implements AnalysisRepository {
+@ConditionalOnProperty(prefix = "analysis.store", name = "type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryAnalysisRepository implements AnalysisRepository, MeterBinder {
 
-    private final Map<String, AnalysisResult> store = new ConcurrentHashMap<>();
+    private static final Logger log = LoggerFactory.getLogger(InMemoryAnalysisRepository.class);
+
+    private static final int BASE_BYTES = 1024;       // 결과 객체·고정 필드·빈 컬렉션
+    private static final int MAP_ENTRY_BYTES = 64;    // ConcurrentHashMap 노드 + 박싱된 키·값
+    private static final int STRING_BYTES = 40;       // String + byte[] 헤더
+    private static final int IP_INFO_FIELDS = 8;
+
+    private final Cache<String, AnalysisResult> store;
+    private final List<Consumer<AnalysisResult>> evictionListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder sizeEvictedCount = new LongAdder();
+
+    public InMemoryAnalysisRepository(AnalysisProperties properties) {
+        long ttlNanos = TimeUnit.SECONDS.toNanos(properties.retention().ttl());
+        this.store = Caffeine.newBuilder()
+                .maximumWeight(properties.retention().maxBytes())
+                .weigher((String id, AnalysisResult result) -> isEvictable(result) ? weigh(result) : 0)
+                .expireAfter(new Expiry<String, AnalysisResult>() {
+                    @Override
+                    public long expireAfterCreate(String id, AnalysisResult result, long currentTime) {
+                        return isEvictable(result) ? ttlNanos : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, AnalysisResult result, long currentTime, long currentDuration) {
+                        return isEvictable(result) ? ttlNanos : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, AnalysisResult result, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .scheduler(Scheduler.systemScheduler())  // 조회가 없어도 만료 시각에 정리
+                .executor(Runnable::run)                 // 삭제 리스너를 정리 작업과 같은 스레드에서 순서대로 호출
+                .removalListener(this::onRemoval)
+                .build();
+    }
 
     @Override
     public void save(AnalysisResult result) {
         store.put(result.getAnalysisId(), result);
     }
 
+    @Override
+    public void update(AnalysisResult result) {
+        store.asMap().replace(result.getAnalysisId(), result, result);
+    }
+
     @Override
     public Optional<AnalysisResult> findById(String analysisId) {
-        return Optional.ofNullable(store.get(analysisId));
+        return Optional.ofNullable(store.getIfPresent(analysisId));
     }
 
     @Override
     public void deleteById(String analysisId) {
-        store.remove(analysisId);
+        store.invalidate(analysisId);
+    }
+
+    @Override
+    public void onEvicted(Consumer<AnalysisResult> listener) {
+        evictionListeners.add(listener);
+    }
+
+    /** 만료·크기 초과로 삭제 대기 중인 결과를 즉시 정리 */
+    public void cleanUp() {
+        store.cleanUp();
+    }
+
+    /** 삭제 대상 결과의 추정 크기 합 (bytes) */
+    public long getRetainedBytes() {
+        return store.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    public long getSize() {
+        return store.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("analysis.repository.size", this, InMemoryAnalysisRepository::getSize)
+                .description("보관 중인 분석 결과 수")
+                .register(registry);
+        Gauge.builder("analysis.repository.retained", this, InMemoryAnalysisRepository::getRetainedBytes)
+                .description("삭제 대상(끝난) 분석 결과의 추정 크기 합")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("analysis.repository.evictions", expiredCount, LongAdder::sum)
+                .description("보관 기준으로 삭제된 분석 결과 수")
+                .tag("cause", "expired")
+                .register(registry);
+        FunctionCounter.builder("analysis.repository.evictions", sizeEvictedCount, LongAdder::sum)
+                .description("보관 기준으로 삭제된 분석 결과 수")
+                .tag("cause", "size")
+                .register(registry);
+    }
+
+    private void onRemoval(String analysisId, AnalysisResult result, RemovalCause cause) {
+        if (!cause.wasEvicted() || result == null) {
+            return;
+        }
+        (cause == RemovalCause.EXPIRED ? expiredCount : sizeEvictedCount).increment();
+        log.info("분석 결과 보관 만료: analysisId={}, 사유={}, 추정 크기={}bytes", analysisId, cause, weigh(result));
+        for (Consumer<AnalysisResult> listener : evictionListeners) {
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                log.warn("삭제 리스너 실패: analysisId={}", analysisId, e);
+            }
+        }
+    }
+
+    private static boolean isEvictable(AnalysisResult result) {
+        AnalysisStatus status = result.getStatus();
+        return status == AnalysisStatus.COMPLETED || status == AnalysisStatus.FAILED || status == AnalysisStatus.CANCELLED;
+    }
+
+    /** 결과 객체와 보관 중인 집계 상태의 추정 크기. Caffeine 가중치는 int이므로 상한에서 자른다 */
+    static int weigh(AnalysisResult result) {
+        long bytes = BASE_BYTES + result.getRetainedStateBytes();
+        bytes += (long) (result.getStatusCodeCounts().size() + result.getStatusGroupRatios().size()) * MAP_ENTRY_BYTES;
+        bytes += stringMapBytes(result.getPathCounts()) + stringMapBytes(result.getIpCounts());
+        for (IpInfo info : result.getTopIps()) {
+            bytes += STRING_BYTES * IP_INFO_FIELDS + length(info.ip()) + length(info.asName()) + length(info.asDomain())
+                    + length(info.country()) + length(info.continent());
+        }
+        for (ParseErrorSample sample : result.getParseErrorSamples()) {
+            bytes += 2 * STRING_BYTES + length(sample.line()) + length(sample.reason());
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long stringMapBytes(Map<String, Long> map) {
+        long bytes = 0;
+        for (String key : map.keySet()) {
+            bytes += MAP_ENTRY_BYTES + STRING_BYTES + key.length();
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
     }
 }
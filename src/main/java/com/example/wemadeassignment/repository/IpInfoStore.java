@@ -0,0 +1,28 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.IpInfo;
+
+import java.util.Optional;
+
+/** Caffeine L1 아래에 위치하는 IP 정보 2차 저장소 — 재시작 후에도 조회 결과를 유지 */
+public interface IpInfoStore {
+
+    /** 만료되지 않은 항목만 반환한다. 로딩이 끝나기 전에는 미스로 취급 */
+    Optional<StoredIpInfo> find(String ip);
+
+    void save(IpInfo info);
+
+    /** 디스크 캐시 비활성화 시 사용하는 빈 저장소 */
+    static IpInfoStore none() {
+        return new IpInfoStore() {
+            @Override
+            public Optional<StoredIpInfo> find(String ip) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(IpInfo info) {
+            }
+        };
+    }
+}
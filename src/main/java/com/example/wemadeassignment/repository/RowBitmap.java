@@ -0,0 +1,383 @@
+package com.example.wemadeassignment.repository;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * 행 번호 집합을 담는 불변 압축 비트맵 (roaring 방식).
+ *
+ * <p>행 번호의 상위 16비트마다 컨테이너 하나를 두고, 하위 16비트를 원소 수가 {@value #ARRAY_LIMIT}개 이하이면 정렬된
+ * {@code char} 배열로, 그보다 많으면 65536비트 비트맵으로 담는다. 어느 쪽이든 컨테이너 하나가 8KB를 넘지 않으며,
+ * 교집합·합집합은 컨테이너 종류 조합별로 병합·비트 연산으로 계산한다.
+ *
+ * <p>직렬화 형식: {@code [컨테이너 수:int]} 뒤에 컨테이너마다 {@code [상위 16비트:char][원소 수:int]}와
+ * 원소 수에 따라 {@code char} 배열 또는 {@code long[1024]}이 이어진다.
+ */
+public final class RowBitmap {
+
+    static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    public static final RowBitmap EMPTY = new RowBitmap(new char[0], new char[0][], new long[0][], new int[0]);
+
+    private final char[] highs;
+    private final char[][] arrays;   // 배열 컨테이너, 비트맵 컨테이너면 null
+    private final long[][] bitmaps;  // 비트맵 컨테이너, 배열 컨테이너면 null
+    private final int[] cardinalities;
+
+    private RowBitmap(char[] highs, char[][] arrays, long[][] bitmaps, int[] cardinalities) {
+        this.highs = highs;
+        this.arrays = arrays;
+        this.bitmaps = bitmaps;
+        this.cardinalities = cardinalities;
+    }
+
+    /** 오름차순으로 정렬된 {@code rows[from..to)}로 생성 — 중복이 없어야 한다 */
+    public static RowBitmap of(int[] rows, int from, int to) {
+        Builder builder = new Builder(0);
+        int start = from;
+        while (start < to) {
+            char high = (char) (rows[start] >>> 16);
+            int end = start;
+            while (end < to && rows[end] >>> 16 == high) {
+                end++;
+            }
+            int cardinality = end - start;
+            if (cardinality <= ARRAY_LIMIT) {
+                char[] lows = new char[cardinality];
+                for (int i = 0; i < cardinality; i++) {
+                    lows[i] = (char) rows[start + i];
+                }
+                builder.addArray(high, lows);
+            } else {
+                long[] bits = new long[BITMAP_WORDS];
+                for (int i = start; i < end; i++) {
+                    int low = rows[i] & 0xFFFF;
+                    bits[low >>> 6] |= 1L << low;
+                }
+                builder.addBitmap(high, bits, cardinality);
+            }
+            start = end;
+        }
+        return builder.build();
+    }
+
+    public long cardinality() {
+        long total = 0;
+        for (int cardinality : cardinalities) {
+            total += cardinality;
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return highs.length == 0;
+    }
+
+    public boolean contains(int row) {
+        int index = Arrays.binarySearch(highs, (char) (row >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        int low = row & 0xFFFF;
+        return arrays[index] != null
+                ? Arrays.binarySearch(arrays[index], (char) low) >= 0
+                : (bitmaps[index][low >>> 6] & (1L << low)) != 0;
+    }
+
+    /** 두 집합 모두에 있는 행 */
+    public RowBitmap and(RowBitmap other) {
+        Builder builder = new Builder(Math.min(highs.length, other.highs.length));
+        int i = 0;
+        int j = 0;
+        while (i < highs.length && j < other.highs.length) {
+            if (highs[i] < other.highs[j]) {
+                i++;
+            } else if (highs[i] > other.highs[j]) {
+                j++;
+            } else {
+                char high = highs[i];
+                if (arrays[i] != null && other.arrays[j] != null) {
+                    builder.addArray(high, intersect(arrays[i], other.arrays[j]));
+                } else if (arrays[i] != null) {
+                    builder.addArray(high, filter(arrays[i], other.bitmaps[j]));
+                } else if (other.arrays[j] != null) {
+                    builder.addArray(high, filter(other.arrays[j], bitmaps[i]));
+                } else {
+                    long[] bits = new long[BITMAP_WORDS];
+                    int cardinality = 0;
+                    for (int word = 0; word < BITMAP_WORDS; word++) {
+                        bits[word] = bitmaps[i][word] & other.bitmaps[j][word];
+                        cardinality += Long.bitCount(bits[word]);
+                    }
+                    builder.addBitmap(high, bits, cardinality);
+                }
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /** 두 집합 중 어느 한쪽에라도 있는 행 */
+    public RowBitmap or(RowBitmap other) {
+        Builder builder = new Builder(highs.length + other.highs.length);
+        int i = 0;
+        int j = 0;
+        while (i < highs.length || j < other.highs.length) {
+            if (j == other.highs.length || (i < highs.length && highs[i] < other.highs[j])) {
+                builder.addContainer(highs[i], arrays[i], bitmaps[i], cardinalities[i]);
+                i++;
+            } else if (i == highs.length || highs[i] > other.highs[j]) {
+                builder.addContainer(other.highs[j], other.arrays[j], other.bitmaps[j], other.cardinalities[j]);
+                j++;
+            } else {
+                char high = highs[i];
+                if (arrays[i] != null && other.arrays[j] != null
+                        && cardinalities[i] + other.cardinalities[j] <= ARRAY_LIMIT) {
+                    builder.addArray(high, union(arrays[i], other.arrays[j]));
+                } else {
+                    long[] bits = toBits(arrays[i], bitmaps[i]);
+                    if (other.arrays[j] != null) {
+                        for (char low : other.arrays[j]) {
+                            bits[low >>> 6] |= 1L << low;
+                        }
+                    } else {
+                        for (int word = 0; word < BITMAP_WORDS; word++) {
+                            bits[word] |= other.bitmaps[j][word];
+                        }
+                    }
+                    int cardinality = 0;
+                    for (long word : bits) {
+                        cardinality += Long.bitCount(word);
+                    }
+                    builder.addBitmap(high, bits, cardinality);
+                }
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 오름차순으로 행 번호를 넘기며, {@code visitor}가 false를 반환하면 멈춘다.
+     * 앞쪽 {@code skip}개는 넘기지 않고 건너뛴다 — 원소 수를 아는 컨테이너는 통째로 건너뛴다.
+     */
+    public void forEach(long skip, IntPredicate visitor) {
+        for (int index = 0; index < highs.length; index++) {
+            if (skip >= cardinalities[index]) {
+                skip -= cardinalities[index];
+                continue;
+            }
+            int base = highs[index] << 16;
+            if (arrays[index] != null) {
+                char[] lows = arrays[index];
+                for (int i = (int) skip; i < lows.length; i++) {
+                    if (!visitor.test(base | lows[i])) {
+                        return;
+                    }
+                }
+            } else {
+                long[] bits = bitmaps[index];
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        int low = (word << 6) + Long.numberOfTrailingZeros(remaining);
+                        remaining &= remaining - 1;
+                        if (skip > 0) {
+                            skip--;
+                        } else if (!visitor.test(base | low)) {
+                            return;
+                        }
+                    }
+                }
+            }
+            skip = 0;
+        }
+    }
+
+    /** 직렬화한 크기 (bytes) */
+    int serializedBytes() {
+        int size = Integer.BYTES;
+        for (int index = 0; index < highs.length; index++) {
+            size += Character.BYTES + Integer.BYTES
+                    + (arrays[index] != null ? arrays[index].length * Character.BYTES : BITMAP_WORDS * Long.BYTES);
+        }
+        return size;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(highs.length);
+        for (int index = 0; index < highs.length; index++) {
+            out.writeChar(highs[index]);
+            out.writeInt(cardinalities[index]);
+            if (arrays[index] != null) {
+                for (char low : arrays[index]) {
+                    out.writeChar(low);
+                }
+            } else {
+                for (long word : bitmaps[index]) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    /** 버퍼의 현재 위치부터 읽는다. 형식이 맞지 않으면 IllegalArgumentException */
+    static RowBitmap read(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > 1 << 16) {
+            throw new IllegalArgumentException("비트맵 컨테이너 수가 올바르지 않습니다: " + count);
+        }
+        Builder builder = new Builder(count);
+        for (int index = 0; index < count; index++) {
+            char high = buffer.getChar();
+            int cardinality = buffer.getInt();
+            if (cardinality <= 0 || cardinality > 1 << 16) {
+                throw new IllegalArgumentException("비트맵 원소 수가 올바르지 않습니다: " + cardinality);
+            }
+            if (cardinality <= ARRAY_LIMIT) {
+                char[] lows = new char[cardinality];
+                buffer.asCharBuffer().get(lows);
+                buffer.position(buffer.position() + cardinality * Character.BYTES);
+                builder.addArray(high, lows);
+            } else {
+                long[] bits = new long[BITMAP_WORDS];
+                buffer.asLongBuffer().get(bits);
+                buffer.position(buffer.position() + BITMAP_WORDS * Long.BYTES);
+                builder.addBitmap(high, bits, cardinality);
+            }
+        }
+        return builder.build();
+    }
+
+    private static char[] intersect(char[] left, char[] right) {
+        char[] result = new char[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static char[] filter(char[] lows, long[] bits) {
+        char[] result = new char[lows.length];
+        int size = 0;
+        for (char low : lows) {
+            if ((bits[low >>> 6] & (1L << low)) != 0) {
+                result[size++] = low;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static char[] union(char[] left, char[] right) {
+        char[] result = new char[left.length + right.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length || j < right.length) {
+            if (j == right.length || (i < left.length && left[i] < right[j])) {
+                result[size++] = left[i++];
+            } else if (i == left.length || left[i] > right[j]) {
+                result[size++] = right[j++];
+            } else {
+                result[size++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] toBits(char[] lows, long[] bits) {
+        if (bits != null) {
+            return bits.clone();
+        }
+        long[] result = new long[BITMAP_WORDS];
+        for (char low : lows) {
+            result[low >>> 6] |= 1L << low;
+        }
+        return result;
+    }
+
+    /** 상위 16비트 오름차순으로 컨테이너를 모은다. 빈 컨테이너는 버리고, 원소가 적은 비트맵은 배열로 바꾼다 */
+    private static final class Builder {
+
+        private char[] highs;
+        private char[][] arrays;
+        private long[][] bitmaps;
+        private int[] cardinalities;
+        private int size;
+
+        Builder(int capacity) {
+            highs = new char[capacity];
+            arrays = new char[capacity][];
+            bitmaps = new long[capacity][];
+            cardinalities = new int[capacity];
+        }
+
+        void addArray(char high, char[] lows) {
+            if (lows.length > 0) {
+                addContainer(high, lows, null, lows.length);
+            }
+        }
+
+        void addBitmap(char high, long[] bits, int cardinality) {
+            if (cardinality == 0) {
+                return;
+            }
+            if (cardinality > ARRAY_LIMIT) {
+                addContainer(high, null, bits, cardinality);
+                return;
+            }
+            char[] lows = new char[cardinality];
+            int size = 0;
+            for (int word = 0; word < BITMAP_WORDS; word++) {
+                long remaining = bits[word];
+                while (remaining != 0) {
+                    lows[size++] = (char) ((word << 6) + Long.numberOfTrailingZeros(remaining));
+                    remaining &= remaining - 1;
+                }
+            }
+            addContainer(high, lows, null, cardinality);
+        }
+
+        /** 컨테이너는 불변으로 다루므로 그대로 공유한다 */
+        void addContainer(char high, char[] lows, long[] bits, int cardinality) {
+            if (size == highs.length) {
+                int capacity = Math.max(4, size * 2);
+                highs = Arrays.copyOf(highs, capacity);
+                arrays = Arrays.copyOf(arrays, capacity);
+                bitmaps = Arrays.copyOf(bitmaps, capacity);
+                cardinalities = Arrays.copyOf(cardinalities, capacity);
+            }
+            highs[size] = high;
+            arrays[size] = lows;
+            bitmaps[size] = bits;
+            cardinalities[size] = cardinality;
+            size++;
+        }
+
+        RowBitmap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new RowBitmap(Arrays.copyOf(highs, size), Arrays.copyOf(arrays, size),
+                    Arrays.copyOf(bitmaps, size), Arrays.copyOf(cardinalities, size));
+        }
+    }
+}
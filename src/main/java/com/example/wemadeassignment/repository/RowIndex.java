@@ -0,0 +1,139 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.LogField;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 세그먼트의 원본 라인과 역색인 — 조건에 맞는 행 번호를 비트맵 연산으로 구한 뒤 원본 라인을 위치로 바로 읽는다.
+ *
+ * <p>세그먼트 파일({@code seg-NNNNN.col}) 옆에 두 파일을 둔다.
+ * <ul>
+ *   <li>{@code seg-NNNNN.raw}: 파싱에 성공한 원본 라인을 행 순서대로 {@code \n}으로 이어 붙인 파일</li>
+ *   <li>{@code seg-NNNNN.idx}: {@code [MAGIC:int][VERSION:int][행 수:int]}, 행별 원본 라인 시작 위치
+ *       {@code long[행 수 + 1]}, 색인 필드({@link #FIELDS})마다 {@code [키 수:int]}와 키 오름차순
+ *       {@code [키:int][비트맵 위치:int]} 목록, 비트맵({@link RowBitmap}) 본문, 마지막 4 bytes가 {@code MAGIC}</li>
+ * </ul>
+ * 키는 IP·경로가 세그먼트 사전 ID, 상태 코드는 코드 값 그대로이다. 두 파일 모두 메모리 매핑하며, 비트맵은 조회할 때만 복원한다.
+ */
+public final class RowIndex {
+
+    static final int MAGIC = 0x57494458;  // "WIDX"
+    static final int VERSION = 1;
+    static final String INDEX_SUFFIX = ".idx";
+    static final String RAW_SUFFIX = ".raw";
+    static final int HEADER_BYTES = Integer.BYTES * 3;
+    static final List<LogField> FIELDS = List.of(LogField.IP, LogField.PATH, LogField.STATUS);
+
+    private final ByteBuffer index;
+    private final ByteBuffer raw;
+    private final int rowCount;
+    private final int[][] keys;       // [색인 필드 순서][키 오름차순]
+    private final int[][] positions;  // keys와 같은 순서의 비트맵 위치
+
+    private RowIndex(ByteBuffer index, ByteBuffer raw, int rowCount, int[][] keys, int[][] positions) {
+        this.index = index;
+        this.raw = raw;
+        this.rowCount = rowCount;
+        this.keys = keys;
+        this.positions = positions;
+    }
+
+    /** 세그먼트 파일 이름의 확장자만 바꾼 옆 파일 */
+    static Path sibling(Path segmentFile, String suffix) {
+        String name = segmentFile.getFileName().toString();
+        return segmentFile.resolveSibling(name.substring(0, name.lastIndexOf('.')) + suffix);
+    }
+
+    /** 세그먼트 옆의 색인·원본 파일을 연다. 색인이 없으면 null, 형식이 맞지 않거나 잘린 파일이면 IOException */
+    static RowIndex open(Path segmentFile) throws IOException {
+        Path indexFile = sibling(segmentFile, INDEX_SUFFIX);
+        Path rawFile = sibling(segmentFile, RAW_SUFFIX);
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        ByteBuffer index = map(indexFile);
+        ByteBuffer raw = map(rawFile);
+        int size = index.capacity();
+        if (size < HEADER_BYTES + Long.BYTES + Integer.BYTES
+                || index.getInt(0) != MAGIC || index.getInt(Integer.BYTES) != VERSION
+                || index.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IOException("원본 색인 파일 형식이 아닙니다: " + indexFile);
+        }
+        int rowCount = index.getInt(Integer.BYTES * 2);
+        long directoryOffset = HEADER_BYTES + (rowCount + 1L) * Long.BYTES;
+        if (rowCount < 0 || directoryOffset > size - Integer.BYTES
+                || index.getLong((int) directoryOffset - Long.BYTES) != raw.capacity()) {
+            throw new IOException("원본 색인과 원본 라인 파일이 맞지 않습니다: " + indexFile);
+        }
+        try {
+            ByteBuffer directory = index.slice((int) directoryOffset, size - Integer.BYTES - (int) directoryOffset);
+            int[][] keys = new int[FIELDS.size()][];
+            int[][] positions = new int[FIELDS.size()][];
+            for (int field = 0; field < FIELDS.size(); field++) {
+                int count = directory.getInt();
+                keys[field] = new int[count];
+                positions[field] = new int[count];
+                for (int i = 0; i < count; i++) {
+                    keys[field][i] = directory.getInt();
+                    positions[field][i] = directory.getInt();
+                    if (positions[field][i] < directoryOffset || positions[field][i] >= size - Integer.BYTES) {
+                        throw new IOException("원본 색인의 비트맵 위치가 올바르지 않습니다: " + indexFile);
+                    }
+                }
+            }
+            return new RowIndex(index, raw, rowCount, keys, positions);
+        } catch (RuntimeException e) {
+            throw new IOException("손상된 원본 색인 파일: " + indexFile, e);
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("파일이 너무 큽니다: " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /** 색인 필드 값이 {@code from..to}(닫힌 구간)인 행 — 텍스트 필드는 사전 ID, 상태 코드는 코드 값으로 지정 */
+    public RowBitmap rows(LogField field, int from, int to) {
+        int slot = FIELDS.indexOf(field);
+        if (slot < 0) {
+            throw new IllegalArgumentException("색인하지 않는 필드입니다: " + field.getName());
+        }
+        int[] fieldKeys = keys[slot];
+        int start = Arrays.binarySearch(fieldKeys, from);
+        if (start < 0) {
+            start = -start - 1;
+        }
+        RowBitmap result = RowBitmap.EMPTY;
+        for (int i = start; i < fieldKeys.length && fieldKeys[i] <= to; i++) {
+            RowBitmap rows = RowBitmap.read(index.slice(positions[slot][i], index.capacity() - positions[slot][i]));
+            result = result.isEmpty() ? rows : result.or(rows);
+        }
+        return result;
+    }
+
+    /** 행의 원본 라인 — 줄바꿈 문자는 포함하지 않는다 */
+    public String line(int row) {
+        long start = index.getLong(HEADER_BYTES + row * Long.BYTES);
+        long end = index.getLong(HEADER_BYTES + (row + 1) * Long.BYTES) - 1;
+        byte[] bytes = new byte[(int) (end - start)];
+        raw.get((int) start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
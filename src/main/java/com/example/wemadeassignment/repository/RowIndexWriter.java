@@ -0,0 +1,161 @@
+package com.example.wemadeassignment.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 원본 라인·역색인 기록기 — {@link ColumnarSegmentWriter}가 행마다 원본 라인과 색인 필드 키를 넘긴다. 형식은 {@link RowIndex} 참고.
+ *
+ * <p>원본 라인은 파싱하는 동안 임시 파일에 바로 이어 쓰고, 메모리에는 행별 시작 위치와 색인 필드 키(행당 {@code int} 3개)만 둔다.
+ * 비트맵은 커밋할 때 (키, 행) 쌍을 정렬하여 키별로 한 번에 만든다. 커밋하지 않고 {@link #discard()}하면 아무것도 남지 않는다.
+ */
+final class RowIndexWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(RowIndexWriter.class);
+
+    private final Path indexTarget;
+    private final Path rawTarget;
+    private final Path rawTemp;
+    private final Path indexTemp;
+    private final FileChannel rawChannel;
+    private final DataOutputStream rawOut;
+    private long[] offsets = new long[1024 + 1];
+    private final int[][] keys = new int[RowIndex.FIELDS.size()][1024];
+    private int rows;
+
+    RowIndexWriter(Path segmentTarget) throws IOException {
+        this.indexTarget = RowIndex.sibling(segmentTarget, RowIndex.INDEX_SUFFIX);
+        this.rawTarget = RowIndex.sibling(segmentTarget, RowIndex.RAW_SUFFIX);
+        this.indexTemp = indexTarget.resolveSibling(indexTarget.getFileName() + ColumnarLogStore.TEMP_SUFFIX);
+        this.rawTemp = rawTarget.resolveSibling(rawTarget.getFileName() + ColumnarLogStore.TEMP_SUFFIX);
+        this.rawChannel = FileChannel.open(rawTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.rawOut = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(rawChannel), 64 * 1024));
+    }
+
+    /** {@code rowKeys}는 {@link RowIndex#FIELDS} 순서의 키 */
+    void append(int[] rowKeys, String line) throws IOException {
+        if (rows + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2 - 1);
+        }
+        if (rows == keys[0].length) {
+            for (int field = 0; field < keys.length; field++) {
+                keys[field] = Arrays.copyOf(keys[field], rows * 2);
+            }
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        rawOut.write(bytes);
+        rawOut.write('\n');
+        for (int field = 0; field < keys.length; field++) {
+            keys[field][rows] = rowKeys[field];
+        }
+        offsets[rows + 1] = offsets[rows] + bytes.length + 1;
+        rows++;
+    }
+
+    /** 원본 라인 파일과 색인 파일을 디스크에 반영하고 이름을 확정한다 — 세그먼트 파일보다 먼저 호출한다 */
+    void commit() throws IOException {
+        rawOut.flush();
+        rawChannel.force(true);
+        rawOut.close();
+
+        List<List<RowBitmap>> bitmaps = new ArrayList<>();
+        List<int[]> bitmapKeys = new ArrayList<>();
+        long position = RowIndex.HEADER_BYTES + (rows + 1L) * Long.BYTES;
+        for (int field = 0; field < keys.length; field++) {
+            List<RowBitmap> fieldBitmaps = new ArrayList<>();
+            bitmapKeys.add(buildBitmaps(keys[field], fieldBitmaps));
+            bitmaps.add(fieldBitmaps);
+            position += Integer.BYTES + (long) fieldBitmaps.size() * Integer.BYTES * 2;
+        }
+
+        try (FileChannel channel = FileChannel.open(indexTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024))) {
+            out.writeInt(RowIndex.MAGIC);
+            out.writeInt(RowIndex.VERSION);
+            out.writeInt(rows);
+            for (int row = 0; row <= rows; row++) {
+                out.writeLong(offsets[row]);
+            }
+            for (int field = 0; field < keys.length; field++) {
+                int[] fieldKeys = bitmapKeys.get(field);
+                out.writeInt(fieldKeys.length);
+                for (int i = 0; i < fieldKeys.length; i++) {
+                    out.writeInt(fieldKeys[i]);
+                    out.writeInt(Math.toIntExact(position));
+                    position += bitmaps.get(field).get(i).serializedBytes();
+                }
+            }
+            for (List<RowBitmap> fieldBitmaps : bitmaps) {
+                for (RowBitmap bitmap : fieldBitmaps) {
+                    bitmap.writeTo(out);
+                }
+            }
+            out.writeInt(RowIndex.MAGIC);
+            out.flush();
+            channel.force(true);
+        } catch (ArithmeticException e) {
+            throw new IOException("원본 색인 파일이 너무 큽니다: " + indexTarget, e);
+        }
+        Files.move(rawTemp, rawTarget, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(indexTemp, indexTarget, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 행별 키를 (키, 행) 쌍으로 묶어 정렬한 뒤 키마다 비트맵을 만든다. 행 번호가 오름차순으로 모이므로 비트맵을 바로 만들 수 있다.
+     * 반환값은 키 오름차순 목록이고, {@code bitmaps}에 같은 순서로 비트맵을 채운다.
+     */
+    private int[] buildBitmaps(int[] rowKeys, List<RowBitmap> bitmaps) {
+        long[] pairs = new long[rows];
+        for (int row = 0; row < rows; row++) {
+            pairs[row] = ((long) rowKeys[row] << 32) | row;
+        }
+        Arrays.sort(pairs);
+        int[] sortedRows = new int[rows];
+        int[] distinctKeys = new int[rows];
+        int distinct = 0;
+        int start = 0;
+        for (int i = 0; i < rows; i++) {
+            sortedRows[i] = (int) pairs[i];
+            int key = (int) (pairs[i] >> 32);
+            if (i + 1 == rows || (int) (pairs[i + 1] >> 32) != key) {
+                distinctKeys[distinct++] = key;
+                bitmaps.add(RowBitmap.of(sortedRows, start, i + 1));
+                start = i + 1;
+            }
+        }
+        return Arrays.copyOf(distinctKeys, distinct);
+    }
+
+    /** 임시 파일을 지우고, 세그먼트가 확정되지 못했으면 먼저 확정한 원본·색인 파일도 지운다 */
+    void discard() {
+        try {
+            rawOut.close();
+        } catch (IOException e) {
+            log.debug("원본 라인 임시 파일 닫기 실패: {}", rawTemp, e);
+        }
+        for (Path file : List.of(rawTemp, indexTemp, rawTarget, indexTarget)) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("원본 라인 파일 삭제 실패: {}", file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.IpInfo;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** 저장소에 기록된 IP 정보와 만료 시각 */
+public record StoredIpInfo(
+        IpInfo info,
+        Instant expiresAt
+) {
+    /** 만료까지 남은 시간 — L1으로 승격할 때 원래 TTL을 넘기지 않도록 사용 */
+    public Duration remaining() {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisDiff;
+import com.example.wemadeassignment.domain.AnalysisDiff.LatencyChange;
+import com.example.wemadeassignment.domain.AnalysisDiff.ShareChange;
+import com.example.wemadeassignment.domain.ResponseTimeStats;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 두 분석의 집계 상태 비교. 집계 상태 전체가 아니라 비교에 필요한 만큼만 뽑은 {@link Profile}을 비교하므로,
+ * 비용은 상위 N개와 상태 코드 수에 비례하고 원본 라인 수나 전체 키 수와 무관하다.
+ *
+ * <p>비율 변화는 두 비율 z-검정({@code z = (p2 − p1) / √(p(1 − p)(1/n1 + 1/n2))}, p는 합친 비율)의 절댓값이
+ * {@code zScore} 이상이면서 변화폭이 {@code minShareDelta} 이상일 때만 유의하다고 본다. 요청 수가 많으면 작은 차이도
+ * z가 커지므로 변화폭 하한을 함께 둔다. 응답 시간은 히스토그램 근사 오차(약 6%)보다 큰 {@code minLatencyChange} 이상의
+ * 상대 변화만 유의하다고 본다.
+ */
+final class AnalysisDiffer {
+
+    private AnalysisDiffer() {
+    }
+
+    /**
+     * 한 분석의 비교용 요약 — 요청 수, 상태 코드별 요청 수, 응답 시간 통계와 지정한 경로·IP의 요청 수.
+     * 집계 상태를 읽는 동안 만들어 두면 이후 상태가 바뀌어도 비교는 한 시점의 값으로 이루어진다.
+     */
+    record Profile(long totalRequests, Map<Integer, Long> statusCodeCounts, ResponseTimeStats responseTimeStats,
+                   Map<String, Long> pathCounts, Map<String, Long> ipCounts) {
+
+        static Profile of(LogAggregator state, Set<String> paths, Set<String> ips) {
+            return new Profile(state.getTotalRequests(), Map.copyOf(state.getStatusCodeCounts()),
+                    state.calculateResponseTimeStats(), countsOf(state.getPathCounts(), paths),
+                    countsOf(state.getIpCounts(), ips));
+        }
+
+        private static Map<String, Long> countsOf(Map<String, Long> counts, Set<String> keys) {
+            Map<String, Long> result = new HashMap<>();
+            keys.forEach(key -> result.put(key, counts.getOrDefault(key, 0L)));
+            return result;
+        }
+    }
+
+    /** 기준 → 대상 비교. 상위 N개는 두 요약에 담긴 경로·IP 중에서 정한다 */
+    static AnalysisDiff compare(String baseId, Profile base, String targetId, Profile target, int topN,
+                                AnalysisProperties.DiffProperties thresholds) {
+        Map<String, ShareChange> statusGroups = new LinkedHashMap<>();
+        for (int hundreds = 2; hundreds <= 5; hundreds++) {
+            statusGroups.put(hundreds + "xx", share(groupCount(base, hundreds), base.totalRequests(),
+                    groupCount(target, hundreds), target.totalRequests(), thresholds));
+        }
+
+        Map<String, ShareChange> paths = shares(base.pathCounts(), base.totalRequests(),
+                target.pathCounts(), target.totalRequests(), thresholds);
+        Map<String, ShareChange> ips = shares(base.ipCounts(), base.totalRequests(),
+                target.ipCounts(), target.totalRequests(), thresholds);
+        Set<String> baseTopPaths = top(base.pathCounts(), topN);
+        Set<String> targetTopPaths = top(target.pathCounts(), topN);
+        Set<String> baseTopIps = top(base.ipCounts(), topN);
+        Set<String> targetTopIps = top(target.ipCounts(), topN);
+
+        Map<String, LatencyChange> responseTimes = new LinkedHashMap<>();
+        responseTimes.put("avg", latency(base, target, ResponseTimeStats::avg, thresholds));
+        responseTimes.put("p50", latency(base, target, ResponseTimeStats::p50, thresholds));
+        responseTimes.put("p95", latency(base, target, ResponseTimeStats::p95, thresholds));
+        responseTimes.put("p99", latency(base, target, ResponseTimeStats::p99, thresholds));
+
+        Map<String, ShareChange> newTopPaths = moved(paths, targetTopPaths, baseTopPaths, 1);
+        Map<String, ShareChange> disappearedTopPaths = moved(paths, baseTopPaths, targetTopPaths, -1);
+        Map<String, ShareChange> newTopIps = moved(ips, targetTopIps, baseTopIps, 1);
+        Map<String, ShareChange> disappearedTopIps = moved(ips, baseTopIps, targetTopIps, -1);
+
+        boolean significant = statusGroups.values().stream().anyMatch(ShareChange::significant)
+                || paths.values().stream().anyMatch(ShareChange::significant)
+                || responseTimes.values().stream().anyMatch(LatencyChange::significant)
+                || !newTopIps.isEmpty() || !disappearedTopIps.isEmpty();
+        return new AnalysisDiff(baseId, targetId, base.totalRequests(), target.totalRequests(), statusGroups,
+                paths, responseTimes, newTopPaths, disappearedTopPaths, newTopIps, disappearedTopIps, significant);
+    }
+
+    private static long groupCount(Profile profile, int hundreds) {
+        return profile.statusCodeCounts().entrySet().stream()
+                .filter(e -> e.getKey() / 100 == hundreds)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /** 키별 비율 변화 — z 절댓값이 큰 순 */
+    private static Map<String, ShareChange> shares(Map<String, Long> baseCounts, long baseTotal,
+                                                   Map<String, Long> targetCounts, long targetTotal,
+                                                   AnalysisProperties.DiffProperties thresholds) {
+        Set<String> keys = new HashSet<>(baseCounts.keySet());
+        keys.addAll(targetCounts.keySet());
+        Map<String, ShareChange> changes = new HashMap<>();
+        keys.forEach(key -> changes.put(key, share(baseCounts.getOrDefault(key, 0L), baseTotal,
+                targetCounts.getOrDefault(key, 0L), targetTotal, thresholds)));
+        Map<String, ShareChange> sorted = new LinkedHashMap<>();
+        changes.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, ShareChange> e) -> Math.abs(e.getValue().zScore()))
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static ShareChange share(long baseCount, long baseTotal, long targetCount, long targetTotal,
+                                     AnalysisProperties.DiffProperties thresholds) {
+        double baseShare = baseTotal == 0 ? 0 : (double) baseCount / baseTotal;
+        double targetShare = targetTotal == 0 ? 0 : (double) targetCount / targetTotal;
+        double delta = targetShare - baseShare;
+        double z = 0;
+        if (baseTotal > 0 && targetTotal > 0) {
+            double pooled = (double) (baseCount + targetCount) / (baseTotal + targetTotal);
+            double standardError = Math.sqrt(pooled * (1 - pooled) * (1.0 / baseTotal + 1.0 / targetTotal));
+            z = standardError == 0 ? 0 : delta / standardError;
+        }
+        boolean significant = Math.abs(z) >= thresholds.zScore() && Math.abs(delta) >= thresholds.minShareDelta();
+        return new ShareChange(baseCount, targetCount, round(baseShare, 10000), round(targetShare, 10000),
+                round(delta, 10000), round(z, 100), significant);
+    }
+
+    private static LatencyChange latency(Profile base, Profile target, ToDoubleFunction<ResponseTimeStats> metric,
+                                         AnalysisProperties.DiffProperties thresholds) {
+        double baseValue = metric.applyAsDouble(base.responseTimeStats());
+        double targetValue = metric.applyAsDouble(target.responseTimeStats());
+        if (baseValue == 0) {
+            // 기준 응답 시간이 없으면(요청 없음·전부 0초) 상대 변화율을 정할 수 없으므로 유의하다고 보지 않는다
+            return new LatencyChange(baseValue, targetValue, null, false);
+        }
+        double relative = (targetValue - baseValue) / baseValue;
+        return new LatencyChange(baseValue, targetValue, round(relative, 10000),
+                Math.abs(relative) >= thresholds.minLatencyChange());
+    }
+
+    /** 요약에 담긴 키 중 요청 수 상위 N개 (요청 수가 0인 키 제외) */
+    private static Set<String> top(Map<String, Long> counts, int n) {
+        return counts.entrySet().stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry::getKey))
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /** {@code into}에 있고 {@code from}에 없는 키 중 비율이 {@code direction} 방향으로 유의하게 바뀐 것 */
+    private static Map<String, ShareChange> moved(Map<String, ShareChange> changes, Set<String> into, Set<String> from,
+                                                  int direction) {
+        Map<String, ShareChange> result = new LinkedHashMap<>();
+        changes.forEach((key, change) -> {
+            if (into.contains(key) && !from.contains(key) && change.significant() && Math.signum(change.delta()) == direction) {
+                result.put(key, change);
+            }
+        });
+        return result;
+    }
+
+    private static double round(double value, int scale) {
+        return Math.round(value * scale) / (double) scale;
+    }
+}
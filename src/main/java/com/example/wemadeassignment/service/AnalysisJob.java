@@ -0,0 +1,23 @@
+package com.example.wemadeassignment.service;
+
+/**
+ * 분석 실행 단위.
+ * 실행기는 파일 크기로 작업 비용을 추정하여 수용 여부와 실행 순서를 결정한다.
+ * 실행되지 못하고 대기열에서 제거되면 {@code onDiscard}로 임시 파일 등 자원을 정리한다.
+ */
+public record AnalysisJob(
+        String analysisId,
+        long fileSize,
+        Runnable task,
+        Runnable onDiscard
+) implements Runnable {
+
+    @Override
+    public void run() {
+        task.run();
+    }
+
+    public void discard() {
+        onDiscard.run();
+    }
+}
@@ -1,13 +1,66 @@
 package com.example.wemadeassignment.service;
 
+import com.example.wemadeassignment.domain.AnalysisDiff;
 import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.Dimension;
+import com.example.wemadeassignment.domain.DrillDownResult;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.example.wemadeassignment.domain.RollupResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 public interface AnalysisService {
 
     /** 분석 요청 제출 — analysisId를 생성하고 비동기 분석을 시작한다 */
     AnalysisResult submitAnalysis(MultipartFile file);
 
+    /**
+     * 완료된 분석에 로그 청크 추가 — 새 청크만 파싱하여 보관 중인 집계 상태에 합친 뒤 결과를 다시 게시한다.
+     * 분석이 없으면 AnalysisNotFoundException, 아직 진행 중이거나 다른 추가 작업이 진행 중이면 AnalysisConflictException
+     */
+    AnalysisResult appendAnalysis(String analysisId, MultipartFile file);
+
+    /**
+     * 이미 파싱·병합된 집계 상태로 분석 생성 — 분할 업로드 완료 시 사용. 통계를 즉시 게시하고 IP 조회만 비동기로 수행한다
+     */
+    AnalysisResult submitAggregated(LogAggregator aggregator, int parseErrorCount, List<ParseErrorSample> parseErrorSamples);
+
     /** 분석 결과 조회 */
     AnalysisResult getAnalysis(String analysisId);
+
+    /**
+     * 상위 N개로 줄이기 전의 전체 차원별 요청 수 중 {@code prefix}로 시작하고 {@code cursor} 다음인 항목 한 페이지.
+     * 분석이 없으면 AnalysisNotFoundException, 전체 집계가 보관되어 있지 않으면(집계 전·재시작 후·내보내기 비활성) AnalysisConflictException
+     */
+    DimensionExport exportDimension(String analysisId, Dimension dimension, DimensionExport.Format format,
+                                    String prefix, String cursor, Integer limit);
+
+    /**
+     * 분석의 컬럼 파일에 대한 필터·그룹 조회 — 원본을 다시 파싱하지 않고 필요한 컬럼만 읽는다.
+     * 분석이 없으면 AnalysisNotFoundException, 컬럼 파일이 없으면(저장소 비활성·파싱 전·분할 업로드) AnalysisConflictException
+     */
+    DrillDownResult queryLogs(String analysisId, LogQuery query);
+
+    /**
+     * 분석의 역색인으로 조건에 맞는 원본 라인 한 페이지를 찾는다 — 컬럼이나 원본을 훑지 않고 맞는 행만 읽는다.
+     * 분석이 없으면 AnalysisNotFoundException, 원본 라인 색인이 없으면 AnalysisConflictException
+     */
+    LogLines findLines(String analysisId, LineQuery query);
+
+    /**
+     * 여러 분석의 보관 중인 집계 상태를 합친 보고서 — 원본을 다시 읽지 않으므로 비용은 분석 수에 비례한다.
+     * 없거나 집계 상태가 보관되어 있지 않은 분석(진행 중·재시작 전)은 합치지 않고 건너뛴 ID로 돌려준다
+     */
+    RollupResult rollup(RollupQuery query);
+
+    /**
+     * 두 분석의 보관 중인 집계 상태 비교 — 상태 그룹·경로 비율, 응답 시간, 상위 IP·경로 변동과 유의성.
+     * 분석이 없으면 AnalysisNotFoundException, 집계 상태가 보관되어 있지 않으면(진행 중·재시작 전) AnalysisConflictException
+     */
+    AnalysisDiff diff(String baseId, String targetId);
+
+    /** 분석 취소 — 대기·실행 중인 작업을 중단하고 결과를 삭제한다. 존재하지 않으면 false */
+    boolean cancelAnalysis(String analysisId);
 }
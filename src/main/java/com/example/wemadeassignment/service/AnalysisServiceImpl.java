@@ -1,11 +1,27 @@
 package com.example.wemadeassignment.service;
 
 import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.AnalysisDiff;
+import com.example.wemadeassignment.domain.AnalysisProgress;
 import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.Dimension;
+import com.example.wemadeassignment.domain.DrillDownResult;
 import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.example.wemadeassignment.domain.RollupResult;
+import com.example.wemadeassignment.exception.AnalysisConflictException;
+import com.example.wemadeassignment.exception.AnalysisNotFoundException;
+import com.example.wemadeassignment.exception.ServerBusyException;
 import com.example.wemadeassignment.parser.CsvLogParser;
+import com.example.wemadeassignment.parser.ParseContext;
 import com.example.wemadeassignment.parser.ParseStatistics;
 import com.example.wemadeassignment.repository.AnalysisRepository;
+import com.example.wemadeassignment.repository.ColumnarLogStore;
+import com.example.wemadeassignment.repository.ColumnarSegment;
+import com.example.wemadeassignment.repository.ColumnarSegmentWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -16,56 +32,178 @@ import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import com.example.wemadeassignment.exception.ServerBusyException;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 @Service
 public class AnalysisServiceImpl implements AnalysisService {
 
     private static final Logger log = LoggerFactory.getLogger(AnalysisServiceImpl.class);
+    private static final int MAX_ERROR_SAMPLES = 10;
 
     private final CsvLogParser csvLogParser;
     private final IpEnrichmentService ipEnrichmentService;
     private final AnalysisRepository analysisRepository;
+    private final ColumnarLogStore columnarLogStore;
     private final AnalysisProperties properties;
     private final Executor analysisExecutor;
+    private final Executor enrichmentExecutor;
+    private final Map<String, CompletableFuture<?>> enrichments = new ConcurrentHashMap<>();
+    private final Map<String, String> analysisIdsByContent = new ConcurrentHashMap<>();
+    // 추가 분석용 집계 상태 — 분석이 끝나 유휴 상태일 때만 존재하며, 추가 작업은 꺼내 가서 독점한 뒤 되돌려 놓는다
+    private final Map<String, LogAggregator> aggregationStates = new ConcurrentHashMap<>();
+    // 이 프로세스에서 만든 분석 — 시각 범위 합산이 진행·추가 중이라 상태가 없는 분석도 찾아 건너뜀으로 보고한다
+    private final Set<String> analysisIds = ConcurrentHashMap.newKeySet();
+    // 내보내기용 전체 차원 테이블 — 집계를 게시할 때마다 새로 만들어 교체하므로 내보내는 중에도 바뀌지 않는다
+    private final Map<String, DimensionTables> dimensionTables = new ConcurrentHashMap<>();
+    // 컬럼 파일 기록이 실패한 분석 — 남은 세그먼트는 지웠으므로 드릴다운 조회는 이 사유로 거절한다
+    private final Map<String, String> columnFailures = new ConcurrentHashMap<>();
 
     public AnalysisServiceImpl(CsvLogParser csvLogParser,
                                IpEnrichmentService ipEnrichmentService,
                                AnalysisRepository analysisRepository,
+                               ColumnarLogStore columnarLogStore,
                                AnalysisProperties properties,
-                               @Qualifier("analysisExecutor") Executor analysisExecutor) {
+                               @Qualifier("analysisExecutor") Executor analysisExecutor,
+                               @Qualifier("ipEnrichmentExecutor") Executor enrichmentExecutor) {
         this.csvLogParser = csvLogParser;
         this.ipEnrichmentService = ipEnrichmentService;
         this.analysisRepository = analysisRepository;
+        this.columnarLogStore = columnarLogStore;
         this.properties = properties;
         this.analysisExecutor = analysisExecutor;
+        this.enrichmentExecutor = enrichmentExecutor;
+        analysisRepository.onEvicted(this::forget);
     }
 
+    /**
+     * 업로드를 임시 파일로 저장하면서 SHA-256을 함께 계산하고, 같은 내용·옵션의 분석이 이미 진행 중이거나 완료되었으면
+     * 새로 파싱하지 않고 기존 분석 결과(같은 analysisId)를 반환한다. 실패·취소된 분석은 재사용하지 않는다.
+     */
     @Override
     public AnalysisResult submitAnalysis(MultipartFile file) {
         validateFile(file);
 
+        TempUpload upload = saveTempFile(file);
+
         String analysisId = UUID.randomUUID().toString();
         AnalysisResult result = new AnalysisResult(analysisId);
+        result.setContentHash(upload.sha256());
         analysisRepository.save(result);
 
-        Path tempFile = saveTempFile(file);
+        String contentKey = contentKey(upload.sha256());
+        AnalysisResult existing = claimContent(contentKey, analysisId);
+        if (existing != null) {
+            analysisRepository.deleteById(analysisId);
+            deleteTempFile(upload.path());
+            log.info("동일 파일 분석 재사용: analysisId={}, status={}, sha256={}",
+                    existing.getAnalysisId(), existing.getStatus(), upload.sha256());
+            return existing;
+        }
 
+        analysisIds.add(analysisId);
+        long enqueuedAt = System.nanoTime();
         try {
-            analysisExecutor.execute(() -> executeAnalysis(analysisId, tempFile));
+            analysisExecutor.execute(new AnalysisJob(analysisId, file.getSize(),
+                    () -> executeAnalysis(result, upload.path(), enqueuedAt),
+                    () -> deleteTempFile(upload.path())));
         } catch (RejectedExecutionException e) {
+            analysisIds.remove(analysisId);
+            analysisIdsByContent.remove(contentKey, analysisId);
             analysisRepository.deleteById(analysisId);
-            deleteTempFile(tempFile);
-            log.warn("분석 요청 거부: analysisId={}", analysisId, e);
+            deleteTempFile(upload.path());
+            log.warn("분석 요청 거부: analysisId={}, 사유={}", analysisId, e.getMessage());
+            throw new ServerBusyException();
+        }
+
+        return result;
+    }
+
+    /**
+     * 보관 중인 집계 상태를 꺼내 독점한 뒤 새 청크만 파싱하여 합친다. 상태가 없으면 아직 진행 중이거나
+     * 다른 추가 작업이 상태를 점유한 것이므로 충돌로 거부한다. 내용이 바뀌므로 중복 제거 대상에서도 뺀다.
+     */
+    @Override
+    public AnalysisResult appendAnalysis(String analysisId, MultipartFile file) {
+        validateFile(file);
+        AnalysisResult result = analysisRepository.findById(analysisId)
+                .orElseThrow(() -> new AnalysisNotFoundException(analysisId));
+        LogAggregator state = aggregationStates.remove(analysisId);
+        if (state == null) {
+            throw new AnalysisConflictException("분석 또는 이전 추가 작업이 끝난 뒤에 로그를 추가할 수 있습니다: " + analysisId);
+        }
+
+        TempUpload upload;
+        try {
+            upload = saveTempFile(file);
+        } catch (RuntimeException e) {
+            aggregationStates.put(analysisId, state);
+            throw e;
+        }
+        if (result.getContentHash() != null) {
+            analysisIdsByContent.remove(contentKey(result.getContentHash()), analysisId);
+            result.setContentHash(null);
+        }
+        // 접수 시점에 진행 중으로 전환 — 완료 대기 조회는 추가 결과가 완료될 때까지 기다리고,
+        // 파일 저장소는 진행 중인 결과로 이 객체를 보관하여 조회에 그대로 내준다
+        result.startEnriching();
+        analysisRepository.update(result);
+
+        long enqueuedAt = System.nanoTime();
+        try {
+            analysisExecutor.execute(new AnalysisJob(analysisId, file.getSize(),
+                    () -> executeAppend(result, state, upload.path(), enqueuedAt),
+                    () -> {
+                        deleteTempFile(upload.path());
+                        abortAppend(result, state);
+                    }));
+        } catch (RejectedExecutionException e) {
+            deleteTempFile(upload.path());
+            abortAppend(result, state);
+            log.warn("추가 분석 요청 거부: analysisId={}, 사유={}", analysisId, e.getMessage());
             throw new ServerBusyException();
         }
+        return result;
+    }
 
+    @Override
+    public AnalysisResult submitAggregated(LogAggregator aggregator, int parseErrorCount,
+                                           List<ParseErrorSample> parseErrorSamples) {
+        long startTime = System.currentTimeMillis();
+        String analysisId = UUID.randomUUID().toString();
+        AnalysisResult result = new AnalysisResult(analysisId);
+        result.setQueueWaitMillis(0L);
+        analysisRepository.save(result);
+        analysisIds.add(analysisId);
+
+        publishAggregation(result, aggregator);
+        result.setParseErrorCount(parseErrorCount);
+        result.setParseErrorSamples(List.copyOf(parseErrorSamples));
+        result.startEnriching();
+        analysisRepository.update(result);
+        log.info("집계 상태로 분석 생성: analysisId={}, 총 {}건", analysisId, aggregator.getTotalRequests());
+
+        aggregator.releaseResponseTimes();
+        enrichAsync(result, aggregator, startTime);
         return result;
     }
 
@@ -75,58 +213,472 @@ public class AnalysisServiceImpl implements AnalysisService {
                 .orElse(null);
     }
 
-    private void executeAnalysis(String analysisId, Path tempFile) {
+    @Override
+    public DimensionExport exportDimension(String analysisId, Dimension dimension, DimensionExport.Format format,
+                                           String prefix, String cursor, Integer limit) {
+        int maxLimit = properties.export().maxLimit();
+        int pageSize = limit == null ? properties.export().defaultLimit() : limit;
+        if (pageSize < 1 || pageSize > maxLimit) {
+            throw new IllegalArgumentException("limit은 1 이상 " + maxLimit + " 이하여야 합니다.");
+        }
+        if (analysisRepository.findById(analysisId).isEmpty()) {
+            throw new AnalysisNotFoundException(analysisId);
+        }
+        DimensionTables tables = dimensionTables.get(analysisId);
+        if (tables == null) {
+            throw new AnalysisConflictException("내보낼 전체 집계가 없습니다. 집계가 끝난 뒤에 요청하세요 (재시작 전 분석은 내보낼 수 없음): " + analysisId);
+        }
+        DimensionTable table = tables.get(dimension);
+        return new DimensionExport(table, table.range(prefix, cursor, pageSize), format);
+    }
+
+    @Override
+    public DrillDownResult queryLogs(String analysisId, LogQuery query) {
+        if (analysisRepository.findById(analysisId).isEmpty()) {
+            throw new AnalysisNotFoundException(analysisId);
+        }
+        rejectFailedColumns(analysisId);
+        List<ColumnarSegment> segments = columnarLogStore.segments(analysisId);
+        if (segments.isEmpty()) {
+            throw new AnalysisConflictException("조회할 컬럼 파일이 없습니다. 컬럼 저장소가 켜져 있을 때 파싱이 끝난 단일 업로드 분석만 조회할 수 있습니다: " + analysisId);
+        }
+        return query.execute(segments);
+    }
+
+    @Override
+    public LogLines findLines(String analysisId, LineQuery query) {
+        if (analysisRepository.findById(analysisId).isEmpty()) {
+            throw new AnalysisNotFoundException(analysisId);
+        }
+        rejectFailedColumns(analysisId);
+        List<ColumnarSegment> segments = columnarLogStore.segments(analysisId);
+        if (segments.isEmpty() || segments.stream().anyMatch(segment -> segment.rowIndex() == null)) {
+            throw new AnalysisConflictException("원본 라인 색인이 없습니다. 컬럼 저장소가 켜져 있을 때 파싱이 끝난 단일 업로드 분석만 조회할 수 있습니다: " + analysisId);
+        }
+        return query.execute(segments);
+    }
+
+    /**
+     * 보관 중인 집계 상태를 새 집계기에 차례로 합친다. 카운트는 키별로, 응답 시간은 히스토그램 버킷별로 더하므로
+     * 비용은 분석 수와 각 상태의 키 수에 비례하고 원본 라인 수와 무관하다. 시각 범위로 지정하면 이 프로세스에서 만든 분석 중
+     * 범위 안의 것을 모두 대상으로 삼으므로, 진행 중이거나 추가 작업이 상태를 꺼내 간 분석은 빠뜨리지 않고 건너뜀으로 보고한다.
+     */
+    @Override
+    public RollupResult rollup(RollupQuery query) {
+        List<AnalysisResult> targets = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        if (query.byRange()) {
+            analysisIds.forEach(id -> analysisRepository.findById(id)
+                    .filter(query::covers)
+                    .ifPresent(targets::add));
+            targets.sort(Comparator.comparing(AnalysisResult::getCreatedAt));
+        } else {
+            query.analysisIds().forEach(id -> analysisRepository.findById(id)
+                    .ifPresentOrElse(targets::add, () -> skipped.add(id)));
+        }
+
+        LogAggregator merged = new LogAggregator();
+        List<String> included = new ArrayList<>();
+        long parseErrors = 0;
+        for (AnalysisResult result : targets) {
+            Integer errors = readState(result.getAnalysisId(), state -> {
+                merged.merge(state);
+                return result.getParseErrorCount();
+            });
+            if (errors == null) {
+                skipped.add(result.getAnalysisId());
+            } else {
+                included.add(result.getAnalysisId());
+                parseErrors += errors;
+            }
+        }
+
+        int topN = properties.topN();
+        return new RollupResult(included, skipped, merged.getTotalRequests(),
+                merged.getIpCounts().size(), merged.getPathCounts().size(),
+                merged.boundedTopN(merged.getStatusCodeCounts(), topN),
+                merged.getStatusGroupRatios(),
+                merged.boundedTopN(merged.getPathCounts(), topN),
+                merged.boundedTopN(merged.getIpCounts(), topN),
+                merged.calculateResponseTimeStats(), parseErrors);
+    }
+
+    /**
+     * 두 분석의 보관 중인 집계 상태를 비교한다. 두 결과에 게시된 상위 N개 경로·IP의 합집합만 상태에서 찾아 요약하므로
+     * 원본을 다시 읽지 않고 전체 키도 훑지 않는다. 상태마다 따로 읽으므로 요약은 각각 한 시점의 값이다.
+     */
+    @Override
+    public AnalysisDiff diff(String baseId, String targetId) {
+        AnalysisResult base = analysisRepository.findById(baseId)
+                .orElseThrow(() -> new AnalysisNotFoundException(baseId));
+        AnalysisResult target = analysisRepository.findById(targetId)
+                .orElseThrow(() -> new AnalysisNotFoundException(targetId));
+        Set<String> paths = new HashSet<>(base.getPathCounts().keySet());
+        paths.addAll(target.getPathCounts().keySet());
+        Set<String> ips = new HashSet<>(base.getIpCounts().keySet());
+        ips.addAll(target.getIpCounts().keySet());
+
+        AnalysisDiffer.Profile baseProfile = profile(baseId, paths, ips);
+        AnalysisDiffer.Profile targetProfile = profile(targetId, paths, ips);
+        return AnalysisDiffer.compare(baseId, baseProfile, targetId, targetProfile, properties.topN(), properties.diff());
+    }
+
+    private AnalysisDiffer.Profile profile(String analysisId, Set<String> paths, Set<String> ips) {
+        AnalysisDiffer.Profile profile = readState(analysisId, state -> AnalysisDiffer.Profile.of(state, paths, ips));
+        if (profile == null) {
+            throw new AnalysisConflictException("비교할 집계 상태가 없습니다. 분석과 추가 작업이 끝난 뒤에 요청하세요 (재시작 전 분석은 비교할 수 없음): " + analysisId);
+        }
+        return profile;
+    }
+
+    /**
+     * 보관 중인 집계 상태를 상태 객체의 잠금 안에서 읽는다. 추가 작업도 같은 잠금 안에서 합치고 게시하므로 반쯤 합쳐진 상태를
+     * 보지 않고, 결과의 집계 필드도 같은 상태로 게시된 값이다. 맵 항목 잠금은 잡지 않아 오래 걸리는 합산이 다른 분석의
+     * 상태 보관·반환을 막지 않는다. 상태가 없거나 잠금을 기다리는 사이 추가 작업이 꺼내 갔으면 null
+     */
+    private <T> T readState(String analysisId, Function<LogAggregator, T> reader) {
+        LogAggregator state = aggregationStates.get(analysisId);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return aggregationStates.get(analysisId) == state ? reader.apply(state) : null;
+        }
+    }
+
+    /**
+     * 대기 중인 작업은 실행기 대기열에서 즉시 제거하여 메모리 예산과 임시 파일을 반환하고,
+     * 실행 중인 작업은 파서가 다음 라인에서 취소 상태를 확인하고 중단한다. 대기 중인 IP 조회 단계도 취소한다.
+     */
+    @Override
+    public boolean cancelAnalysis(String analysisId) {
+        Optional<AnalysisResult> found = analysisRepository.findById(analysisId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        found.get().cancel();
+        analysisRepository.deleteById(analysisId);
+        aggregationStates.remove(analysisId);
+        dimensionTables.remove(analysisId);
+        columnarLogStore.delete(analysisId);
+        columnFailures.remove(analysisId);
+        analysisIds.remove(analysisId);
+        if (found.get().getContentHash() != null) {
+            analysisIdsByContent.remove(contentKey(found.get().getContentHash()), analysisId);
+        }
+
+        boolean dequeued = analysisExecutor instanceof AnalysisTaskExecutor taskExecutor
+                && taskExecutor.cancel(analysisId);
+        CompletableFuture<?> enrichment = enrichments.remove(analysisId);
+        if (enrichment != null) {
+            enrichment.cancel(false);
+        }
+        log.info("분석 취소: analysisId={}, 대기열 제거={}, IP 조회 취소={}", analysisId, dequeued, enrichment != null);
+        return true;
+    }
+
+    /**
+     * 1단계: CSV 파싱 + 집계 후 통계를 ENRICHING 상태로 게시한다.
+     * 2단계: 상위 IP 조회는 별도 비동기 단계로 넘기고, 분석 스레드는 원격 I/O를 기다리지 않고 즉시 반환한다.
+     */
+    private void executeAnalysis(AnalysisResult result, Path tempFile, long enqueuedAt) {
+        String analysisId = result.getAnalysisId();
+        if (result.isCancelled()) {
+            log.info("취소된 분석 건너뜀: analysisId={}", analysisId);
+            deleteTempFile(tempFile);
+            return;
+        }
         long startTime = System.currentTimeMillis();
-        log.info("분석 시작: analysisId={}", analysisId);
+        long queueWait = (System.nanoTime() - enqueuedAt) / 1_000_000;
+        log.info("분석 시작: analysisId={}, 대기시간={}ms", analysisId, queueWait);
+        result.setQueueWaitMillis(queueWait);
 
-        AnalysisResult result = analysisRepository.findById(analysisId).orElseThrow();
+        AnalysisProgress progress = new AnalysisProgress(tempFile.toFile().length());
+        result.setProgress(progress);
 
-        try (InputStream is = new BufferedInputStream(new FileInputStream(tempFile.toFile()))) {
+        try (CountingInputStream is = new CountingInputStream(
+                new BufferedInputStream(new FileInputStream(tempFile.toFile())));
+             ColumnarSegmentWriter columns = newColumns(analysisId)) {
             long loadElapsed = System.currentTimeMillis() - startTime;
             log.debug("임시 파일 로드 완료: analysisId={}, 소요시간={}ms", analysisId, loadElapsed);
 
             // 1. CSV 파싱 + 집계
             long parseStart = System.currentTimeMillis();
-            LogAggregator aggregator = new LogAggregator();
-            ParseStatistics stats = csvLogParser.parse(is, aggregator::aggregate);
-
-            // 2. 집계 결과를 AnalysisResult에 반영
-            result.setResponseTimeStats(aggregator.calculateResponseTimeStats());
-            result.setTotalRequests(aggregator.getTotalRequests());
-            result.getStatusCodeCounts().putAll(aggregator.getTopN(aggregator.getStatusCodeCounts(), properties.topN()));
-            result.getPathCounts().putAll(aggregator.getTopN(aggregator.getPathCounts(), properties.topN()));
-            result.getIpCounts().putAll(aggregator.getTopN(aggregator.getIpCounts(), properties.topN()));
-            long parseElapsed = System.currentTimeMillis() - parseStart;
-
-            // 3. 상위 N개 IP에 대해 ipinfo 조회
-            long enrichStart = System.currentTimeMillis();
-            List<String> topIpList = aggregator.getTopN(aggregator.getIpCounts(), properties.topN())
-                    .keySet().stream().toList();
-            List<IpInfo> ipInfos = ipEnrichmentService.enrich(topIpList);
-            result.setTopIps(ipInfos);
-            long enrichElapsed = System.currentTimeMillis() - enrichStart;
+            LogAggregator aggregator = newAggregator();
+            ParseStatistics stats = csvLogParser.parse(is, aggregator::aggregate,
+                    recording(new AnalysisParseContext(result, progress, aggregator, is), columns));
+            commitColumns(analysisId, columns);
 
-            // 4. 파싱 오류 정보
+            // 2. 집계 결과와 파싱 오류 정보를 AnalysisResult에 반영
+            publishAggregation(result, aggregator);
             result.setParseErrorCount(stats.errorCount());
             result.setParseErrorSamples(stats.errorSamples());
 
-            // 5. 상태 코드 그룹 비율 저장
-            result.setStatusGroupRatios(aggregator.getStatusGroupRatios());
-
-            result.complete();
+            // 3. 통계 게시 — 이 시점부터 조회 시 집계 결과가 노출된다. 파일 저장소는 재시작 후에도 통계를 되살릴 수 있게 기록해 둔다
+            result.startEnriching();
+            analysisRepository.update(result);
+            long parseElapsed = System.currentTimeMillis() - parseStart;
+            log.info("집계 완료: analysisId={}, 총 {}건, 파싱={}ms, 선조회 IP={}건",
+                    analysisId, stats.totalLinesProcessed(), parseElapsed, aggregator.getSignalledCount());
 
-            long totalElapsed = System.currentTimeMillis() - startTime;
-            log.info("분석 완료: analysisId={}, 총 {}건, 파싱={}ms, IP조회={}ms, 전체={}ms",
-                    analysisId, stats.totalLinesProcessed(), parseElapsed, enrichElapsed, totalElapsed);
+            // 4. 상위 N개 IP에 대해 ipinfo 조회 — 별도 단계에서 비동기로 수행
+            aggregator.releaseResponseTimes();
+            enrichAsync(result, aggregator, startTime);
 
+        } catch (CancellationException e) {
+            log.info("분석 취소로 파싱 중단: analysisId={}, 소요시간={}ms",
+                    analysisId, System.currentTimeMillis() - startTime);
         } catch (Exception e) {
             result.fail(e.getMessage());
+            dimensionTables.remove(analysisId);
+            columnarLogStore.delete(analysisId);
+            analysisRepository.update(result);
             log.error("분석 실패: analysisId={}", analysisId, e);
         } finally {
             deleteTempFile(tempFile);
         }
     }
 
+    /**
+     * 새 청크를 빈 집계기로 파싱한 뒤 보관 상태에 합친다. 파싱이 실패·취소되면 보관 상태는 건드리지 않으므로
+     * 기존 결과가 그대로 유지되고 같은 청크를 다시 추가할 수 있다.
+     */
+    private void executeAppend(AnalysisResult result, LogAggregator state, Path tempFile, long enqueuedAt) {
+        String analysisId = result.getAnalysisId();
+        if (result.isCancelled()) {
+            deleteTempFile(tempFile);
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        log.info("추가 분석 시작: analysisId={}, 대기시간={}ms", analysisId, (System.nanoTime() - enqueuedAt) / 1_000_000);
+
+        try (InputStream is = new BufferedInputStream(new FileInputStream(tempFile.toFile()));
+             ColumnarSegmentWriter columns = newColumns(analysisId)) {
+            LogAggregator chunk = newAggregator();
+            ParseStatistics stats = csvLogParser.parse(is, chunk::aggregate, recording(result::isCancelled, columns));
+            commitColumns(analysisId, columns);
+
+            // 접수 시점에 이미 진행 중 상태이므로 COMPLETED로 조회·캐시된 응답에 반쯤 바뀐 값이 섞이지 않는다.
+            // 합산·비교가 상태를 읽는 중이면 끝날 때까지 기다린 뒤 합치고 게시한다
+            synchronized (state) {
+                state.merge(chunk);
+                publishAggregation(result, state);
+                result.setParseErrorCount(result.getParseErrorCount() + stats.errorCount());
+                List<ParseErrorSample> samples = new ArrayList<>(result.getParseErrorSamples());
+                stats.errorSamples().stream()
+                        .limit(Math.max(0, MAX_ERROR_SAMPLES - samples.size()))
+                        .forEach(samples::add);
+                result.setParseErrorSamples(samples);
+            }
+
+            analysisRepository.update(result);  // 진행 중 상태로 추가 집계 반영 — 완료될 때까지 보관 기준에서 제외
+            log.info("추가 집계 완료: analysisId={}, 추가 {}건, 누적 {}건, 소요시간={}ms", analysisId,
+                    stats.totalLinesProcessed(), state.getTotalRequests(), System.currentTimeMillis() - startTime);
+            enrichAsync(result, state, startTime);
+
+        } catch (CancellationException e) {
+            log.info("분석 취소로 추가 파싱 중단: analysisId={}", analysisId);
+        } catch (Exception e) {
+            log.error("추가 분석 실패, 기존 결과 유지: analysisId={}", analysisId, e);
+            abortAppend(result, state);
+        } finally {
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /** 이번 파싱의 컬럼 파일 — 저장소가 꺼져 있거나 이전 기록이 실패해 세그먼트가 이어지지 않으면 null */
+    private ColumnarSegmentWriter newColumns(String analysisId) {
+        return columnFailures.containsKey(analysisId) ? null : columnarLogStore.newSegment(analysisId);
+    }
+
+    /**
+     * 컬럼 파일을 확정한다. 생성이나 기록이 실패하면 일부 세그먼트만 남아 드릴다운 결과가 조용히 어긋나지 않도록
+     * 분석의 컬럼 파일을 모두 지우고 실패를 기록하여, 이후 조회가 사유와 함께 409를 받게 한다.
+     */
+    private void commitColumns(String analysisId, ColumnarSegmentWriter columns) {
+        if (!columnarLogStore.isEnabled() || columnFailures.containsKey(analysisId)
+                || (columns != null && columns.commit())) {
+            return;
+        }
+        log.warn("컬럼 파일 기록 실패, 드릴다운 조회 중단: analysisId={}", analysisId);
+        columnFailures.put(analysisId, "컬럼 파일 기록에 실패하여 드릴다운 조회를 할 수 없습니다. 같은 로그로 새 분석을 제출하세요: " + analysisId);
+        columnarLogStore.delete(analysisId);
+    }
+
+    private void rejectFailedColumns(String analysisId) {
+        String failure = columnFailures.get(analysisId);
+        if (failure != null) {
+            throw new AnalysisConflictException(failure);
+        }
+    }
+
+    /** 파서에 넘길 통지 지점 — 컬럼 저장소가 켜져 있으면 집계한 로그를 원본 라인과 함께 컬럼 파일에도 기록한다 */
+    private static ParseContext recording(ParseContext context, ColumnarSegmentWriter columns) {
+        if (columns == null) {
+            return context;
+        }
+        return new ParseContext() {
+            @Override
+            public boolean isCancelled() {
+                return context.isCancelled();
+            }
+
+            @Override
+            public void onProgress(long linesProcessed, long errorCount) {
+                context.onProgress(linesProcessed, errorCount);
+            }
+
+            @Override
+            public void onRecord(AccessLog accessLog, String line) {
+                columns.append(accessLog, line);
+            }
+        };
+    }
+
+    /**
+     * 상위 N개와 비율·응답 시간 통계를 집계 상태로부터 다시 계산하여 결과에 반영.
+     * 내보내기가 켜져 있으면 전체 차원 테이블도 새로 만들어 교체한다.
+     */
+    private void publishAggregation(AnalysisResult result, LogAggregator aggregator) {
+        if (properties.export().enabled()) {
+            dimensionTables.put(result.getAnalysisId(), DimensionTables.of(aggregator));
+            if (result.isCancelled()) {
+                dimensionTables.remove(result.getAnalysisId());
+            }
+        }
+        int topN = properties.topN();
+        result.setResponseTimeStats(aggregator.calculateResponseTimeStats());
+        result.setTotalRequests(aggregator.getTotalRequests());
+        replaceContents(result.getStatusCodeCounts(), aggregator.getTopN(aggregator.getStatusCodeCounts(), topN));
+        replaceContents(result.getPathCounts(), aggregator.getTopN(aggregator.getPathCounts(), topN));
+        replaceContents(result.getIpCounts(), aggregator.getTopN(aggregator.getIpCounts(), topN));
+        result.setStatusGroupRatios(aggregator.getStatusGroupRatios());
+    }
+
+    private static <K> void replaceContents(Map<K, Long> target, Map<K, Long> source) {
+        target.keySet().retainAll(source.keySet());
+        target.putAll(source);
+    }
+
+    /**
+     * 취소되지 않은 분석이면 집계 상태를 다시 보관하여 다음 추가를 받을 수 있게 하고, 상태 크기를 포함해 보관 기준을 다시 계산한다.
+     * 그 사이 저장소에서 삭제된 분석이면 보관한 상태를 다시 거둔다 — 삭제 리스너와 순서가 엇갈려도 상태가 남지 않는다.
+     */
+    private void restoreState(AnalysisResult result, LogAggregator state) {
+        if (result.isCancelled()) {
+            return;
+        }
+        String analysisId = result.getAnalysisId();
+        aggregationStates.put(analysisId, state);
+        DimensionTables tables = dimensionTables.get(analysisId);
+        result.setRetainedStateBytes(state.estimateRetainedBytes() + (tables == null ? 0 : tables.estimateRetainedBytes()));
+        analysisRepository.update(result);
+        if (analysisRepository.findById(analysisId).isEmpty()) {
+            aggregationStates.remove(analysisId, state);
+            dimensionTables.remove(analysisId);
+            columnarLogStore.delete(analysisId);
+            columnFailures.remove(analysisId);
+            analysisIds.remove(analysisId);
+        }
+    }
+
+    /** 실행되지 못했거나 파싱이 실패한 추가 작업 — 기존 결과를 그대로 다시 완료시키고 집계 상태를 되돌린다 */
+    private void abortAppend(AnalysisResult result, LogAggregator state) {
+        result.complete();
+        restoreState(result, state);
+    }
+
+    /** 보관 기간·크기 상한으로 삭제된 분석의 집계 상태·전체 차원 테이블·컬럼 파일과 내용 키를 함께 정리 */
+    private void forget(AnalysisResult result) {
+        String analysisId = result.getAnalysisId();
+        aggregationStates.remove(analysisId);
+        dimensionTables.remove(analysisId);
+        columnarLogStore.delete(analysisId);
+        columnFailures.remove(analysisId);
+        analysisIds.remove(analysisId);
+        if (result.getContentHash() != null) {
+            analysisIdsByContent.remove(contentKey(result.getContentHash()), analysisId);
+        }
+    }
+
+    /**
+     * 파서 통지(수천 라인 간격)를 받아 진행 상황을 갱신하고, 스냅샷 간격이 지났으면 중간 집계를 게시한다.
+     * 파싱 스레드가 라인 경계에서 직접 호출하므로 집계기를 멈추거나 잠그지 않고도 일관된 스냅샷이 만들어진다.
+     */
+    private class AnalysisParseContext implements ParseContext {
+
+        private final AnalysisResult result;
+        private final AnalysisProgress progress;
+        private final LogAggregator aggregator;
+        private final CountingInputStream input;
+        private final long snapshotIntervalNanos = properties.stream().snapshotInterval() * 1_000_000;
+        private long lastSnapshotAt = System.nanoTime();
+
+        AnalysisParseContext(AnalysisResult result, AnalysisProgress progress,
+                             LogAggregator aggregator, CountingInputStream input) {
+            this.result = result;
+            this.progress = progress;
+            this.aggregator = aggregator;
+            this.input = input;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        @Override
+        public void onProgress(long linesProcessed, long errorCount) {
+            progress.update(input.getCount(), linesProcessed, errorCount);
+            long now = System.nanoTime();
+            if (now - lastSnapshotAt >= snapshotIntervalNanos) {
+                lastSnapshotAt = now;
+                result.setPartialResult(aggregator.snapshot(linesProcessed, properties.topN()));
+            }
+        }
+    }
+
+    /** 선조회가 켜져 있으면 파싱 중 heavy hitter IP를 IP 조회 서비스로 넘겨 캐시를 미리 채운다 */
+    private LogAggregator newAggregator() {
+        AnalysisProperties.PrefetchProperties prefetch = properties.prefetch();
+        if (!prefetch.enabled()) {
+            return new LogAggregator();
+        }
+        return new LogAggregator(prefetch.minCount(), prefetch.minShare(), prefetch.maxLookups(),
+                ipEnrichmentService::prefetch);
+    }
+
+    /**
+     * 조회 단계가 실패해도 이미 게시된 통계는 유효하므로 UNKNOWN으로 채워 완료 처리.
+     * 완료 후에는 집계 상태를 보관하여 이후 추가 분석에 사용한다.
+     */
+    private void enrichAsync(AnalysisResult result, LogAggregator state, long startTime) {
+        String analysisId = result.getAnalysisId();
+        List<String> topIpList = result.getIpCounts().keySet().stream().toList();
+        long enrichStart = System.currentTimeMillis();
+        CompletableFuture<List<IpInfo>> enrichment =
+                CompletableFuture.supplyAsync(() -> ipEnrichmentService.enrich(topIpList), enrichmentExecutor);
+        enrichments.put(analysisId, enrichment);
+        enrichment.whenComplete((ipInfos, e) -> {
+            enrichments.remove(analysisId, enrichment);
+            if (result.isCancelled()) {
+                log.info("분석 취소로 IP 조회 결과 폐기: analysisId={}", analysisId);
+                return;
+            }
+            if (e != null) {
+                log.error("IP 조회 단계 실패, UNKNOWN으로 완료: analysisId={}", analysisId, e);
+                ipInfos = topIpList.stream().map(IpInfo::unknown).toList();
+            }
+            result.setTopIps(ipInfos);
+            result.complete();
+            restoreState(result, state);
+
+            long now = System.currentTimeMillis();
+            log.info("분석 완료: analysisId={}, IP조회={}ms, 전체={}ms",
+                    analysisId, now - enrichStart, now - startTime);
+        });
+    }
+
     private void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             log.warn("파일 검증 실패: 빈 파일");
@@ -143,19 +695,59 @@ public class AnalysisServiceImpl implements AnalysisService {
         }
     }
 
-    private Path saveTempFile(MultipartFile file) {
+    /**
+     * 내용 기준 분석 선점. 같은 키로 재사용 가능한 분석이 있으면 그 결과를, 없으면(또는 실패·취소·삭제되어 무효하면)
+     * 키를 candidateId로 선점하고 null을 반환한다.
+     */
+    private AnalysisResult claimContent(String contentKey, String candidateId) {
+        while (true) {
+            String existingId = analysisIdsByContent.putIfAbsent(contentKey, candidateId);
+            if (existingId == null) {
+                return null;
+            }
+            Optional<AnalysisResult> existing = analysisRepository.findById(existingId)
+                    .filter(r -> r.getStatus() != AnalysisStatus.FAILED && r.getStatus() != AnalysisStatus.CANCELLED);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+            if (analysisIdsByContent.replace(contentKey, existingId, candidateId)) {
+                return null;
+            }
+        }
+    }
+
+    /** 결과에 영향을 주는 분석 옵션(최대 라인 수, Top N)이 다르면 같은 파일이라도 다른 분석으로 취급 */
+    private String contentKey(String sha256) {
+        return sha256 + ":" + properties.maxLines() + ":" + properties.topN();
+    }
+
+    /** 업로드를 임시 파일로 복사하면서 같은 패스에서 SHA-256을 계산 — 해시를 위해 파일을 다시 읽지 않는다 */
+    private TempUpload saveTempFile(MultipartFile file) {
         try {
             long start = System.currentTimeMillis();
             Path tempFile = Files.createTempFile("analysis-", ".csv");
-            file.transferTo(tempFile.toFile());
-            log.debug("임시 파일 저장 완료: 크기={}bytes, 소요시간={}ms",
-                    file.getSize(), System.currentTimeMillis() - start);
-            return tempFile;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(tempFile)) {
+                in.transferTo(out);
+            } catch (IOException e) {
+                deleteTempFile(tempFile);
+                throw e;
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            log.debug("임시 파일 저장 완료: 크기={}bytes, sha256={}, 소요시간={}ms",
+                    file.getSize(), sha256, System.currentTimeMillis() - start);
+            return new TempUpload(tempFile, sha256);
         } catch (IOException e) {
             throw new RuntimeException("임시 파일 저장 실패", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 런타임", e);
         }
     }
 
+    private record TempUpload(Path path, String sha256) {
+    }
+
     private void deleteTempFile(Path tempFile) {
         try {
             Files.deleteIfExists(tempFile);
@@ -163,4 +755,26 @@ public class AnalysisServiceImpl implements AnalysisService {
             log.warn("임시 파일 삭제 실패: {}", tempFile, e);
         }
     }
+
+    /** 한 분석의 차원별 전체 테이블 */
+    private record DimensionTables(DimensionTable ips, DimensionTable paths, DimensionTable statusCodes) {
+
+        static DimensionTables of(LogAggregator aggregator) {
+            return new DimensionTables(DimensionTable.of(aggregator.getIpCounts()),
+                    DimensionTable.of(aggregator.getPathCounts()),
+                    DimensionTable.of(aggregator.getStatusCodeCounts()));
+        }
+
+        DimensionTable get(Dimension dimension) {
+            return switch (dimension) {
+                case IP -> ips;
+                case PATH -> paths;
+                case STATUS_CODE -> statusCodes;
+            };
+        }
+
+        long estimateRetainedBytes() {
+            return ips.estimateRetainedBytes() + paths.estimateRetainedBytes() + statusCodes.estimateRetainedBytes();
+        }
+    }
 }
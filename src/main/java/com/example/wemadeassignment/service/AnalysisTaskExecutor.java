@@ -0,0 +1,188 @@
+package com.example.wemadeassignment.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 예산 기반 수용 제어와 크기 기반 우선순위 스케줄링을 하는 분석 실행기.
+ * 작업마다 파일 크기로 집계 메모리 사용량을 추정하여, 수행 중·대기 중 작업의 추정치 합이 예산을 넘으면
+ * {@link RejectedExecutionException}으로 거부한다.
+ *
+ * <p>수용된 작업은 "제출 시각 + 파일 크기 × {@code priorityMillisPerMb}"를 가상 마감 시각으로 하는 우선순위 큐에서 대기하고,
+ * CPU 동시 실행 한도 안에서 마감 시각이 빠른 작업부터 가상 스레드로 실행된다.
+ * 작은 파일은 앞서 제출된 큰 파일보다 먼저 실행되지만, 오래 기다린 큰 파일은 결국 나중에 제출된 작은 파일보다 앞서므로 굶지 않는다.
+ */
+public class AnalysisTaskExecutor implements Executor, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisTaskExecutor.class);
+
+    /** 라인 수 추정에 쓰는 보수적인 평균 라인 길이 (bytes) — 실제 로그는 약 120bytes */
+    private static final long ESTIMATED_LINE_BYTES = 100;
+    /** 작업당 고정 비용 — 입력 버퍼, 집계기, 결과 객체 */
+    private static final long JOB_OVERHEAD_BYTES = 1024 * 1024;
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final long memoryBudget;
+    private final int maxConcurrency;
+    private final int maxLines;
+    private final long bytesPerLine;
+    private final double priorityMillisPerMb;
+    private final ExecutorService threads;
+
+    private final AtomicLong reservedBytes = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // 아래 필드는 queue로 보호
+    private final PriorityQueue<QueuedJob> queue = new PriorityQueue<>(
+            Comparator.comparingLong(QueuedJob::virtualDeadline).thenComparingLong(QueuedJob::sequence));
+    private int running;
+
+    private record QueuedJob(Runnable command, long cost, long virtualDeadline, long sequence) {
+    }
+
+    public AnalysisTaskExecutor(long memoryBudget, int maxConcurrency, int maxLines, long bytesPerLine,
+                                double priorityMillisPerMb) {
+        this.memoryBudget = memoryBudget;
+        this.maxConcurrency = maxConcurrency;
+        this.maxLines = maxLines;
+        this.bytesPerLine = bytesPerLine;
+        this.priorityMillisPerMb = priorityMillisPerMb;
+        this.threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analysis-", 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (threads.isShutdown()) {
+            throw new RejectedExecutionException("분석 실행기가 종료되었습니다.");
+        }
+        long fileSize = command instanceof AnalysisJob job ? job.fileSize() : 0;
+        long cost = estimateBytes(fileSize);
+        if (!reserve(cost)) {
+            throw new RejectedExecutionException(String.format(
+                    "메모리 예산 초과: 추정 %dKB, 사용 중 %dKB / 예산 %dKB",
+                    cost / 1024, reservedBytes.get() / 1024, memoryBudget / 1024));
+        }
+
+        long virtualDeadline = System.currentTimeMillis() + (long) (fileSize / BYTES_PER_MB * priorityMillisPerMb);
+        synchronized (queue) {
+            queue.add(new QueuedJob(command, cost, virtualDeadline, sequence.incrementAndGet()));
+        }
+        dispatch();
+    }
+
+    /** 파일 크기로 라인 수를 추정하고(최대 라인 수로 제한), 라인당 집계 메모리를 곱한다 */
+    long estimateBytes(long fileSize) {
+        long lines = Math.min(maxLines, (fileSize + ESTIMATED_LINE_BYTES - 1) / ESTIMATED_LINE_BYTES);
+        return JOB_OVERHEAD_BYTES + lines * bytesPerLine;
+    }
+
+    private boolean reserve(long cost) {
+        long current;
+        do {
+            current = reservedBytes.get();
+            if (current + cost > memoryBudget) {
+                return false;
+            }
+        } while (!reservedBytes.compareAndSet(current, current + cost));
+        return true;
+    }
+
+    /** 빈 CPU 슬롯만큼 가상 마감 시각이 빠른 작업을 꺼내 실행 */
+    private void dispatch() {
+        synchronized (queue) {
+            while (running < maxConcurrency && !queue.isEmpty()) {
+                QueuedJob next = queue.poll();
+                try {
+                    threads.execute(() -> run(next));
+                    running++;
+                } catch (RejectedExecutionException e) {
+                    log.warn("분석 실행기 종료로 대기 작업 취소: {}", next.command());
+                    discard(next);
+                }
+            }
+        }
+    }
+
+    private void run(QueuedJob job) {
+        try {
+            job.command().run();
+        } finally {
+            reservedBytes.addAndGet(-job.cost());
+            synchronized (queue) {
+                running--;
+            }
+            dispatch();
+        }
+    }
+
+    /**
+     * 대기 중인 작업을 대기열에서 제거하고 예약한 메모리를 즉시 반환한다.
+     * 이미 실행 중인 작업은 제거하지 않으며(false), 작업 스스로 취소 여부를 확인하고 종료해야 한다.
+     */
+    public boolean cancel(String analysisId) {
+        QueuedJob removed = null;
+        synchronized (queue) {
+            Iterator<QueuedJob> it = queue.iterator();
+            while (it.hasNext()) {
+                QueuedJob queued = it.next();
+                if (queued.command() instanceof AnalysisJob job && job.analysisId().equals(analysisId)) {
+                    it.remove();
+                    removed = queued;
+                    break;
+                }
+            }
+        }
+        if (removed == null) {
+            return false;
+        }
+        discard(removed);
+        return true;
+    }
+
+    private void discard(QueuedJob queued) {
+        reservedBytes.addAndGet(-queued.cost());
+        if (queued.command() instanceof AnalysisJob job) {
+            job.discard();
+        }
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    /** 수용되었으나 CPU 슬롯을 기다리는 작업 수 */
+    public int getPendingJobs() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /** 종료 시 대기 중인 작업은 버리고, 수행 중인 작업에는 인터럽트를 보낸다 */
+    @Override
+    public void close() {
+        threads.shutdownNow();
+        List<QueuedJob> dropped;
+        synchronized (queue) {
+            dropped = List.copyOf(queue);
+            queue.clear();
+        }
+        if (!dropped.isEmpty()) {
+            log.warn("분석 실행기 종료: 대기 작업 {}건 취소", dropped.size());
+        }
+        dropped.forEach(this::discard);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.UploadStatus;
+
+import java.io.InputStream;
+
+public interface ChunkedUploadService {
+
+    /** 분할 업로드 세션 생성 */
+    UploadStatus createSession();
+
+    /**
+     * 청크 수신 — 청크 내부의 온전한 라인은 즉시 파싱하여 세션 집계에 합친다.
+     * 이미 받은 번호는 다시 파싱하지 않고 현재 상태를 반환한다. 세션이 없거나 만료되었으면 UploadNotFoundException
+     */
+    UploadStatus putChunk(String uploadId, int index, InputStream body);
+
+    /** 세션 상태 조회 — 재개 시 빠진 청크 번호 확인용. 세션이 없거나 만료되었으면 UploadNotFoundException */
+    UploadStatus getStatus(String uploadId);
+
+    /**
+     * 업로드 완료 — 청크 경계 라인만 추가로 파싱한 뒤 집계 상태로 분석을 생성하고 세션을 정리한다.
+     * 0..totalChunks-1 청크가 모두 도착하지 않았으면 AnalysisConflictException
+     */
+    AnalysisResult complete(String uploadId, int totalChunks);
+}
@@ -0,0 +1,161 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.UploadStatus;
+import com.example.wemadeassignment.exception.UploadNotFoundException;
+import com.example.wemadeassignment.parser.CsvLogParser;
+import com.example.wemadeassignment.parser.ParseStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분할 업로드 처리.
+ * 청크가 도착하면 첫 개행 이전·마지막 개행 이후 조각만 세션에 남기고 나머지 온전한 라인은 바로 파싱·집계하므로,
+ * 원본 파일을 디스크에 모으지 않고 세션당 메모리는 청크 수에 비례하는 경계 조각과 집계 상태로 제한된다.
+ * 완료 시 경계 조각을 이어 붙여 청크 사이에 걸친 라인을 복원하고, 병합된 집계 상태로 분석을 생성한다.
+ * 최대 라인 수는 세션 전체에 적용한다 — 청크는 파싱 전에 라인 수를 세어 세션 한도를 넘으면 거부한다.
+ */
+@Service
+public class ChunkedUploadServiceImpl implements ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadServiceImpl.class);
+
+    private final CsvLogParser csvLogParser;
+    private final AnalysisService analysisService;
+    private final AnalysisProperties.UploadProperties properties;
+    private final int maxLines;
+    private final long sessionTtlMillis;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadServiceImpl(CsvLogParser csvLogParser, AnalysisService analysisService,
+                                    AnalysisProperties analysisProperties) {
+        this.csvLogParser = csvLogParser;
+        this.analysisService = analysisService;
+        this.properties = analysisProperties.upload();
+        this.maxLines = analysisProperties.maxLines();
+        this.sessionTtlMillis = properties.sessionTtl() * 1000;
+    }
+
+    @Override
+    public UploadStatus createSession() {
+        evictExpired();
+        String uploadId = UUID.randomUUID().toString();
+        UploadSession session = new UploadSession(uploadId);
+        sessions.put(uploadId, session);
+        log.info("분할 업로드 세션 생성: uploadId={}", uploadId);
+        return session.toStatus(sessionTtlMillis);
+    }
+
+    @Override
+    public UploadStatus putChunk(String uploadId, int index, InputStream body) {
+        UploadSession session = findSession(uploadId);
+        if (index < 0 || index >= properties.maxChunks()) {
+            throw new IllegalArgumentException("청크 번호는 0 이상 " + properties.maxChunks() + " 미만이어야 합니다.");
+        }
+        byte[] chunk = readChunk(body);
+        if (chunk.length == 0) {
+            throw new IllegalArgumentException("빈 청크입니다.");
+        }
+        UploadSession.ChunkEdges edges = UploadSession.ChunkEdges.split(chunk);
+        int lines = edges.bodyLines(chunk);
+        if (!session.reserve(index, chunk.length, lines, properties.maxTotalSize(), maxLines)) {
+            log.info("이미 수신한 청크 재전송 무시: uploadId={}, index={}", uploadId, index);
+            return session.toStatus(sessionTtlMillis);
+        }
+
+        try {
+            LogAggregator partial = new LogAggregator();
+            ParseStatistics stats = edges.hasBody()
+                    ? csvLogParser.parse(new ByteArrayInputStream(chunk, edges.bodyStart(), edges.bodyEnd() - edges.bodyStart()),
+                            partial::aggregate)
+                    : new ParseStatistics(0, 0, 0, List.of());
+            session.accept(index, edges, partial, stats);
+            log.info("청크 수신: uploadId={}, index={}, 크기={}bytes, 파싱 {}줄", uploadId, index, chunk.length,
+                    stats.totalLinesProcessed());
+        } catch (RuntimeException e) {
+            session.release(index, chunk.length, lines);
+            throw e;
+        }
+        return session.toStatus(sessionTtlMillis);
+    }
+
+    @Override
+    public UploadStatus getStatus(String uploadId) {
+        return findSession(uploadId).toStatus(sessionTtlMillis);
+    }
+
+    @Override
+    public AnalysisResult complete(String uploadId, int totalChunks) {
+        UploadSession session = findSession(uploadId);
+        if (totalChunks <= 0 || totalChunks > properties.maxChunks()) {
+            throw new IllegalArgumentException("청크 수는 1 이상 " + properties.maxChunks() + " 이하여야 합니다.");
+        }
+        session.beginCompletion(totalChunks);
+
+        AnalysisResult result;
+        try {
+            // 헤더는 첫 청크의 첫 조각이므로 경계 라인의 첫 줄로 들어오고, 파서가 헤더·BOM을 처리한다
+            UploadSession.BoundaryLines boundary = session.stitchBoundaryLines();
+            LogAggregator parsed = new LogAggregator();
+            ParseStatistics stats = csvLogParser.parse(new ByteArrayInputStream(boundary.content()), parsed::aggregate);
+            session.mergeBoundary(boundary, parsed, stats, maxLines);
+            result = analysisService.submitAggregated(
+                    session.getAggregate(), session.getErrorCount(), session.getErrorSamples());
+        } catch (RuntimeException e) {
+            session.abortCompletion();
+            throw e;
+        }
+        sessions.remove(uploadId, session);
+        log.info("분할 업로드 완료: uploadId={}, analysisId={}, 청크 {}개", uploadId, result.getAnalysisId(), totalChunks);
+        return result;
+    }
+
+    private UploadSession findSession(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || isExpired(session)) {
+            if (session != null) {
+                sessions.remove(uploadId, session);
+            }
+            throw new UploadNotFoundException(uploadId);
+        }
+        return session;
+    }
+
+    private boolean isExpired(UploadSession session) {
+        return System.currentTimeMillis() - session.getLastTouchedAt() > sessionTtlMillis;
+    }
+
+    private void evictExpired() {
+        sessions.values().removeIf(session -> {
+            boolean expired = isExpired(session);
+            if (expired) {
+                log.info("만료된 분할 업로드 세션 정리: uploadId={}", session.getUploadId());
+            }
+            return expired;
+        });
+    }
+
+    /** 청크 최대 크기 + 1바이트까지만 읽어 초과 여부를 판정 — 제한을 넘는 본문 전체를 메모리에 올리지 않는다 */
+    private byte[] readChunk(InputStream body) {
+        try {
+            byte[] chunk = body.readNBytes((int) Math.min(Integer.MAX_VALUE - 8, properties.maxChunkSize() + 1));
+            if (chunk.length > properties.maxChunkSize()) {
+                throw new IllegalArgumentException("청크 크기가 " + properties.maxChunkSize() + " bytes를 초과합니다.");
+            }
+            return chunk;
+        } catch (IOException e) {
+            throw new UncheckedIOException("청크 읽기 실패", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.wemadeassignment.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 전체 집계 내보내기 한 페이지 — 불변 {@link DimensionTable}의 범위만 가리키므로 만들 때 항목을 복사하지 않고,
+ * {@link #writeTo}가 호출될 때 한 줄씩 출력 스트림에 기록한다.
+ */
+public record DimensionExport(DimensionTable table, DimensionTable.Range range, Format format) {
+
+    /** 출력 형식 */
+    public enum Format {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /** 소문자 이름(ndjson, csv)으로 조회 — 없으면 IllegalArgumentException */
+        public static Format fromName(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 형식입니다: ndjson, csv 중 하나를 지정하세요.");
+        }
+    }
+
+    /** 다음 페이지 커서 — 마지막 페이지면 null */
+    public String nextCursor() {
+        return range.nextCursor();
+    }
+
+    /** 페이지 항목을 기록. CSV는 페이지마다 헤더 행을 포함한다 */
+    public void writeTo(OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            out.write("key,count\n".getBytes(StandardCharsets.US_ASCII));
+            table.writeCsv(range.from(), range.to(), out);
+        } else {
+            table.writeNdjson(range.from(), range.to(), out);
+        }
+    }
+}
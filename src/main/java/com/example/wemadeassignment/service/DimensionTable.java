@@ -0,0 +1,215 @@
+package com.example.wemadeassignment.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 한 차원의 전체 키별 요청 수를 키 순서로 정렬해 압축 보관하는 불변 테이블.
+ *
+ * <p>키는 UTF-8 bytes를 이어 붙인 배열 하나와 시작 위치 배열로, 요청 수는 long 배열로 보관하므로 항목당 비용은
+ * 키 길이 + 12 bytes 정도다(HashMap 노드·String·박싱된 Long 대비 수 분의 1). 정렬은 UTF-8 bytes의 부호 없는 사전순이며,
+ * 접두사 조회와 커서 이후 위치 탐색은 이진 탐색으로 O(log n)에 끝난다.
+ *
+ * <p>만든 뒤에는 바뀌지 않으므로 추가 분석이 새 테이블로 교체하는 동안에도 내보내기를 잠금 없이 스트리밍할 수 있다.
+ */
+public final class DimensionTable {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] NDJSON_KEY = "{\"key\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NDJSON_COUNT = "\",\"count\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NDJSON_END = "}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] keys;
+    private final int[] offsets;  // i번째 키는 keys[offsets[i], offsets[i + 1])
+    private final long[] counts;
+
+    private DimensionTable(byte[] keys, int[] offsets, long[] counts) {
+        this.keys = keys;
+        this.offsets = offsets;
+        this.counts = counts;
+    }
+
+    /** 집계 맵으로부터 정렬된 테이블 생성 — 키는 문자열 표현(상태 코드는 "200" 등)으로 보관 */
+    public static DimensionTable of(Map<?, Long> countsByKey) {
+        int size = countsByKey.size();
+        byte[][] sortedKeys = new byte[size][];
+        long[] sortedCounts = new long[size];
+        Integer[] order = new Integer[size];
+        int i = 0;
+        for (Map.Entry<?, Long> entry : countsByKey.entrySet()) {
+            sortedKeys[i] = String.valueOf(entry.getKey()).getBytes(StandardCharsets.UTF_8);
+            sortedCounts[i] = entry.getValue();
+            order[i] = i;
+            i++;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(sortedKeys[a], sortedKeys[b]));
+
+        int totalBytes = 0;
+        for (byte[] key : sortedKeys) {
+            totalBytes = Math.addExact(totalBytes, key.length);
+        }
+        byte[] keys = new byte[totalBytes];
+        int[] offsets = new int[size + 1];
+        long[] counts = new long[size];
+        int position = 0;
+        for (int j = 0; j < size; j++) {
+            byte[] key = sortedKeys[order[j]];
+            System.arraycopy(key, 0, keys, position, key.length);
+            offsets[j] = position;
+            counts[j] = sortedCounts[order[j]];
+            position += key.length;
+        }
+        offsets[size] = position;
+        return new DimensionTable(keys, offsets, counts);
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    /** 보관 메모리 추정치(bytes) */
+    public long estimateRetainedBytes() {
+        return 64 + keys.length + (long) offsets.length * Integer.BYTES + (long) counts.length * Long.BYTES;
+    }
+
+    public String key(int index) {
+        return new String(keys, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    public long count(int index) {
+        return counts[index];
+    }
+
+    /** [from, to) 항목을 {@code {"key":"...","count":N}} 한 줄씩 기록 — 키 bytes에서 바로 이스케이프하여 문자열을 만들지 않는다 */
+    void writeNdjson(int from, int to, OutputStream out) throws IOException {
+        for (int i = from; i < to; i++) {
+            out.write(NDJSON_KEY);
+            for (int p = offsets[i]; p < offsets[i + 1]; p++) {
+                int b = keys[p] & 0xFF;
+                if (b == '"' || b == '\\') {
+                    out.write('\\');
+                    out.write(b);
+                } else if (b < 0x20) {
+                    out.write(String.format("\\u%04x", b).getBytes(StandardCharsets.US_ASCII));
+                } else {
+                    out.write(b);
+                }
+            }
+            out.write(NDJSON_COUNT);
+            out.write(Long.toString(counts[i]).getBytes(StandardCharsets.US_ASCII));
+            out.write(NDJSON_END);
+        }
+    }
+
+    /** [from, to) 항목을 {@code key,count} 한 줄씩 기록. 쉼표·따옴표·개행이 있는 키는 RFC 4180 규칙으로 감싼다 */
+    void writeCsv(int from, int to, OutputStream out) throws IOException {
+        for (int i = from; i < to; i++) {
+            int start = offsets[i];
+            int end = offsets[i + 1];
+            if (needsQuoting(start, end)) {
+                out.write('"');
+                for (int p = start; p < end; p++) {
+                    if (keys[p] == '"') {
+                        out.write('"');
+                    }
+                    out.write(keys[p]);
+                }
+                out.write('"');
+            } else {
+                out.write(keys, start, end - start);
+            }
+            out.write(',');
+            out.write(Long.toString(counts[i]).getBytes(StandardCharsets.US_ASCII));
+            out.write('\n');
+        }
+    }
+
+    private boolean needsQuoting(int start, int end) {
+        for (int p = start; p < end; p++) {
+            byte b = keys[p];
+            if (b == ',' || b == '"' || b == '\n' || b == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@code prefix}로 시작하는 키 중 {@code cursor} 다음부터 최대 {@code limit}개 범위.
+     * 커서는 이전 페이지 마지막 키의 UTF-8 bytes를 base64url로 인코딩한 값이다.
+     */
+    public Range range(String prefix, String cursor, int limit) {
+        byte[] prefixBytes = prefix == null ? EMPTY : prefix.getBytes(StandardCharsets.UTF_8);
+        int from = lowerBound(prefixBytes);
+        if (cursor != null) {
+            from = Math.max(from, upperBound(decodeCursor(cursor)));
+        }
+        int to = from;
+        while (to < size() && to - from < limit && startsWith(to, prefixBytes)) {
+            to++;
+        }
+        boolean hasMore = to < size() && startsWith(to, prefixBytes);
+        return new Range(from, to, hasMore && to > from ? encodeCursor(to - 1) : null);
+    }
+
+    /** 내보낼 항목 범위 [from, to)와 다음 페이지 커서 (마지막 페이지면 null) */
+    public record Range(int from, int to, String nextCursor) {
+    }
+
+    private String encodeCursor(int index) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOfRange(keys, offsets[index], offsets[index + 1]));
+    }
+
+    private static byte[] decodeCursor(String cursor) {
+        try {
+            return Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서 형식입니다.");
+        }
+    }
+
+    /** key 이상인 첫 위치 */
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** key보다 큰 첫 위치 */
+    private int upperBound(byte[] key) {
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(mid, key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int index, byte[] key) {
+        return Arrays.compareUnsigned(keys, offsets[index], offsets[index + 1], key, 0, key.length);
+    }
+
+    private boolean startsWith(int index, byte[] prefix) {
+        int start = offsets[index];
+        return offsets[index + 1] - start >= prefix.length
+                && Arrays.equals(keys, start, start + prefix.length, prefix, 0, prefix.length);
+    }
+}
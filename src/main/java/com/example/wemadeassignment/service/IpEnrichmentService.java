@@ -8,4 +8,8 @@ import java.util.List;
 public interface IpEnrichmentService {
 
     List<IpInfo> enrich(List<String> ips);
+
+    /** 곧 상위 IP가 될 가능성이 높은 IP를 백그라운드에서 미리 조회하여 캐시에 적재한다. 기본 구현은 아무것도 하지 않음 */
+    default void prefetch(String ip) {
+    }
 }
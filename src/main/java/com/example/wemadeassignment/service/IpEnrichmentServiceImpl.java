@@ -1,8 +1,11 @@
 package com.example.wemadeassignment.service;
 
+import com.example.wemadeassignment.client.IpInfoCircuitBreaker;
 import com.example.wemadeassignment.client.IpInfoClient;
 import com.example.wemadeassignment.config.IpInfoProperties;
 import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.repository.IpInfoStore;
+import com.example.wemadeassignment.repository.StoredIpInfo;
 import com.github.benmanes.caffeine.cache.Cache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,34 +14,88 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class IpEnrichmentServiceImpl implements IpEnrichmentService {
 
     private static final Logger log = LoggerFactory.getLogger(IpEnrichmentServiceImpl.class);
 
+    /** 조회 결과를 얻은 계층 */
+    public enum Tier {
+        RESERVED,
+        EXACT,
+        RANGE,
+        DISK,
+        API
+    }
+
     private final IpInfoClient ipInfoClient;
+    private final IpInfoCircuitBreaker circuitBreaker;
+    private final IpRangeClassifier rangeClassifier;
     private final Cache<String, IpInfo> cache;
+    private final IpRangeCache rangeCache;
+    private final IpInfoStore ipInfoStore;
     private final Executor executor;
     private final int maxRetries;
+    private final Semaphore bulkhead;
+    private final long bulkheadMaxWait;
+    private final long enrichmentDeadline;
+    private final boolean refreshEnabled;
+    private final long refreshAheadMillis;
+    private final double refreshJitter;
+    private final Map<String, CompletableFuture<IpInfo>> prefetching = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Map<Tier, LongAdder> tierHits = new EnumMap<>(Tier.class);
 
     public IpEnrichmentServiceImpl(IpInfoClient ipInfoClient,
+                                   IpInfoCircuitBreaker circuitBreaker,
+                                   IpRangeClassifier rangeClassifier,
                                    Cache<String, IpInfo> cache,
+                                   IpRangeCache rangeCache,
+                                   IpInfoStore ipInfoStore,
                                    @Qualifier("ipEnrichmentExecutor") Executor executor,
                                    IpInfoProperties properties) {
         this.ipInfoClient = ipInfoClient;
+        this.circuitBreaker = circuitBreaker;
+        this.rangeClassifier = rangeClassifier;
         this.cache = cache;
+        this.rangeCache = rangeCache;
+        this.ipInfoStore = ipInfoStore;
         this.executor = executor;
         this.maxRetries = properties.maxRetries();
+        this.bulkhead = new Semaphore(properties.bulkhead().maxConcurrentCalls());
+        this.bulkheadMaxWait = properties.bulkhead().maxWait();
+        this.enrichmentDeadline = properties.enrichmentDeadline();
+        IpInfoProperties.RefreshProperties refresh = properties.cache().refresh();
+        this.refreshEnabled = refresh.enabled();
+        this.refreshAheadMillis = TimeUnit.SECONDS.toMillis(refresh.ahead());
+        this.refreshJitter = refresh.jitter();
+        for (Tier tier : Tier.values()) {
+            tierHits.put(tier, new LongAdder());
+        }
     }
 
+    /**
+     * 상위 IP를 병렬 조회한다. 분석 1건당 {@code enrichmentDeadline} 안에 끝나지 않은 조회는 UNKNOWN으로 채우고,
+     * 남은 조회는 백그라운드에서 계속되어 성공 시 캐시에 반영된다.
+     */
     @Override
     public List<IpInfo> enrich(List<String> ips) {
         List<CompletableFuture<IpInfo>> futures = ips.stream()
-                .map(ip -> CompletableFuture.supplyAsync(() -> lookup(ip), executor))
+                .map(ip -> lookupAsync(ip)
+                        .completeOnTimeout(IpInfo.unknown(ip), enrichmentDeadline, TimeUnit.MILLISECONDS))
                 .toList();
 
         List<IpInfo> results = futures.stream()
@@ -46,36 +103,203 @@ public class IpEnrichmentServiceImpl implements IpEnrichmentService {
                 .toList();
 
         long cacheHits = results.stream().filter(r -> !r.isUnknown()).count();
-        log.info("IP 조회 완료: 전체={}건, 성공={}건, 실패={}건",
-                ips.size(), cacheHits, ips.size() - cacheHits);
+        log.info("IP 조회 완료: 전체={}건, 성공={}건, 실패={}건, 누적 계층별 히트율={}",
+                ips.size(), cacheHits, ips.size() - cacheHits, formatHitRates());
 
         return results;
     }
 
+    /** 서비스 기동 이후 계층별 누적 조회 건수. API 항목은 실패 포함 실제 호출 건수 */
+    public Map<Tier, Long> getTierHits() {
+        Map<Tier, Long> snapshot = new EnumMap<>(Tier.class);
+        tierHits.forEach((tier, count) -> snapshot.put(tier, count.sum()));
+        return snapshot;
+    }
+
+    private String formatHitRates() {
+        Map<Tier, Long> hits = getTierHits();
+        long total = hits.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return "{}";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        hits.forEach((tier, count) -> {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(tier).append('=').append(String.format("%.1f%%", count * 100.0 / total));
+        });
+        return sb.append('}').toString();
+    }
+
+    /**
+     * 파싱 중 heavy hitter로 감지된 IP를 선조회한다. 이미 캐시에 있거나 조회 중이면 건너뛰며,
+     * 일반 조회와 같은 벌크헤드/서킷 브레이커를 거친다.
+     */
+    @Override
+    public void prefetch(String ip) {
+        if (cache.getIfPresent(ip) != null || rangeClassifier.classify(ip).isPresent()) {
+            return;
+        }
+        CompletableFuture<IpInfo> future = new CompletableFuture<>();
+        if (prefetching.putIfAbsent(ip, future) != null) {
+            return;
+        }
+        log.debug("IP 선조회: ip={}", ip);
+        CompletableFuture.supplyAsync(() -> lookup(ip), executor)
+                .whenComplete((info, e) -> {
+                    prefetching.remove(ip, future);
+                    if (e != null) {
+                        future.completeExceptionally(e);
+                    } else {
+                        future.complete(info);
+                    }
+                });
+    }
+
+    /** 선조회가 진행 중이면 그 결과를 공유하고, 아니면 새로 조회한다 */
+    private CompletableFuture<IpInfo> lookupAsync(String ip) {
+        CompletableFuture<IpInfo> pending = prefetching.get(ip);
+        if (pending != null) {
+            log.debug("선조회 결과 대기: ip={}", ip);
+            return pending.copy();
+        }
+        return CompletableFuture.supplyAsync(() -> lookup(ip), executor);
+    }
+
+    /** 예약 대역 → L1(정확한 IP) → 대역 캐시 → 디스크 캐시 → API 순으로 조회 */
     private IpInfo lookup(String ip) {
+        Optional<String> reserved = rangeClassifier.classify(ip);
+        if (reserved.isPresent()) {
+            log.debug("예약 대역, 조회 생략: ip={}, range={}", ip, reserved.get());
+            hit(Tier.RESERVED);
+            return IpInfo.reserved(ip, reserved.get());
+        }
+
         IpInfo cached = cache.getIfPresent(ip);
         if (cached != null) {
             log.debug("캐시 히트: ip={}", ip);
+            hit(Tier.EXACT);
+            refreshIfExpiring(ip);
             return cached;
         }
 
+        Optional<IpInfo> sameRange = rangeCache.find(ip);
+        if (sameRange.isPresent()) {
+            log.debug("대역 캐시 히트: ip={}", ip);
+            hit(Tier.RANGE);
+            cache.put(ip, sameRange.get());
+            return sameRange.get();
+        }
+
+        Optional<StoredIpInfo> stored = ipInfoStore.find(ip);
+        if (stored.isPresent()) {
+            log.debug("디스크 캐시 히트: ip={}", ip);
+            hit(Tier.DISK);
+            promote(ip, stored.get());
+            rangeCache.put(stored.get().info());
+            return stored.get().info();
+        }
+
         log.debug("캐시 미스, API 조회: ip={}", ip);
-        IpInfo result = fetchWithRetry(ip);
+        hit(Tier.API);
+        IpInfo result = fetchWithBulkhead(ip);
         if (!result.isUnknown()) {
             cache.put(ip, result);
+            rangeCache.put(result);
+            ipInfoStore.save(result);
         }
         return result;
     }
 
+    /**
+     * 곧 만료될 L1 항목이 조회되면 기존 값은 그대로 반환하고 백그라운드에서 다시 조회한다.
+     * 갱신도 일반 조회와 같은 벌크헤드/서킷 브레이커를 거치며, 실패하면 기존 항목이 만료될 때까지 유지된다.
+     */
+    private void refreshIfExpiring(String ip) {
+        if (!refreshEnabled) {
+            return;
+        }
+        Optional<Duration> remaining = cache.policy().expireVariably()
+                .flatMap(policy -> policy.getExpiresAfter(ip));
+        if (remaining.isEmpty() || remaining.get().toMillis() > refreshThreshold(ip)) {
+            return;
+        }
+        if (!refreshing.add(ip)) {
+            return;
+        }
+        log.debug("만료 임박 항목 백그라운드 갱신: ip={}, 남은 TTL={}ms", ip, remaining.get().toMillis());
+        try {
+            executor.execute(() -> {
+                try {
+                    IpInfo info = fetchWithBulkhead(ip);
+                    if (!info.isUnknown()) {
+                        cache.put(ip, info);
+                        rangeCache.put(info);
+                        ipInfoStore.save(info);
+                    }
+                } finally {
+                    refreshing.remove(ip);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(ip);
+            log.warn("백그라운드 갱신 예약 실패: ip={}", ip, e);
+        }
+    }
+
+    /** IP별로 고정된 지터를 더해, 같은 시각에 기록된 항목들의 갱신 시점을 분산 */
+    private long refreshThreshold(String ip) {
+        double spread = (ip.hashCode() & 0x7fffffff) % 1000 / 1000.0;
+        return (long) (refreshAheadMillis * (1 + refreshJitter * spread));
+    }
+
+    private void hit(Tier tier) {
+        tierHits.get(tier).increment();
+    }
+
+    /** 디스크 캐시 항목을 L1으로 올린다. 남은 TTL만큼만 유지하여 expire-after-write를 넘기지 않음 */
+    private void promote(String ip, StoredIpInfo stored) {
+        cache.policy().expireVariably().ifPresentOrElse(
+                policy -> policy.put(ip, stored.info(), stored.remaining()),
+                () -> cache.put(ip, stored.info()));
+    }
+
+    /** 동시 호출 수를 제한한다. 슬롯을 {@code maxWait} 안에 얻지 못하면 UNKNOWN */
+    private IpInfo fetchWithBulkhead(String ip) {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadMaxWait, TimeUnit.MILLISECONDS)) {
+                log.warn("ipinfo 동시 호출 한도 초과, 조회 생략: ip={}", ip);
+                return IpInfo.unknown(ip);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IpInfo.unknown(ip);
+        }
+        try {
+            return fetchWithRetry(ip);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
     private IpInfo fetchWithRetry(String ip) {
         for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                log.debug("ipinfo 서킷 브레이커 OPEN, 조회 생략: ip={}", ip);
+                return IpInfo.unknown(ip);
+            }
+            long start = System.nanoTime();
             try {
-                return ipInfoClient.fetch(ip);
+                IpInfo info = ipInfoClient.fetch(ip);
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+                return info;
             } catch (HttpClientErrorException e) {
                 if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    circuitBreaker.onError(System.nanoTime() - start);
                     log.warn("ipinfo 429 rate limit: ip={}", ip);
                     return IpInfo.unknown(ip);
                 }
+                // 429 외의 4xx는 요청 자체의 문제로 보고 장애 집계에서 제외
+                circuitBreaker.onSuccess(System.nanoTime() - start);
                 if (attempt > maxRetries) {
                     log.error("ipinfo 조회 최종 실패: ip={}, status={}", ip, e.getStatusCode(), e);
                     return IpInfo.unknown(ip);
@@ -83,6 +307,7 @@ public class IpEnrichmentServiceImpl implements IpEnrichmentService {
                 log.warn("ipinfo 조회 실패, 재시도 {}/{}: ip={}", attempt, maxRetries, ip);
                 sleep(100L * attempt);
             } catch (Exception e) {
+                circuitBreaker.onError(System.nanoTime() - start);
                 if (attempt > maxRetries) {
                     log.error("ipinfo 조회 최종 실패: ip={}, attempts={}", ip, attempt, e);
                     return IpInfo.unknown(ip);
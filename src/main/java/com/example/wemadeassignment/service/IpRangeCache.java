@@ -0,0 +1,72 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.IpInfoProperties;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 네트워크 대역 단위 IP 정보 캐시.
+ * ipinfo lite 응답에는 광고 접두사가 없으므로, 인터넷에서 라우팅되는 최소 단위(IPv4 /24, IPv6 /48)를 대역으로 보고
+ * 같은 대역의 주소는 이미 조회한 ASN·국가 정보를 재사용한다.
+ */
+@Component
+public class IpRangeCache {
+
+    private final boolean enabled;
+    private final int ipv4PrefixLength;
+    private final int ipv6PrefixLength;
+    private final Cache<String, IpInfo> cache;
+
+    public IpRangeCache(IpInfoProperties properties) {
+        IpInfoProperties.RangeProperties range = properties.cache().range();
+        this.enabled = range.enabled();
+        this.ipv4PrefixLength = range.ipv4PrefixLength();
+        this.ipv6PrefixLength = range.ipv6PrefixLength();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cache().maxSize())
+                .expireAfterWrite(Duration.ofSeconds(properties.cache().expireAfterWrite()))
+                .build();
+    }
+
+    /** 같은 대역의 조회 결과가 있으면 요청 IP로 바꿔 반환 */
+    public Optional<IpInfo> find(String ip) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String key = rangeKey(ip);
+        if (key == null) {
+            return Optional.empty();
+        }
+        IpInfo info = cache.getIfPresent(key);
+        return info == null ? Optional.empty() : Optional.of(info.withIp(ip));
+    }
+
+    public void put(IpInfo info) {
+        if (!enabled || info.isUnknown() || info.isReserved()) {
+            return;
+        }
+        String key = rangeKey(info.ip());
+        if (key != null) {
+            cache.put(key, info);
+        }
+    }
+
+    /** 접두사 길이만큼 남기고 나머지 비트를 0으로 만든 주소를 키로 사용 */
+    private String rangeKey(String ip) {
+        byte[] address = IpRangeClassifier.parse(ip);
+        if (address == null) {
+            return null;
+        }
+        int prefixLength = address.length == 4 ? ipv4PrefixLength : ipv6PrefixLength;
+        for (int bit = prefixLength; bit < address.length * 8; bit++) {
+            address[bit >>> 3] &= (byte) ~(0x80 >>> (bit & 7));
+        }
+        return HexFormat.of().formatHex(address) + "/" + prefixLength;
+    }
+}
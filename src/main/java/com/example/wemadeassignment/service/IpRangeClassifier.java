@@ -0,0 +1,136 @@
+package com.example.wemadeassignment.service;
+
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Optional;
+
+/**
+ * 사설·예약 대역 판별기.
+ * RFC1918, 루프백, CGNAT 등 ipinfo에서 의미 있는 결과를 얻을 수 없는 대역을 비트 단위 CIDR 트라이로 보관하고,
+ * 주소의 앞쪽 비트부터 따라 내려가며 가장 긴 일치 접두사의 분류명을 반환한다.
+ */
+@Component
+public class IpRangeClassifier {
+
+    private static final class Node {
+        private Node zero;
+        private Node one;
+        private String label;
+    }
+
+    private final Node ipv4Root = new Node();
+    private final Node ipv6Root = new Node();
+
+    public IpRangeClassifier() {
+        add("0.0.0.0/8", "This network");
+        add("10.0.0.0/8", "Private network");
+        add("100.64.0.0/10", "Carrier-grade NAT");
+        add("127.0.0.0/8", "Loopback");
+        add("169.254.0.0/16", "Link-local");
+        add("172.16.0.0/12", "Private network");
+        add("192.0.0.0/24", "IETF protocol assignments");
+        add("192.0.2.0/24", "Documentation");
+        add("192.168.0.0/16", "Private network");
+        add("198.18.0.0/15", "Benchmarking");
+        add("198.51.100.0/24", "Documentation");
+        add("203.0.113.0/24", "Documentation");
+        add("224.0.0.0/4", "Multicast");
+        add("240.0.0.0/4", "Reserved");
+
+        add("::/128", "Unspecified");
+        add("::1/128", "Loopback");
+        add("64:ff9b:1::/48", "Local-use NAT64");
+        add("2001:db8::/32", "Documentation");
+        add("fc00::/7", "Unique local address");
+        add("fe80::/10", "Link-local");
+        add("ff00::/8", "Multicast");
+    }
+
+    /** 예약 대역에 속하면 분류명, 공인 주소이거나 IP 형식이 아니면 empty */
+    public Optional<String> classify(String ip) {
+        byte[] address = parse(ip);
+        if (address == null) {
+            return Optional.empty();
+        }
+        Node node = address.length == 4 ? ipv4Root : ipv6Root;
+        String matched = node.label;
+        for (int bit = 0; bit < address.length * 8 && node != null; bit++) {
+            node = bitAt(address, bit) ? node.one : node.zero;
+            if (node != null && node.label != null) {
+                matched = node.label;
+            }
+        }
+        return Optional.ofNullable(matched);
+    }
+
+    private void add(String cidr, String label) {
+        int slash = cidr.indexOf('/');
+        byte[] address = parse(cidr.substring(0, slash));
+        int prefixLength = Integer.parseInt(cidr.substring(slash + 1));
+        Node node = address.length == 4 ? ipv4Root : ipv6Root;
+        for (int bit = 0; bit < prefixLength; bit++) {
+            if (bitAt(address, bit)) {
+                if (node.one == null) node.one = new Node();
+                node = node.one;
+            } else {
+                if (node.zero == null) node.zero = new Node();
+                node = node.zero;
+            }
+        }
+        node.label = label;
+    }
+
+    private static boolean bitAt(byte[] address, int bit) {
+        return (address[bit >>> 3] & (0x80 >>> (bit & 7))) != 0;
+    }
+
+    /**
+     * IP 리터럴을 바이트 배열로 변환한다. IPv4는 직접 파싱하고, IPv6는 리터럴 형식일 때만
+     * {@link InetAddress}에 넘겨 DNS 조회가 일어나지 않도록 한다. 형식이 맞지 않으면 null.
+     */
+    static byte[] parse(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return null;
+        }
+        if (ip.indexOf(':') < 0) {
+            return parseIpv4(ip);
+        }
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress(); // IPv4-mapped 주소는 4바이트로 반환됨
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static byte[] parseIpv4(String ip) {
+        byte[] address = new byte[4];
+        int octet = 0;
+        int value = -1;
+        for (int i = 0; i <= ip.length(); i++) {
+            char c = i < ip.length() ? ip.charAt(i) : '.';
+            if (c == '.') {
+                if (value < 0 || octet >= 4) {
+                    return null;
+                }
+                address[octet++] = (byte) value;
+                value = -1;
+            } else if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return octet == 4 ? address : null;
+    }
+}
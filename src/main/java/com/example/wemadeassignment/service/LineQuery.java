@@ -0,0 +1,99 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.LogField;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.repository.ColumnarSegment;
+import com.example.wemadeassignment.repository.RowBitmap;
+import com.example.wemadeassignment.repository.RowIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원본 라인 조회 조건. 같은 필드의 값은 OR, 필드끼리는 AND로 적용한다(예: {@code ip=A&status=500&status=503}은
+ * A에서 온 500 또는 503 요청). 상태 코드는 {@code 404} 같은 코드나 {@code 5xx} 같은 그룹으로 지정하며,
+ * 결과는 업로드·추가 순서로 {@code offset}번째부터 {@code limit}개를 돌려준다.
+ */
+public record LineQuery(List<String> ips, List<String> paths, List<String> statuses, long offset, int limit) {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 10_000;
+
+    /** 요청 파라미터로부터 생성 — 조건이 하나도 없거나 형식이 잘못되면 IllegalArgumentException */
+    public static LineQuery of(List<String> ips, List<String> paths, List<String> statuses, Long offset, Integer limit) {
+        ips = ips == null ? List.of() : List.copyOf(ips);
+        paths = paths == null ? List.of() : List.copyOf(paths);
+        statuses = statuses == null ? List.of() : List.copyOf(statuses);
+        if (ips.isEmpty() && paths.isEmpty() && statuses.isEmpty()) {
+            throw new IllegalArgumentException("ip, path, status 중 하나 이상을 지정하세요.");
+        }
+        statuses.forEach(LogQuery::statusRange);
+        long start = offset == null ? 0 : offset;
+        if (start < 0) {
+            throw new IllegalArgumentException("offset은 0 이상이어야 합니다.");
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1 이상 " + MAX_LIMIT + " 이하여야 합니다.");
+        }
+        return new LineQuery(ips, paths, statuses, start, pageSize);
+    }
+
+    /**
+     * 세그먼트마다 필드별 비트맵을 합집합·교집합하여 조건에 맞는 행을 구하고, 요청 수는 비트맵 원소 수로 센다.
+     * 페이지에 들어갈 행만 원본 라인 위치로 바로 읽으므로 컬럼이나 원본 전체를 훑지 않는다.
+     * 세그먼트는 모두 역색인이 있어야 한다.
+     */
+    LogLines execute(List<ColumnarSegment> segments) {
+        List<String> lines = new ArrayList<>();
+        long matched = 0;
+        long skip = offset;
+        for (ColumnarSegment segment : segments) {
+            RowIndex index = segment.rowIndex();
+            RowBitmap rows = matchingRows(segment, index);
+            long count = rows.cardinality();
+            matched += count;
+            if (lines.size() < limit && skip < count) {
+                rows.forEach(skip, row -> {
+                    lines.add(index.line(row));
+                    return lines.size() < limit;
+                });
+            }
+            skip = Math.max(0, skip - count);
+        }
+        long end = offset + lines.size();
+        return new LogLines(matched, lines, end < matched ? end : null);
+    }
+
+    private RowBitmap matchingRows(ColumnarSegment segment, RowIndex index) {
+        RowBitmap rows = null;
+        if (!ips.isEmpty()) {
+            rows = textRows(segment, index, LogField.IP, ips);
+        }
+        if (!paths.isEmpty() && (rows == null || !rows.isEmpty())) {
+            RowBitmap pathRows = textRows(segment, index, LogField.PATH, paths);
+            rows = rows == null ? pathRows : rows.and(pathRows);
+        }
+        if (!statuses.isEmpty() && (rows == null || !rows.isEmpty())) {
+            RowBitmap statusRows = RowBitmap.EMPTY;
+            for (String status : statuses) {
+                int[] range = LogQuery.statusRange(status);
+                statusRows = statusRows.or(index.rows(LogField.STATUS, range[0], range[1]));
+            }
+            rows = rows == null ? statusRows : rows.and(statusRows);
+        }
+        return rows;
+    }
+
+    /** 값들 중 이 세그먼트 사전에 있는 것의 행 합집합 */
+    private static RowBitmap textRows(ColumnarSegment segment, RowIndex index, LogField field, List<String> values) {
+        RowBitmap rows = RowBitmap.EMPTY;
+        for (String value : values) {
+            int id = segment.dictionaryId(field, value);
+            if (id >= 0) {
+                rows = rows.or(index.rows(field, id, id));
+            }
+        }
+        return rows;
+    }
+}
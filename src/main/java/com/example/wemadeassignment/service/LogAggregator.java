@@ -1,33 +1,123 @@
 package com.example.wemadeassignment.service;
 
 import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.PartialResult;
 import com.example.wemadeassignment.domain.ResponseTimeStats;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * CSV 파싱 콜백으로 사용되는 스트리밍 집계기.
  * 파싱된 로그 한 건씩 받아서 IP/Path/StatusCode별 카운트와 응답 시간을 누적한다.
+ *
+ * <p>heavy hitter 리스너를 지정하면, 요청 수가 {@code minCount} 이상이면서 누적 요청 중 {@code minShare} 이상을
+ * 차지하게 된 IP를 파싱 도중 한 번씩 알린다. 알림은 최대 {@code maxSignals}건까지만 보낸다.
+ *
+ * <p>집계는 파싱 스레드 하나에서만 수행하므로, 중간 스냅샷({@link #snapshot})도 같은 스레드가 라인 경계에서 만든다.
+ *
+ * <p>집계 상태는 병합 가능하다({@link #merge}). 카운트는 키별로 더하고 응답 시간은 히스토그램을 버킷별로 더하므로,
+ * 추가 로그만 새 집계기로 파싱해 기존 상태에 합치면 전체를 다시 파싱한 것과 같은 카운트를 얻는다.
+ * 병합하거나 {@link #releaseResponseTimes}로 원본 응답 시간을 버린 뒤의 퍼센타일은 히스토그램 근사값이다.
  */
 public class LogAggregator {
 
+    private static final long BASE_BYTES = 16 * 1024;   // 히스토그램 버킷 배열 등 고정 비용
+    private static final long MAP_ENTRY_BYTES = 56;     // HashMap 노드 + 테이블 슬롯 + 박싱된 Long
+    private static final long BOXED_KEY_BYTES = 16;
+    private static final long BOXED_DOUBLE_BYTES = 24;  // ArrayList 슬롯 + 박싱된 Double
+    private static final long STRING_BYTES = 40;        // String + byte[] 헤더
+
     private long totalRequests;
     private final Map<String, Long> ipCounts = new HashMap<>();
     private final Map<String, Long> pathCounts = new HashMap<>();
     private final Map<Integer, Long> statusCodeCounts = new HashMap<>();
-    private final List<Double> responseTimes = new ArrayList<>();
+    private final ArrayList<Double> responseTimes = new ArrayList<>();
+    private final ResponseTimeHistogram responseTimeHistogram = new ResponseTimeHistogram();
+    private boolean exactResponseTimes = true;  // responseTimes가 전체 기록을 담고 있는지
+
+    private final long heavyHitterMinCount;
+    private final double heavyHitterMinShare;
+    private final int maxSignals;
+    private final Consumer<String> heavyHitterListener;
+    private final Set<String> signalled = new HashSet<>();
+
+    public LogAggregator() {
+        this(Long.MAX_VALUE, 1.0, 0, ip -> { });
+    }
+
+    public LogAggregator(long heavyHitterMinCount, double heavyHitterMinShare, int maxSignals,
+                         Consumer<String> heavyHitterListener) {
+        this.heavyHitterMinCount = heavyHitterMinCount;
+        this.heavyHitterMinShare = heavyHitterMinShare;
+        this.maxSignals = maxSignals;
+        this.heavyHitterListener = heavyHitterListener;
+    }
 
     public void aggregate(AccessLog log) {
         totalRequests++;
-        ipCounts.merge(log.clientIp(), 1L, Long::sum);
+        long ipCount = ipCounts.merge(log.clientIp(), 1L, Long::sum);
+        if (ipCount >= heavyHitterMinCount && signalled.size() < maxSignals) {
+            checkHeavyHitter(log.clientIp(), ipCount);
+        }
         pathCounts.merge(log.requestUri(), 1L, Long::sum);
         statusCodeCounts.merge(log.httpStatus(), 1L, Long::sum);
-        responseTimes.add(log.clientResponseTime());
+        if (exactResponseTimes) {
+            responseTimes.add(log.clientResponseTime());
+        }
+        responseTimeHistogram.record(log.clientResponseTime());
+    }
+
+    private void checkHeavyHitter(String ip, long ipCount) {
+        if (ipCount >= totalRequests * heavyHitterMinShare && signalled.add(ip)) {
+            heavyHitterListener.accept(ip);
+        }
+    }
+
+    /** 다른 집계기의 상태를 합친다 — 비용은 other의 키 수에 비례하며 기존 누적량과 무관하다 */
+    public void merge(LogAggregator other) {
+        totalRequests += other.totalRequests;
+        other.ipCounts.forEach((k, v) -> ipCounts.merge(k, v, Long::sum));
+        other.pathCounts.forEach((k, v) -> pathCounts.merge(k, v, Long::sum));
+        other.statusCodeCounts.forEach((k, v) -> statusCodeCounts.merge(k, v, Long::sum));
+        responseTimeHistogram.merge(other.responseTimeHistogram);
+        releaseResponseTimes();
+    }
+
+    /** 원본 응답 시간 목록을 버려 보관 메모리를 줄인다. 이후 응답 시간 통계는 히스토그램 근사값 */
+    public void releaseResponseTimes() {
+        exactResponseTimes = false;
+        responseTimes.clear();
+        responseTimes.trimToSize();
+    }
+
+    /**
+     * 보관 메모리 추정치(bytes). HashMap 노드·박싱된 카운트·키 문자열 크기를 항목당 고정 비용으로 어림한다.
+     * 정확한 측정이 아니라 보관 상한을 적용하기 위한 근사값이다.
+     */
+    public long estimateRetainedBytes() {
+        long bytes = BASE_BYTES + (long) responseTimes.size() * BOXED_DOUBLE_BYTES;
+        bytes += statusCodeCounts.size() * (MAP_ENTRY_BYTES + BOXED_KEY_BYTES);
+        for (String ip : ipCounts.keySet()) {
+            bytes += MAP_ENTRY_BYTES + STRING_BYTES + ip.length();
+        }
+        for (String path : pathCounts.keySet()) {
+            bytes += MAP_ENTRY_BYTES + STRING_BYTES + path.length();
+        }
+        return bytes;
+    }
+
+    /** 파싱 도중 heavy hitter로 알린 IP 수 */
+    public int getSignalledCount() {
+        return signalled.size();
     }
 
     /** 상위 N개를 요청 수 내림차순으로 추출 */
@@ -40,6 +130,40 @@ public class LogAggregator {
                         LinkedHashMap::putAll);
     }
 
+    /**
+     * 현재까지의 중간 집계 스냅샷.
+     * 전체 정렬 대신 크기 N의 힙으로 상위 항목을 뽑고, 응답 시간은 히스토그램 근사값을 사용하여 반복 호출 비용을 줄인다.
+     */
+    public PartialResult snapshot(long linesParsed, int n) {
+        return new PartialResult(linesParsed, totalRequests,
+                boundedTopN(statusCodeCounts, n),
+                getStatusGroupRatios(),
+                boundedTopN(pathCounts, n),
+                boundedTopN(ipCounts, n),
+                responseTimeHistogram.toStats());
+    }
+
+    /** 크기 N의 힙으로 상위 N개를 요청 수 내림차순으로 추출 — 전체를 정렬하지 않는다 */
+    <K> Map<K, Long> boundedTopN(Map<K, Long> map, int n) {
+        if (n <= 0) {
+            return Map.of();
+        }
+        PriorityQueue<Map.Entry<K, Long>> heap = new PriorityQueue<>(n + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<K, Long> entry : map.entrySet()) {
+            if (heap.size() < n) {
+                heap.add(entry);
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<K, Long>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<K, Long>comparingByValue().reversed());
+        Map<K, Long> result = new LinkedHashMap<>();
+        top.forEach(e -> result.put(e.getKey(), e.getValue()));
+        return result;
+    }
+
     /** 상태 코드 그룹별 비율 (2xx, 3xx, 4xx, 5xx) */
     public Map<String, Double> getStatusGroupRatios() {
         Map<String, Double> ratios = new LinkedHashMap<>();
@@ -52,6 +176,9 @@ public class LogAggregator {
 
     /** 응답 시간 퍼센타일 및 기본 통계 계산 */
     public ResponseTimeStats calculateResponseTimeStats() {
+        if (!exactResponseTimes) {
+            return responseTimeHistogram.toStats();
+        }
         if (responseTimes.isEmpty()) {
             return new ResponseTimeStats(0, 0, 0, 0, 0, 0);
         }
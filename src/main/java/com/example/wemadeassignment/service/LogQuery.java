@@ -0,0 +1,211 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.DrillDownResult;
+import com.example.wemadeassignment.domain.LogField;
+import com.example.wemadeassignment.repository.ColumnarSegment;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 컬럼 파일 드릴다운 조회 조건. 지정한 필터는 모두 AND로 적용하고, {@code groupBy}가 있으면 그 필드 값별 요청 수 상위
+ * {@code limit}개를 함께 센다. 상태 코드는 {@code statusFrom..statusTo} 범위(404는 404..404, 5xx는 500..599)로 표현한다.
+ */
+public record LogQuery(String ip, String path, String method, Integer statusFrom, Integer statusTo,
+                       Double minResponseTime, LogField groupBy, int limit) {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 1000;
+
+    /** 요청 파라미터로부터 생성 — 형식이 잘못되면 IllegalArgumentException */
+    public static LogQuery of(String ip, String path, String method, String status, Double minResponseTime,
+                              String groupBy, Integer limit) {
+        Integer statusFrom = null;
+        Integer statusTo = null;
+        if (status != null) {
+            int[] range = statusRange(status);
+            statusFrom = range[0];
+            statusTo = range[1];
+        }
+        if (minResponseTime != null && !(minResponseTime >= 0)) {
+            throw new IllegalArgumentException("minResponseTime은 0 이상이어야 합니다.");
+        }
+        LogField groupField = null;
+        if (groupBy != null) {
+            groupField = LogField.fromName(groupBy);
+            if (!groupField.isText() && groupField != LogField.STATUS) {
+                throw new IllegalArgumentException("groupBy는 ip, method, path, userAgent, httpVersion, sslProtocol, status 중 하나를 지정하세요.");
+            }
+        }
+        int groupLimit = limit == null ? DEFAULT_LIMIT : limit;
+        if (groupLimit < 1 || groupLimit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1 이상 " + MAX_LIMIT + " 이하여야 합니다.");
+        }
+        return new LogQuery(ip, path, method, statusFrom, statusTo, minResponseTime, groupField, groupLimit);
+    }
+
+    /** 404 같은 상태 코드나 5xx 같은 그룹을 닫힌 구간 {@code [from, to]}로 — 형식이 잘못되면 IllegalArgumentException */
+    static int[] statusRange(String status) {
+        if (status.matches("[1-5]xx")) {
+            int from = (status.charAt(0) - '0') * 100;
+            return new int[]{from, from + 99};
+        }
+        if (status.matches("[1-5][0-9][0-9]")) {
+            int code = Integer.parseInt(status);
+            return new int[]{code, code};
+        }
+        throw new IllegalArgumentException("status는 404 같은 상태 코드나 5xx 같은 그룹으로 지정하세요.");
+    }
+
+    /** 세그먼트별 필터 — 저장된 값(사전 ID, 상태 코드, 마이크로초) 기준 닫힌 구간 */
+    private record Filter(LogField field, long from, long to) {
+
+        boolean disjoint(ColumnarSegment segment, int block) {
+            return segment.max(block, field) < from || segment.min(block, field) > to;
+        }
+
+        boolean covers(ColumnarSegment segment, int block) {
+            return from <= segment.min(block, field) && segment.max(block, field) <= to;
+        }
+    }
+
+    /**
+     * 세그먼트를 블록 단위로 훑는다. 블록 최솟값·최댓값이 필터와 겹치지 않으면 블록을 통째로 건너뛰고,
+     * 블록 전체가 필터를 만족하면 그 필드는 읽지 않는다. 나머지는 필터 필드 → 응답 시간 → 그룹 필드 순으로
+     * 필요한 컬럼 조각만 복원하며, 앞 필터에서 남은 행이 없으면 뒤 컬럼은 읽지 않는다.
+     */
+    DrillDownResult execute(List<ColumnarSegment> segments) {
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        Map<String, Long> groups = new HashMap<>();
+        long matched = 0;
+        int scannedBlocks = 0;
+        int skippedBlocks = 0;
+
+        for (ColumnarSegment segment : segments) {
+            List<Filter> filters = filtersFor(segment);
+            if (filters == null || segment.blockCount() == 0) {
+                skippedBlocks += segment.blockCount();  // 찾는 문자열이 이 세그먼트의 사전에 없음
+                continue;
+            }
+            long[] values = new long[segment.rows(0)];  // 마지막 블록 외에는 모두 같은 크기
+            int[] selection = new int[values.length];
+            long[] groupCounts = groupBy != null && groupBy.isText() ? new long[segment.dictionarySize(groupBy)] : null;
+            Map<Long, Long> numericGroups = groupBy == LogField.STATUS ? new HashMap<>() : null;
+
+            for (int block = 0; block < segment.blockCount(); block++) {
+                if (anyDisjoint(filters, segment, block)) {
+                    skippedBlocks++;
+                    continue;
+                }
+                scannedBlocks++;
+                int rows = segment.rows(block);
+                int selected = rows;
+                for (int row = 0; row < rows; row++) {
+                    selection[row] = row;
+                }
+                for (Filter filter : filters) {
+                    if (selected == 0) {
+                        break;
+                    }
+                    if (filter.covers(segment, block)) {
+                        continue;
+                    }
+                    segment.read(block, filter.field(), values);
+                    int kept = 0;
+                    for (int i = 0; i < selected; i++) {
+                        long value = values[selection[i]];
+                        if (value >= filter.from() && value <= filter.to()) {
+                            selection[kept++] = selection[i];
+                        }
+                    }
+                    selected = kept;
+                }
+                if (selected == 0) {
+                    continue;
+                }
+                matched += selected;
+
+                segment.read(block, LogField.RESPONSE_TIME, values);
+                for (int i = 0; i < selected; i++) {
+                    histogram.record(values[selection[i]] / 1_000_000.0);
+                }
+                if (groupBy != null) {
+                    segment.read(block, groupBy, values);
+                    for (int i = 0; i < selected; i++) {
+                        long value = values[selection[i]];
+                        if (groupCounts != null) {
+                            groupCounts[(int) value]++;
+                        } else {
+                            numericGroups.merge(value, 1L, Long::sum);
+                        }
+                    }
+                }
+            }
+
+            if (groupCounts != null) {
+                for (int id = 0; id < groupCounts.length; id++) {
+                    if (groupCounts[id] > 0) {
+                        groups.merge(segment.dictionaryValue(groupBy, id), groupCounts[id], Long::sum);
+                    }
+                }
+            } else if (numericGroups != null) {
+                numericGroups.forEach((value, count) -> groups.merge(Long.toString(value), count, Long::sum));
+            }
+        }
+
+        return new DrillDownResult(matched, groupBy == null ? null : groupBy.getName(), top(groups),
+                histogram.toStats(), scannedBlocks, skippedBlocks);
+    }
+
+    /** 세그먼트 기준 필터 목록 — 문자열 조건의 값이 이 세그먼트 사전에 없으면 null (맞는 행이 없음) */
+    private List<Filter> filtersFor(ColumnarSegment segment) {
+        List<Filter> filters = new ArrayList<>();
+        if (!addTextFilter(filters, segment, LogField.IP, ip)
+                || !addTextFilter(filters, segment, LogField.PATH, path)
+                || !addTextFilter(filters, segment, LogField.METHOD, method)) {
+            return null;
+        }
+        if (statusFrom != null) {
+            filters.add(new Filter(LogField.STATUS, statusFrom, statusTo));
+        }
+        if (minResponseTime != null) {
+            filters.add(new Filter(LogField.RESPONSE_TIME, Math.round(minResponseTime * 1_000_000), Long.MAX_VALUE));
+        }
+        return filters;
+    }
+
+    private static boolean anyDisjoint(List<Filter> filters, ColumnarSegment segment, int block) {
+        for (Filter filter : filters) {
+            if (filter.disjoint(segment, block)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean addTextFilter(List<Filter> filters, ColumnarSegment segment, LogField field, String value) {
+        if (value == null) {
+            return true;
+        }
+        int id = segment.dictionaryId(field, value);
+        if (id < 0) {
+            return false;
+        }
+        filters.add(new Filter(field, id, id));
+        return true;
+    }
+
+    private Map<String, Long> top(Map<String, Long> groups) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        groups.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.ResponseTimeStats;
+
+/**
+ * 로그 스케일 버킷 기반 응답 시간 히스토그램 (단위: 초, 내부는 마이크로초).
+ * 2의 거듭제곱 구간마다 16개 하위 버킷으로 나누므로 퍼센타일 상대 오차는 약 6% 이내이며,
+ * 전체 정렬 없이 버킷 배열만 훑어 O(버킷 수)로 근사 통계를 만든다. min/max/avg는 정확한 값이다.
+ * 버킷 경계가 고정이므로 두 히스토그램을 버킷별로 더하면 두 데이터를 합쳐 기록한 것과 같다({@link #merge}).
+ */
+public class ResponseTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private double sum;
+    private double min = Double.MAX_VALUE;
+    private double max = -Double.MAX_VALUE;
+
+    public void record(double seconds) {
+        long micros = Math.max(0, Math.round(seconds * 1_000_000));
+        counts[indexOf(micros)]++;
+        totalCount++;
+        sum += seconds;
+        min = Math.min(min, seconds);
+        max = Math.max(max, seconds);
+    }
+
+    /** 다른 히스토그램의 기록을 합친다 — 비용은 기록 건수와 무관하게 O(버킷 수) */
+    public void merge(ResponseTimeHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /** 백분위 근사값 — 해당 순위가 속한 버킷의 상한을 실제 min/max 범위로 잘라 반환 */
+    public double percentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                double upper = upperBoundOf(i) / 1_000_000.0;
+                return Math.max(min, Math.min(max, upper));
+            }
+        }
+        return max;
+    }
+
+    public ResponseTimeStats toStats() {
+        if (totalCount == 0) {
+            return new ResponseTimeStats(0, 0, 0, 0, 0, 0);
+        }
+        return new ResponseTimeStats(min, max, sum / totalCount,
+                percentile(50), percentile(95), percentile(99));
+    }
+
+    /** 16 미만은 값 그대로, 그 이상은 최상위 비트 위치(구간)와 그 아래 4비트(하위 버킷)로 버킷을 정한다 */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 1 - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** 버킷에 들어가는 가장 큰 값 */
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.AnalysisResult;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 여러 분석을 합산할 대상. 분석 ID 목록이나 생성 시각 범위({@code from} 이상 {@code to} 미만, 한쪽은 생략 가능) 중
+ * 하나로 지정한다. ID 목록은 중복을 없애고 요청 순서를 유지한다.
+ */
+public record RollupQuery(List<String> analysisIds, LocalDateTime from, LocalDateTime to) {
+
+    static final int MAX_ANALYSES = 1000;
+
+    /** 요청 파라미터로부터 생성 — 대상을 지정하지 않았거나 둘 다 지정했거나 형식이 잘못되면 IllegalArgumentException */
+    public static RollupQuery of(List<String> analysisIds, String from, String to) {
+        List<String> ids = analysisIds == null ? List.of() : List.copyOf(new LinkedHashSet<>(analysisIds));
+        boolean byRange = from != null || to != null;
+        if (ids.isEmpty() == !byRange) {
+            throw new IllegalArgumentException("id 목록과 생성 시각 범위(from, to) 중 하나만 지정하세요.");
+        }
+        if (ids.size() > MAX_ANALYSES) {
+            throw new IllegalArgumentException("한 번에 합산할 수 있는 분석은 최대 " + MAX_ANALYSES + "개입니다.");
+        }
+        LocalDateTime start = parse("from", from);
+        LocalDateTime end = parse("to", to);
+        if (start != null && end != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException("from은 to보다 앞선 시각이어야 합니다.");
+        }
+        return new RollupQuery(ids, start, end);
+    }
+
+    private static LocalDateTime parse(String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " 값은 2026-01-29T05:44:10 같은 ISO-8601 시각이어야 합니다.");
+        }
+    }
+
+    /** 생성 시각 범위로 지정했는지 */
+    boolean byRange() {
+        return analysisIds.isEmpty();
+    }
+
+    /** 생성 시각이 범위 안인지 */
+    boolean covers(AnalysisResult result) {
+        LocalDateTime createdAt = result.getCreatedAt();
+        return (from == null || !createdAt.isBefore(from)) && (to == null || createdAt.isBefore(to));
+    }
+}
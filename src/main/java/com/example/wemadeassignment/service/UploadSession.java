@@ -0,0 +1,309 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.example.wemadeassignment.domain.UploadStatus;
+import com.example.wemadeassignment.exception.AnalysisConflictException;
+import com.example.wemadeassignment.parser.ParseStatistics;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * 분할 업로드 세션.
+ * 청크마다 온전한 내부 라인은 도착 즉시 파싱하여 {@link #aggregate}에 합치고, 청크 경계에 걸친 첫·마지막 조각만 보관한다.
+ * 청크는 순서와 무관하게 도착할 수 있으며, 완료 시 경계 조각을 순서대로 이어 붙여 경계 라인만 추가로 파싱한다.
+ * 청크 번호별 수신은 한 번만 반영되도록 세션 단위로 동기화한다.
+ * 최대 라인 수는 청크마다가 아니라 세션 전체에 적용하며, 파싱 오류 샘플의 줄 번호는 완료 시 청크 순서대로
+ * 앞선 라인 수를 더해 단일 업로드와 같은 파일 기준 번호로 바꾼다.
+ */
+class UploadSession {
+
+    private static final int MAX_ERROR_SAMPLES = 10;
+
+    private final String uploadId;
+    private final LogAggregator aggregate = new LogAggregator();
+    private final Map<Integer, ReceivedChunk> chunks = new TreeMap<>();
+    private final Set<Integer> receiving = new HashSet<>();
+    private List<ParseErrorSample> errorSamples = List.of();
+    private int errorCount;
+    private long receivedBytes;
+    private long reservedLines;
+    private boolean completing;
+    private volatile long lastTouchedAt = System.currentTimeMillis();
+
+    UploadSession(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    String getUploadId() {
+        return uploadId;
+    }
+
+    long getLastTouchedAt() {
+        return lastTouchedAt;
+    }
+
+    /**
+     * 청크 번호 선점. 이미 받았거나 다른 요청이 받는 중이면 false — 같은 청크를 다시 보내도 중복 집계되지 않는다.
+     * 세션 전체 크기나 전체 라인 수를 넘으면 IllegalArgumentException
+     */
+    synchronized boolean reserve(int index, long size, int lines, long maxTotalSize, int maxLines) {
+        if (completing) {
+            throw new AnalysisConflictException("이미 완료 처리 중인 업로드 세션입니다: " + uploadId);
+        }
+        if (chunks.containsKey(index) || receiving.contains(index)) {
+            return false;
+        }
+        if (receivedBytes + size > maxTotalSize) {
+            throw new IllegalArgumentException("업로드 전체 크기가 " + maxTotalSize + " bytes를 초과합니다.");
+        }
+        checkLines(reservedLines + lines, maxLines);
+        receiving.add(index);
+        receivedBytes += size;
+        reservedLines += lines;
+        lastTouchedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    /** 파싱 실패 등으로 선점한 청크를 반환 — 클라이언트가 같은 번호로 다시 보낼 수 있다 */
+    synchronized void release(int index, long size, int lines) {
+        receiving.remove(index);
+        receivedBytes -= size;
+        reservedLines -= lines;
+    }
+
+    /** 청크 내부 라인의 집계 결과를 합치고 경계 조각과 청크 기준 줄 번호의 오류 샘플을 보관 */
+    synchronized void accept(int index, ChunkEdges chunkEdges, LogAggregator partial, ParseStatistics stats) {
+        receiving.remove(index);
+        chunks.put(index, new ReceivedChunk(chunkEdges, stats.totalLinesProcessed(), stats.errorSamples()));
+        aggregate.merge(partial);
+        errorCount += stats.errorCount();
+        lastTouchedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 경계 라인의 파싱 결과를 합치고, 청크별 오류 샘플을 파일 기준 줄 번호로 바꿔 앞에서부터 골라 둔다.
+     * 경계 라인까지 더해 세션 전체 라인 수를 넘으면 합치지 않고 IllegalArgumentException
+     */
+    synchronized void mergeBoundary(BoundaryLines boundary, LogAggregator parsed, ParseStatistics stats, int maxLines) {
+        checkLines(reservedLines + stats.totalLinesProcessed(), maxLines);
+        // 파서는 경계 라인의 첫 줄이 헤더면 데이터 라인으로 세지 않는다
+        int headerLines = boundary.count() - stats.totalLinesProcessed();
+
+        List<ParseErrorSample> samples = new ArrayList<>();
+        int bodyLinesBefore = 0;
+        for (Map.Entry<Integer, ReceivedChunk> entry : chunks.entrySet()) {
+            ReceivedChunk chunk = entry.getValue();
+            int offset = bodyLinesBefore + boundary.linesBeforeChunk().get(entry.getKey()) - headerLines;
+            chunk.errorSamples().forEach(sample -> samples.add(rebase(sample, offset)));
+            bodyLinesBefore += chunk.lines();
+        }
+        for (ParseErrorSample sample : stats.errorSamples()) {
+            int line = sample.lineNumber() - 1 + headerLines;
+            samples.add(rebase(sample, boundary.bodyLinesBefore()[line]));
+        }
+
+        aggregate.merge(parsed);
+        errorCount += stats.errorCount();
+        errorSamples = samples.stream()
+                .sorted(Comparator.comparingInt(ParseErrorSample::lineNumber))
+                .limit(MAX_ERROR_SAMPLES)
+                .toList();
+    }
+
+    private static ParseErrorSample rebase(ParseErrorSample sample, int offset) {
+        return new ParseErrorSample(sample.lineNumber() + offset, sample.line(), sample.reason());
+    }
+
+    private static void checkLines(long lines, int maxLines) {
+        if (lines > maxLines) {
+            throw new IllegalArgumentException("업로드 전체 라인 수가 최대 " + maxLines + "줄을 초과합니다.");
+        }
+    }
+
+    /**
+     * 완료 처리 시작 — 0..totalChunks-1 청크가 모두 도착했는지 확인하고 이후 청크 수신을 막는다.
+     * 빠진 청크가 있으면 AnalysisConflictException
+     */
+    synchronized void beginCompletion(int totalChunks) {
+        if (completing) {
+            throw new AnalysisConflictException("이미 완료 처리 중인 업로드 세션입니다: " + uploadId);
+        }
+        if (!receiving.isEmpty()) {
+            throw new AnalysisConflictException("수신 중인 청크가 있습니다: " + receiving);
+        }
+        List<Integer> missing = IntStream.range(0, totalChunks)
+                .filter(i -> !chunks.containsKey(i))
+                .limit(20)
+                .boxed()
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new AnalysisConflictException("누락된 청크가 있습니다: " + missing);
+        }
+        if (chunks.size() != totalChunks) {
+            throw new AnalysisConflictException("청크 수가 일치하지 않습니다: 수신=" + chunks.size() + ", 요청=" + totalChunks);
+        }
+        completing = true;
+    }
+
+    /** 완료 처리가 실패하면 다시 청크를 받을 수 있도록 되돌린다 */
+    synchronized void abortCompletion() {
+        completing = false;
+    }
+
+    /**
+     * 청크 경계에 걸친 라인들을 순서대로 복원. 앞 청크의 마지막 조각 + (개행 없는 청크들) + 다음 청크의 첫 조각이 한 라인이 된다.
+     * 첫 청크의 첫 조각은 파일 첫 줄(헤더)이다. 빈 라인은 제외하여 파서의 선행 빈 줄 처리 규칙이 데이터 라인에 적용되지 않게 한다.
+     * 줄 번호를 되돌릴 수 있도록 라인마다 앞선 청크 내부 라인 수와, 청크마다 내부 라인 앞에 놓인 경계 라인 수를 함께 기록한다.
+     */
+    synchronized BoundaryLines stitchBoundaryLines() {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        List<Integer> bodyLinesBefore = new ArrayList<>();
+        Map<Integer, Integer> linesBeforeChunk = new HashMap<>();
+        int bodyLines = 0;
+        for (Map.Entry<Integer, ReceivedChunk> entry : chunks.entrySet()) {
+            ChunkEdges chunk = entry.getValue().edges();
+            pending.writeBytes(chunk.head());
+            if (chunk.hasNewline()) {
+                if (appendLine(lines, pending.toByteArray())) {
+                    bodyLinesBefore.add(bodyLines);
+                }
+                pending.reset();
+                pending.writeBytes(chunk.tail());
+            }
+            linesBeforeChunk.put(entry.getKey(), bodyLinesBefore.size());
+            bodyLines += entry.getValue().lines();
+        }
+        if (appendLine(lines, pending.toByteArray())) {
+            bodyLinesBefore.add(bodyLines);
+        }
+        return new BoundaryLines(lines.toByteArray(),
+                bodyLinesBefore.stream().mapToInt(Integer::intValue).toArray(), linesBeforeChunk);
+    }
+
+    private static boolean appendLine(ByteArrayOutputStream lines, byte[] line) {
+        for (byte b : line) {
+            if (!Character.isWhitespace(b)) {
+                lines.writeBytes(line);
+                lines.write('\n');
+                return true;
+            }
+        }
+        return false;
+    }
+
+    LogAggregator getAggregate() {
+        return aggregate;
+    }
+
+    synchronized int getErrorCount() {
+        return errorCount;
+    }
+
+    synchronized List<ParseErrorSample> getErrorSamples() {
+        return List.copyOf(errorSamples);
+    }
+
+    synchronized UploadStatus toStatus(long ttlMillis) {
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos((lastTouchedAt + ttlMillis - System.currentTimeMillis()) * 1_000_000);
+        return new UploadStatus(uploadId, List.copyOf(chunks.keySet()), receivedBytes, expiresAt);
+    }
+
+    /** 수신한 청크 — 경계 조각, 내부 라인 수, 청크 내부 기준 줄 번호의 오류 샘플 */
+    private record ReceivedChunk(ChunkEdges edges, int lines, List<ParseErrorSample> errorSamples) {
+    }
+
+    /**
+     * 복원한 경계 라인. bodyLinesBefore[i]는 i번째 경계 라인 앞에 놓인 청크 내부 라인 수,
+     * linesBeforeChunk는 청크 번호별로 그 청크 내부 라인 앞에 놓인 경계 라인 수(헤더 포함)
+     */
+    record BoundaryLines(byte[] content, int[] bodyLinesBefore, Map<Integer, Integer> linesBeforeChunk) {
+
+        int count() {
+            return bodyLinesBefore.length;
+        }
+    }
+
+    /**
+     * 청크 하나를 첫 개행 전 조각(head), 온전한 내부 라인(body), 마지막 개행 뒤 조각(tail)으로 나눈 결과.
+     * 개행이 없는 청크는 전체가 head이며 앞뒤 청크의 경계 라인 가운데에 들어간다.
+     */
+    record ChunkEdges(byte[] head, byte[] tail, boolean hasNewline, int bodyStart, int bodyEnd) {
+
+        static ChunkEdges split(byte[] chunk) {
+            int first = indexOf(chunk, 0);
+            if (first < 0) {
+                return new ChunkEdges(chunk, new byte[0], false, 0, 0);
+            }
+            int last = lastIndexOf(chunk);
+            int bodyStart = skipBlankLines(chunk, first + 1, last + 1);
+            return new ChunkEdges(
+                    Arrays.copyOfRange(chunk, 0, first),
+                    Arrays.copyOfRange(chunk, last + 1, chunk.length),
+                    true, bodyStart, last + 1);
+        }
+
+        boolean hasBody() {
+            return bodyEnd > bodyStart;
+        }
+
+        /** 내부 라인 중 빈 줄이 아닌 라인 수 — 파싱 전에 세션 라인 한도를 판정하는 데 쓰며, 헤더가 섞인 첫 청크는 한 줄 더 셀 수 있다 */
+        int bodyLines(byte[] chunk) {
+            int lines = 0;
+            boolean blank = true;
+            for (int i = bodyStart; i < bodyEnd; i++) {
+                if (chunk[i] == '\n') {
+                    lines += blank ? 0 : 1;
+                    blank = true;
+                } else if (blank && !Character.isWhitespace(chunk[i])) {
+                    blank = false;
+                }
+            }
+            return lines;
+        }
+
+        /** 선행 빈 줄을 건너뛴다 — 파서는 첫 줄이 빈 줄이면 다음 줄을 헤더로 보고 버리기 때문 */
+        private static int skipBlankLines(byte[] chunk, int from, int to) {
+            int start = from;
+            while (start < to) {
+                int newline = indexOf(chunk, start);
+                for (int i = start; i < newline; i++) {
+                    if (!Character.isWhitespace(chunk[i])) {
+                        return start;
+                    }
+                }
+                start = newline + 1;
+            }
+            return start;
+        }
+
+        private static int indexOf(byte[] chunk, int from) {
+            for (int i = from; i < chunk.length; i++) {
+                if (chunk[i] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static int lastIndexOf(byte[] chunk) {
+            for (int i = chunk.length - 1; i >= 0; i--) {
+                if (chunk[i] == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
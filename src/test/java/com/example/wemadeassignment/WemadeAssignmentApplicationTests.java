@@ -1,11 +1,27 @@
 package com.example.wemadeassignment;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
 
 @SpringBootTest
 class WemadeAssignmentApplicationTests {
 
+    @TempDir
+    static Path dataDirectory;
+
+    // 파일을 남기는 저장소·캐시 경로를 임시 디렉터리로 돌려 작업 디렉터리에 data/가 생기지 않게 한다
+    @DynamicPropertySource
+    static void dataPaths(DynamicPropertyRegistry registry) {
+        registry.add("analysis.store.path", () -> dataDirectory.resolve("analysis").toString());
+        registry.add("analysis.columnar.path", () -> dataDirectory.resolve("columns").toString());
+        registry.add("ipinfo.cache.disk.path", () -> dataDirectory.resolve("ipinfo-cache.log").toString());
+    }
+
     @Test
     void contextLoads() {
     }
@@ -0,0 +1,108 @@
+package com.example.wemadeassignment.client;
+
+import com.example.wemadeassignment.config.IpInfoProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpInfoCircuitBreakerTest {
+
+    private static final long FAST = 1_000_000L;           // 1ms
+    private static final long SLOW = 3_000_000_000L;       // 3s
+
+    private IpInfoCircuitBreaker breaker(long openDurationMs) {
+        IpInfoProperties properties = new IpInfoProperties(
+                "test-token", "https://api.ipinfo.io/lite", 3000, 2,
+                new IpInfoProperties.CacheProperties(100, 3600,
+                        new IpInfoProperties.DiskProperties(false, null, 600),
+                        new IpInfoProperties.RangeProperties(true, 24, 48),
+                        new IpInfoProperties.RefreshProperties(true, 300, 0.5)),
+                new IpInfoProperties.CircuitBreakerProperties(10, 4, 0.5, 2000, 0.5, openDurationMs, 2),
+                new IpInfoProperties.BulkheadProperties(20, 500),
+                5000);
+        return new IpInfoCircuitBreaker(properties);
+    }
+
+    private void call(IpInfoCircuitBreaker breaker, boolean success, long duration) {
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        if (success) {
+            breaker.onSuccess(duration);
+        } else {
+            breaker.onError(duration);
+        }
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 미만이면 실패해도 CLOSED 유지")
+    void staysClosedBelowMinimumCalls() {
+        IpInfoCircuitBreaker breaker = breaker(30000);
+
+        call(breaker, false, FAST);
+        call(breaker, false, FAST);
+        call(breaker, false, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(IpInfoCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("실패율 임계치 초과 시 OPEN, 이후 호출 차단")
+    void opensOnFailureRate() {
+        IpInfoCircuitBreaker breaker = breaker(30000);
+
+        call(breaker, true, FAST);
+        call(breaker, true, FAST);
+        call(breaker, false, FAST);
+        call(breaker, false, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(IpInfoCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("지연 호출 비율 임계치 초과 시 OPEN")
+    void opensOnSlowCallRate() {
+        IpInfoCircuitBreaker breaker = breaker(30000);
+
+        call(breaker, true, SLOW);
+        call(breaker, true, SLOW);
+        call(breaker, true, FAST);
+        call(breaker, true, FAST);
+
+        assertThat(breaker.getState()).isEqualTo(IpInfoCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("OPEN 유지 시간 경과 후 HALF_OPEN 시험 호출 성공 시 CLOSED")
+    void halfOpenRecovers() throws InterruptedException {
+        IpInfoCircuitBreaker breaker = breaker(50);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, FAST);
+        }
+        Thread.sleep(80);
+
+        call(breaker, true, FAST);
+        assertThat(breaker.getState()).isEqualTo(IpInfoCircuitBreaker.State.HALF_OPEN);
+        call(breaker, true, FAST);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(IpInfoCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출 수 초과 요청은 차단, 시험 호출 실패 시 다시 OPEN")
+    void halfOpenFailureReopens() throws InterruptedException {
+        IpInfoCircuitBreaker breaker = breaker(50);
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, FAST);
+        }
+        Thread.sleep(80);
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        breaker.onError(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(IpInfoCircuitBreaker.State.OPEN);
+    }
+}
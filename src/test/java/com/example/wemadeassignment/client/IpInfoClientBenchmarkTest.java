@@ -0,0 +1,133 @@
+package com.example.wemadeassignment.client;
+
+import com.example.wemadeassignment.config.IpInfoProperties;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 지연을 주입한 로컬 stub 서버로 RestTemplate + 플랫폼 스레드 풀(기존 구성)과
+ * JDK HttpClient + 가상 스레드(신규 구성)의 조회 처리 시간을 비교한다.
+ * 기본 test 태스크에서는 제외되며 {@code ./gradlew benchmark}로 실행.
+ */
+@Tag("benchmark")
+class IpInfoClientBenchmarkTest {
+
+    private static final int LATENCY_MS = 100;
+    private static final int LOOKUPS = 50;
+    private static final int ROUNDS = 3;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private IpInfoProperties properties;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/lite/", exchange -> {
+            String ip = exchange.getRequestURI().getPath().substring("/lite/".length());
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"ip\":\"" + ip + "\",\"asn\":\"AS0\",\"as_name\":\"Stub\",\"as_domain\":\"stub.test\","
+                    + "\"country_code\":\"KR\",\"country\":\"South Korea\",\"continent_code\":\"AS\",\"continent\":\"Asia\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        properties = new IpInfoProperties(
+                "bench-token", "http://127.0.0.1:" + server.getAddress().getPort() + "/lite", 3000, 2,
+                new IpInfoProperties.CacheProperties(100, 3600,
+                        new IpInfoProperties.DiskProperties(false, null, 600),
+                        new IpInfoProperties.RangeProperties(true, 24, 48),
+                        new IpInfoProperties.RefreshProperties(true, 300, 0.5)),
+                new IpInfoProperties.CircuitBreakerProperties(20, 10, 0.5, 2000, 0.5, 30000, 3),
+                new IpInfoProperties.BulkheadProperties(20, 500),
+                5000);
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+        serverExecutor.close();
+    }
+
+    @Test
+    @DisplayName("RestTemplate + 플랫폼 풀 vs HttpClient + 가상 스레드")
+    void compareClients() {
+        IpInfoClient restTemplateClient = new IpInfoApiClient(new RestTemplateBuilder()
+                .connectTimeout(Duration.ofMillis(properties.timeout()))
+                .readTimeout(Duration.ofMillis(properties.timeout()))
+                .build(), properties);
+        IpInfoClient httpClient = new IpInfoHttpClient(properties, new ObjectMapper());
+
+        ThreadPoolTaskExecutor platformPool = new ThreadPoolTaskExecutor();
+        platformPool.setCorePoolSize(5);
+        platformPool.setMaxPoolSize(10);
+        platformPool.setQueueCapacity(50);
+        platformPool.initialize();
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            long legacyMs = measure("RestTemplate + ThreadPool(5/10/50)", restTemplateClient, platformPool);
+            long modernMs = measure("HttpClient(HTTP/2) + virtual threads", httpClient, virtualThreads);
+
+            System.out.printf("[benchmark] speedup=%.1fx%n", (double) legacyMs / modernMs);
+            assertThat(modernMs).isLessThan(legacyMs);
+        } finally {
+            platformPool.shutdown();
+        }
+    }
+
+    private long measure(String label, IpInfoClient client, Executor executor) {
+        List<String> ips = IntStream.range(0, LOOKUPS).mapToObj(i -> "10.0.0." + i).toList();
+        run(client, executor, ips); // 워밍업 (커넥션 수립, JIT)
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            List<IpInfo> results = run(client, executor, ips);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            best = Math.min(best, elapsedMs);
+            assertThat(results).extracting(IpInfo::ip).containsExactlyElementsOf(ips);
+        }
+        System.out.printf("[benchmark] %-40s lookups=%d latency=%dms best=%dms%n", label, LOOKUPS, LATENCY_MS, best);
+        return best;
+    }
+
+    private List<IpInfo> run(IpInfoClient client, Executor executor, List<String> ips) {
+        List<CompletableFuture<IpInfo>> futures = ips.stream()
+                .map(ip -> CompletableFuture.supplyAsync(() -> client.fetch(ip), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+}
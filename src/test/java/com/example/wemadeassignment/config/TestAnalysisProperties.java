@@ -0,0 +1,114 @@
+package com.example.wemadeassignment.config;
+
+/**
+ * 테스트용 {@link AnalysisProperties} 빌더. application.yaml 기본값으로 시작하여 테스트가 검증하는 항목만 바꾼다.
+ * 설정 항목이 늘어도 테스트마다 생성자 인자를 나열하지 않도록 한 곳에서 기본값을 관리한다.
+ */
+public final class TestAnalysisProperties {
+
+    private long maxFileSize = 52428800L;
+    private int maxLines = 200000;
+    private int topN = 10;
+    private AnalysisProperties.PrefetchProperties prefetch =
+            new AnalysisProperties.PrefetchProperties(false, 100, 0.01, 20);
+    private AnalysisProperties.ExecutorProperties executor =
+            new AnalysisProperties.ExecutorProperties(0.5, 0, 300, 1000);
+    private AnalysisProperties.StreamProperties stream =
+            new AnalysisProperties.StreamProperties(1000, 600000, 30000);
+    private AnalysisProperties.UploadProperties upload =
+            new AnalysisProperties.UploadProperties(16777216, 1073741824, 1024, 3600);
+    private AnalysisProperties.RetentionProperties retention =
+            new AnalysisProperties.RetentionProperties(86400, 268435456);
+    private AnalysisProperties.StoreProperties store =
+            new AnalysisProperties.StoreProperties("memory", "data/analysis", 600, 1024);
+    private AnalysisProperties.ResponseCacheProperties responseCache =
+            new AnalysisProperties.ResponseCacheProperties(67108864, 600, 1024);
+    private AnalysisProperties.ExportProperties export =
+            new AnalysisProperties.ExportProperties(true, 10000, 1000000);
+    private AnalysisProperties.ColumnarProperties columnar =
+            new AnalysisProperties.ColumnarProperties(false, "data/columns", 8192, 64);
+    private AnalysisProperties.DiffProperties diff =
+            new AnalysisProperties.DiffProperties(3.0, 0.01, 0.2);
+
+    private TestAnalysisProperties() {
+    }
+
+    /** 모든 항목이 기본값인 설정 */
+    public static AnalysisProperties defaults() {
+        return builder().build();
+    }
+
+    public static TestAnalysisProperties builder() {
+        return new TestAnalysisProperties();
+    }
+
+    public TestAnalysisProperties maxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+        return this;
+    }
+
+    public TestAnalysisProperties maxLines(int maxLines) {
+        this.maxLines = maxLines;
+        return this;
+    }
+
+    public TestAnalysisProperties topN(int topN) {
+        this.topN = topN;
+        return this;
+    }
+
+    public TestAnalysisProperties prefetch(AnalysisProperties.PrefetchProperties prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    public TestAnalysisProperties executor(AnalysisProperties.ExecutorProperties executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    public TestAnalysisProperties stream(AnalysisProperties.StreamProperties stream) {
+        this.stream = stream;
+        return this;
+    }
+
+    public TestAnalysisProperties upload(AnalysisProperties.UploadProperties upload) {
+        this.upload = upload;
+        return this;
+    }
+
+    public TestAnalysisProperties retention(AnalysisProperties.RetentionProperties retention) {
+        this.retention = retention;
+        return this;
+    }
+
+    public TestAnalysisProperties store(AnalysisProperties.StoreProperties store) {
+        this.store = store;
+        return this;
+    }
+
+    public TestAnalysisProperties responseCache(AnalysisProperties.ResponseCacheProperties responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    public TestAnalysisProperties export(AnalysisProperties.ExportProperties export) {
+        this.export = export;
+        return this;
+    }
+
+    public TestAnalysisProperties columnar(AnalysisProperties.ColumnarProperties columnar) {
+        this.columnar = columnar;
+        return this;
+    }
+
+    public TestAnalysisProperties diff(AnalysisProperties.DiffProperties diff) {
+        this.diff = diff;
+        return this;
+    }
+
+    public AnalysisProperties build() {
+        return new AnalysisProperties(maxFileSize, maxLines, topN, prefetch, executor, stream, upload,
+                retention, store, responseCache, export, columnar, diff);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.example.wemadeassignment.dto.BatchGetRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisBatchWriterTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final AnalysisResponseCache cache = new AnalysisResponseCache(objectMapper, TestAnalysisProperties.defaults());
+    private final AnalysisBatchWriter writer = new AnalysisBatchWriter(objectMapper, cache);
+
+    private final AnalysisResult completed = completedResult();
+    private final AnalysisResult processing = new AnalysisResult("processing-analysis");
+    private final Map<String, AnalysisResult> results = Map.of(
+            completed.getAnalysisId(), completed, processing.getAnalysisId(), processing);
+
+    private static AnalysisResult completedResult() {
+        AnalysisResult result = new AnalysisResult("completed-analysis");
+        result.setTotalRequests(5);
+        result.getParseErrorSamples().add(new ParseErrorSample(3, "invalid,line", "컬럼 수 불일치"));
+        result.complete();
+        return result;
+    }
+
+    private String write(BatchGetRequest request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(request.distinctIds(), results::get, request.projection(), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("필드를 고르지 않으면 끝난 결과는 단건 조회의 직렬화 응답을 그대로 쓰고, 없는 분석은 NOT_FOUND 줄")
+    void fullResponseReusesCachedJson() throws IOException {
+        String body = write(new BatchGetRequest(List.of("completed-analysis", "missing-analysis"), null, null));
+
+        String cached = new String(cache.get(completed).json(), StandardCharsets.UTF_8);
+        assertThat(body).isEqualTo(cached + "\n{\"analysisId\":\"missing-analysis\",\"error\":\"NOT_FOUND\"}\n");
+    }
+
+    @Test
+    @DisplayName("fields는 고른 필드만 응답 필드 순서로 기록하고, 중복 ID는 한 번만 기록")
+    void projectionWritesSelectedFieldsOnly() throws IOException {
+        String body = write(new BatchGetRequest(
+                List.of("completed-analysis", "processing-analysis", "completed-analysis"),
+                List.of("totalRequests", "status", "analysisId"), null));
+
+        assertThat(body).isEqualTo(
+                "{\"analysisId\":\"completed-analysis\",\"status\":\"COMPLETED\",\"totalRequests\":5}\n"
+                        + "{\"analysisId\":\"processing-analysis\",\"status\":\"PROCESSING\",\"totalRequests\":null}\n");
+    }
+
+    @Test
+    @DisplayName("excludeFields는 지정한 필드만 빼고 기록")
+    void exclusionDropsFields() throws IOException {
+        String body = write(new BatchGetRequest(List.of("completed-analysis"), null, List.of("parseErrorSamples")));
+
+        assertThat(body).contains("\"parseErrorCount\":0", "\"ipDetails\":[]", "\"completedAt\"")
+                .doesNotContain("parseErrorSamples");
+    }
+}
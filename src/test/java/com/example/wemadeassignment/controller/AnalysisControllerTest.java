@@ -1,27 +1,68 @@
 package com.example.wemadeassignment.controller;
 
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisDiff;
+import com.example.wemadeassignment.domain.AnalysisProgress;
 import com.example.wemadeassignment.domain.AnalysisResult;
 import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.Dimension;
+import com.example.wemadeassignment.domain.DrillDownResult;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.domain.ResponseTimeStats;
+import com.example.wemadeassignment.domain.RollupResult;
+import com.example.wemadeassignment.dto.AnalysisResponse;
+import com.example.wemadeassignment.exception.AnalysisConflictException;
 import com.example.wemadeassignment.exception.AnalysisNotFoundException;
 import com.example.wemadeassignment.exception.ServerBusyException;
 import com.example.wemadeassignment.service.AnalysisService;
+import com.example.wemadeassignment.service.DimensionExport;
+import com.example.wemadeassignment.service.DimensionTable;
+import com.example.wemadeassignment.service.LineQuery;
+import com.example.wemadeassignment.service.LogQuery;
+import com.example.wemadeassignment.service.RollupQuery;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AnalysisController.class)
+@Import({AnalysisResponseCache.class, AnalysisBatchWriter.class})
+@EnableConfigurationProperties(AnalysisProperties.class)
 class AnalysisControllerTest {
 
     @Autowired
@@ -30,8 +71,12 @@ class AnalysisControllerTest {
     @MockitoBean
     private AnalysisService analysisService;
 
+    @MockitoBean
+    private AnalysisEventStream analysisEventStream;
+
     private static final String BASE_URL = "/api/v1/analysis";
     private static final String VALID_UUID = "550e8400-e29b-41d4-a716-446655440000";
+    private static final String OTHER_UUID = "6ba7b810-9dad-11d1-80b4-00c04fd430c8";
 
     // === POST /api/v1/analysis ===
 
@@ -85,6 +130,48 @@ class AnalysisControllerTest {
                 .andExpect(jsonPath("$.status").value(503));
     }
 
+    // === POST /api/v1/analysis/{analysisId}/append ===
+
+    @Test
+    @DisplayName("POST append 정상 → 202")
+    void appendReturns202() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        result.complete();
+        when(analysisService.appendAnalysis(eq(VALID_UUID), any())).thenReturn(result);
+
+        MockMultipartFile file = new MockMultipartFile("file", "more.csv", "text/csv", "data".getBytes());
+
+        mockMvc.perform(multipart(BASE_URL + "/" + VALID_UUID + "/append").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.analysisId").value(VALID_UUID))
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("POST append 진행 중인 분석 → 409")
+    void appendWhileProcessingReturns409() throws Exception {
+        when(analysisService.appendAnalysis(eq(VALID_UUID), any()))
+                .thenThrow(new AnalysisConflictException("분석 또는 이전 추가 작업이 끝난 뒤에 로그를 추가할 수 있습니다: " + VALID_UUID));
+
+        MockMultipartFile file = new MockMultipartFile("file", "more.csv", "text/csv", "data".getBytes());
+
+        mockMvc.perform(multipart(BASE_URL + "/" + VALID_UUID + "/append").file(file))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("POST append 존재하지 않는 ID → 404")
+    void appendNotFoundReturns404() throws Exception {
+        when(analysisService.appendAnalysis(eq(VALID_UUID), any()))
+                .thenThrow(new AnalysisNotFoundException(VALID_UUID));
+
+        MockMultipartFile file = new MockMultipartFile("file", "more.csv", "text/csv", "data".getBytes());
+
+        mockMvc.perform(multipart(BASE_URL + "/" + VALID_UUID + "/append").file(file))
+                .andExpect(status().isNotFound());
+    }
+
     // === GET /api/v1/analysis/{analysisId} ===
 
     @Test
@@ -99,6 +186,25 @@ class AnalysisControllerTest {
                 .andExpect(jsonPath("$.status").value("PROCESSING"));
     }
 
+    @Test
+    @DisplayName("GET 파싱 중 → 진행 상황 포함")
+    void getResultIncludesProgressWhileParsing() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        AnalysisProgress progress = new AnalysisProgress(1000);
+        progress.update(250, 4096, 2);
+        result.setProgress(progress);
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(result);
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PROCESSING"))
+                .andExpect(jsonPath("$.progress.bytesProcessed").value(250))
+                .andExpect(jsonPath("$.progress.totalBytes").value(1000))
+                .andExpect(jsonPath("$.progress.percent").value(25.0))
+                .andExpect(jsonPath("$.progress.linesParsed").value(4096))
+                .andExpect(jsonPath("$.progress.errorCount").value(2));
+    }
+
     @Test
     @DisplayName("GET 존재하지 않는 ID → 404")
     void getResultNotFoundReturns404() throws Exception {
@@ -124,4 +230,390 @@ class AnalysisControllerTest {
         mockMvc.perform(get(BASE_URL + "/abc\ndef"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("GET 완료된 결과 → ETag 포함, 같은 ETag로 다시 조회하면 304")
+    void getCompletedResultReturnsEtagAndNotModified() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        result.setTotalRequests(2);
+        result.complete();
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(result);
+
+        MvcResult first = mockMvc.perform(get(BASE_URL + "/" + VALID_UUID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.totalRequests").value(2))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("GET 완료된 큰 결과 + Accept-Encoding gzip → 압축된 응답")
+    void getCompletedResultGzipped() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        for (int i = 0; i < 100; i++) {
+            result.getPathCounts().put("/api/items/" + i, (long) i);
+        }
+        result.complete();
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(result);
+
+        MvcResult mvcResult = mockMvc.perform(get(BASE_URL + "/" + VALID_UUID)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(mvcResult.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .contains(VALID_UUID, "/api/items/99");
+        }
+    }
+
+    @Test
+    @DisplayName("GET 진행 중인 결과 → ETag 없이 매번 새로 직렬화")
+    void getProcessingResultHasNoEtag() throws Exception {
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(new AnalysisResult(VALID_UUID));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("GET waitMs 지정 → 비동기 대기 후 완료 결과 반환")
+    void awaitResultReturnsAfterCompletion() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(result);
+        DeferredResult<ResponseEntity<AnalysisResponse>> deferred = new DeferredResult<>(5000L);
+        when(analysisEventStream.awaitFinished(result, 5000L)).thenReturn(deferred);
+
+        MvcResult mvcResult = mockMvc.perform(get(BASE_URL + "/" + VALID_UUID).param("waitMs", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.complete();
+        deferred.setResult(ResponseEntity.ok(AnalysisResponse.from(result)));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("GET waitMs 숫자가 아님 → 400")
+    void awaitResultInvalidWaitMsReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID).param("waitMs", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    @DisplayName("GET waitMs 지정 + 존재하지 않는 ID → 404")
+    void awaitResultNotFoundReturns404() throws Exception {
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(null);
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID).param("waitMs", "1000"))
+                .andExpect(status().isNotFound());
+    }
+
+    // === POST /api/v1/analysis/batch-get ===
+
+    @Test
+    @DisplayName("POST batch-get → 요청 순서대로 고른 필드만 NDJSON으로 스트리밍, 없는 분석은 NOT_FOUND 줄")
+    void batchGetStreamsProjectedNdjson() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        result.complete();
+        when(analysisService.getAnalysis(VALID_UUID)).thenReturn(result);
+        when(analysisService.getAnalysis(OTHER_UUID)).thenReturn(null);
+
+        MvcResult mvcResult = mockMvc.perform(post(BASE_URL + "/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + OTHER_UUID + "\",\"" + VALID_UUID + "\"],\"fields\":[\"status\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string("{\"analysisId\":\"" + OTHER_UUID + "\",\"error\":\"NOT_FOUND\"}\n"
+                        + "{\"analysisId\":\"" + VALID_UUID + "\",\"status\":\"COMPLETED\"}\n"));
+    }
+
+    @Test
+    @DisplayName("POST batch-get 본문 없음·ID 없음·잘못된 ID·모르는 필드·fields와 excludeFields 동시 지정 → 400")
+    void batchGetInvalidRequestReturns400() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/batch-get").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(post(BASE_URL + "/batch-get").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BASE_URL + "/batch-get").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"invalid-id\"]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BASE_URL + "/batch-get").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + VALID_UUID + "\"],\"fields\":[\"country\"]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(BASE_URL + "/batch-get").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + VALID_UUID + "\"],\"fields\":[\"status\"],\"excludeFields\":[\"topIps\"]}"))
+                .andExpect(status().isBadRequest());
+        verify(analysisService, never()).getAnalysis(any());
+    }
+
+    // === GET /api/v1/analysis/{analysisId}/export/{dimension} ===
+
+    @Test
+    @DisplayName("GET export → 전체 집계를 NDJSON으로 스트리밍하고 다음 페이지 커서를 헤더로 전달")
+    void exportStreamsNdjsonWithCursor() throws Exception {
+        DimensionTable table = DimensionTable.of(Map.of("/a", 3L, "/b", 2L, "/c", 1L));
+        DimensionTable.Range range = table.range(null, null, 2);
+        when(analysisService.exportDimension(eq(VALID_UUID), eq(Dimension.PATH), eq(DimensionExport.Format.NDJSON),
+                isNull(), isNull(), eq(2)))
+                .thenReturn(new DimensionExport(table, range, DimensionExport.Format.NDJSON));
+
+        MvcResult mvcResult = mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/export/path").param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string("X-Next-Cursor", range.nextCursor()))
+                .andExpect(content().string("{\"key\":\"/a\",\"count\":3}\n{\"key\":\"/b\",\"count\":2}\n"));
+    }
+
+    @Test
+    @DisplayName("GET export 지원하지 않는 차원·형식 → 400")
+    void exportInvalidDimensionOrFormatReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/export/country"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/export/ip").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(analysisService, never()).exportDimension(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET export 전체 집계가 없는 분석 → 409")
+    void exportWithoutTablesReturns409() throws Exception {
+        when(analysisService.exportDimension(eq(VALID_UUID), eq(Dimension.IP), eq(DimensionExport.Format.CSV),
+                any(), any(), any()))
+                .thenThrow(new AnalysisConflictException("내보낼 전체 집계가 없습니다."));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/export/ip").param("format", "csv"))
+                .andExpect(status().isConflict());
+    }
+
+    // === GET /api/v1/analysis/{analysisId}/query ===
+
+    @Test
+    @DisplayName("GET query → 필터·그룹 조건으로 드릴다운 결과 200")
+    void queryReturns200() throws Exception {
+        when(analysisService.queryLogs(eq(VALID_UUID), eq(LogQuery.of(null, null, null, "5xx", 1.0, "path", 5))))
+                .thenReturn(new DrillDownResult(3, "path", Map.of("/api/items", 3L),
+                        new ResponseTimeStats(1.2, 3.4, 2.1, 2.0, 3.4, 3.4), 1, 7));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/query")
+                        .param("status", "5xx").param("minResponseTime", "1.0")
+                        .param("groupBy", "path").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRequests").value(3))
+                .andExpect(jsonPath("$.groups['/api/items']").value(3))
+                .andExpect(jsonPath("$.skippedBlocks").value(7));
+    }
+
+    @Test
+    @DisplayName("GET query 잘못된 status·groupBy → 400")
+    void queryInvalidParametersReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/query").param("status", "9xx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/query").param("groupBy", "country"))
+                .andExpect(status().isBadRequest());
+        verify(analysisService, never()).queryLogs(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET query 컬럼 파일이 없는 분석 → 409")
+    void queryWithoutSegmentsReturns409() throws Exception {
+        when(analysisService.queryLogs(eq(VALID_UUID), any()))
+                .thenThrow(new AnalysisConflictException("조회할 컬럼 파일이 없습니다."));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/query"))
+                .andExpect(status().isConflict());
+    }
+
+    // === GET /api/v1/analysis/{analysisId}/lines ===
+
+    @Test
+    @DisplayName("GET lines → 반복 파라미터는 OR로 묶어 원본 라인 페이지 200")
+    void linesReturns200() throws Exception {
+        when(analysisService.findLines(eq(VALID_UUID),
+                eq(LineQuery.of(List.of("10.0.0.1"), null, List.of("500", "503"), 0L, 2))))
+                .thenReturn(new LogLines(3, List.of("line 1", "line 2"), 2L));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/lines")
+                        .param("ip", "10.0.0.1").param("status", "500").param("status", "503")
+                        .param("offset", "0").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRequests").value(3))
+                .andExpect(jsonPath("$.lines[1]").value("line 2"))
+                .andExpect(jsonPath("$.nextOffset").value(2));
+    }
+
+    @Test
+    @DisplayName("GET lines 조건 없음·잘못된 status → 400")
+    void linesInvalidParametersReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/lines"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/lines").param("status", "5x"))
+                .andExpect(status().isBadRequest());
+        verify(analysisService, never()).findLines(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET lines 원본 라인 색인이 없는 분석 → 409")
+    void linesWithoutIndexReturns409() throws Exception {
+        when(analysisService.findLines(eq(VALID_UUID), any()))
+                .thenThrow(new AnalysisConflictException("원본 라인 색인이 없습니다."));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/lines").param("path", "/a"))
+                .andExpect(status().isConflict());
+    }
+
+    // === GET /api/v1/analysis/rollup ===
+
+    @Test
+    @DisplayName("GET rollup → 분석 ID 목록의 합산 보고서 200")
+    void rollupReturns200() throws Exception {
+        when(analysisService.rollup(eq(RollupQuery.of(List.of(VALID_UUID), null, null))))
+                .thenReturn(new RollupResult(List.of(VALID_UUID), List.of(), 2, 2, 2, Map.of(200, 2L),
+                        Map.of("2xx", 1.0), Map.of("/a", 2L), Map.of("10.0.0.1", 2L),
+                        new ResponseTimeStats(0.1, 0.2, 0.15, 0.1, 0.2, 0.2), 0));
+
+        mockMvc.perform(get(BASE_URL + "/rollup").param("id", VALID_UUID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.analysisIds[0]").value(VALID_UUID))
+                .andExpect(jsonPath("$.totalRequests").value(2))
+                .andExpect(jsonPath("$.topPaths['/a']").value(2));
+    }
+
+    @Test
+    @DisplayName("GET rollup 대상 없음·잘못된 ID·ID와 시각 범위 동시 지정 → 400")
+    void rollupInvalidParametersReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/rollup"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        mockMvc.perform(get(BASE_URL + "/rollup").param("id", "invalid-id"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(BASE_URL + "/rollup").param("id", VALID_UUID).param("from", "2026-01-29T00:00:00"))
+                .andExpect(status().isBadRequest());
+        verify(analysisService, never()).rollup(any());
+    }
+
+    // === GET /api/v1/analysis/{analysisId}/diff/{otherId} ===
+
+    @Test
+    @DisplayName("GET diff → 비율·응답 시간 변화와 유의 여부 200")
+    void diffReturns200() throws Exception {
+        AnalysisDiff.ShareChange serverErrors = new AnalysisDiff.ShareChange(10, 100, 0.01, 0.1, 0.09, 27.91, true);
+        when(analysisService.diff(VALID_UUID, OTHER_UUID))
+                .thenReturn(new AnalysisDiff(VALID_UUID, OTHER_UUID, 1000, 1000, Map.of("5xx", serverErrors),
+                        Map.of(), Map.of("p99", new AnalysisDiff.LatencyChange(0.1, 2.0, 19.0, true)),
+                        Map.of(), Map.of(), Map.of(), Map.of(), true));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/diff/" + OTHER_UUID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.targetAnalysisId").value(OTHER_UUID))
+                .andExpect(jsonPath("$.statusGroups['5xx'].delta").value(0.09))
+                .andExpect(jsonPath("$.responseTimes.p99.relativeChange").value(19.0))
+                .andExpect(jsonPath("$.significant").value(true));
+    }
+
+    @Test
+    @DisplayName("GET diff 잘못된 ID 형식 → 400")
+    void diffInvalidIdReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/diff/invalid-id"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+        verify(analysisService, never()).diff(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET diff 집계 상태가 없는 분석 → 409")
+    void diffWithoutStateReturns409() throws Exception {
+        when(analysisService.diff(VALID_UUID, OTHER_UUID))
+                .thenThrow(new AnalysisConflictException("비교할 집계 상태가 없습니다."));
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/diff/" + OTHER_UUID))
+                .andExpect(status().isConflict());
+    }
+
+    // === GET /api/v1/analysis/{analysisId}/events ===
+
+    @Test
+    @DisplayName("GET events 정상 구독 → SSE 비동기 응답 시작")
+    void streamEventsStartsAsync() throws Exception {
+        AnalysisResult result = new AnalysisResult(VALID_UUID);
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(result);
+        when(analysisEventStream.subscribe(result)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/events"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+        verify(analysisEventStream).subscribe(result);
+    }
+
+    @Test
+    @DisplayName("GET events 존재하지 않는 ID → 404, 구독하지 않음")
+    void streamEventsNotFoundReturns404() throws Exception {
+        when(analysisService.getAnalysis(eq(VALID_UUID))).thenReturn(null);
+
+        mockMvc.perform(get(BASE_URL + "/" + VALID_UUID + "/events"))
+                .andExpect(status().isNotFound());
+        verify(analysisEventStream, never()).subscribe(any());
+    }
+
+    @Test
+    @DisplayName("GET events 잘못된 UUID 형식 → 400")
+    void streamEventsInvalidUuidReturns400() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/invalid-id/events"))
+                .andExpect(status().isBadRequest());
+        verify(analysisEventStream, never()).subscribe(any());
+    }
+
+    // === DELETE /api/v1/analysis/{analysisId} ===
+
+    @Test
+    @DisplayName("DELETE 정상 취소 → 204")
+    void cancelReturns204() throws Exception {
+        when(analysisService.cancelAnalysis(eq(VALID_UUID))).thenReturn(true);
+
+        mockMvc.perform(delete(BASE_URL + "/" + VALID_UUID))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("DELETE 존재하지 않는 ID → 404")
+    void cancelNotFoundReturns404() throws Exception {
+        when(analysisService.cancelAnalysis(eq(VALID_UUID))).thenReturn(false);
+
+        mockMvc.perform(delete(BASE_URL + "/" + VALID_UUID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    @DisplayName("DELETE 잘못된 UUID 형식 → 400")
+    void cancelInvalidUuidReturns400() throws Exception {
+        mockMvc.perform(delete(BASE_URL + "/invalid-id"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.dto.AnalysisResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisEventStreamTest {
+
+    private static final String ANALYSIS_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private AnalysisEventStream eventStream;
+
+    @BeforeEach
+    void setUp() {
+        eventStream = new AnalysisEventStream(TestAnalysisProperties.defaults());
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventStream.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AnalysisStatus statusOf(DeferredResult<ResponseEntity<AnalysisResponse>> deferred) {
+        return ((ResponseEntity<AnalysisResponse>) deferred.getResult()).getBody().status();
+    }
+
+    @Test
+    @DisplayName("완료 대기 — 분석 완료 시점에 결과 설정")
+    void awaitFinishedCompletesOnComplete() {
+        AnalysisResult result = new AnalysisResult(ANALYSIS_ID);
+
+        DeferredResult<ResponseEntity<AnalysisResponse>> deferred = eventStream.awaitFinished(result, 5000);
+        assertThat(deferred.hasResult()).isFalse();
+
+        result.complete();
+
+        assertThat(deferred.hasResult()).isTrue();
+        assertThat(statusOf(deferred)).isEqualTo(AnalysisStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("완료 대기 — 실패·취소도 대기를 끝냄")
+    void awaitFinishedCompletesOnFailAndCancel() {
+        AnalysisResult failed = new AnalysisResult(ANALYSIS_ID);
+        AnalysisResult cancelled = new AnalysisResult(ANALYSIS_ID);
+        DeferredResult<ResponseEntity<AnalysisResponse>> failedWait = eventStream.awaitFinished(failed, 5000);
+        DeferredResult<ResponseEntity<AnalysisResponse>> cancelledWait = eventStream.awaitFinished(cancelled, 5000);
+
+        failed.fail("오류");
+        cancelled.cancel();
+
+        assertThat(statusOf(failedWait)).isEqualTo(AnalysisStatus.FAILED);
+        assertThat(statusOf(cancelledWait)).isEqualTo(AnalysisStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("완료 대기 — ENRICHING 전환만으로는 끝나지 않음")
+    void awaitFinishedIgnoresEnriching() {
+        AnalysisResult result = new AnalysisResult(ANALYSIS_ID);
+        DeferredResult<ResponseEntity<AnalysisResponse>> deferred = eventStream.awaitFinished(result, 5000);
+
+        result.startEnriching();
+
+        assertThat(deferred.hasResult()).isFalse();
+    }
+
+    @Test
+    @DisplayName("이미 종료된 분석 또는 waitMs ≤ 0이면 즉시 현재 상태 반환")
+    void awaitFinishedReturnsImmediately() {
+        AnalysisResult completed = new AnalysisResult(ANALYSIS_ID);
+        completed.complete();
+        AnalysisResult processing = new AnalysisResult(ANALYSIS_ID);
+
+        assertThat(statusOf(eventStream.awaitFinished(completed, 5000))).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(statusOf(eventStream.awaitFinished(processing, 0))).isEqualTo(AnalysisStatus.PROCESSING);
+    }
+
+    @Test
+    @DisplayName("waitMs는 설정된 최대 대기 시간으로 제한")
+    void awaitFinishedClampsWait() {
+        DeferredResult<ResponseEntity<AnalysisResponse>> deferred =
+                eventStream.awaitFinished(new AnalysisResult(ANALYSIS_ID), 600_000);
+
+        assertThat(deferred.getTimeoutValue()).isEqualTo(30000L);
+    }
+}
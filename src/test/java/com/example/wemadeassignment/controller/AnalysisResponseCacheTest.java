@@ -0,0 +1,81 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResponseCacheTest {
+
+    private final AnalysisResponseCache cache = new AnalysisResponseCache(JsonMapper.builder().findAndAddModules().build(),
+            TestAnalysisProperties.defaults());
+
+    @Test
+    @DisplayName("끝난 결과는 한 번만 직렬화하고 이후 같은 응답을 재사용")
+    void completedResultSerializedOnce() {
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        result.setTotalRequests(5);
+        result.complete();
+
+        AnalysisResponseCache.CachedResponse first = cache.get(result);
+        result.setTotalRequests(6);  // 끝난 결과는 추가 분석 없이 바뀌지 않으므로 캐시된 응답이 유지된다
+
+        assertThat(cache.get(result)).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("\"totalRequests\":5");
+        assertThat(first.gzip()).isNull();
+    }
+
+    @Test
+    @DisplayName("저장소가 같은 완료 시각의 새 객체를 돌려줘도 같은 응답을 재사용")
+    void equivalentCopyReusesEntry() {
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        result.complete();
+        AnalysisResult copy = new AnalysisResult(result.getAnalysisId(), AnalysisStatus.COMPLETED, result.getCreatedAt());
+        copy.setCompletedAt(result.getCompletedAt());
+
+        assertThat(cache.get(copy)).isSameAs(cache.get(result));
+    }
+
+    @Test
+    @DisplayName("진행 중인 결과는 캐시하지 않고, 추가 분석으로 다시 완료되면 새로 직렬화하여 ETag가 바뀜")
+    void recompletedResultReserialized() throws InterruptedException {
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        assertThat(cache.get(result)).isNull();
+        result.setTotalRequests(1);
+        result.complete();
+        AnalysisResponseCache.CachedResponse before = cache.get(result);
+
+        result.startEnriching();
+        assertThat(cache.get(result)).isNull();
+        result.setTotalRequests(2);
+        Thread.sleep(2);
+        result.complete();
+        AnalysisResponseCache.CachedResponse after = cache.get(result);
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(new String(after.json(), StandardCharsets.UTF_8)).contains("\"totalRequests\":2");
+        assertThat(cache.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("일정 크기 이상의 응답은 gzip 압축본을 함께 보관하고 ETag를 구분")
+    void largeResponseGzipped() {
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        for (int i = 0; i < 100; i++) {
+            result.getPathCounts().put("/api/items/" + i, (long) i);
+        }
+        result.complete();
+
+        AnalysisResponseCache.CachedResponse response = cache.get(result);
+
+        assertThat(response.gzip()).isNotNull().hasSizeLessThan(response.json().length);
+        assertThat(response.gzipEtag()).isNotEqualTo(response.etag()).endsWith("-gzip\"");
+    }
+}
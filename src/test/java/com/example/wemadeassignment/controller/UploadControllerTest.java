@@ -0,0 +1,129 @@
+package com.example.wemadeassignment.controller;
+
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.UploadStatus;
+import com.example.wemadeassignment.exception.AnalysisConflictException;
+import com.example.wemadeassignment.exception.UploadNotFoundException;
+import com.example.wemadeassignment.service.ChunkedUploadService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UploadController.class)
+class UploadControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ChunkedUploadService chunkedUploadService;
+
+    private static final String BASE_URL = "/api/v1/uploads";
+    private static final String UPLOAD_ID = "7b0e2f3c-1d4a-4c8e-9f6b-2a5d8c3e1f00";
+    private static final String ANALYSIS_ID = "550e8400-e29b-41d4-a716-446655440000";
+
+    private static UploadStatus status(List<Integer> chunks, long bytes) {
+        return new UploadStatus(UPLOAD_ID, chunks, bytes, LocalDateTime.now().plusHours(1));
+    }
+
+    @Test
+    @DisplayName("POST 세션 생성 → 201")
+    void createReturns201() throws Exception {
+        when(chunkedUploadService.createSession()).thenReturn(status(List.of(), 0));
+
+        mockMvc.perform(post(BASE_URL))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.uploadId").value(UPLOAD_ID))
+                .andExpect(jsonPath("$.receivedChunks").isEmpty());
+    }
+
+    @Test
+    @DisplayName("PUT 청크 업로드 → 200, 수신 청크 목록 반환")
+    void putChunkReturns200() throws Exception {
+        when(chunkedUploadService.putChunk(eq(UPLOAD_ID), eq(0), any())).thenReturn(status(List.of(0), 4));
+
+        mockMvc.perform(put(BASE_URL + "/" + UPLOAD_ID + "/chunks/0")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("data".getBytes()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedChunks[0]").value(0))
+                .andExpect(jsonPath("$.receivedBytes").value(4));
+    }
+
+    @Test
+    @DisplayName("PUT 잘못된 세션 ID 형식 → 400, 서비스 미호출")
+    void putChunkInvalidIdReturns400() throws Exception {
+        mockMvc.perform(put(BASE_URL + "/not-a-uuid/chunks/0")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("data".getBytes()))
+                .andExpect(status().isBadRequest());
+
+        verify(chunkedUploadService, never()).putChunk(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("PUT 청크 크기 초과 → 400")
+    void putChunkOversizedReturns400() throws Exception {
+        when(chunkedUploadService.putChunk(eq(UPLOAD_ID), eq(0), any()))
+                .thenThrow(new IllegalArgumentException("청크 크기가 16777216 bytes를 초과합니다."));
+
+        mockMvc.perform(put(BASE_URL + "/" + UPLOAD_ID + "/chunks/0")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content("data".getBytes()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    @DisplayName("GET 만료되었거나 없는 세션 → 404")
+    void getStatusNotFoundReturns404() throws Exception {
+        when(chunkedUploadService.getStatus(UPLOAD_ID)).thenThrow(new UploadNotFoundException(UPLOAD_ID));
+
+        mockMvc.perform(get(BASE_URL + "/" + UPLOAD_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    @DisplayName("POST 완료 → 202, 생성된 분석 ID 반환")
+    void completeReturns202() throws Exception {
+        AnalysisResult result = new AnalysisResult(ANALYSIS_ID);
+        result.startEnriching();
+        when(chunkedUploadService.complete(UPLOAD_ID, 3)).thenReturn(result);
+
+        mockMvc.perform(post(BASE_URL + "/" + UPLOAD_ID + "/complete").param("totalChunks", "3"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.analysisId").value(ANALYSIS_ID))
+                .andExpect(jsonPath("$.status").value("ENRICHING"));
+    }
+
+    @Test
+    @DisplayName("POST 완료 시 누락된 청크 → 409")
+    void completeWithMissingChunksReturns409() throws Exception {
+        when(chunkedUploadService.complete(UPLOAD_ID, 3))
+                .thenThrow(new AnalysisConflictException("누락된 청크가 있습니다: [1]"));
+
+        mockMvc.perform(post(BASE_URL + "/" + UPLOAD_ID + "/complete").param("totalChunks", "3"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("누락된 청크가 있습니다: [1]"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.wemadeassignment.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisResultTest {
+
+    @Test
+    @DisplayName("취소와 완료가 동시에 일어나도 취소를 확인한 결과는 완료로 덮어써지지 않는다")
+    void cancelRacingCompleteKeepsCancellation() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                AnalysisResult result = new AnalysisResult("race-" + i);
+                CyclicBarrier start = new CyclicBarrier(2);
+
+                Future<?> worker = executor.submit(() -> {
+                    start.await();
+                    result.complete();
+                    return null;
+                });
+                Future<AnalysisStatus> canceller = executor.submit(() -> {
+                    start.await();
+                    result.cancel();
+                    return result.getStatus();
+                });
+                worker.get(5, TimeUnit.SECONDS);
+                AnalysisStatus seenByCanceller = canceller.get(5, TimeUnit.SECONDS);
+
+                AnalysisStatus finalStatus = result.getStatus();
+                assertThat(finalStatus).isIn(AnalysisStatus.COMPLETED, AnalysisStatus.CANCELLED);
+                if (seenByCanceller == AnalysisStatus.CANCELLED) {
+                    assertThat(finalStatus).isEqualTo(AnalysisStatus.CANCELLED);
+                }
+                assertThat(result.whenFinished().toCompletableFuture().get().getStatus()).isEqualTo(finalStatus);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("취소된 결과는 다시 진행 중으로 전환되지 않고 완료 신호도 유지된다")
+    void cancelledResultIgnoresStartEnriching() {
+        AnalysisResult result = new AnalysisResult("cancelled");
+        result.cancel();
+
+        result.startEnriching();
+        result.complete();
+        result.fail("late");
+
+        assertThat(result.getStatus()).isEqualTo(AnalysisStatus.CANCELLED);
+        assertThat(result.getFailureReason()).isNull();
+        assertThat(result.isFinished()).isTrue();
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.wemadeassignment.parser;
 
-import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
 import com.example.wemadeassignment.domain.AccessLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,8 +9,10 @@ import org.junit.jupiter.api.Test;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class CsvLogParserImplTest {
 
@@ -18,7 +20,7 @@ class CsvLogParserImplTest {
 
     @BeforeEach
     void setUp() {
-        parser = new CsvLogParserImpl(new AnalysisProperties(52428800, 200000, 10));
+        parser = new CsvLogParserImpl(TestAnalysisProperties.defaults());
     }
 
     private InputStream loadCsv(String filename) {
@@ -85,7 +87,7 @@ class CsvLogParserImplTest {
     @Test
     @DisplayName("maxLines 제한")
     void parseMaxLinesLimit() {
-        CsvLogParserImpl limitedParser = new CsvLogParserImpl(new AnalysisProperties(52428800, 2, 10));
+        CsvLogParserImpl limitedParser = new CsvLogParserImpl(TestAnalysisProperties.builder().maxLines(2).build());
 
         List<AccessLog> logs = new ArrayList<>();
         ParseStatistics stats = limitedParser.parse(loadCsv("maxlines.csv"), logs::add);
@@ -94,6 +96,62 @@ class CsvLogParserImplTest {
         assertThat(logs).hasSize(2);
     }
 
+    @Test
+    @DisplayName("취소 요청 시 남은 라인을 읽지 않고 CancellationException")
+    void parseStopsWhenCancelled() {
+        List<AccessLog> logs = new ArrayList<>();
+
+        assertThatThrownBy(() -> parser.parse(loadCsv("maxlines.csv"), logs::add, () -> logs.size() >= 1))
+                .isInstanceOf(CancellationException.class);
+        assertThat(logs).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("파싱 종료 시 최종 처리 라인 수와 오류 수를 진행 상황으로 통지")
+    void parseReportsFinalProgress() {
+        List<long[]> reports = new ArrayList<>();
+        ParseContext context = new ParseContext() {
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void onProgress(long linesProcessed, long errorCount) {
+                reports.add(new long[]{linesProcessed, errorCount});
+            }
+        };
+
+        ParseStatistics stats = parser.parse(loadCsv("invalid-lines.csv"), logs -> {}, context);
+
+        assertThat(reports).isNotEmpty();
+        assertThat(reports.get(reports.size() - 1))
+                .containsExactly(stats.totalLinesProcessed(), stats.errorCount());
+    }
+
+    @Test
+    @DisplayName("소비자가 받아들인 레코드만 원본 라인과 함께 통지")
+    void parseReportsRecordsWithOriginalLine() {
+        List<String> lines = new ArrayList<>();
+        ParseContext context = new ParseContext() {
+            @Override
+            public boolean isCancelled() {
+                return false;
+            }
+
+            @Override
+            public void onRecord(AccessLog accessLog, String line) {
+                assertThat(line).contains(accessLog.clientIp());
+                lines.add(line);
+            }
+        };
+
+        parser.parse(loadCsv("invalid-lines.csv"), logs -> {}, context);
+
+        assertThat(lines).containsExactly(
+                "\"1/29/2026, 5:44:10.000 AM\",121.158.115.86,GET,/test,Agent/1.0,200,HTTP/1.1,100,200,0,TLSv1.2,/test");
+    }
+
     @Test
     @DisplayName("빈 줄 무시")
     void parseSkipsBlankLines() {
@@ -0,0 +1,178 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.LogField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarLogStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ColumnarLogStore open() {
+        ColumnarLogStore store = new ColumnarLogStore(TestAnalysisProperties.builder()
+                .columnar(new AnalysisProperties.ColumnarProperties(true, directory.toString(), 4, 8))
+                .build());
+        store.open();
+        return store;
+    }
+
+    private static AccessLog accessLog(String ip, String path, int status, long sentBytes, double responseTime) {
+        return new AccessLog("1/29/2026, 5:44:10.000 AM", ip, "GET", path, "curl/8.0", status, "HTTP/1.1",
+                100, sentBytes, responseTime, "TLSv1.2", path);
+    }
+
+    /** 테스트용 원본 라인 — 파서가 넘겨주는 라인과 같은 CSV 형식 */
+    private static String line(AccessLog accessLog) {
+        return String.join(",", "\"" + accessLog.timeGenerated() + "\"", accessLog.clientIp(), accessLog.httpMethod(),
+                accessLog.requestUri(), accessLog.userAgent(), String.valueOf(accessLog.httpStatus()),
+                accessLog.httpVersion(), String.valueOf(accessLog.receivedBytes()), String.valueOf(accessLog.sentBytes()),
+                String.valueOf(accessLog.clientResponseTime()), accessLog.sslProtocol(), accessLog.originalRequestUriWithArgs());
+    }
+
+    private static void append(ColumnarSegmentWriter writer, AccessLog accessLog) {
+        writer.append(accessLog, line(accessLog));
+    }
+
+    @Test
+    @DisplayName("블록 단위로 기록한 값이 필드별로 그대로 복원되고, 문자열은 사전 ID로 조회")
+    void segmentRoundTrip() {
+        ColumnarLogStore store = open();
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            append(writer, accessLog("10.0.0.1", "/a", 200, 0, 0.001));
+            append(writer, accessLog("10.0.0.2", "/b", 404, 5_000_000_000L, 1.5));
+            append(writer, accessLog("10.0.0.1", "/한글", 200, 7, 0));
+            append(writer, accessLog("10.0.0.3", "/a", 503, 7, 12.25));
+            append(writer, accessLog("10.0.0.1", "/a", 200, 7, 0.5));
+            assertThat(writer.commit()).isTrue();
+        }
+
+        List<ColumnarSegment> segments = store.segments("a1");
+
+        assertThat(segments).hasSize(1);
+        ColumnarSegment segment = segments.get(0);
+        assertThat(segment.rowCount()).isEqualTo(5);
+        assertThat(segment.blockCount()).isEqualTo(2);
+        assertThat(segment.min(0, LogField.STATUS)).isEqualTo(200);
+        assertThat(segment.max(0, LogField.STATUS)).isEqualTo(503);
+
+        long[] values = new long[4];
+        segment.read(0, LogField.SENT_BYTES, values);
+        assertThat(values).containsExactly(0, 5_000_000_000L, 7, 7);
+        segment.read(0, LogField.RESPONSE_TIME, values);
+        assertThat(values).containsExactly(1_000, 1_500_000, 0, 12_250_000);
+        segment.read(0, LogField.PATH, values);
+        assertThat(Arrays.stream(values).mapToObj(id -> segment.dictionaryValue(LogField.PATH, (int) id)))
+                .containsExactly("/a", "/b", "/한글", "/a");
+        assertThat(segment.dictionaryId(LogField.IP, "10.0.0.3")).isEqualTo(2);
+        assertThat(segment.dictionaryId(LogField.IP, "10.9.9.9")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("추가할 때마다 세그먼트가 늘고, 커밋 후에는 새 세그먼트까지 조회")
+    void appendAddsSegment() {
+        ColumnarLogStore store = open();
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            append(writer, accessLog("10.0.0.1", "/a", 200, 1, 0.1));
+            writer.commit();
+        }
+        assertThat(store.segments("a1")).hasSize(1);
+
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            append(writer, accessLog("10.0.0.2", "/b", 200, 1, 0.1));
+            writer.commit();
+        }
+
+        assertThat(store.segments("a1")).hasSize(2);
+        assertThat(store.segments("a1").get(1).dictionaryValue(LogField.IP, 0)).isEqualTo("10.0.0.2");
+    }
+
+    @Test
+    @DisplayName("커밋하지 않고 닫으면 임시 파일이 남지 않고, 삭제하면 디렉터리째 제거")
+    void abortAndDelete() throws IOException {
+        ColumnarLogStore store = open();
+        try (ColumnarSegmentWriter writer = store.newSegment("aborted")) {
+            append(writer, accessLog("10.0.0.1", "/a", 200, 1, 0.1));
+        }
+        try (Stream<Path> files = Files.list(directory.resolve("aborted"))) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(store.segments("aborted")).isEmpty();
+
+        try (ColumnarSegmentWriter writer = store.newSegment("deleted")) {
+            writer.commit();
+        }
+        store.delete("deleted");
+
+        assertThat(directory.resolve("deleted")).doesNotExist();
+        assertThat(store.segments("deleted")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("원본 라인을 행 번호로 바로 읽고, IP·경로·상태 코드별 행을 비트맵으로 조회")
+    void rowIndexRoundTrip() {
+        ColumnarLogStore store = open();
+        List<AccessLog> logs = List.of(
+                accessLog("10.0.0.1", "/a", 200, 0, 0.001),
+                accessLog("10.0.0.2", "/b", 404, 1, 1.5),
+                accessLog("10.0.0.1", "/한글", 200, 7, 0),
+                accessLog("10.0.0.3", "/a", 503, 7, 12.25),
+                accessLog("10.0.0.1", "/a", 200, 7, 0.5));
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            logs.forEach(accessLog -> append(writer, accessLog));
+            writer.commit();
+        }
+
+        ColumnarSegment segment = store.segments("a1").get(0);
+        RowIndex index = segment.rowIndex();
+
+        assertThat(index.rowCount()).isEqualTo(5);
+        assertThat(index.line(2)).isEqualTo(line(logs.get(2)));
+        assertThat(index.line(4)).isEqualTo(line(logs.get(4)));
+        int ip = segment.dictionaryId(LogField.IP, "10.0.0.1");
+        int path = segment.dictionaryId(LogField.PATH, "/a");
+        assertThat(rows(index.rows(LogField.IP, ip, ip))).containsExactly(0, 2, 4);
+        assertThat(rows(index.rows(LogField.IP, ip, ip).and(index.rows(LogField.PATH, path, path)))).containsExactly(0, 4);
+        assertThat(rows(index.rows(LogField.STATUS, 500, 599))).containsExactly(3);
+        assertThat(rows(index.rows(LogField.STATUS, 400, 599))).containsExactly(1, 3);
+        assertThat(index.rows(LogField.STATUS, 300, 399).isEmpty()).isTrue();
+        assertThat(directory.resolve("a1").resolve("seg-00000.raw")).exists();
+        assertThat(directory.resolve("a1").resolve("seg-00000.idx")).exists();
+    }
+
+    private static List<Integer> rows(RowBitmap bitmap) {
+        List<Integer> rows = new ArrayList<>();
+        bitmap.forEach(0, rows::add);
+        return rows;
+    }
+
+    @Test
+    @DisplayName("잘린 세그먼트 파일은 열 때 IOException")
+    void truncatedSegmentRejected() throws IOException {
+        ColumnarLogStore store = open();
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            append(writer, accessLog("10.0.0.1", "/a", 200, 1, 0.1));
+            writer.commit();
+        }
+        Path file = directory.resolve("a1").resolve("seg-00000.col");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThatThrownBy(() -> ColumnarSegment.open(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.domain.ParseErrorSample;
+import com.example.wemadeassignment.domain.ResponseTimeStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileAnalysisRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private FileAnalysisRepository open(long ttlSeconds) {
+        FileAnalysisRepository repository = new FileAnalysisRepository(TestAnalysisProperties.builder()
+                .retention(new AnalysisProperties.RetentionProperties(ttlSeconds, 268435456))
+                .store(new AnalysisProperties.StoreProperties("file", directory.toString(), 3600, 1024))
+                .build());
+        repository.open();
+        return repository;
+    }
+
+    private FileAnalysisRepository open() {
+        return open(86400);
+    }
+
+    private static AnalysisResult completedResult() {
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        result.setTotalRequests(3);
+        result.setContentHash("ab12");
+        result.setQueueWaitMillis(5L);
+        result.getStatusCodeCounts().put(200, 2L);
+        result.getStatusCodeCounts().put(404, 1L);
+        result.getPathCounts().put("/api/items", 3L);
+        result.getIpCounts().put("10.0.0.1", 3L);
+        result.getStatusGroupRatios().put("2xx", 0.667);
+        result.setTopIps(List.of(new IpInfo("10.0.0.1", "AS0", "Test", "test.com", "KR", "South Korea", "AS", "Asia")));
+        result.setResponseTimeStats(new ResponseTimeStats(0.1, 2.0, 0.5, 0.4, 1.8, 1.9));
+        result.setParseErrorCount(1);
+        result.setParseErrorSamples(List.of(new ParseErrorSample(4, "잘못된,줄", "컬럼 수 불일치")));
+        result.complete();
+        return result;
+    }
+
+    @Test
+    @DisplayName("끝난 결과는 재시작 후에도 모든 필드가 그대로 복원됨")
+    void completedResultSurvivesRestart() {
+        AnalysisResult result = completedResult();
+        FileAnalysisRepository repository = open();
+        repository.save(result);
+        repository.close();
+
+        AnalysisResult restored = open().findById(result.getAnalysisId()).orElseThrow();
+
+        assertThat(restored).isNotSameAs(result);
+        assertThat(restored).usingRecursiveComparison()
+                .ignoringFields("finished", "progress", "partialResult", "retainedStateBytes")
+                .isEqualTo(result);
+        assertThat(restored.isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("진행 중인 결과는 서비스가 갱신하는 객체 그대로 조회되고, 끝난 뒤에는 기록된 값으로 조회")
+    void inFlightResultServedByIdentity() {
+        FileAnalysisRepository repository = open();
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        repository.save(result);
+
+        result.setTotalRequests(7);
+        assertThat(repository.findById(result.getAnalysisId())).containsSame(result);
+
+        result.complete();
+        repository.update(result);
+        AnalysisResult stored = repository.findById(result.getAnalysisId()).orElseThrow();
+        assertThat(stored).isNotSameAs(result);
+        assertThat(stored.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(stored.getTotalRequests()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("끝난 결과의 반복 조회는 복원한 객체를 재사용하고, 다시 기록하거나 삭제하면 버림")
+    void finishedResultDecodedOnce() {
+        FileAnalysisRepository repository = open();
+        AnalysisResult result = completedResult();
+        repository.save(result);
+
+        AnalysisResult first = repository.findById(result.getAnalysisId()).orElseThrow();
+        assertThat(repository.findById(result.getAnalysisId())).containsSame(first);
+
+        result.setTotalRequests(9);
+        repository.update(result);
+        AnalysisResult updated = repository.findById(result.getAnalysisId()).orElseThrow();
+        assertThat(updated).isNotSameAs(first);
+        assertThat(updated.getTotalRequests()).isEqualTo(9);
+
+        repository.deleteById(result.getAnalysisId());
+        assertThat(repository.findById(result.getAnalysisId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("비정상 종료 시 진행 중이던 분석은 재시작 후 FAILED로 복원")
+    void inFlightResultFailedAfterCrash() {
+        FileAnalysisRepository crashed = open();
+        AnalysisResult processing = new AnalysisResult(UUID.randomUUID().toString());
+        crashed.save(processing);
+        AnalysisResult completed = completedResult();
+        crashed.save(completed);
+        // close() 없이 새로 연다 — 스냅샷 없이 로그를 재생
+
+        FileAnalysisRepository repository = open();
+
+        AnalysisResult restored = repository.findById(processing.getAnalysisId()).orElseThrow();
+        assertThat(restored.getStatus()).isEqualTo(AnalysisStatus.FAILED);
+        assertThat(restored.getFailureReason()).contains("재시작");
+        assertThat(repository.findById(completed.getAnalysisId()).orElseThrow().getStatus())
+                .isEqualTo(AnalysisStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("비정상 종료 시 IP 조회 중이던 분석은 통계를 유지한 채 COMPLETED로 복원하고, 조회되지 않은 IP는 UNKNOWN")
+    void enrichingResultCompletedAfterCrash() {
+        FileAnalysisRepository crashed = open();
+        AnalysisResult enriching = new AnalysisResult(UUID.randomUUID().toString());
+        crashed.save(enriching);
+        enriching.setTotalRequests(4);
+        enriching.getIpCounts().put("10.0.0.1", 3L);
+        enriching.getIpCounts().put("10.0.0.2", 1L);
+        // 로그 추가 전에 조회해 둔 IP 정보
+        IpInfo enriched = new IpInfo("10.0.0.1", "AS0", "Test", "test.com", "KR", "South Korea", "AS", "Asia");
+        enriching.setTopIps(List.of(enriched));
+        enriching.startEnriching();
+        crashed.update(enriching);
+        // close() 없이 새로 연다
+
+        AnalysisResult restored = open().findById(enriching.getAnalysisId()).orElseThrow();
+
+        assertThat(restored.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(restored.getFailureReason()).isNull();
+        assertThat(restored.getTotalRequests()).isEqualTo(4);
+        assertThat(restored.getTopIps()).containsExactlyInAnyOrder(enriched, IpInfo.unknown("10.0.0.2"));
+        assertThat(restored.isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("레코드를 복원하지 못하면 없는 결과가 아니라 UncheckedIOException")
+    void unreadableRecordThrows() throws IOException {
+        FileAnalysisRepository repository = open();
+        AnalysisResult result = completedResult();
+        repository.save(result);
+        Path log = directory.resolve("results.log");
+        byte[] bytes = Files.readAllBytes(log);
+        int statusAt = indexOf(bytes, result.getAnalysisId().getBytes(StandardCharsets.UTF_8))
+                + result.getAnalysisId().length();
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), statusAt);  // 알 수 없는 상태 값
+        }
+
+        assertThatThrownBy(() -> repository.findById(result.getAnalysisId()))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("레코드를 찾을 수 없음");
+    }
+
+    @Test
+    @DisplayName("잘린 마지막 레코드는 버리고 그 앞의 결과는 복원")
+    void tornTailTruncated() throws IOException {
+        FileAnalysisRepository repository = open();
+        AnalysisResult result = completedResult();
+        repository.save(result);
+        long validSize = repository.getLogSize();
+        repository.save(completedResult());
+        Path log = directory.resolve("results.log");
+        byte[] bytes = Files.readAllBytes(log);
+        Files.write(log, Arrays.copyOf(bytes, bytes.length - 5));
+        Files.deleteIfExists(directory.resolve("results.index"));
+
+        FileAnalysisRepository reopened = open();
+
+        assertThat(reopened.findById(result.getAnalysisId())).isPresent();
+        assertThat(reopened.getSize()).isEqualTo(1);
+        assertThat(reopened.getLogSize()).isEqualTo(validSize);
+    }
+
+    @Test
+    @DisplayName("스냅샷 이후 기록분만 재생하고, 스냅샷이 손상되면 로그 전체를 재생")
+    void snapshotPlusTailRecovery() throws IOException {
+        FileAnalysisRepository first = open();
+        AnalysisResult beforeSnapshot = completedResult();
+        first.save(beforeSnapshot);
+        first.close();
+        FileAnalysisRepository second = open();
+        AnalysisResult afterSnapshot = completedResult();
+        second.save(afterSnapshot);
+
+        FileAnalysisRepository recovered = open();
+        assertThat(recovered.findById(beforeSnapshot.getAnalysisId())).isPresent();
+        assertThat(recovered.findById(afterSnapshot.getAnalysisId())).isPresent();
+
+        Files.write(directory.resolve("results.index"), new byte[]{1, 2, 3}, StandardOpenOption.TRUNCATE_EXISTING);
+        FileAnalysisRepository replayed = open();
+        assertThat(replayed.getSize()).isEqualTo(2);
+        assertThat(replayed.findById(afterSnapshot.getAnalysisId()).orElseThrow().getTotalRequests()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("삭제는 재시작 후에도 유지되고, 삭제된 결과는 갱신으로 되살아나지 않음")
+    void deletionPersisted() {
+        FileAnalysisRepository repository = open();
+        AnalysisResult result = completedResult();
+        repository.save(result);
+
+        repository.deleteById(result.getAnalysisId());
+        repository.update(result);
+        repository.close();
+
+        assertThat(open().findById(result.getAnalysisId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("컴팩션은 최신 레코드만 남겨 로그를 줄이고 결과는 유지")
+    void compactionKeepsLatestRecords() throws IOException {
+        FileAnalysisRepository repository = open();
+        AnalysisResult result = completedResult();
+        for (int i = 0; i < 50; i++) {
+            result.setTotalRequests(i);
+            repository.save(result);
+        }
+        AnalysisResult deleted = completedResult();
+        repository.save(deleted);
+        repository.deleteById(deleted.getAnalysisId());
+        long before = repository.getLogSize();
+
+        repository.compact();
+
+        assertThat(repository.getLogSize()).isLessThan(before / 10);
+        assertThat(repository.findById(result.getAnalysisId()).orElseThrow().getTotalRequests()).isEqualTo(49);
+        repository.close();
+        FileAnalysisRepository reopened = open();
+        assertThat(reopened.getSize()).isEqualTo(1);
+        assertThat(reopened.findById(deleted.getAnalysisId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 끝난 결과는 정리 시 삭제되고 삭제 리스너에 전달")
+    void expiredResultsEvicted() {
+        FileAnalysisRepository repository = open(0);
+        List<AnalysisResult> evicted = new ArrayList<>();
+        repository.onEvicted(evicted::add);
+        AnalysisResult processing = new AnalysisResult(UUID.randomUUID().toString());
+        repository.save(processing);
+        AnalysisResult completed = completedResult();
+        repository.save(completed);
+
+        assertThat(repository.findById(completed.getAnalysisId())).isEmpty();
+        repository.maintain();
+
+        assertThat(evicted).extracting(AnalysisResult::getAnalysisId).containsExactly(completed.getAnalysisId());
+        assertThat(repository.findById(processing.getAnalysisId())).containsSame(processing);
+        assertThat(repository.getSize()).isEqualTo(1);
+    }
+}
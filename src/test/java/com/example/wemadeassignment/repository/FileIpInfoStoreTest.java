@@ -0,0 +1,122 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.domain.IpInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileIpInfoStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final IpInfo SAMPLE = new IpInfo(
+            "8.8.8.8", "AS15169", "Google LLC", "google.com",
+            "US", "United States", "NA", "North America");
+
+    private FileIpInfoStore newStore(Path file, Duration ttl) {
+        return new FileIpInfoStore(file, ttl, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("저장 후 재기동하면 파일에서 복원")
+    void restoresAfterRestart() {
+        Path file = tempDir.resolve("ipinfo-cache.log");
+        FileIpInfoStore store = newStore(file, Duration.ofHours(1));
+        store.save(SAMPLE);
+        store.close();
+
+        FileIpInfoStore restarted = newStore(file, Duration.ofHours(1));
+        assertThat(restarted.find("8.8.8.8")).isEmpty();
+
+        restarted.load();
+
+        assertThat(restarted.isLoaded()).isTrue();
+        assertThat(restarted.find("8.8.8.8")).map(StoredIpInfo::info).contains(SAMPLE);
+    }
+
+    @Test
+    @DisplayName("null 필드도 그대로 복원")
+    void restoresNullFields() {
+        Path file = tempDir.resolve("ipinfo-cache.log");
+        IpInfo partial = new IpInfo("1.1.1.1", "AS13335", "Cloudflare", null, "US", "United States", null, null);
+        FileIpInfoStore store = newStore(file, Duration.ofHours(1));
+        store.save(partial);
+        store.close();
+
+        FileIpInfoStore restarted = newStore(file, Duration.ofHours(1));
+        restarted.load();
+
+        assertThat(restarted.find("1.1.1.1")).map(StoredIpInfo::info).contains(partial);
+    }
+
+    @Test
+    @DisplayName("expire-after-write가 지난 항목은 반환하지 않음")
+    void expiredEntryIgnored() throws InterruptedException {
+        Path file = tempDir.resolve("ipinfo-cache.log");
+        FileIpInfoStore store = newStore(file, Duration.ofMillis(50));
+        store.save(SAMPLE);
+
+        Thread.sleep(100);
+
+        assertThat(store.find("8.8.8.8")).isEmpty();
+        store.close();
+    }
+
+    @Test
+    @DisplayName("잘린 마지막 레코드는 버리고 나머지는 복원")
+    void truncatedTailTolerated() throws IOException {
+        Path file = tempDir.resolve("ipinfo-cache.log");
+        FileIpInfoStore store = newStore(file, Duration.ofHours(1));
+        store.save(SAMPLE);
+        store.save(new IpInfo("1.1.1.1", "AS13335", "Cloudflare", "cloudflare.com",
+                "US", "United States", "NA", "North America"));
+        store.close();
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        FileIpInfoStore restarted = newStore(file, Duration.ofHours(1));
+        restarted.load();
+
+        assertThat(restarted.find("8.8.8.8")).isPresent();
+        assertThat(restarted.find("1.1.1.1")).isEmpty();
+
+        // 컴팩션으로 다시 쓰인 파일은 이후 기록까지 정상적으로 읽힌다
+        restarted.save(new IpInfo("9.9.9.9", "AS19281", "Quad9", "quad9.net",
+                "CH", "Switzerland", "EU", "Europe"));
+        restarted.close();
+
+        FileIpInfoStore again = newStore(file, Duration.ofHours(1));
+        again.load();
+        assertThat(again.find("8.8.8.8")).isPresent();
+        assertThat(again.find("9.9.9.9")).isPresent();
+    }
+
+    @Test
+    @DisplayName("컴팩션 후 중복 레코드 제거, 최신 값 유지")
+    void compactionKeepsLatest() {
+        Path file = tempDir.resolve("ipinfo-cache.log");
+        FileIpInfoStore store = newStore(file, Duration.ofHours(1));
+        store.load();
+        IpInfo updated = new IpInfo("8.8.8.8", "AS15169", "Google LLC (updated)", "google.com",
+                "US", "United States", "NA", "North America");
+        store.save(SAMPLE);
+        store.save(updated);
+
+        store.compact();
+        store.close();
+
+        FileIpInfoStore restarted = newStore(file, Duration.ofHours(1));
+        restarted.load();
+        assertThat(restarted.find("8.8.8.8")).map(StoredIpInfo::info).contains(updated);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.wemadeassignment.repository;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryAnalysisRepositoryTest {
+
+    private InMemoryAnalysisRepository newRepository(long ttlSeconds, long maxBytes) {
+        return new InMemoryAnalysisRepository(TestAnalysisProperties.builder()
+                .retention(new AnalysisProperties.RetentionProperties(ttlSeconds, maxBytes))
+                .build());
+    }
+
+    private static AnalysisResult completedResult() {
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        result.getPathCounts().put("/api/items", 3L);
+        result.getIpCounts().put("10.0.0.1", 3L);
+        result.complete();
+        return result;
+    }
+
+    @Test
+    @DisplayName("진행 중인 분석은 보관 기간이 지나도 삭제하지 않고, 끝난 뒤 갱신하면 보관 기간 적용")
+    void processingResultNeverExpires() {
+        InMemoryAnalysisRepository repository = newRepository(0, 268435456);
+        List<AnalysisResult> evicted = new ArrayList<>();
+        repository.onEvicted(evicted::add);
+        AnalysisResult result = new AnalysisResult(UUID.randomUUID().toString());
+        repository.save(result);
+
+        repository.cleanUp();
+        assertThat(repository.findById(result.getAnalysisId())).contains(result);
+
+        result.complete();
+        repository.update(result);
+        repository.cleanUp();
+
+        assertThat(repository.findById(result.getAnalysisId())).isEmpty();
+        assertThat(evicted).containsExactly(result);
+    }
+
+    @Test
+    @DisplayName("추정 크기 합이 상한을 넘으면 끝난 결과만 삭제하고 진행 중인 결과는 유지")
+    void sizeCapEvictsOnlyFinishedResults() {
+        long weight = InMemoryAnalysisRepository.weigh(completedResult());
+        InMemoryAnalysisRepository repository = newRepository(86400, weight * 3);
+        AnalysisResult processing = new AnalysisResult(UUID.randomUUID().toString());
+        repository.save(processing);
+
+        for (int i = 0; i < 10; i++) {
+            repository.save(completedResult());
+        }
+        repository.cleanUp();
+
+        assertThat(repository.getRetainedBytes()).isLessThanOrEqualTo(weight * 3);
+        assertThat(repository.getSize()).isLessThanOrEqualTo(4);
+        assertThat(repository.findById(processing.getAnalysisId())).contains(processing);
+    }
+
+    @Test
+    @DisplayName("보관 중인 집계 상태 크기도 가중치에 포함")
+    void retainedStateBytesCounted() {
+        AnalysisResult result = completedResult();
+        long before = InMemoryAnalysisRepository.weigh(result);
+
+        result.setRetainedStateBytes(1_000_000);
+
+        assertThat(InMemoryAnalysisRepository.weigh(result)).isEqualTo(before + 1_000_000);
+    }
+
+    @Test
+    @DisplayName("명시적 삭제는 삭제 리스너를 호출하지 않고, 삭제된 결과는 갱신으로 되살아나지 않음")
+    void explicitDeleteNotReportedAndNotResurrected() {
+        InMemoryAnalysisRepository repository = newRepository(86400, 268435456);
+        List<AnalysisResult> evicted = new ArrayList<>();
+        repository.onEvicted(evicted::add);
+        AnalysisResult result = completedResult();
+        repository.save(result);
+
+        repository.deleteById(result.getAnalysisId());
+        repository.update(result);
+        repository.cleanUp();
+
+        assertThat(repository.findById(result.getAnalysisId())).isEmpty();
+        assertThat(evicted).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보관 건수·추정 크기·사유별 삭제 건수를 메트릭으로 노출")
+    void metricsExposed() {
+        InMemoryAnalysisRepository repository = newRepository(0, 268435456);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+        repository.save(new AnalysisResult(UUID.randomUUID().toString()));
+        repository.save(completedResult());
+        repository.cleanUp();
+
+        assertThat(registry.get("analysis.repository.size").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("analysis.repository.retained").gauge().value()).isZero();
+        assertThat(registry.get("analysis.repository.evictions").tag("cause", "expired")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("analysis.repository.evictions").tag("cause", "size")
+                .functionCounter().count()).isZero();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.wemadeassignment.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowBitmapTest {
+
+    private static RowBitmap bitmap(TreeSet<Integer> rows) {
+        int[] sorted = rows.stream().mapToInt(Integer::intValue).toArray();
+        return RowBitmap.of(sorted, 0, sorted.length);
+    }
+
+    private static List<Integer> rows(RowBitmap bitmap, long skip) {
+        List<Integer> rows = new ArrayList<>();
+        bitmap.forEach(skip, rows::add);
+        return rows;
+    }
+
+    /** 배열 컨테이너(희소)와 비트맵 컨테이너(밀집)가 섞이도록 상위 16비트 구간마다 밀도를 달리한 집합 */
+    private static TreeSet<Integer> randomRows(Random random) {
+        TreeSet<Integer> rows = new TreeSet<>();
+        for (int high = 0; high < 4; high++) {
+            int count = random.nextInt(3) == 0 ? 20_000 : random.nextInt(100);
+            for (int i = 0; i < count; i++) {
+                rows.add((high << 16) | random.nextInt(1 << 16));
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("교집합·합집합이 컨테이너 종류와 관계없이 집합 연산 결과와 같음")
+    void andOrMatchSetOperations() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> left = randomRows(random);
+            TreeSet<Integer> right = randomRows(random);
+            TreeSet<Integer> intersection = new TreeSet<>(left);
+            intersection.retainAll(right);
+            TreeSet<Integer> union = new TreeSet<>(left);
+            union.addAll(right);
+
+            RowBitmap and = bitmap(left).and(bitmap(right));
+            RowBitmap or = bitmap(left).or(bitmap(right));
+
+            assertThat(rows(and, 0)).containsExactlyElementsOf(intersection);
+            assertThat(and.cardinality()).isEqualTo(intersection.size());
+            assertThat(rows(or, 0)).containsExactlyElementsOf(union);
+            assertThat(or.cardinality()).isEqualTo(union.size());
+        }
+    }
+
+    @Test
+    @DisplayName("앞쪽 행을 건너뛰고 이어서 순회하며, false를 반환하면 멈춤")
+    void forEachSkipsAndStops() {
+        TreeSet<Integer> set = new TreeSet<>();
+        IntStream.range(0, 10_000).forEach(i -> set.add(i * 7));  // 첫 구간은 비트맵, 두 번째 구간은 배열 컨테이너
+        RowBitmap bitmap = bitmap(set);
+
+        List<Integer> page = new ArrayList<>();
+        bitmap.forEach(9_990, row -> {
+            page.add(row);
+            return page.size() < 5;
+        });
+
+        assertThat(page).containsExactly(69_930, 69_937, 69_944, 69_951, 69_958);
+        assertThat(rows(bitmap, 10_000)).isEmpty();
+        assertThat(bitmap.contains(69_993)).isTrue();
+        assertThat(bitmap.contains(69_994)).isFalse();
+    }
+
+    @Test
+    @DisplayName("직렬화 후 읽으면 같은 행 집합이고, 크기는 계산한 값과 같음")
+    void serializationRoundTrip() throws IOException {
+        TreeSet<Integer> set = randomRows(new Random(7));
+        RowBitmap bitmap = bitmap(set);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bitmap.writeTo(new DataOutputStream(bytes));
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        RowBitmap read = RowBitmap.read(buffer);
+
+        assertThat(bytes.size()).isEqualTo(bitmap.serializedBytes());
+        assertThat(buffer.remaining()).isZero();
+        assertThat(rows(read, 0)).containsExactlyElementsOf(set);
+    }
+
+    @Test
+    @DisplayName("빈 집합과의 연산")
+    void emptyBitmap() {
+        RowBitmap bitmap = RowBitmap.of(new int[]{1, 70_000}, 0, 2);
+
+        assertThat(RowBitmap.EMPTY.isEmpty()).isTrue();
+        assertThat(bitmap.and(RowBitmap.EMPTY).isEmpty()).isTrue();
+        assertThat(rows(bitmap.or(RowBitmap.EMPTY), 0)).containsExactly(1, 70_000);
+        assertThat(RowBitmap.of(new int[]{1, 2, 3}, 1, 1).isEmpty()).isTrue();
+    }
+}
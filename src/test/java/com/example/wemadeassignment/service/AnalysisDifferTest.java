@@ -0,0 +1,121 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.AnalysisDiff;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisDifferTest {
+
+    private static final AnalysisProperties.DiffProperties THRESHOLDS = new AnalysisProperties.DiffProperties(3.0, 0.01, 0.2);
+
+    /** i번째 요청을 만드는 함수로 n건을 집계한 뒤, 보관 상태처럼 원본 응답 시간을 버린 집계기 */
+    private static LogAggregator aggregate(int n, IntFunction<AccessLog> request) {
+        LogAggregator aggregator = new LogAggregator();
+        for (int i = 0; i < n; i++) {
+            aggregator.aggregate(request.apply(i));
+        }
+        aggregator.releaseResponseTimes();
+        return aggregator;
+    }
+
+    private static AccessLog log(String ip, String path, int status, double responseTime) {
+        return new AccessLog("1/29/2026, 5:44:10.000 AM", ip, "GET", path, "curl/8.0", status,
+                "HTTP/1.1", 100, 200, responseTime, "TLSv1.2", path);
+    }
+
+    /** 두 집계기의 상위 N개 경로·IP 합집합으로 요약을 만들어 비교 — 서비스가 게시된 상위 N개로 요약하는 것과 같다 */
+    private static AnalysisDiff compare(LogAggregator base, LogAggregator target, int topN) {
+        Set<String> paths = new HashSet<>(base.getTopN(base.getPathCounts(), topN).keySet());
+        paths.addAll(target.getTopN(target.getPathCounts(), topN).keySet());
+        Set<String> ips = new HashSet<>(base.getTopN(base.getIpCounts(), topN).keySet());
+        ips.addAll(target.getTopN(target.getIpCounts(), topN).keySet());
+        return AnalysisDiffer.compare("base", AnalysisDiffer.Profile.of(base, paths, ips),
+                "target", AnalysisDiffer.Profile.of(target, paths, ips), topN, THRESHOLDS);
+    }
+
+    @Test
+    @DisplayName("5xx 급증·새 경로·새 상위 IP·지연 증가를 유의한 변화로 보고")
+    void reportsRegression() {
+        // 기준 IP 요청 수: 10.0.0.1 4,000 / 10.0.0.2 3,000 / 10.0.0.3 2,000 / 10.0.0.4 1,000
+        LogAggregator base = aggregate(10_000, i -> log(i < 4000 ? "10.0.0.1" : i < 7000 ? "10.0.0.2" : i < 9000 ? "10.0.0.3" : "10.0.0.4",
+                i % 2 == 0 ? "/a" : "/c", i < 100 ? 500 : 200, 0.1));
+        // 앞 1,000건은 새 경로 /b의 느린 5xx, 앞 3,000건은 한 IP에서 몰려 10.0.0.3이 상위 3개에서 밀려남
+        LogAggregator target = aggregate(10_000, i -> log(i < 3000 ? "192.168.0.1" : i < 7000 ? "10.0.0.1" : i < 9000 ? "10.0.0.2" : "10.0.0.3",
+                i < 1000 ? "/b" : (i % 2 == 0 ? "/a" : "/c"), i < 1000 ? 500 : 200, i < 1000 ? 2.0 : 0.1));
+
+        AnalysisDiff diff = compare(base, target, 3);
+
+        assertThat(diff.significant()).isTrue();
+        assertThat(diff.statusGroups().keySet()).containsExactly("2xx", "3xx", "4xx", "5xx");
+        AnalysisDiff.ShareChange serverErrors = diff.statusGroups().get("5xx");
+        assertThat(serverErrors.baseShare()).isEqualTo(0.01);
+        assertThat(serverErrors.targetShare()).isEqualTo(0.1);
+        assertThat(serverErrors.delta()).isEqualTo(0.09);
+        assertThat(serverErrors.significant()).isTrue();
+        assertThat(diff.statusGroups().get("3xx").significant()).isFalse();
+
+        assertThat(diff.paths().keySet().iterator().next()).isEqualTo("/b");
+        assertThat(diff.newTopPaths()).containsOnlyKeys("/b");
+        assertThat(diff.disappearedTopPaths()).isEmpty();
+        assertThat(diff.newTopIps()).containsOnlyKeys("192.168.0.1");
+        assertThat(diff.newTopIps().get("192.168.0.1").targetCount()).isEqualTo(3000);
+        assertThat(diff.disappearedTopIps()).containsOnlyKeys("10.0.0.3");
+
+        assertThat(diff.responseTimes().get("p50").significant()).isFalse();
+        assertThat(diff.responseTimes().get("p99").significant()).isTrue();
+        assertThat(diff.responseTimes().get("avg").relativeChange()).isGreaterThan(1.0);
+    }
+
+    @Test
+    @DisplayName("표본 차이 수준의 비율 변화와 상위 N개 경계의 순위 바뀜은 유의하지 않음")
+    void filtersNoise() {
+        LogAggregator base = aggregate(1000, i -> log(i < 100 ? "10.0.0.1" : (i < 199 ? "10.0.0.2" : "10.0.0.3"),
+                "/a", i < 10 ? 500 : 200, 0.1));
+        LogAggregator target = aggregate(1000, i -> log(i < 99 ? "10.0.0.1" : (i < 199 ? "10.0.0.2" : "10.0.0.3"),
+                "/a", i < 13 ? 500 : 200, 0.1));
+
+        AnalysisDiff diff = compare(base, target, 2);
+
+        assertThat(diff.statusGroups().get("5xx").delta()).isEqualTo(0.003);
+        assertThat(diff.statusGroups().get("5xx").significant()).isFalse();
+        assertThat(diff.newTopIps()).isEmpty();
+        assertThat(diff.disappearedTopIps()).isEmpty();
+        assertThat(diff.responseTimes().values()).noneMatch(AnalysisDiff.LatencyChange::significant);
+        assertThat(diff.significant()).isFalse();
+    }
+
+    @Test
+    @DisplayName("기준 응답 시간이 0이면 대상 값과 무관하게 유의하지 않음")
+    void zeroBaseLatencyIsNotSignificant() {
+        LogAggregator base = aggregate(1000, i -> log("10.0.0.1", "/a", 200, 0));
+        LogAggregator target = aggregate(1000, i -> log("10.0.0.1", "/a", 200, 0.001));
+
+        AnalysisDiff diff = compare(base, target, 10);
+
+        assertThat(diff.responseTimes().get("avg").target()).isGreaterThan(0);
+        assertThat(diff.responseTimes().values())
+                .allSatisfy(change -> assertThat(change.relativeChange()).isNull())
+                .noneMatch(AnalysisDiff.LatencyChange::significant);
+        assertThat(diff.significant()).isFalse();
+    }
+
+    @Test
+    @DisplayName("같은 분석끼리 비교하면 변화 없음")
+    void identicalAnalysesHaveNoChange() {
+        LogAggregator state = aggregate(500, i -> log("10.0.0." + i % 7, "/p" + i % 3, 200 + i % 4 * 100, i / 1000.0));
+
+        AnalysisDiff diff = compare(state, state, 10);
+
+        assertThat(diff.paths()).hasSize(3).allSatisfy((path, change) -> assertThat(change.delta()).isZero());
+        assertThat(diff.responseTimes().get("p95").relativeChange()).isZero();
+        assertThat(diff.significant()).isFalse();
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.wemadeassignment.service;
 
 import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
 import com.example.wemadeassignment.domain.AnalysisResult;
 import com.example.wemadeassignment.domain.AnalysisStatus;
 import com.example.wemadeassignment.domain.IpInfo;
 import com.example.wemadeassignment.domain.ParseErrorSample;
 import com.example.wemadeassignment.domain.ResponseTimeStats;
 import com.example.wemadeassignment.parser.CsvLogParser;
+import com.example.wemadeassignment.parser.ParseContext;
 import com.example.wemadeassignment.parser.ParseStatistics;
 import com.example.wemadeassignment.repository.AnalysisRepository;
+import com.example.wemadeassignment.repository.ColumnarLogStore;
 import com.example.wemadeassignment.repository.InMemoryAnalysisRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +21,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -49,10 +55,10 @@ class AnalysisServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        analysisRepository = new InMemoryAnalysisRepository();
-        properties = new AnalysisProperties(52428800L, 200000, 10);
+        properties = TestAnalysisProperties.defaults();
+        analysisRepository = new InMemoryAnalysisRepository(properties);
         service = new AnalysisServiceImpl(csvLogParser, ipEnrichmentService,
-                analysisRepository, properties, syncExecutor);
+                analysisRepository, new ColumnarLogStore(properties), properties, syncExecutor, syncExecutor);
     }
 
     private MockMultipartFile csvFile(String content) {
@@ -62,7 +68,7 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("정상 제출 시 PROCESSING 상태의 AnalysisResult 반환")
     void submitAnalysisReturnsProcessingResult() {
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenReturn(new ParseStatistics(0, 0, 0, List.of()));
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
@@ -75,7 +81,7 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("동기 executor 사용 시 제출 즉시 COMPLETED")
     void submitWithSyncExecutorCompletesImmediately() {
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
@@ -85,12 +91,67 @@ class AnalysisServiceImplTest {
         assertThat(result.getCompletedAt()).isNotNull();
     }
 
+    @Test
+    @DisplayName("실행 시작 시 대기열 대기 시간 기록")
+    void queueWaitRecorded() {
+        when(csvLogParser.parse(any(), any(), any()))
+                .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        AnalysisResult result = service.submitAnalysis(csvFile("header\ndata"));
+
+        assertThat(result.getQueueWaitMillis()).isNotNull().isGreaterThanOrEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("파서 진행 통지가 읽은 바이트 수와 함께 진행 상황에 반영")
+    void parseProgressPublished() {
+        when(csvLogParser.parse(any(), any(), any())).thenAnswer(invocation -> {
+            InputStream is = invocation.getArgument(0);
+            ParseContext context = invocation.getArgument(2);
+            is.readAllBytes();
+            context.onProgress(2, 1);
+            return new ParseStatistics(2, 1, 1, List.of());
+        });
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        AnalysisResult result = service.submitAnalysis(csvFile("header\ndata"));
+
+        assertThat(result.getProgress()).isNotNull();
+        assertThat(result.getProgress().getTotalBytes()).isEqualTo(11);
+        assertThat(result.getProgress().getBytesRead()).isEqualTo(11);
+        assertThat(result.getProgress().getLinesParsed()).isEqualTo(2);
+        assertThat(result.getProgress().getErrorCount()).isEqualTo(1);
+        assertThat(result.getProgress().getPercent()).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("스냅샷 간격이 지나면 파싱 중 중간 집계 게시")
+    void partialResultPublishedDuringParse() {
+        AnalysisProperties everyProgress = TestAnalysisProperties.builder()
+                .stream(new AnalysisProperties.StreamProperties(0, 600000, 30000))
+                .build();
+        AnalysisServiceImpl snapshotService = new AnalysisServiceImpl(
+                csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(everyProgress), everyProgress, syncExecutor, syncExecutor);
+        when(csvLogParser.parse(any(), any(), any())).thenAnswer(invocation -> {
+            ParseContext context = invocation.getArgument(2);
+            context.onProgress(4096, 0);
+            return new ParseStatistics(4096, 4096, 0, List.of());
+        });
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        AnalysisResult result = snapshotService.submitAnalysis(csvFile("header\ndata"));
+
+        assertThat(result.getPartialResult()).isNotNull();
+        assertThat(result.getPartialResult().linesParsed()).isEqualTo(4096);
+    }
+
     @Test
     @DisplayName("파싱 오류 정보가 결과에 반영")
     void parseErrorsReflected() {
         List<ParseErrorSample> errors = List.of(
                 new ParseErrorSample(2, "bad,line", "필드 수 불일치"));
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenReturn(new ParseStatistics(2, 1, 1, errors));
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
@@ -103,7 +164,7 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("getAnalysis — 존재하는 ID 조회")
     void getAnalysisFound() {
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenReturn(new ParseStatistics(0, 0, 0, List.of()));
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
@@ -139,9 +200,9 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("파일 크기 초과 시 예외")
     void submitOversizedFile() {
-        AnalysisProperties smallLimit = new AnalysisProperties(10L, 200000, 10);
+        AnalysisProperties smallLimit = TestAnalysisProperties.builder().maxFileSize(10L).build();
         AnalysisServiceImpl smallService = new AnalysisServiceImpl(
-                csvLogParser, ipEnrichmentService, analysisRepository, smallLimit, syncExecutor);
+                csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(smallLimit), smallLimit, syncExecutor, syncExecutor);
 
         MockMultipartFile bigFile = new MockMultipartFile("file", "test.csv", "text/csv",
                 "a]".repeat(20).getBytes());
@@ -153,7 +214,7 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("파싱 중 예외 발생 시 FAILED 상태")
     void parsingExceptionCausesFailed() {
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenThrow(new RuntimeException("파싱 오류"));
 
         AnalysisResult result = service.submitAnalysis(csvFile("header\ndata"));
@@ -170,7 +231,7 @@ class AnalysisServiceImplTest {
             throw new RejectedExecutionException("풀 가득 참");
         };
         AnalysisServiceImpl rejectService = new AnalysisServiceImpl(
-                csvLogParser, ipEnrichmentService, analysisRepository, properties, rejectingExecutor);
+                csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(properties), properties, rejectingExecutor, syncExecutor);
 
         assertThatThrownBy(() -> rejectService.submitAnalysis(csvFile("header\ndata")))
                 .isInstanceOf(com.example.wemadeassignment.exception.ServerBusyException.class);
@@ -192,14 +253,14 @@ class AnalysisServiceImplTest {
         CountDownLatch latch = new CountDownLatch(1);
         Executor asyncExecutor = Executors.newSingleThreadExecutor();
 
-        when(csvLogParser.parse(any(), any())).thenAnswer(invocation -> {
+        when(csvLogParser.parse(any(), any(), any())).thenAnswer(invocation -> {
             latch.await(5, TimeUnit.SECONDS);
             return new ParseStatistics(0, 0, 0, List.of());
         });
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
         AnalysisServiceImpl asyncService = new AnalysisServiceImpl(
-                csvLogParser, ipEnrichmentService, analysisRepository, properties, asyncExecutor);
+                csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(properties), properties, asyncExecutor, syncExecutor);
 
         AnalysisResult result = asyncService.submitAnalysis(csvFile("header\ndata"));
 
@@ -215,7 +276,7 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("ipEnrichmentService.enrich()가 호출됨")
     void ipEnrichmentServiceCalled() {
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
@@ -227,7 +288,7 @@ class AnalysisServiceImplTest {
     @Test
     @DisplayName("분석 완료 시 responseTimeStats가 null이 아님")
     void responseTimeStatsPopulated() {
-        when(csvLogParser.parse(any(), any()))
+        when(csvLogParser.parse(any(), any(), any()))
                 .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
         when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
 
@@ -237,4 +298,170 @@ class AnalysisServiceImplTest {
         ResponseTimeStats stats = result.getResponseTimeStats();
         assertThat(stats).isNotNull();
     }
+
+    @Test
+    @DisplayName("IP 조회 대기 중에는 ENRICHING 상태로 집계 결과가 먼저 노출")
+    void statisticsPublishedBeforeEnrichment() throws InterruptedException {
+        CountDownLatch enrichLatch = new CountDownLatch(1);
+        ExecutorService enrichmentExecutor = Executors.newSingleThreadExecutor();
+
+        when(csvLogParser.parse(any(), any(), any()))
+                .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
+        when(ipEnrichmentService.enrich(any())).thenAnswer(invocation -> {
+            enrichLatch.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        AnalysisServiceImpl splitService = new AnalysisServiceImpl(
+                csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(properties), properties, syncExecutor, enrichmentExecutor);
+
+        try {
+            AnalysisResult result = splitService.submitAnalysis(csvFile("header\ndata"));
+
+            assertThat(result.getStatus()).isEqualTo(AnalysisStatus.ENRICHING);
+            assertThat(result.getResponseTimeStats()).isNotNull();
+            assertThat(result.getCompletedAt()).isNull();
+
+            enrichLatch.countDown();
+            Thread.sleep(500);
+
+            assertThat(result.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        } finally {
+            enrichmentExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("IP 조회 단계 실패 시에도 집계 결과는 유지되고 UNKNOWN으로 COMPLETED")
+    void enrichmentFailureStillCompletes() {
+        when(csvLogParser.parse(any(), any(), any()))
+                .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
+        when(ipEnrichmentService.enrich(any())).thenThrow(new RuntimeException("조회 실패"));
+
+        AnalysisResult result = service.submitAnalysis(csvFile("header\ndata"));
+
+        assertThat(result.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(result.getResponseTimeStats()).isNotNull();
+        assertThat(result.getTopIps()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("실행 중인 분석 취소 시 파싱 중단 + 결과 삭제")
+    void cancelRunningAnalysis() throws InterruptedException {
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        ExecutorService asyncExecutor = Executors.newSingleThreadExecutor();
+
+        when(csvLogParser.parse(any(), any(), any())).thenAnswer(invocation -> {
+            ParseContext context = invocation.getArgument(2);
+            parsing.countDown();
+            while (!context.isCancelled()) {
+                Thread.sleep(5);
+            }
+            stopped.countDown();
+            throw new CancellationException();
+        });
+
+        AnalysisServiceImpl asyncService = new AnalysisServiceImpl(
+                csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(properties), properties, asyncExecutor, syncExecutor);
+        try {
+            AnalysisResult result = asyncService.submitAnalysis(csvFile("header\ndata"));
+            assertThat(parsing.await(2, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(asyncService.cancelAnalysis(result.getAnalysisId())).isTrue();
+
+            assertThat(stopped.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(result.getStatus()).isEqualTo(AnalysisStatus.CANCELLED);
+            assertThat(asyncService.getAnalysis(result.getAnalysisId())).isNull();
+            verify(ipEnrichmentService, never()).enrich(any());
+        } finally {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("대기 중인 분석 취소 시 대기열에서 즉시 제거 + 메모리 예산 반환")
+    void cancelQueuedAnalysis() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(csvLogParser.parse(any(), any(), any())).thenAnswer(invocation -> {
+            release.await(2, TimeUnit.SECONDS);
+            return new ParseStatistics(0, 0, 0, List.of());
+        });
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        try (AnalysisTaskExecutor taskExecutor = new AnalysisTaskExecutor(1024L * 1024 * 1024, 1, 200000, 300, 1000)) {
+            AnalysisServiceImpl queuedService = new AnalysisServiceImpl(
+                    csvLogParser, ipEnrichmentService, analysisRepository, new ColumnarLogStore(properties), properties, taskExecutor, syncExecutor);
+
+            AnalysisResult running = queuedService.submitAnalysis(csvFile("header\ndata"));
+            AnalysisResult queued = queuedService.submitAnalysis(csvFile("header\nother"));
+            long reservedBefore = taskExecutor.getReservedBytes();
+
+            assertThat(queuedService.cancelAnalysis(queued.getAnalysisId())).isTrue();
+
+            assertThat(taskExecutor.getPendingJobs()).isZero();
+            assertThat(taskExecutor.getReservedBytes()).isLessThan(reservedBefore);
+            assertThat(queued.getStatus()).isEqualTo(AnalysisStatus.CANCELLED);
+
+            release.countDown();
+            Thread.sleep(200);
+            assertThat(running.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+            verify(csvLogParser, times(1)).parse(any(), any(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("같은 내용 재제출 시 파싱 없이 기존 분석 재사용 + SHA-256 기록")
+    void duplicateUploadReusesAnalysis() {
+        when(csvLogParser.parse(any(), any(), any()))
+                .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        AnalysisResult first = service.submitAnalysis(csvFile("header\ndata"));
+        AnalysisResult second = service.submitAnalysis(csvFile("header\ndata"));
+        AnalysisResult other = service.submitAnalysis(csvFile("header\nother"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(other.getAnalysisId()).isNotEqualTo(first.getAnalysisId());
+        assertThat(first.getContentHash())
+                .isEqualTo("aa432b48107ecaaa8b2627975de80aea14b557cc870f5093d1fb090a09fc3ef9");
+        verify(csvLogParser, times(2)).parse(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("실패한 분석은 재사용하지 않고 다시 분석")
+    void failedAnalysisNotReused() {
+        when(csvLogParser.parse(any(), any(), any()))
+                .thenThrow(new RuntimeException("파싱 오류"))
+                .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        AnalysisResult failed = service.submitAnalysis(csvFile("header\ndata"));
+        AnalysisResult retried = service.submitAnalysis(csvFile("header\ndata"));
+
+        assertThat(failed.getStatus()).isEqualTo(AnalysisStatus.FAILED);
+        assertThat(retried.getAnalysisId()).isNotEqualTo(failed.getAnalysisId());
+        assertThat(retried.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("취소된 분석과 같은 내용을 재제출하면 새로 분석")
+    void cancelledAnalysisNotReused() {
+        when(csvLogParser.parse(any(), any(), any()))
+                .thenReturn(new ParseStatistics(1, 1, 0, List.of()));
+        when(ipEnrichmentService.enrich(any())).thenReturn(List.of());
+
+        AnalysisResult first = service.submitAnalysis(csvFile("header\ndata"));
+        service.cancelAnalysis(first.getAnalysisId());
+        AnalysisResult resubmitted = service.submitAnalysis(csvFile("header\ndata"));
+
+        assertThat(resubmitted.getAnalysisId()).isNotEqualTo(first.getAnalysisId());
+        assertThat(service.getAnalysis(resubmitted.getAnalysisId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 분석 취소 시 false")
+    void cancelUnknownAnalysis() {
+        assertThat(service.cancelAnalysis("non-existent")).isFalse();
+    }
 }
@@ -1,22 +1,45 @@
 package com.example.wemadeassignment.service;
 
 import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.controller.AnalysisEventStream;
+import com.example.wemadeassignment.domain.AnalysisDiff;
 import com.example.wemadeassignment.domain.AnalysisResult;
 import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.Dimension;
+import com.example.wemadeassignment.domain.DrillDownResult;
 import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.domain.RollupResult;
+import com.example.wemadeassignment.dto.AnalysisResponse;
+import com.example.wemadeassignment.exception.AnalysisConflictException;
+import com.example.wemadeassignment.exception.AnalysisNotFoundException;
 import com.example.wemadeassignment.parser.CsvLogParserImpl;
+import com.example.wemadeassignment.repository.ColumnarLogStore;
+import com.example.wemadeassignment.repository.FileAnalysisRepository;
 import com.example.wemadeassignment.repository.InMemoryAnalysisRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * CsvLogParser(실제) + AnalysisServiceImpl을 엮어 CSV 파일 기반 분석 흐름을 검증.
@@ -25,6 +48,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 class AnalysisServiceIntegrationTest {
 
     private AnalysisServiceImpl service;
+    private InMemoryAnalysisRepository repository;
 
     private static final IpInfo SAMPLE_IP_INFO = new IpInfo(
             "121.158.115.86", "AS4766", "Korea Telecom", "kt.com",
@@ -32,9 +56,9 @@ class AnalysisServiceIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        CsvLogParserImpl csvLogParser = new CsvLogParserImpl(new AnalysisProperties(52428800L, 200000, 10));
-        InMemoryAnalysisRepository repository = new InMemoryAnalysisRepository();
-        AnalysisProperties properties = new AnalysisProperties(52428800L, 200000, 10);
+        AnalysisProperties properties = TestAnalysisProperties.defaults();
+        CsvLogParserImpl csvLogParser = new CsvLogParserImpl(properties);
+        repository = new InMemoryAnalysisRepository(properties);
 
         // IpEnrichmentService stub — 입력 IP 수만큼 SAMPLE 반환
         IpEnrichmentService ipEnrichmentStub = ips ->
@@ -44,7 +68,7 @@ class AnalysisServiceIntegrationTest {
         Executor syncExecutor = Runnable::run;
 
         service = new AnalysisServiceImpl(csvLogParser, ipEnrichmentStub,
-                repository, properties, syncExecutor);
+                repository, new ColumnarLogStore(properties), properties, syncExecutor, syncExecutor);
     }
 
     private MockMultipartFile loadCsvFile(String classpathLocation) throws IOException {
@@ -115,4 +139,366 @@ class AnalysisServiceIntegrationTest {
         assertThat(result.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
         assertThat(result.getParseErrorCount()).isZero();
     }
+
+    @Test
+    @DisplayName("append — 새 청크만 파싱하여 기존 집계에 누적")
+    void appendFoldsChunkIntoExistingAnalysis() throws IOException {
+        AnalysisResult result = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        String chunk = "\"1/29/2026, 6:00:00.000 AM\",121.158.115.86,GET,/bbs/list/mir2free,curl/8.0,404,HTTP/1.1,100,200,0.5,TLSv1.2,/bbs/list/mir2free\n";
+
+        AnalysisResult appended = service.appendAnalysis(result.getAnalysisId(),
+                new MockMultipartFile("file", "more.csv", "text/csv", chunk.getBytes()));
+
+        assertThat(appended).isSameAs(result);
+        assertThat(result.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(result.getTotalRequests()).isEqualTo(3);
+        assertThat(result.getIpCounts()).containsEntry("121.158.115.86", 2L);
+        assertThat(result.getPathCounts()).containsEntry("/bbs/list/mir2free", 2L);
+        assertThat(result.getStatusCodeCounts()).containsEntry(200, 2L).containsEntry(404, 1L);
+        assertThat(result.getResponseTimeStats().max()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("append — 연속 추가와 파싱 오류 누적")
+    void appendRepeatedlyAccumulatesErrors() throws IOException {
+        AnalysisResult result = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+
+        service.appendAnalysis(result.getAnalysisId(), loadCsvFile("csv/invalid-lines.csv"));
+        service.appendAnalysis(result.getAnalysisId(), loadCsvFile("csv/normal.csv"));
+
+        assertThat(result.getTotalRequests()).isEqualTo(5);
+        assertThat(result.getParseErrorCount()).isEqualTo(1);
+        assertThat(result.getParseErrorSamples()).hasSize(1);
+        assertThat(result.getIpCounts()).containsEntry("121.158.115.86", 3L).containsEntry("61.38.42.234", 2L);
+    }
+
+    @Test
+    @DisplayName("append — 완료 대기 조회는 파일 저장소에서도 추가 결과가 완료될 때까지 기다림")
+    void appendWaitsUntilAppendedResultCompletes(@TempDir Path storeDirectory) throws IOException {
+        AnalysisProperties properties = TestAnalysisProperties.builder()
+                .store(new AnalysisProperties.StoreProperties("file", storeDirectory.toString(), 600, 1024))
+                .build();
+        FileAnalysisRepository fileRepository = new FileAnalysisRepository(properties);
+        fileRepository.open();
+        // IP 조회 단계를 붙잡아 두었다가 직접 실행 — 추가 분석이 ENRICHING에 머무는 동안 대기 조회를 건다
+        List<Runnable> pendingEnrichment = new ArrayList<>();
+        AnalysisServiceImpl fileService = new AnalysisServiceImpl(new CsvLogParserImpl(properties),
+                ips -> List.of(), fileRepository, new ColumnarLogStore(properties), properties,
+                Runnable::run, pendingEnrichment::add);
+        AnalysisEventStream eventStream = new AnalysisEventStream(properties);
+        try {
+            AnalysisResult result = fileService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+            pendingEnrichment.removeFirst().run();
+            assertThat(fileService.getAnalysis(result.getAnalysisId()).getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+
+            fileService.appendAnalysis(result.getAnalysisId(), loadCsvFile("csv/normal.csv"));
+            DeferredResult<ResponseEntity<AnalysisResponse>> deferred =
+                    eventStream.awaitFinished(fileService.getAnalysis(result.getAnalysisId()), 5000);
+
+            assertThat(deferred.hasResult()).isFalse();
+
+            pendingEnrichment.removeFirst().run();
+
+            assertThat(deferred.hasResult()).isTrue();
+            @SuppressWarnings("unchecked")
+            AnalysisResponse response = ((ResponseEntity<AnalysisResponse>) deferred.getResult()).getBody();
+            assertThat(response.status()).isEqualTo(AnalysisStatus.COMPLETED);
+            assertThat(response.totalRequests()).isEqualTo(4L);
+        } finally {
+            eventStream.close();
+            fileRepository.close();
+        }
+    }
+
+    @Test
+    @DisplayName("append — 없는 분석은 404, 실패한 분석은 충돌")
+    void appendRejectsUnknownOrFailedAnalysis() throws IOException {
+        MockMultipartFile chunk = loadCsvFile("csv/normal.csv");
+
+        assertThatThrownBy(() -> service.appendAnalysis("non-existent", chunk))
+                .isInstanceOf(AnalysisNotFoundException.class);
+
+        AnalysisResult failed = new AnalysisResult("failed-analysis");
+        failed.fail("오류");
+        repository.save(failed);
+        assertThatThrownBy(() -> service.appendAnalysis("failed-analysis", chunk))
+                .isInstanceOf(AnalysisConflictException.class);
+    }
+
+    @Test
+    @DisplayName("export — 상위 N개가 아닌 전체 집계를 커서로 나누어 내보내고, 추가 분석 후에는 갱신된 값을 내보냄")
+    void exportStreamsFullCountsAcrossPages() throws IOException {
+        AnalysisResult result = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+
+        DimensionExport first = service.exportDimension(result.getAnalysisId(), Dimension.PATH,
+                DimensionExport.Format.NDJSON, null, null, 1);
+        DimensionExport second = service.exportDimension(result.getAnalysisId(), Dimension.PATH,
+                DimensionExport.Format.NDJSON, null, first.nextCursor(), 1);
+
+        assertThat(write(first)).isEqualTo("{\"key\":\"/bbs/list/mir2free\",\"count\":1}\n");
+        assertThat(write(second)).isEqualTo("{\"key\":\"/event/banner/mir2/popup\",\"count\":1}\n");
+        assertThat(second.nextCursor()).isNull();
+
+        String chunk = "\"1/29/2026, 6:00:00.000 AM\",10.0.0.9,GET,/bbs/list/mir2free,curl/8.0,404,HTTP/1.1,100,200,0.5,TLSv1.2,/bbs/list/mir2free\n";
+        service.appendAnalysis(result.getAnalysisId(),
+                new MockMultipartFile("file", "more.csv", "text/csv", chunk.getBytes()));
+
+        assertThat(write(service.exportDimension(result.getAnalysisId(), Dimension.STATUS_CODE,
+                DimensionExport.Format.CSV, null, null, null)))
+                .isEqualTo("key,count\n200,2\n404,1\n");
+        assertThat(write(service.exportDimension(result.getAnalysisId(), Dimension.IP,
+                DimensionExport.Format.CSV, "10.", null, null)))
+                .isEqualTo("key,count\n10.0.0.9,1\n");
+    }
+
+    @Test
+    @DisplayName("export — 잘못된 limit은 400, 없는 분석은 404, 전체 집계가 없는 분석은 충돌")
+    void exportRejectsInvalidRequests() throws IOException {
+        AnalysisResult result = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        AnalysisResult failed = new AnalysisResult("failed-analysis");
+        failed.fail("오류");
+        repository.save(failed);
+
+        assertThatThrownBy(() -> service.exportDimension(result.getAnalysisId(), Dimension.IP,
+                DimensionExport.Format.NDJSON, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.exportDimension("non-existent", Dimension.IP,
+                DimensionExport.Format.NDJSON, null, null, null))
+                .isInstanceOf(AnalysisNotFoundException.class);
+        assertThatThrownBy(() -> service.exportDimension("failed-analysis", Dimension.IP,
+                DimensionExport.Format.NDJSON, null, null, null))
+                .isInstanceOf(AnalysisConflictException.class);
+    }
+
+    /** 컬럼 저장소를 켠 서비스 — 컬럼 파일은 {@code columns} 아래에 기록 */
+    private static AnalysisServiceImpl columnarService(Path columns) {
+        AnalysisProperties columnar = TestAnalysisProperties.builder()
+                .columnar(new AnalysisProperties.ColumnarProperties(true, columns.toString(), 8192, 64))
+                .build();
+        Executor syncExecutor = Runnable::run;
+        ColumnarLogStore columnarLogStore = new ColumnarLogStore(columnar);
+        columnarLogStore.open();
+        return new AnalysisServiceImpl(new CsvLogParserImpl(columnar),
+                ips -> ips.stream().map(IpInfo::unknown).toList(),
+                new InMemoryAnalysisRepository(columnar), columnarLogStore, columnar, syncExecutor, syncExecutor);
+    }
+
+    @Test
+    @DisplayName("query — 컬럼 저장소가 켜져 있으면 업로드·추가한 로그를 필터·그룹으로 조회")
+    void queryDrillsDownColumnarSegments(@TempDir Path columns) throws IOException {
+        AnalysisServiceImpl columnarService = columnarService(columns);
+
+        AnalysisResult result = columnarService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        String chunk = "\"1/29/2026, 6:00:00.000 AM\",10.0.0.9,GET,/bbs/list/mir2free,curl/8.0,404,HTTP/1.1,100,200,0.5,TLSv1.2,/bbs/list/mir2free\n";
+        columnarService.appendAnalysis(result.getAnalysisId(),
+                new MockMultipartFile("file", "more.csv", "text/csv", chunk.getBytes()));
+
+        DrillDownResult byPath = columnarService.queryLogs(result.getAnalysisId(),
+                LogQuery.of(null, null, null, null, null, "path", null));
+        DrillDownResult notFound = columnarService.queryLogs(result.getAnalysisId(),
+                LogQuery.of(null, "/bbs/list/mir2free", null, "4xx", null, "ip", null));
+
+        assertThat(byPath.matchedRequests()).isEqualTo(3);
+        assertThat(byPath.groups()).containsEntry("/bbs/list/mir2free", 2L)
+                .containsEntry("/event/banner/mir2/popup", 1L);
+        assertThat(notFound.matchedRequests()).isEqualTo(1);
+        assertThat(notFound.groups()).containsExactly(Map.entry("10.0.0.9", 1L));
+        assertThat(notFound.responseTimeStats().max()).isEqualTo(0.5);
+
+        columnarService.cancelAnalysis(result.getAnalysisId());
+        assertThat(columns.resolve(result.getAnalysisId())).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("lines — 역색인으로 업로드·추가한 원본 라인을 조건별로 찾음")
+    void linesReturnsOriginalRows(@TempDir Path columns) throws IOException {
+        AnalysisServiceImpl columnarService = columnarService(columns);
+        AnalysisResult result = columnarService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        String chunk = "\"1/29/2026, 6:00:00.000 AM\",10.0.0.9,GET,/bbs/list/mir2free,curl/8.0,404,HTTP/1.1,100,200,0.5,TLSv1.2,/bbs/list/mir2free\n";
+        columnarService.appendAnalysis(result.getAnalysisId(),
+                new MockMultipartFile("file", "more.csv", "text/csv", chunk.getBytes()));
+
+        LogLines byPath = columnarService.findLines(result.getAnalysisId(),
+                LineQuery.of(null, List.of("/bbs/list/mir2free"), null, null, null));
+        LogLines byStatus = columnarService.findLines(result.getAnalysisId(),
+                LineQuery.of(List.of("10.0.0.9", "61.38.42.234"), null, List.of("4xx"), null, null));
+
+        assertThat(byPath.matchedRequests()).isEqualTo(2);
+        assertThat(byPath.lines()).hasSize(2).allMatch(line -> line.contains(",/bbs/list/mir2free,"));
+        assertThat(byPath.lines().get(1)).isEqualTo(chunk.strip());
+        assertThat(byStatus.lines()).containsExactly(chunk.strip());
+        assertThatThrownBy(() -> columnarService.findLines("non-existent",
+                LineQuery.of(null, null, List.of("404"), null, null)))
+                .isInstanceOf(AnalysisNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("query — 추가한 로그의 컬럼 파일 기록이 실패하면 남은 세그먼트를 지우고 사유와 함께 충돌")
+    void queryRejectsAfterColumnWriteFailure(@TempDir Path columns) throws IOException {
+        AnalysisServiceImpl columnarService = columnarService(columns);
+        AnalysisResult result = columnarService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        // 다음 세그먼트의 임시 파일 자리를 디렉터리로 막아 컬럼 파일 기록을 실패시킨다
+        Files.createDirectories(columns.resolve(result.getAnalysisId()).resolve("seg-00001.col.tmp"));
+
+        columnarService.appendAnalysis(result.getAnalysisId(), loadCsvFile("csv/normal.csv"));
+
+        assertThat(result.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(result.getTotalRequests()).isEqualTo(4);
+        assertThat(columns.resolve(result.getAnalysisId())).doesNotExist();
+        assertThatThrownBy(() -> columnarService.queryLogs(result.getAnalysisId(),
+                LogQuery.of(null, null, null, null, null, null, null)))
+                .isInstanceOf(AnalysisConflictException.class)
+                .hasMessageContaining("컬럼 파일 기록에 실패");
+        assertThatThrownBy(() -> columnarService.findLines(result.getAnalysisId(),
+                LineQuery.of(null, null, List.of("200"), null, null)))
+                .isInstanceOf(AnalysisConflictException.class)
+                .hasMessageContaining("컬럼 파일 기록에 실패");
+    }
+
+    @Test
+    @DisplayName("query — 없는 분석은 404, 컬럼 파일이 없는 분석은 충돌")
+    void queryRejectsWithoutSegments() throws IOException {
+        AnalysisResult result = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        LogQuery query = LogQuery.of(null, null, null, null, null, null, null);
+
+        assertThatThrownBy(() -> service.queryLogs("non-existent", query))
+                .isInstanceOf(AnalysisNotFoundException.class);
+        assertThatThrownBy(() -> service.queryLogs(result.getAnalysisId(), query))
+                .isInstanceOf(AnalysisConflictException.class);
+        assertThatThrownBy(() -> service.findLines(result.getAnalysisId(),
+                LineQuery.of(null, null, List.of("200"), null, null)))
+                .isInstanceOf(AnalysisConflictException.class);
+    }
+
+    @Test
+    @DisplayName("rollup — 보관 중인 집계 상태를 합치고, 없거나 진행 중인 분석은 건너뜀")
+    void rollupMergesStoredStates() throws IOException {
+        AnalysisResult normal = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        AnalysisResult invalid = service.submitAnalysis(loadCsvFile("csv/invalid-lines.csv"));
+        repository.save(new AnalysisResult("processing-analysis"));
+
+        RollupResult byIds = service.rollup(RollupQuery.of(List.of(invalid.getAnalysisId(), normal.getAnalysisId(),
+                "processing-analysis", "non-existent", normal.getAnalysisId()), null, null));
+
+        assertThat(byIds.analysisIds()).containsExactly(invalid.getAnalysisId(), normal.getAnalysisId());
+        assertThat(byIds.skippedIds()).containsExactlyInAnyOrder("processing-analysis", "non-existent");
+        assertThat(byIds.totalRequests()).isEqualTo(3);
+        assertThat(byIds.distinctIps()).isEqualTo(2);
+        assertThat(byIds.distinctPaths()).isEqualTo(3);
+        assertThat(byIds.topIps()).containsEntry("121.158.115.86", 2L).containsEntry("61.38.42.234", 1L);
+        assertThat(byIds.statusCodeCounts()).containsExactly(Map.entry(200, 3L));
+        assertThat(byIds.statusGroupRatios().get("2xx")).isEqualTo(1.0);
+        assertThat(byIds.parseErrorCount()).isEqualTo(1);
+
+        String minuteAgo = LocalDateTime.now().minusMinutes(1).toString();
+        RollupResult recent = service.rollup(RollupQuery.of(null, minuteAgo, null));
+        RollupResult older = service.rollup(RollupQuery.of(null, null, minuteAgo));
+
+        assertThat(recent.analysisIds()).containsExactlyInAnyOrder(normal.getAnalysisId(), invalid.getAnalysisId());
+        assertThat(recent.totalRequests()).isEqualTo(3);
+        assertThat(older.analysisIds()).isEmpty();
+        assertThat(older.totalRequests()).isZero();
+    }
+
+    @Test
+    @DisplayName("rollup — 시각 범위 안에서 진행 중이거나 추가 작업이 상태를 꺼내 간 분석은 건너뜀으로 보고")
+    void rollupByRangeReportsAnalysesWithoutState() throws IOException {
+        AnalysisProperties properties = TestAnalysisProperties.defaults();
+        // 분석 작업을 붙잡아 두었다가 직접 실행 — 파싱 전·추가 작업 중인 분석을 만든다
+        List<Runnable> pendingJobs = new ArrayList<>();
+        AnalysisServiceImpl queuedService = new AnalysisServiceImpl(new CsvLogParserImpl(properties),
+                ips -> ips.stream().map(IpInfo::unknown).toList(), new InMemoryAnalysisRepository(properties),
+                new ColumnarLogStore(properties), properties, pendingJobs::add, Runnable::run);
+        AnalysisResult appending = queuedService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        pendingJobs.removeFirst().run();
+        queuedService.appendAnalysis(appending.getAnalysisId(), loadCsvFile("csv/normal.csv"));
+        AnalysisResult processing = queuedService.submitAnalysis(loadCsvFile("csv/invalid-lines.csv"));
+        RollupQuery recent = RollupQuery.of(null, LocalDateTime.now().minusMinutes(1).toString(), null);
+
+        RollupResult during = queuedService.rollup(recent);
+
+        assertThat(during.analysisIds()).isEmpty();
+        assertThat(during.skippedIds()).containsExactlyInAnyOrder(appending.getAnalysisId(), processing.getAnalysisId());
+
+        pendingJobs.forEach(Runnable::run);
+        RollupResult after = queuedService.rollup(recent);
+
+        assertThat(after.analysisIds()).containsExactlyInAnyOrder(appending.getAnalysisId(), processing.getAnalysisId());
+        assertThat(after.skippedIds()).isEmpty();
+        assertThat(after.totalRequests()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("rollup — 대상이 없거나 ID·시각 범위를 함께 주거나 시각 형식이 잘못되면 IllegalArgumentException")
+    void rollupRejectsInvalidTargets() {
+        assertThatThrownBy(() -> RollupQuery.of(null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RollupQuery.of(List.of("a1"), "2026-01-29T00:00:00", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RollupQuery.of(null, "yesterday", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RollupQuery.of(null, "2026-01-29T00:00:00", "2026-01-28T00:00:00"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("diff — 두 분석의 상위 N개 합집합 경로 비율을 비교하고, 표본이 작은 변화는 유의하지 않음")
+    void diffComparesStoredStates() throws IOException {
+        AnalysisResult normal = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        AnalysisResult invalid = service.submitAnalysis(loadCsvFile("csv/invalid-lines.csv"));
+
+        AnalysisDiff diff = service.diff(normal.getAnalysisId(), invalid.getAnalysisId());
+
+        assertThat(diff.baseAnalysisId()).isEqualTo(normal.getAnalysisId());
+        assertThat(diff.baseRequests()).isEqualTo(2);
+        assertThat(diff.targetRequests()).isEqualTo(1);
+        assertThat(diff.statusGroups().get("2xx").delta()).isZero();
+        assertThat(diff.paths()).containsOnlyKeys("/event/banner/mir2/popup", "/bbs/list/mir2free", "/test");
+        assertThat(diff.paths().get("/test").targetShare()).isEqualTo(1.0);
+        assertThat(diff.paths().get("/test").significant()).isFalse();
+        assertThat(diff.responseTimes().get("avg").relativeChange()).isNull();
+        assertThat(diff.newTopIps()).isEmpty();
+        assertThat(diff.significant()).isFalse();
+    }
+
+    @Test
+    @DisplayName("diff — 없는 분석은 AnalysisNotFoundException, 집계 상태가 없는 분석은 AnalysisConflictException")
+    void diffRejectsUnavailableAnalyses() throws IOException {
+        AnalysisResult normal = service.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        repository.save(new AnalysisResult("processing-analysis"));
+
+        assertThatThrownBy(() -> service.diff(normal.getAnalysisId(), "non-existent"))
+                .isInstanceOf(AnalysisNotFoundException.class);
+        assertThatThrownBy(() -> service.diff("processing-analysis", normal.getAnalysisId()))
+                .isInstanceOf(AnalysisConflictException.class);
+    }
+
+    private static String write(DimensionExport export) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지나 삭제된 분석은 추가·재사용 대상에서도 빠짐")
+    void evictedAnalysisForgotten() throws IOException {
+        AnalysisProperties noRetention = TestAnalysisProperties.builder()
+                .retention(new AnalysisProperties.RetentionProperties(0, 268435456))
+                .build();
+        InMemoryAnalysisRepository expiringRepository = new InMemoryAnalysisRepository(noRetention);
+        Executor syncExecutor = Runnable::run;
+        AnalysisServiceImpl expiringService = new AnalysisServiceImpl(new CsvLogParserImpl(noRetention),
+                ips -> ips.stream().map(IpInfo::unknown).toList(),
+                expiringRepository, new ColumnarLogStore(noRetention), noRetention, syncExecutor, syncExecutor);
+
+        AnalysisResult first = expiringService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        assertThat(first.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        expiringRepository.cleanUp();
+
+        assertThat(expiringService.getAnalysis(first.getAnalysisId())).isNull();
+        assertThatThrownBy(() -> expiringService.appendAnalysis(first.getAnalysisId(), loadCsvFile("csv/normal.csv")))
+                .isInstanceOf(AnalysisNotFoundException.class);
+        AnalysisResult resubmitted = expiringService.submitAnalysis(loadCsvFile("csv/normal.csv"));
+        assertThat(resubmitted.getAnalysisId()).isNotEqualTo(first.getAnalysisId());
+    }
 }
@@ -0,0 +1,168 @@
+package com.example.wemadeassignment.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisTaskExecutorTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private AnalysisTaskExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    private static AnalysisJob job(long fileSize, Runnable task) {
+        return new AnalysisJob("job", fileSize, task, () -> { });
+    }
+
+    @Test
+    @DisplayName("추정 메모리는 최대 라인 수로 상한")
+    void estimateCappedByMaxLines() {
+        executor = new AnalysisTaskExecutor(100 * MB, 2, 1000, 300, 1000);
+
+        long small = executor.estimateBytes(10_000);        // 100 lines
+        long huge = executor.estimateBytes(50 * MB);         // 1000 lines로 제한
+
+        assertThat(small).isEqualTo(MB + 100 * 300);
+        assertThat(huge).isEqualTo(MB + 1000 * 300);
+    }
+
+    @Test
+    @DisplayName("예산을 넘는 큰 작업은 거부, 작은 작업은 수용")
+    void rejectsLargeJobOverBudget() throws InterruptedException {
+        executor = new AnalysisTaskExecutor(10 * MB, 1, 200_000, 300, 1000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+
+        // 1MB + 20,000 lines × 300 = 약 6.7MB
+        executor.execute(job(2 * MB, () -> await(release, done), () -> { }));
+
+        assertThatThrownBy(() -> executor.execute(job(2 * MB, () -> { })))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        executor.execute(job(1024, () -> await(release, done), () -> { }));
+        release.countDown();
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        awaitReleased();
+        assertThat(executor.getReservedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("CPU 동시 실행 한도를 넘는 작업은 가상 스레드에서 대기")
+    void limitsConcurrency() throws InterruptedException {
+        executor = new AnalysisTaskExecutor(1024 * MB, 2, 200_000, 300, 1000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(6);
+
+        for (int i = 0; i < 6; i++) {
+            executor.execute(job(1024, () -> {
+                int current = running.incrementAndGet();
+                peak.updateAndGet(p -> Math.max(p, current));
+                sleep(100);
+                running.decrementAndGet();
+                done.countDown();
+            }));
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("작업이 실패해도 예약한 메모리는 반환")
+    void releasesBudgetOnFailure() throws InterruptedException {
+        executor = new AnalysisTaskExecutor(10 * MB, 1, 200_000, 300, 1000);
+
+        executor.execute(job(2 * MB, () -> {
+            throw new IllegalStateException("실패");
+        }));
+
+        awaitReleased();
+        assertThat(executor.getReservedBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("먼저 제출된 큰 파일보다 작은 파일을 먼저 실행")
+    void smallJobsFirst() throws InterruptedException {
+        executor = new AnalysisTaskExecutor(1024 * MB, 1, 200_000, 300, 1000);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+
+        executor.execute(job(1024, () -> await(release, done), () -> { }));   // 슬롯 점유
+        executor.execute(new AnalysisJob("large-1", 50 * MB, () -> record(order, "large-1", done), () -> { }));
+        executor.execute(new AnalysisJob("large-2", 30 * MB, () -> record(order, "large-2", done), () -> { }));
+        executor.execute(new AnalysisJob("small", 2048, () -> record(order, "small", done), () -> { }));
+        assertThat(executor.getPendingJobs()).isEqualTo(3);
+
+        release.countDown();
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("small", "large-2", "large-1");
+    }
+
+    @Test
+    @DisplayName("오래 기다린 큰 파일은 나중에 제출된 작은 파일보다 먼저 실행 (에이징)")
+    void largeJobAges() throws InterruptedException {
+        executor = new AnalysisTaskExecutor(1024 * MB, 1, 200_000, 300, 10);  // 1MB당 10ms
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+
+        executor.execute(job(1024, () -> await(release, done), () -> { }));
+        executor.execute(new AnalysisJob("large", 2 * MB, () -> record(order, "large", done), () -> { }));  // +20ms
+        Thread.sleep(100);
+        executor.execute(new AnalysisJob("small", 2048, () -> record(order, "small", done), () -> { }));
+
+        release.countDown();
+
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("large", "small");
+    }
+
+    private static void record(List<String> order, String name, CountDownLatch done) {
+        order.add(name);
+        done.countDown();
+    }
+
+    private void awaitReleased() throws InterruptedException {
+        for (int i = 0; i < 100 && executor.getReservedBytes() > 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch, CountDownLatch done) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        done.countDown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AnalysisResult;
+import com.example.wemadeassignment.domain.AnalysisStatus;
+import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.domain.UploadStatus;
+import com.example.wemadeassignment.exception.AnalysisConflictException;
+import com.example.wemadeassignment.exception.UploadNotFoundException;
+import com.example.wemadeassignment.parser.CsvLogParserImpl;
+import com.example.wemadeassignment.repository.ColumnarLogStore;
+import com.example.wemadeassignment.repository.InMemoryAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CsvLogParser(실제) + AnalysisServiceImpl(실제)을 엮어 분할 업로드 결과가 단일 업로드와 같은지 검증.
+ * IpEnrichmentService만 stub으로 대체.
+ */
+class ChunkedUploadServiceImplTest {
+
+    private static final String HEADER = "﻿TimeGenerated [UTC],ClientIp,HttpMethod,RequestUri,UserAgent,HttpStatus,"
+            + "HttpVersion,ReceivedBytes,SentBytes,ClientResponseTime,SslProtocol,OriginalRequestUriWithArgs\n";
+
+    private AnalysisServiceImpl analysisService;
+    private ChunkedUploadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AnalysisProperties properties = TestAnalysisProperties.builder()
+                .upload(new AnalysisProperties.UploadProperties(2048, 65536, 64, 3600))
+                .build();
+        CsvLogParserImpl csvLogParser = new CsvLogParserImpl(properties);
+
+        IpEnrichmentService ipEnrichmentStub = ips ->
+                ips.stream().map(ip -> new IpInfo(ip, "AS0", "Test", "test.com",
+                        "KR", "South Korea", "AS", "Asia")).toList();
+        Executor syncExecutor = Runnable::run;
+
+        analysisService = new AnalysisServiceImpl(csvLogParser, ipEnrichmentStub,
+                new InMemoryAnalysisRepository(properties), new ColumnarLogStore(properties), properties, syncExecutor, syncExecutor);
+        service = new ChunkedUploadServiceImpl(csvLogParser, analysisService, properties);
+    }
+
+    private static byte[] sampleCsv() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 40; i++) {
+            csv.append("\"1/29/2026, 5:44:10.000 AM\",10.0.0.").append(i % 7)
+                    .append(",GET,/path/").append(i % 5)
+                    .append(",\"Mozilla/5.0 (KHTML, like Gecko)\",").append(i % 4 == 0 ? 404 : 200)
+                    .append(",HTTP/1.1,100,200,0.").append(100 + i).append(",TLSv1.2,/path\n");
+            if (i == 10) {
+                csv.append("\n");
+            }
+            if (i == 20) {
+                csv.append("broken,line\n");
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void put(String uploadId, int index, byte[] csv, int from, int to) {
+        service.putChunk(uploadId, index, new ByteArrayInputStream(Arrays.copyOfRange(csv, from, to)));
+    }
+
+    @Test
+    @DisplayName("임의 바이트 위치로 나눈 청크를 순서 없이·중복으로 보내도 단일 업로드와 같은 집계")
+    void chunkedUploadMatchesSingleUpload() {
+        byte[] csv = sampleCsv();
+        AnalysisResult whole = analysisService.submitAnalysis(
+                new MockMultipartFile("file", "whole.csv", "text/csv", csv));
+
+        // 라인 중간, 헤더 중간, 개행 없는 짧은 청크(5 → 9)를 모두 포함하는 경계
+        int[] cuts = {0, 37, 400, 405, 409, 1200, 1201, 2100, 3600, csv.length};
+        String uploadId = service.createSession().uploadId();
+        int[] order = {3, 0, 8, 6, 1, 7, 5, 2, 4};
+        for (int index : order) {
+            put(uploadId, index, csv, cuts[index], cuts[index + 1]);
+        }
+        put(uploadId, 1, csv, cuts[1], cuts[2]);  // 재전송 — 중복 집계되지 않아야 함
+
+        AnalysisResult chunked = service.complete(uploadId, cuts.length - 1);
+
+        assertThat(chunked.getStatus()).isEqualTo(AnalysisStatus.COMPLETED);
+        assertThat(chunked.getAnalysisId()).isNotEqualTo(whole.getAnalysisId());
+        assertThat(chunked.getTotalRequests()).isEqualTo(whole.getTotalRequests()).isEqualTo(40);
+        assertThat(chunked.getStatusCodeCounts()).isEqualTo(whole.getStatusCodeCounts());
+        assertThat(chunked.getIpCounts()).isEqualTo(whole.getIpCounts());
+        assertThat(chunked.getPathCounts()).isEqualTo(whole.getPathCounts());
+        assertThat(chunked.getParseErrorCount()).isEqualTo(whole.getParseErrorCount()).isEqualTo(1);
+        assertThat(chunked.getTopIps()).hasSize(whole.getTopIps().size());
+    }
+
+    @Test
+    @DisplayName("청크 내부·경계 라인의 파싱 오류 샘플은 단일 업로드와 같은 파일 기준 줄 번호")
+    void errorSamplesUseFileLineNumbers() {
+        StringBuilder text = new StringBuilder(HEADER);
+        for (int i = 0; i < 30; i++) {
+            text.append(i % 6 == 5 ? "broken,line," + i : "\"1/29/2026, 5:44:10.000 AM\",10.0.0.1,GET,/path,\"UA\",200,"
+                    + "HTTP/1.1,100,200,0.1,TLSv1.2,/path").append('\n');
+            if (i == 12) {
+                text.append("\n");
+            }
+        }
+        byte[] csv = text.toString().getBytes(StandardCharsets.UTF_8);
+        AnalysisResult whole = analysisService.submitAnalysis(
+                new MockMultipartFile("file", "whole.csv", "text/csv", csv));
+
+        // 오류 라인 중간에서 자른 경계를 포함하도록 오류 라인 위치를 기준으로 자른다
+        String csvText = text.toString();
+        int brokenAt = csvText.indexOf("broken,line,17");
+        int[] cuts = {0, 300, 900, brokenAt + 4, 2000, csv.length};
+        String uploadId = service.createSession().uploadId();
+        for (int index = cuts.length - 2; index >= 0; index--) {
+            put(uploadId, index, csv, cuts[index], cuts[index + 1]);
+        }
+
+        AnalysisResult chunked = service.complete(uploadId, cuts.length - 1);
+
+        assertThat(whole.getParseErrorSamples()).hasSize(5);
+        assertThat(chunked.getParseErrorCount()).isEqualTo(whole.getParseErrorCount());
+        assertThat(chunked.getParseErrorSamples()).isEqualTo(whole.getParseErrorSamples());
+    }
+
+    @Test
+    @DisplayName("최대 라인 수는 세션 전체에 적용 — 한도를 넘기는 청크는 IllegalArgumentException, 세션 상태는 그대로")
+    void maxLinesAppliesAcrossSession() {
+        AnalysisProperties properties = TestAnalysisProperties.builder()
+                .maxLines(20)
+                .upload(new AnalysisProperties.UploadProperties(2048, 65536, 64, 3600))
+                .build();
+        ChunkedUploadServiceImpl limited = new ChunkedUploadServiceImpl(
+                new CsvLogParserImpl(properties), analysisService, properties);
+        byte[] csv = sampleCsv();
+        String uploadId = limited.createSession().uploadId();
+
+        limited.putChunk(uploadId, 0, new ByteArrayInputStream(Arrays.copyOfRange(csv, 0, 2000)));
+        assertThatThrownBy(() -> limited.putChunk(uploadId, 1,
+                new ByteArrayInputStream(Arrays.copyOfRange(csv, 2000, 4000))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("라인 수");
+
+        UploadStatus status = limited.getStatus(uploadId);
+        assertThat(status.receivedChunks()).containsExactly(0);
+        assertThat(status.receivedBytes()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("상태 조회 — 수신한 청크 번호와 바이트 수")
+    void statusReportsReceivedChunks() {
+        byte[] csv = sampleCsv();
+        String uploadId = service.createSession().uploadId();
+        put(uploadId, 2, csv, 500, 900);
+        put(uploadId, 0, csv, 0, 300);
+
+        UploadStatus status = service.getStatus(uploadId);
+
+        assertThat(status.receivedChunks()).containsExactly(0, 2);
+        assertThat(status.receivedBytes()).isEqualTo(700);
+        assertThat(status.expiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("누락된 청크가 있으면 완료 시 AnalysisConflictException, 채운 뒤에는 완료 가능")
+    void completeWithMissingChunkThrowsConflict() {
+        byte[] csv = sampleCsv();
+        String uploadId = service.createSession().uploadId();
+        put(uploadId, 0, csv, 0, 1800);
+        put(uploadId, 2, csv, 3600, csv.length);
+
+        assertThatThrownBy(() -> service.complete(uploadId, 3))
+                .isInstanceOf(AnalysisConflictException.class)
+                .hasMessageContaining("[1]");
+
+        put(uploadId, 1, csv, 1800, 3600);
+        assertThat(service.complete(uploadId, 3).getTotalRequests()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("완료된 세션과 존재하지 않는 세션은 UploadNotFoundException")
+    void unknownSessionThrowsNotFound() {
+        byte[] csv = sampleCsv();
+        String uploadId = service.createSession().uploadId();
+        put(uploadId, 0, csv, 0, 1800);
+        put(uploadId, 1, csv, 1800, 3600);
+        put(uploadId, 2, csv, 3600, csv.length);
+        service.complete(uploadId, 3);
+
+        assertThatThrownBy(() -> service.getStatus(uploadId))
+                .isInstanceOf(UploadNotFoundException.class);
+        assertThatThrownBy(() -> put(uploadId, 3, csv, 0, 10))
+                .isInstanceOf(UploadNotFoundException.class);
+        assertThatThrownBy(() -> service.getStatus("00000000-0000-0000-0000-000000000000"))
+                .isInstanceOf(UploadNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("청크 크기·번호 제한 초과 시 IllegalArgumentException, 세션 상태는 그대로")
+    void oversizedChunkRejected() {
+        byte[] csv = sampleCsv();
+        String uploadId = service.createSession().uploadId();
+
+        assertThatThrownBy(() -> put(uploadId, 0, csv, 0, 2049))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> put(uploadId, 64, csv, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        UploadStatus status = service.getStatus(uploadId);
+        assertThat(status.receivedChunks()).isEmpty();
+        assertThat(status.receivedBytes()).isZero();
+    }
+}
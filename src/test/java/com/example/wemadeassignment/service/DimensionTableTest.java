@@ -0,0 +1,108 @@
+package com.example.wemadeassignment.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DimensionTableTest {
+
+    private static String write(DimensionTable table, DimensionTable.Range range, DimensionExport.Format format)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DimensionExport(table, range, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("키를 UTF-8 사전순으로 정렬하여 전체 항목 보관")
+    void keepsAllEntriesSorted() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("/b", 2L);
+        counts.put("/a/한글", 5L);
+        counts.put("/a", 1L);
+
+        DimensionTable table = DimensionTable.of(counts);
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(List.of(table.key(0), table.key(1), table.key(2))).containsExactly("/a", "/a/한글", "/b");
+        assertThat(table.count(1)).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("커서로 이어 받으면 빠짐·중복 없이 전체 항목을 순회")
+    void cursorPaginationCoversAllEntries() {
+        Map<String, Long> counts = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            counts.put("10.0." + (i / 256) + "." + (i % 256), (long) i);
+        }
+        DimensionTable table = DimensionTable.of(counts);
+
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            DimensionTable.Range range = table.range(null, cursor, 64);
+            for (int i = range.from(); i < range.to(); i++) {
+                visited.add(table.key(i));
+            }
+            cursor = range.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(16);
+        assertThat(visited).hasSize(1000).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    @DisplayName("접두사 필터는 해당 범위만 내보내고 범위 끝에서 커서를 끊음")
+    void prefixFilterLimitsRange() {
+        DimensionTable table = DimensionTable.of(Map.of(
+                "/api/items", 3L, "/api/users", 2L, "/apix", 1L, "/bbs", 4L, "/", 9L));
+
+        DimensionTable.Range firstPage = table.range("/api/", null, 1);
+        DimensionTable.Range secondPage = table.range("/api/", firstPage.nextCursor(), 1);
+
+        assertThat(table.key(firstPage.from())).isEqualTo("/api/items");
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(table.key(secondPage.from())).isEqualTo("/api/users");
+        assertThat(secondPage.to() - secondPage.from()).isEqualTo(1);
+        assertThat(secondPage.nextCursor()).isNull();
+        assertThat(table.range("/none", null, 10).from()).isEqualTo(table.range("/none", null, 10).to());
+    }
+
+    @Test
+    @DisplayName("NDJSON은 JSON 문자열 규칙으로, CSV는 RFC 4180 규칙으로 키를 이스케이프")
+    void escapesKeysPerFormat() throws IOException {
+        DimensionTable table = DimensionTable.of(Map.of("/q?a=\"x\",b", 2L, "/탭\t", 1L));
+        DimensionTable.Range all = table.range(null, null, 10);
+
+        assertThat(write(table, all, DimensionExport.Format.NDJSON)).isEqualTo(
+                "{\"key\":\"/q?a=\\\"x\\\",b\",\"count\":2}\n"
+                        + "{\"key\":\"/탭\\u0009\",\"count\":1}\n");
+        assertThat(write(table, all, DimensionExport.Format.CSV)).isEqualTo(
+                "key,count\n"
+                        + "\"/q?a=\"\"x\"\",b\",2\n"
+                        + "/탭\t,1\n");
+    }
+
+    @Test
+    @DisplayName("상태 코드 키는 문자열로 보관하고, 잘못된 커서는 IllegalArgumentException")
+    void statusCodesAndInvalidCursor() {
+        DimensionTable table = DimensionTable.of(Map.of(404, 1L, 200, 7L));
+
+        assertThat(table.key(0)).isEqualTo("200");
+        assertThatThrownBy(() -> table.range(null, "!!not-base64!!", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.wemadeassignment.service;
 
+import com.example.wemadeassignment.client.IpInfoCircuitBreaker;
 import com.example.wemadeassignment.client.IpInfoClient;
 import com.example.wemadeassignment.config.IpInfoProperties;
 import com.example.wemadeassignment.domain.IpInfo;
+import com.example.wemadeassignment.repository.IpInfoStore;
+import com.example.wemadeassignment.repository.StoredIpInfo;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,7 +19,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -28,7 +35,12 @@ class IpEnrichmentServiceImplTest {
     @Mock
     private IpInfoClient ipInfoClient;
 
+    @Mock
+    private IpInfoStore ipInfoStore;
+
     private Cache<String, IpInfo> cache;
+    private IpInfoProperties properties;
+    private IpInfoCircuitBreaker circuitBreaker;
     private IpEnrichmentServiceImpl service;
 
     private static final IpInfo SAMPLE = new IpInfo(
@@ -39,11 +51,19 @@ class IpEnrichmentServiceImplTest {
     @BeforeEach
     void setUp() {
         cache = Caffeine.newBuilder().maximumSize(100).build();
-        IpInfoProperties properties = new IpInfoProperties(
+        properties = new IpInfoProperties(
                 "test-token", "https://api.ipinfo.io/lite", 3000, 2,
-                new IpInfoProperties.CacheProperties(100, 3600)
+                new IpInfoProperties.CacheProperties(100, 3600,
+                        new IpInfoProperties.DiskProperties(false, null, 600),
+                        new IpInfoProperties.RangeProperties(true, 24, 48),
+                        new IpInfoProperties.RefreshProperties(true, 300, 0.5)),
+                new IpInfoProperties.CircuitBreakerProperties(20, 10, 0.5, 2000, 0.5, 30000, 3),
+                new IpInfoProperties.BulkheadProperties(20, 500),
+                5000
         );
-        service = new IpEnrichmentServiceImpl(ipInfoClient, cache, Executors.newFixedThreadPool(2), properties);
+        circuitBreaker = new IpInfoCircuitBreaker(properties);
+        service = new IpEnrichmentServiceImpl(ipInfoClient, circuitBreaker, new IpRangeClassifier(), cache,
+                new IpRangeCache(properties), ipInfoStore, Executors.newFixedThreadPool(2), properties);
     }
 
     @Test
@@ -69,6 +89,29 @@ class IpEnrichmentServiceImplTest {
         verify(ipInfoClient, never()).fetch(any());
     }
 
+    @Test
+    @DisplayName("API 조회 성공 시 디스크 캐시에도 기록")
+    void fetchSavesToDiskStore() {
+        when(ipInfoClient.fetch("8.8.8.8")).thenReturn(SAMPLE);
+
+        service.enrich(List.of("8.8.8.8"));
+
+        verify(ipInfoStore).save(SAMPLE);
+    }
+
+    @Test
+    @DisplayName("디스크 캐시 히트 시 API 미호출 + L1 승격")
+    void diskStoreHit() {
+        when(ipInfoStore.find("8.8.8.8"))
+                .thenReturn(Optional.of(new StoredIpInfo(SAMPLE, Instant.now().plusSeconds(60))));
+
+        List<IpInfo> results = service.enrich(List.of("8.8.8.8"));
+
+        assertThat(results.get(0).asName()).isEqualTo("Google LLC");
+        assertThat(cache.getIfPresent("8.8.8.8")).isEqualTo(SAMPLE);
+        verify(ipInfoClient, never()).fetch(any());
+    }
+
     @Test
     @DisplayName("API 실패 후 재시도하여 성공")
     void retryThenSuccess() {
@@ -175,4 +218,154 @@ class IpEnrichmentServiceImplTest {
 
         assertThat(peakConcurrent.get()).isGreaterThan(1);
     }
+
+    @Test
+    @DisplayName("서킷 브레이커 OPEN 시 API 미호출 + 즉시 UNKNOWN")
+    void circuitOpenFailsFast() {
+        for (int i = 0; i < 10; i++) {
+            circuitBreaker.tryAcquirePermission();
+            circuitBreaker.onError(0);
+        }
+
+        List<IpInfo> results = service.enrich(List.of("8.8.8.8"));
+
+        assertThat(results.get(0).isUnknown()).isTrue();
+        verify(ipInfoClient, never()).fetch(any());
+    }
+
+    @Test
+    @DisplayName("분석 단위 조회 제한 시간 초과 시 UNKNOWN, 완료된 조회는 캐시에 반영")
+    void enrichmentDeadlineExceeded() throws InterruptedException {
+        IpInfoProperties shortDeadline = new IpInfoProperties(
+                properties.token(), properties.baseUrl(), properties.timeout(), properties.maxRetries(),
+                properties.cache(), properties.circuitBreaker(), properties.bulkhead(), 100);
+        IpEnrichmentServiceImpl deadlineService = new IpEnrichmentServiceImpl(ipInfoClient,
+                new IpInfoCircuitBreaker(shortDeadline), new IpRangeClassifier(), cache,
+                new IpRangeCache(shortDeadline), ipInfoStore, Executors.newFixedThreadPool(2), shortDeadline);
+
+        when(ipInfoClient.fetch("8.8.8.8")).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return SAMPLE;
+        });
+
+        long start = System.currentTimeMillis();
+        List<IpInfo> results = deadlineService.enrich(List.of("8.8.8.8"));
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(300);
+        assertThat(results.get(0).isUnknown()).isTrue();
+
+        Thread.sleep(400);
+        assertThat(cache.getIfPresent("8.8.8.8")).isEqualTo(SAMPLE);
+    }
+
+    @Test
+    @DisplayName("선조회 진행 중인 IP는 enrich에서 결과를 공유하여 API 1회만 호출")
+    void enrichJoinsInFlightPrefetch() {
+        when(ipInfoClient.fetch("8.8.8.8")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return SAMPLE;
+        });
+
+        service.prefetch("8.8.8.8");
+        service.prefetch("8.8.8.8");
+        List<IpInfo> results = service.enrich(List.of("8.8.8.8"));
+
+        assertThat(results.get(0)).isEqualTo(SAMPLE);
+        verify(ipInfoClient, times(1)).fetch("8.8.8.8");
+    }
+
+    @Test
+    @DisplayName("캐시에 있는 IP는 선조회하지 않음")
+    void prefetchSkipsCachedIp() {
+        cache.put("8.8.8.8", SAMPLE);
+
+        service.prefetch("8.8.8.8");
+
+        verify(ipInfoClient, never()).fetch(any());
+    }
+
+    @Test
+    @DisplayName("사설·루프백·CGNAT 대역은 API 미호출 + RESERVED")
+    void reservedRangeSkipsApi() {
+        List<IpInfo> results = service.enrich(List.of("10.1.2.3", "127.0.0.1", "100.64.0.1"));
+
+        assertThat(results).allMatch(IpInfo::isReserved);
+        assertThat(results.get(2).asName()).isEqualTo("Carrier-grade NAT");
+        verify(ipInfoClient, never()).fetch(any());
+        assertThat(service.getTierHits()).containsEntry(IpEnrichmentServiceImpl.Tier.RESERVED, 3L);
+    }
+
+    @Test
+    @DisplayName("같은 /24 대역의 IP는 대역 캐시에서 ASN·국가 재사용")
+    void rangeCacheHit() {
+        when(ipInfoClient.fetch("8.8.8.8")).thenReturn(SAMPLE);
+        service.enrich(List.of("8.8.8.8"));
+
+        List<IpInfo> results = service.enrich(List.of("8.8.8.4"));
+
+        assertThat(results.get(0).ip()).isEqualTo("8.8.8.4");
+        assertThat(results.get(0).asn()).isEqualTo("AS15169");
+        verify(ipInfoClient, never()).fetch("8.8.8.4");
+        assertThat(service.getTierHits())
+                .containsEntry(IpEnrichmentServiceImpl.Tier.API, 1L)
+                .containsEntry(IpEnrichmentServiceImpl.Tier.RANGE, 1L);
+    }
+
+    private static Cache<String, IpInfo> expiringCache(Duration ttl) {
+        return Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, IpInfo>() {
+                    @Override
+                    public long expireAfterCreate(String ip, IpInfo info, long currentTime) {
+                        return ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String ip, IpInfo info, long currentTime, long currentDuration) {
+                        return ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String ip, IpInfo info, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Test
+    @DisplayName("만료 임박 항목 조회 시 기존 값 즉시 반환 + 백그라운드 갱신")
+    void refreshAheadOnRead() {
+        Cache<String, IpInfo> expiringCache = expiringCache(Duration.ofHours(1));
+        expiringCache.policy().expireVariably().orElseThrow()
+                .put("8.8.8.8", SAMPLE, Duration.ofSeconds(10));
+        IpEnrichmentServiceImpl refreshService = new IpEnrichmentServiceImpl(ipInfoClient, circuitBreaker,
+                new IpRangeClassifier(), expiringCache, new IpRangeCache(properties), ipInfoStore,
+                Executors.newFixedThreadPool(2), properties);
+        IpInfo updated = new IpInfo("8.8.8.8", "AS15169", "Google LLC", "google.com",
+                "US", "United States", "NA", "North America (updated)");
+        when(ipInfoClient.fetch("8.8.8.8")).thenReturn(updated);
+
+        List<IpInfo> results = refreshService.enrich(List.of("8.8.8.8"));
+
+        assertThat(results.get(0)).isEqualTo(SAMPLE);
+        verify(ipInfoClient, timeout(1000)).fetch("8.8.8.8");
+        verify(ipInfoStore, timeout(1000)).save(updated);
+        assertThat(expiringCache.getIfPresent("8.8.8.8")).isEqualTo(updated);
+        assertThat(expiringCache.policy().expireVariably().orElseThrow().getExpiresAfter("8.8.8.8"))
+                .hasValueSatisfying(remaining -> assertThat(remaining).isGreaterThan(Duration.ofMinutes(30)));
+    }
+
+    @Test
+    @DisplayName("만료까지 여유 있는 항목은 갱신하지 않음")
+    void noRefreshWhenFresh() {
+        Cache<String, IpInfo> expiringCache = expiringCache(Duration.ofHours(1));
+        expiringCache.put("8.8.8.8", SAMPLE);
+        IpEnrichmentServiceImpl refreshService = new IpEnrichmentServiceImpl(ipInfoClient, circuitBreaker,
+                new IpRangeClassifier(), expiringCache, new IpRangeCache(properties), ipInfoStore,
+                Executors.newFixedThreadPool(2), properties);
+
+        refreshService.enrich(List.of("8.8.8.8"));
+
+        verify(ipInfoClient, after(200).never()).fetch(any());
+    }
 }
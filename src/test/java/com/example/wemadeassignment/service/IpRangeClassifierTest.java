@@ -0,0 +1,52 @@
+package com.example.wemadeassignment.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpRangeClassifierTest {
+
+    private final IpRangeClassifier classifier = new IpRangeClassifier();
+
+    @ParameterizedTest
+    @CsvSource({
+            "10.0.0.1, Private network",
+            "172.31.255.255, Private network",
+            "192.168.1.1, Private network",
+            "127.0.0.1, Loopback",
+            "100.127.0.1, Carrier-grade NAT",
+            "169.254.10.10, Link-local",
+            "::1, Loopback",
+            "fd12:3456::1, Unique local address",
+            "fe80::1, Link-local",
+            "::ffff:10.0.0.1, Private network"
+    })
+    @DisplayName("예약 대역 주소는 분류명 반환")
+    void classifiesReservedRanges(String ip, String label) {
+        assertThat(classifier.classify(ip)).contains(label);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"8.8.8.8", "172.32.0.1", "100.128.0.1", "2001:4860:4860::8888"})
+    @DisplayName("공인 주소는 empty")
+    void publicAddressNotClassified(String ip) {
+        assertThat(classifier.classify(ip)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "abc", "1.2.3", "1.2.3.4.5", "256.1.1.1", "example.com"})
+    @DisplayName("IP 형식이 아니면 empty")
+    void invalidInputNotClassified(String ip) {
+        assertThat(classifier.classify(ip)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("null 입력은 empty")
+    void nullNotClassified() {
+        assertThat(classifier.classify(null)).isEmpty();
+    }
+}
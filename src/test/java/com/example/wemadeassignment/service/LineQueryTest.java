@@ -0,0 +1,106 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.LogLines;
+import com.example.wemadeassignment.repository.ColumnarLogStore;
+import com.example.wemadeassignment.repository.ColumnarSegment;
+import com.example.wemadeassignment.repository.ColumnarSegmentWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LineQueryTest {
+
+    @TempDir
+    Path directory;
+
+    private List<ColumnarSegment> segments;
+
+    /** 세그먼트 두 개(첫 업로드 600행 + 추가 100행). i번째 행의 원본 라인은 "line i" */
+    @BeforeEach
+    void setUp() {
+        ColumnarLogStore store = new ColumnarLogStore(TestAnalysisProperties.builder()
+                .columnar(new AnalysisProperties.ColumnarProperties(true, directory.toString(), 100, 8))
+                .build());
+        write(store, 0, 600);
+        write(store, 600, 700);
+        segments = store.segments("a1");
+    }
+
+    private static void write(ColumnarLogStore store, int from, int to) {
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            for (int i = from; i < to; i++) {
+                int status = i % 7 == 0 ? 503 : (i % 7 == 1 ? 500 : (i % 7 == 2 ? 404 : 200));
+                String path = i % 2 == 0 ? "/api/items" : "/bbs/list/mir2free";
+                String ip = "10.0.0." + (i % 4);
+                writer.append(new AccessLog("1/29/2026, 5:44:10.000 AM", ip, "GET", path, "curl/8.0", status,
+                        "HTTP/1.1", 100, 200, 0.1, "TLSv1.2", path), "line " + i);
+            }
+            writer.commit();
+        }
+    }
+
+    private static List<String> expected(IntStream rows) {
+        return rows.mapToObj(i -> "line " + i).toList();
+    }
+
+    @Test
+    @DisplayName("필드끼리는 AND, 같은 필드의 값끼리는 OR로 맞는 원본 라인을 세그먼트 순서대로 반환")
+    void combinesFieldsWithAndValuesWithOr() {
+        LogLines result = LineQuery.of(List.of("10.0.0.1", "10.0.0.3"), List.of("/bbs/list/mir2free"),
+                List.of("5xx"), null, 1000).execute(segments);
+
+        // 홀수 행 중 i % 7 ∈ {0, 1}
+        List<String> lines = expected(IntStream.range(0, 700).filter(i -> i % 2 == 1 && i % 7 <= 1));
+        assertThat(result.matchedRequests()).isEqualTo(lines.size());
+        assertThat(result.lines()).containsExactlyElementsOf(lines);
+        assertThat(result.nextOffset()).isNull();
+    }
+
+    @Test
+    @DisplayName("offset·limit으로 세그먼트 경계를 넘어 이어지는 페이지를 반환")
+    void pagesAcrossSegments() {
+        List<String> all = expected(IntStream.range(0, 700).filter(i -> i % 7 == 2));
+
+        LogLines first = LineQuery.of(null, null, List.of("404"), null, 80).execute(segments);
+        LogLines second = LineQuery.of(null, null, List.of("404"), first.nextOffset(), 80).execute(segments);
+
+        assertThat(first.matchedRequests()).isEqualTo(100);
+        assertThat(first.lines()).containsExactlyElementsOf(all.subList(0, 80));
+        assertThat(first.nextOffset()).isEqualTo(80L);
+        assertThat(second.lines()).containsExactlyElementsOf(all.subList(80, 100));
+        assertThat(second.nextOffset()).isNull();
+    }
+
+    @Test
+    @DisplayName("사전에 없는 값은 맞는 행이 없음")
+    void unknownValueMatchesNothing() {
+        LogLines result = LineQuery.of(List.of("192.168.0.1"), null, List.of("2xx"), null, null).execute(segments);
+
+        assertThat(result.matchedRequests()).isZero();
+        assertThat(result.lines()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조건이 없거나 status·offset·limit 형식이 잘못되면 IllegalArgumentException")
+    void invalidParametersRejected() {
+        assertThatThrownBy(() -> LineQuery.of(null, List.of(), null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LineQuery.of(null, null, List.of("5x"), null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LineQuery.of(null, null, List.of("500"), -1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LineQuery.of(null, null, List.of("500"), null, 10_001))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,14 +1,18 @@
 package com.example.wemadeassignment.service;
 
 import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.PartialResult;
 import com.example.wemadeassignment.domain.ResponseTimeStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 
 class LogAggregatorTest {
 
@@ -235,4 +239,105 @@ class LogAggregatorTest {
         assertThat(stats.p95()).isEqualTo(5.0);  // ceil(0.95 * 5) - 1 = 4 → sorted[4] = 5.0
         assertThat(stats.p99()).isEqualTo(5.0);  // ceil(0.99 * 5) - 1 = 4 → sorted[4] = 5.0
     }
+
+    @Test
+    @DisplayName("heavy hitter — 최소 요청 수와 비율을 모두 넘은 IP만 한 번씩 알림")
+    void heavyHitterSignalledOnce() {
+        List<String> signalled = new ArrayList<>();
+        LogAggregator prefetching = new LogAggregator(3, 0.3, 10, signalled::add);
+
+        for (int i = 0; i < 5; i++) {
+            prefetching.aggregate(log("1.1.1.1", "/a", 200));
+        }
+        for (int i = 0; i < 3; i++) {
+            prefetching.aggregate(log("2.2.2.2", "/a", 200));  // 3/8 ≥ 0.3
+        }
+        for (int i = 0; i < 20; i++) {
+            prefetching.aggregate(log("10.0.0." + i, "/a", 200));
+        }
+        for (int i = 0; i < 3; i++) {
+            prefetching.aggregate(log("3.3.3.3", "/a", 200));  // 3/31 < 0.3
+        }
+
+        assertThat(signalled).containsExactly("1.1.1.1", "2.2.2.2");
+        assertThat(prefetching.getSignalledCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("heavy hitter — 알림 상한을 넘으면 더 이상 알리지 않음")
+    void heavyHitterCapped() {
+        List<String> signalled = new ArrayList<>();
+        LogAggregator prefetching = new LogAggregator(1, 0.0, 2, signalled::add);
+
+        prefetching.aggregate(log("1.1.1.1", "/a", 200));
+        prefetching.aggregate(log("2.2.2.2", "/a", 200));
+        prefetching.aggregate(log("3.3.3.3", "/a", 200));
+
+        assertThat(signalled).containsExactly("1.1.1.1", "2.2.2.2");
+    }
+
+    @Test
+    @DisplayName("중간 스냅샷 — 상위 N개와 근사 응답 시간 통계")
+    void snapshotTopNAndApproximateStats() {
+        for (int i = 0; i < 5; i++) aggregator.aggregate(log("1.1.1.1", "/a", 200, 1.0));
+        for (int i = 0; i < 3; i++) aggregator.aggregate(log("2.2.2.2", "/b", 404, 1.0));
+        aggregator.aggregate(log("3.3.3.3", "/c", 500, 1.0));
+
+        PartialResult snapshot = aggregator.snapshot(10, 2);
+
+        assertThat(snapshot.linesParsed()).isEqualTo(10);
+        assertThat(snapshot.totalRequests()).isEqualTo(9);
+        assertThat(snapshot.topIps()).containsExactly(Map.entry("1.1.1.1", 5L), Map.entry("2.2.2.2", 3L));
+        assertThat(snapshot.topPaths()).containsOnlyKeys("/a", "/b");
+        assertThat(snapshot.statusCodeCounts()).containsOnlyKeys(200, 404);
+        assertThat(snapshot.statusGroupRatios()).containsEntry("2xx", 0.5556);
+        assertThat(snapshot.responseTimeStats().p50()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("스냅샷은 이후 집계에 영향받지 않음")
+    void snapshotIsDetached() {
+        aggregator.aggregate(log("1.1.1.1", "/a", 200));
+        PartialResult snapshot = aggregator.snapshot(1, 10);
+
+        aggregator.aggregate(log("1.1.1.1", "/a", 200));
+
+        assertThat(snapshot.totalRequests()).isEqualTo(1);
+        assertThat(snapshot.topIps()).containsEntry("1.1.1.1", 1L);
+    }
+
+    @Test
+    @DisplayName("merge — 카운트는 키별 합산, 응답 시간은 히스토그램 근사")
+    void mergeSumsCountsAndHistograms() {
+        aggregator.aggregate(log("1.1.1.1", "/a", 200, 0.1));
+        aggregator.aggregate(log("2.2.2.2", "/b", 404, 0.2));
+        LogAggregator chunk = new LogAggregator();
+        chunk.aggregate(log("1.1.1.1", "/a", 500, 3.0));
+
+        aggregator.merge(chunk);
+
+        assertThat(aggregator.getTotalRequests()).isEqualTo(3);
+        assertThat(aggregator.getIpCounts()).containsEntry("1.1.1.1", 2L).containsEntry("2.2.2.2", 1L);
+        assertThat(aggregator.getPathCounts()).containsEntry("/a", 2L);
+        assertThat(aggregator.getStatusCodeCounts()).containsEntry(500, 1L);
+        ResponseTimeStats stats = aggregator.calculateResponseTimeStats();
+        assertThat(stats.min()).isEqualTo(0.1);
+        assertThat(stats.max()).isEqualTo(3.0);
+        assertThat(stats.avg()).isCloseTo(1.1, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("releaseResponseTimes 이후에도 응답 시간 통계 유지 (근사)")
+    void releaseResponseTimesKeepsStats() {
+        aggregator.aggregate(log("1.1.1.1", "/a", 200, 1.0));
+        aggregator.aggregate(log("1.1.1.1", "/a", 200, 2.0));
+
+        aggregator.releaseResponseTimes();
+        aggregator.aggregate(log("1.1.1.1", "/a", 200, 4.0));
+
+        ResponseTimeStats stats = aggregator.calculateResponseTimeStats();
+        assertThat(stats.min()).isEqualTo(1.0);
+        assertThat(stats.max()).isEqualTo(4.0);
+        assertThat(stats.p50()).isCloseTo(2.0, within(2.0 * 0.07));
+    }
 }
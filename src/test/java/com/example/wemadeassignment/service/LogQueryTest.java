@@ -0,0 +1,96 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.config.AnalysisProperties;
+import com.example.wemadeassignment.config.TestAnalysisProperties;
+import com.example.wemadeassignment.domain.AccessLog;
+import com.example.wemadeassignment.domain.DrillDownResult;
+import com.example.wemadeassignment.repository.ColumnarLogStore;
+import com.example.wemadeassignment.repository.ColumnarSegment;
+import com.example.wemadeassignment.repository.ColumnarSegmentWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogQueryTest {
+
+    @TempDir
+    Path directory;
+
+    private List<ColumnarSegment> segments;
+
+    /** 블록당 100행: 앞 5블록은 전부 200, 마지막 블록에만 5xx가 섞인 로그 */
+    @BeforeEach
+    void setUp() {
+        ColumnarLogStore store = new ColumnarLogStore(TestAnalysisProperties.builder()
+                .columnar(new AnalysisProperties.ColumnarProperties(true, directory.toString(), 100, 8))
+                .build());
+        try (ColumnarSegmentWriter writer = store.newSegment("a1")) {
+            for (int i = 0; i < 600; i++) {
+                int status = i < 500 ? 200 : (i % 3 == 0 ? 503 : 500);
+                String path = i % 2 == 0 ? "/api/items" : "/bbs/list/mir2free";
+                String ip = "10.0.0." + (i % 4);
+                writer.append(new AccessLog("1/29/2026, 5:44:10.000 AM", ip, i % 5 == 0 ? "POST" : "GET", path,
+                        "curl/8.0", status, "HTTP/1.1", 100, 200, (i % 10) / 10.0, "TLSv1.2", path), "line " + i);
+            }
+            writer.commit();
+        }
+        segments = store.segments("a1");
+    }
+
+    @Test
+    @DisplayName("상태 그룹 필터는 범위가 겹치지 않는 블록을 읽지 않고 건너뜀")
+    void statusFilterSkipsBlocks() {
+        DrillDownResult result = LogQuery.of(null, null, null, "5xx", null, "status", null).execute(segments);
+
+        assertThat(result.matchedRequests()).isEqualTo(100);
+        assertThat(result.groups()).containsExactly(Map.entry("500", 67L), Map.entry("503", 33L));
+        assertThat(result.scannedBlocks()).isEqualTo(1);
+        assertThat(result.skippedBlocks()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("문자열·숫자 필터를 AND로 적용하고 그룹별 요청 수와 응답 시간 통계를 계산")
+    void combinesFiltersAndGroups() {
+        DrillDownResult result = LogQuery.of("10.0.0.1", "/bbs/list/mir2free", "GET", null, 0.5, "path", 1)
+                .execute(segments);
+
+        // i % 4 == 1 → 홀수(경로 조건 충족), i % 5 != 0, (i % 10) >= 5 → i % 10 ∈ {7, 9}
+        assertThat(result.matchedRequests()).isEqualTo(60);
+        assertThat(result.groups()).containsExactly(Map.entry("/bbs/list/mir2free", 60L));
+        assertThat(result.responseTimeStats().min()).isEqualTo(0.7);
+        assertThat(result.responseTimeStats().max()).isEqualTo(0.9);
+    }
+
+    @Test
+    @DisplayName("사전에 없는 값으로 거르면 블록을 읽지 않고 0건")
+    void unknownValueMatchesNothing() {
+        DrillDownResult result = LogQuery.of("192.168.0.1", null, null, null, null, null, null).execute(segments);
+
+        assertThat(result.matchedRequests()).isZero();
+        assertThat(result.groupBy()).isNull();
+        assertThat(result.scannedBlocks()).isZero();
+    }
+
+    @Test
+    @DisplayName("잘못된 status·groupBy·limit은 IllegalArgumentException")
+    void invalidParametersRejected() {
+        assertThatThrownBy(() -> LogQuery.of(null, null, null, "6xx", null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogQuery.of(null, null, null, null, null, "sentBytes", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogQuery.of(null, null, null, null, null, "country", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogQuery.of(null, null, null, null, -1.0, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogQuery.of(null, null, null, null, null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.wemadeassignment.service;
+
+import com.example.wemadeassignment.domain.ResponseTimeStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ResponseTimeHistogramTest {
+
+    @Test
+    @DisplayName("빈 히스토그램은 0으로 채운 통계")
+    void emptyStats() {
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+
+        assertThat(histogram.toStats()).isEqualTo(new ResponseTimeStats(0, 0, 0, 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("min/max/avg는 정확, 퍼센타일은 상대 오차 7% 이내")
+    void percentilesWithinRelativeError() {
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i / 1000.0);  // 0.001 ~ 10.0초
+        }
+
+        ResponseTimeStats stats = histogram.toStats();
+
+        assertThat(stats.min()).isEqualTo(0.001);
+        assertThat(stats.max()).isEqualTo(10.0);
+        assertThat(stats.avg()).isCloseTo(5.0005, within(1e-9));
+        assertThat(stats.p50()).isCloseTo(5.0, within(5.0 * 0.07));
+        assertThat(stats.p95()).isCloseTo(9.5, within(9.5 * 0.07));
+        assertThat(stats.p99()).isCloseTo(9.9, within(9.9 * 0.07));
+    }
+
+    @Test
+    @DisplayName("단일 값은 모든 퍼센타일이 그 값")
+    void singleValue() {
+        ResponseTimeHistogram histogram = new ResponseTimeHistogram();
+        histogram.record(1.234);
+
+        ResponseTimeStats stats = histogram.toStats();
+
+        assertThat(stats.p50()).isEqualTo(1.234);
+        assertThat(stats.p99()).isEqualTo(1.234);
+    }
+
+    @Test
+    @DisplayName("버킷 경계 — 상한값은 자기 버킷에, 상한+1은 다음 버킷에 속함")
+    void bucketBoundaries() {
+        for (long value : new long[]{0, 15, 16, 31, 32, 1_000, 123_456_789L}) {
+            int index = ResponseTimeHistogram.indexOf(value);
+            long upper = ResponseTimeHistogram.upperBoundOf(index);
+
+            assertThat(upper).isGreaterThanOrEqualTo(value);
+            assertThat(ResponseTimeHistogram.indexOf(upper)).isEqualTo(index);
+            assertThat(ResponseTimeHistogram.indexOf(upper + 1)).isEqualTo(index + 1);
+        }
+    }
+}